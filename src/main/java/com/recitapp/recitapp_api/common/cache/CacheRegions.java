@@ -0,0 +1,34 @@
+package com.recitapp.recitapp_api.common.cache;
+
+import java.time.Duration;
+import java.util.Map;
+
+/**
+ * Regiones de la caché de segundo nivel de Hibernate para las entidades de catálogo.
+ * Con ehcache el tamaño y el TTL de cada región se definen en ehcache.xml; con redisson se usan
+ * los TTL de {@link #TTL} (mantener ambos alineados).
+ */
+public final class CacheRegions {
+
+    public static final String VENUE = "catalog.venue";
+    public static final String VENUE_SECTIONS = "catalog.venue.sections";
+    public static final String VENUE_SECTION = "catalog.venue-section";
+    public static final String ARTIST = "catalog.artist";
+    public static final String MUSIC_GENRE = "catalog.music-genre";
+    public static final String ROLE = "catalog.role";
+    public static final String ACCESS_POINT = "catalog.access-point";
+    public static final String PROMOTION = "catalog.promotion";
+
+    public static final Map<String, Duration> TTL = Map.of(
+            VENUE, Duration.ofMinutes(60),
+            VENUE_SECTIONS, Duration.ofMinutes(60),
+            VENUE_SECTION, Duration.ofMinutes(60),
+            ARTIST, Duration.ofMinutes(30),
+            MUSIC_GENRE, Duration.ofHours(12),
+            ROLE, Duration.ofHours(12),
+            ACCESS_POINT, Duration.ofMinutes(30),
+            PROMOTION, Duration.ofMinutes(10));
+
+    private CacheRegions() {
+    }
+}
@@ -0,0 +1,191 @@
+package com.recitapp.recitapp_api.common.idempotency;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.recitapp.recitapp_api.common.exception.RecitappException;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.ResponseEntity;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Supplier;
+
+/**
+ * Lógica común del registro de idempotencia. Los duplicados que llegan al mismo nodo esperan un
+ * {@link CompletableFuture} compartido; cada implementación decide dónde se guardan las respuestas
+ * y cómo se coordinan los nodos.
+ */
+@Slf4j
+public abstract class AbstractIdempotencyService implements IdempotencyService {
+
+    private static final int MAX_KEY_LENGTH = 100;
+
+    protected final ObjectMapper objectMapper;
+    protected final long waitTimeoutMs;
+    private final MeterRegistry meterRegistry;
+    private final String store;
+
+    private final Map<String, CompletableFuture<StoredResponse>> inFlight = new ConcurrentHashMap<>();
+
+    protected AbstractIdempotencyService(ObjectMapper objectMapper, MeterRegistry meterRegistry,
+                                         String store, long waitTimeoutMs) {
+        this.objectMapper = objectMapper;
+        this.meterRegistry = meterRegistry;
+        this.store = store;
+        this.waitTimeoutMs = waitTimeoutMs;
+    }
+
+    /**
+     * Reserva la clave para esta solicitud
+     *
+     * @return null si la solicitud debe ejecutarse, o la respuesta ya registrada para la clave
+     */
+    protected abstract StoredResponse claim(String storageKey, String fingerprint);
+
+    /**
+     * Guarda la respuesta exitosa de la solicitud que reservó la clave
+     */
+    protected abstract void save(String storageKey, StoredResponse response);
+
+    /**
+     * Libera la clave de una solicitud que falló para que el próximo reintento la vuelva a ejecutar
+     */
+    protected abstract void release(String storageKey);
+
+    @Override
+    public <T> ResponseEntity<T> execute(String scope, String key, Object request, Class<T> responseType,
+                                         Supplier<ResponseEntity<T>> action) {
+        if (key == null || key.isBlank()) {
+            return action.get();
+        }
+        if (key.length() > MAX_KEY_LENGTH) {
+            throw new RecitappException("El header " + HEADER + " no puede superar los " + MAX_KEY_LENGTH + " caracteres");
+        }
+
+        String storageKey = scope + ":" + key;
+        String fingerprint = fingerprint(request);
+
+        CompletableFuture<StoredResponse> own = new CompletableFuture<>();
+        CompletableFuture<StoredResponse> running = inFlight.putIfAbsent(storageKey, own);
+        if (running != null) {
+            record("coalesced");
+            return replay(await(running), fingerprint, responseType);
+        }
+
+        boolean claimed = false;
+        try {
+            StoredResponse stored = claim(storageKey, fingerprint);
+            if (stored != null) {
+                own.complete(stored);
+                record("replayed");
+                return replay(stored, fingerprint, responseType);
+            }
+            claimed = true;
+
+            ResponseEntity<T> response = action.get();
+            stored = new StoredResponse(fingerprint, response.getStatusCode().value(), toJson(response.getBody()));
+            if (response.getStatusCode().is2xxSuccessful()) {
+                saveQuietly(storageKey, stored);
+            } else {
+                // Las respuestas de error no se registran: el cliente puede reintentar
+                release(storageKey);
+            }
+            own.complete(stored);
+            record("executed");
+            return response;
+        } catch (RuntimeException e) {
+            if (claimed) {
+                release(storageKey);
+            }
+            own.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(storageKey, own);
+        }
+    }
+
+    private void saveQuietly(String storageKey, StoredResponse stored) {
+        try {
+            save(storageKey, stored);
+        } catch (RuntimeException e) {
+            // La operación ya se realizó: no registrar la respuesta solo expone la clave a una nueva ejecución
+            log.error("No se pudo registrar la respuesta de la clave {}: {}", storageKey, e.getMessage());
+        }
+    }
+
+    private StoredResponse await(CompletableFuture<StoredResponse> running) {
+        try {
+            return running.get(waitTimeoutMs, TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            throw stillProcessing();
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw new RecitappException("Error procesando la solicitud original", e.getCause());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw stillProcessing();
+        }
+    }
+
+    private <T> ResponseEntity<T> replay(StoredResponse stored, String fingerprint, Class<T> responseType) {
+        if (!stored.fingerprint().equals(fingerprint)) {
+            throw new RecitappException("La clave " + HEADER + " ya se usó con una solicitud diferente");
+        }
+
+        try {
+            T body = stored.body() != null ? objectMapper.readValue(stored.body(), responseType) : null;
+            return ResponseEntity.status(stored.status())
+                    .header(REPLAYED_HEADER, "true")
+                    .body(body);
+        } catch (JsonProcessingException e) {
+            throw new RecitappException("No se pudo reconstruir la respuesta registrada", e);
+        }
+    }
+
+    protected RecitappException stillProcessing() {
+        return new RecitappException("La solicitud original todavía se está procesando, reintente en unos segundos");
+    }
+
+    private String fingerprint(Object request) {
+        try {
+            String json = toJson(request);
+            byte[] hash = MessageDigest.getInstance("SHA-256")
+                    .digest(json != null ? json.getBytes(StandardCharsets.UTF_8) : new byte[0]);
+            return HexFormat.of().formatHex(hash);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
+    private String toJson(Object value) {
+        if (value == null) {
+            return null;
+        }
+        try {
+            return objectMapper.writeValueAsString(value);
+        } catch (JsonProcessingException e) {
+            throw new RecitappException("No se pudo serializar la solicitud", e);
+        }
+    }
+
+    private void record(String outcome) {
+        meterRegistry.counter("recitapp.idempotency.requests", "store", store, "outcome", outcome).increment();
+    }
+
+    /**
+     * Respuesta registrada: huella de la solicitud, código HTTP y cuerpo en JSON
+     */
+    protected record StoredResponse(String fingerprint, int status, String body) {
+    }
+}
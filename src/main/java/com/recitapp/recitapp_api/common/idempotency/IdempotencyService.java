@@ -0,0 +1,35 @@
+package com.recitapp.recitapp_api.common.idempotency;
+
+import org.springframework.http.ResponseEntity;
+
+import java.util.function.Supplier;
+
+/**
+ * Ejecuta una sola vez las operaciones de compra y pago reintentadas con el mismo {@code Idempotency-Key}.
+ * La respuesta exitosa de la primera solicitud se guarda y se devuelve a los reintentos; los duplicados
+ * concurrentes esperan el resultado de la solicitud en curso en lugar de repetir el trabajo.
+ */
+public interface IdempotencyService {
+
+    String HEADER = "Idempotency-Key";
+
+    /**
+     * Header agregado a las respuestas que se devuelven desde el registro en lugar de ejecutarse
+     */
+    String REPLAYED_HEADER = "Idempotent-Replayed";
+
+    /**
+     * Ejecuta la acción o devuelve la respuesta registrada para la misma clave
+     *
+     * @param scope Operación y dueño de la clave (por ejemplo "tickets.purchase:15")
+     * @param key Valor del header Idempotency-Key; si es null la acción se ejecuta siempre
+     * @param request Cuerpo de la solicitud, para detectar la misma clave usada con otros datos
+     * @param responseType Tipo del cuerpo de la respuesta, para reconstruir las respuestas registradas
+     * @param action Operación a ejecutar
+     * @return La respuesta de la acción o la registrada por la primera solicitud
+     * @throws com.recitapp.recitapp_api.common.exception.RecitappException si la clave se usó con otra
+     *         solicitud o la solicitud original no terminó a tiempo
+     */
+    <T> ResponseEntity<T> execute(String scope, String key, Object request, Class<T> responseType,
+                                  Supplier<ResponseEntity<T>> action);
+}
@@ -0,0 +1,64 @@
+package com.recitapp.recitapp_api.common.idempotency;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Registro de idempotencia en memoria, válido para una sola instancia de la aplicación
+ */
+@Service
+@ConditionalOnProperty(name = "recitapp.idempotency.mode", havingValue = "local", matchIfMissing = true)
+public class LocalIdempotencyService extends AbstractIdempotencyService {
+
+    private final long ttlMs;
+
+    private final Map<String, Entry> responses = new ConcurrentHashMap<>();
+
+    public LocalIdempotencyService(ObjectMapper objectMapper,
+                                   MeterRegistry meterRegistry,
+                                   @Value("${recitapp.idempotency.ttl-minutes:1440}") long ttlMinutes,
+                                   @Value("${recitapp.idempotency.wait-timeout-ms:10000}") long waitTimeoutMs) {
+        super(objectMapper, meterRegistry, "local", waitTimeoutMs);
+        this.ttlMs = ttlMinutes * 60_000;
+    }
+
+    @Override
+    protected StoredResponse claim(String storageKey, String fingerprint) {
+        // Los duplicados concurrentes ya se resuelven en memoria: solo hace falta la respuesta registrada
+        Entry entry = responses.get(storageKey);
+        if (entry == null) {
+            return null;
+        }
+        if (entry.expiresAt() < System.currentTimeMillis()) {
+            responses.remove(storageKey, entry);
+            return null;
+        }
+        return entry.response();
+    }
+
+    @Override
+    protected void save(String storageKey, StoredResponse response) {
+        responses.put(storageKey, new Entry(response, System.currentTimeMillis() + ttlMs));
+    }
+
+    @Override
+    protected void release(String storageKey) {
+        // Nada que liberar: la clave solo queda ocupada mientras la solicitud está en curso
+    }
+
+    @Scheduled(fixedDelay = 60000)
+    public void purgeExpired() {
+        long now = System.currentTimeMillis();
+        responses.values().removeIf(entry -> entry.expiresAt() < now);
+    }
+
+    private record Entry(StoredResponse response, long expiresAt) {
+    }
+}
@@ -0,0 +1,95 @@
+package com.recitapp.recitapp_api.common.idempotency;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.recitapp.recitapp_api.common.exception.RecitappException;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+
+/**
+ * Registro de idempotencia compartido entre nodos en Redis.
+ * La solicitud que reserva la clave la marca como pendiente con SET NX; los duplicados de otros
+ * nodos consultan la clave hasta que aparece la respuesta o vence la espera.
+ */
+@Service
+@ConditionalOnProperty(name = "recitapp.idempotency.mode", havingValue = "redis")
+public class RedisIdempotencyService extends AbstractIdempotencyService {
+
+    private static final String KEY_PREFIX = "recitapp:idempotency:";
+    private static final String PENDING_PREFIX = "PENDING:";
+    private static final long POLL_INTERVAL_MS = 50;
+
+    private final StringRedisTemplate redisTemplate;
+    private final Duration ttl;
+    private final Duration pendingTtl;
+
+    public RedisIdempotencyService(ObjectMapper objectMapper,
+                                   MeterRegistry meterRegistry,
+                                   StringRedisTemplate redisTemplate,
+                                   @Value("${recitapp.idempotency.ttl-minutes:1440}") long ttlMinutes,
+                                   @Value("${recitapp.idempotency.wait-timeout-ms:10000}") long waitTimeoutMs,
+                                   @Value("${recitapp.idempotency.redis.pending-ttl-seconds:60}") long pendingTtlSeconds) {
+        super(objectMapper, meterRegistry, "redis", waitTimeoutMs);
+        this.redisTemplate = redisTemplate;
+        this.ttl = Duration.ofMinutes(ttlMinutes);
+        this.pendingTtl = Duration.ofSeconds(pendingTtlSeconds);
+    }
+
+    @Override
+    protected StoredResponse claim(String storageKey, String fingerprint) {
+        String key = KEY_PREFIX + storageKey;
+        long deadline = System.currentTimeMillis() + waitTimeoutMs;
+
+        while (true) {
+            // La marca pendiente vence sola si el nodo que la tomó se cae a mitad de la compra
+            if (Boolean.TRUE.equals(redisTemplate.opsForValue().setIfAbsent(key, PENDING_PREFIX + fingerprint, pendingTtl))) {
+                return null;
+            }
+
+            String value = redisTemplate.opsForValue().get(key);
+            if (value != null && !value.startsWith(PENDING_PREFIX)) {
+                return read(value);
+            }
+            if (value != null && !value.equals(PENDING_PREFIX + fingerprint)) {
+                throw new RecitappException("La clave " + HEADER + " ya se usó con una solicitud diferente");
+            }
+
+            if (System.currentTimeMillis() >= deadline) {
+                throw stillProcessing();
+            }
+            try {
+                Thread.sleep(POLL_INTERVAL_MS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw stillProcessing();
+            }
+        }
+    }
+
+    @Override
+    protected void save(String storageKey, StoredResponse response) {
+        try {
+            redisTemplate.opsForValue().set(KEY_PREFIX + storageKey, objectMapper.writeValueAsString(response), ttl);
+        } catch (JsonProcessingException e) {
+            throw new RecitappException("No se pudo registrar la respuesta", e);
+        }
+    }
+
+    @Override
+    protected void release(String storageKey) {
+        redisTemplate.delete(KEY_PREFIX + storageKey);
+    }
+
+    private StoredResponse read(String value) {
+        try {
+            return objectMapper.readValue(value, StoredResponse.class);
+        } catch (JsonProcessingException e) {
+            throw new RecitappException("No se pudo leer la respuesta registrada", e);
+        }
+    }
+}
@@ -0,0 +1,186 @@
+package com.recitapp.recitapp_api.common.lookup;
+
+import com.recitapp.recitapp_api.modules.event.entity.EventStatus;
+import com.recitapp.recitapp_api.modules.event.repository.EventStatusRepository;
+import com.recitapp.recitapp_api.modules.notification.entity.NotificationChannel;
+import com.recitapp.recitapp_api.modules.notification.entity.NotificationType;
+import com.recitapp.recitapp_api.modules.notification.repository.NotificationChannelRepository;
+import com.recitapp.recitapp_api.modules.notification.repository.NotificationTypeRepository;
+import com.recitapp.recitapp_api.modules.ticket.entity.TicketStatus;
+import com.recitapp.recitapp_api.modules.ticket.repository.TicketStatusRepository;
+import com.recitapp.recitapp_api.modules.transaction.entity.PaymentMethod;
+import com.recitapp.recitapp_api.modules.transaction.entity.TransactionStatus;
+import com.recitapp.recitapp_api.modules.transaction.repository.PaymentMethodRepository;
+import com.recitapp.recitapp_api.modules.transaction.repository.TransactionStatusRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Registro en memoria de las tablas de referencia (estados, métodos de pago, tipos y canales de
+ * notificación). Se carga al iniciar y se reemplaza completo en cada recarga, de modo que las
+ * búsquedas por nombre o ID no consultan la base de datos.
+ * Las entidades devueltas están desconectadas: sirven para asignar relaciones (solo se usa su ID)
+ * y leer sus datos, pero no deben modificarse.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class LookupRegistry {
+
+    private final TicketStatusRepository ticketStatusRepository;
+    private final EventStatusRepository eventStatusRepository;
+    private final TransactionStatusRepository transactionStatusRepository;
+    private final PaymentMethodRepository paymentMethodRepository;
+    private final NotificationTypeRepository notificationTypeRepository;
+    private final NotificationChannelRepository notificationChannelRepository;
+
+    /**
+     * Intervalo mínimo entre recargas provocadas por nombres que no están en el registro
+     */
+    @Value("${recitapp.lookup.miss-reload-interval-ms:30000}")
+    private long missReloadIntervalMs;
+
+    private volatile Snapshot snapshot;
+    private volatile long lastReloadAt;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void load() {
+        reload();
+    }
+
+    /**
+     * Recarga periódica para tomar los cambios hechos desde otros nodos
+     */
+    @Scheduled(fixedDelayString = "${recitapp.lookup.refresh-interval-ms:300000}",
+            initialDelayString = "${recitapp.lookup.refresh-interval-ms:300000}")
+    public void scheduledReload() {
+        try {
+            reload();
+        } catch (Exception e) {
+            log.error("Error recargando las tablas de referencia: {}", e.getMessage());
+        }
+    }
+
+    public synchronized void reload() {
+        snapshot = new Snapshot(
+                byName(ticketStatusRepository.findAll(), TicketStatus::getName),
+                byName(eventStatusRepository.findAll(), EventStatus::getName),
+                byName(transactionStatusRepository.findAll(), TransactionStatus::getName),
+                byId(paymentMethodRepository.findAll(), PaymentMethod::getId),
+                byName(notificationTypeRepository.findAll(), NotificationType::getName),
+                byName(notificationChannelRepository.findAll(), NotificationChannel::getName));
+        lastReloadAt = System.currentTimeMillis();
+
+        log.info("Tablas de referencia cargadas: {} estados de ticket, {} de evento, {} de transacción, " +
+                        "{} métodos de pago, {} tipos y {} canales de notificación",
+                snapshot.ticketStatuses().size(), snapshot.eventStatuses().size(),
+                snapshot.transactionStatuses().size(), snapshot.paymentMethods().size(),
+                snapshot.notificationTypes().size(), snapshot.notificationChannels().size());
+    }
+
+    /**
+     * Recarga el registro cuando la transacción en curso confirme los cambios de un administrador
+     */
+    public void reloadAfterCommit() {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            reload();
+            return;
+        }
+
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                reload();
+            }
+        });
+    }
+
+    public Optional<TicketStatus> findTicketStatus(String name) {
+        return find(Snapshot::ticketStatuses, name);
+    }
+
+    public Optional<EventStatus> findEventStatus(String name) {
+        return find(Snapshot::eventStatuses, name);
+    }
+
+    public Optional<TransactionStatus> findTransactionStatus(String name) {
+        return find(Snapshot::transactionStatuses, name);
+    }
+
+    public Optional<PaymentMethod> findPaymentMethod(Long id) {
+        return find(Snapshot::paymentMethods, id);
+    }
+
+    public Optional<NotificationType> findNotificationType(String name) {
+        return find(Snapshot::notificationTypes, name);
+    }
+
+    public Optional<NotificationChannel> findNotificationChannel(String name) {
+        return find(Snapshot::notificationChannels, name);
+    }
+
+    /**
+     * Busca en el registro; si la clave no está (por ejemplo un estado creado en otro nodo)
+     * recarga, como máximo una vez cada {@code missReloadIntervalMs}
+     */
+    private <K, T> Optional<T> find(Function<Snapshot, Map<K, T>> table, K key) {
+        if (key == null) {
+            return Optional.empty();
+        }
+
+        Snapshot current = currentSnapshot();
+        T value = table.apply(current).get(key);
+        if (value == null && System.currentTimeMillis() - lastReloadAt >= missReloadIntervalMs) {
+            synchronized (this) {
+                if (snapshot == current) {
+                    reload();
+                }
+            }
+            value = table.apply(snapshot).get(key);
+        }
+        return Optional.ofNullable(value);
+    }
+
+    private Snapshot currentSnapshot() {
+        Snapshot current = snapshot;
+        if (current == null) {
+            // Llamada antes de ApplicationReadyEvent
+            synchronized (this) {
+                if (snapshot == null) {
+                    reload();
+                }
+                current = snapshot;
+            }
+        }
+        return current;
+    }
+
+    private static <T> Map<String, T> byName(List<T> rows, Function<T, String> name) {
+        return Map.copyOf(rows.stream().collect(Collectors.toMap(name, Function.identity(), (a, b) -> a)));
+    }
+
+    private static <T> Map<Long, T> byId(List<T> rows, Function<T, Long> id) {
+        return Map.copyOf(rows.stream().collect(Collectors.toMap(id, Function.identity())));
+    }
+
+    private record Snapshot(Map<String, TicketStatus> ticketStatuses,
+                            Map<String, EventStatus> eventStatuses,
+                            Map<String, TransactionStatus> transactionStatuses,
+                            Map<Long, PaymentMethod> paymentMethods,
+                            Map<String, NotificationType> notificationTypes,
+                            Map<String, NotificationChannel> notificationChannels) {
+    }
+}
@@ -0,0 +1,73 @@
+package com.recitapp.recitapp_api.common.util;
+
+/**
+ * Codificación base32 de Crockford (sin I, L, O ni U) con dígito verificador Luhn mod 32.
+ * El dígito verificador detecta cualquier error en un solo carácter y la mayoría de las
+ * transposiciones de caracteres adyacentes al tipear un código.
+ */
+public final class CrockfordBase32 {
+
+    private static final String ALPHABET = "0123456789ABCDEFGHJKMNPQRSTVWXYZ";
+    private static final int BASE = 32;
+
+    private CrockfordBase32() {
+    }
+
+    /**
+     * Codifica un valor no negativo con exactamente {@code length} caracteres (con ceros a la izquierda)
+     *
+     * @throws IllegalArgumentException si el valor no entra en la longitud indicada
+     */
+    public static String encode(long value, int length) {
+        if (value < 0) {
+            throw new IllegalArgumentException("Value must not be negative: " + value);
+        }
+
+        char[] chars = new char[length];
+        long remaining = value;
+        for (int i = length - 1; i >= 0; i--) {
+            chars[i] = ALPHABET.charAt((int) (remaining % BASE));
+            remaining /= BASE;
+        }
+        if (remaining != 0) {
+            throw new IllegalArgumentException("Value " + value + " does not fit in " + length + " base32 characters");
+        }
+        return new String(chars);
+    }
+
+    /**
+     * Calcula el dígito verificador Luhn mod 32 de un texto en base32
+     */
+    public static char checkCharacter(String payload) {
+        int factor = 2;
+        int sum = 0;
+        for (int i = payload.length() - 1; i >= 0; i--) {
+            int addend = factor * ALPHABET.indexOf(payload.charAt(i));
+            factor = (factor == 2) ? 1 : 2;
+            sum += (addend / BASE) + (addend % BASE);
+        }
+        return ALPHABET.charAt((BASE - (sum % BASE)) % BASE);
+    }
+
+    /**
+     * Indica si el texto (ya normalizado) solo contiene caracteres válidos
+     */
+    public static boolean isValid(String text) {
+        for (int i = 0; i < text.length(); i++) {
+            if (ALPHABET.indexOf(text.charAt(i)) < 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Normaliza un código tipeado: mayúsculas y equivalencias de Crockford (O -> 0, I/L -> 1)
+     */
+    public static String normalize(String text) {
+        return text.trim().toUpperCase()
+                .replace('O', '0')
+                .replace('I', '1')
+                .replace('L', '1');
+    }
+}
@@ -0,0 +1,43 @@
+package com.recitapp.recitapp_api.common.util;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Arrays;
+
+/**
+ * Resumen de ancho fijo del contenido de un QR: los primeros 16 bytes del SHA-256 de su texto UTF-8.
+ * Es lo que se indexa en la base de datos en lugar del texto completo; en MySQL equivale a
+ * {@code UNHEX(LEFT(SHA2(qr_code, 256), 32))}.
+ */
+public final class QrDigest {
+
+    public static final int LENGTH = 16;
+
+    private QrDigest() {
+    }
+
+    /**
+     * Calcula el resumen de un QR
+     *
+     * @return El resumen, o null si el QR es null
+     */
+    public static byte[] of(String qrCode) {
+        if (qrCode == null) {
+            return null;
+        }
+        try {
+            byte[] hash = MessageDigest.getInstance("SHA-256").digest(qrCode.getBytes(StandardCharsets.UTF_8));
+            return Arrays.copyOf(hash, LENGTH);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
+    /**
+     * Compara un resumen almacenado con el de un QR leído, en tiempo constante
+     */
+    public static boolean matches(byte[] digest, String qrCode) {
+        return digest != null && qrCode != null && MessageDigest.isEqual(digest, of(qrCode));
+    }
+}
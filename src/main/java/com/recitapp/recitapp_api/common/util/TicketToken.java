@@ -0,0 +1,182 @@
+package com.recitapp.recitapp_api.common.util;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.util.Arrays;
+import java.util.Base64;
+
+/**
+ * Token firmado que se imprime en el QR de una entrada y se verifica sin consultar la base de datos.
+ * <p>
+ * Formato: {@code RT1.<datos>.<firma>}, ambos en Base64 URL sin relleno. Los datos son binarios de
+ * ancho fijo: versión de clave (1 byte), ticket, evento y sección (8 bytes cada uno), inicio y fin
+ * de validez en segundos epoch (8 bytes cada uno) y el {@link QrDigest} del ticket (16 bytes).
+ * La firma es HMAC-SHA256 sobre {@code RT1.<datos>} con la clave del evento, que se deriva de la
+ * clave maestra con {@link #deriveEventKey}: un dispositivo de acceso solo recibe la clave de su evento.
+ * <p>
+ * La clase no depende de Spring ni de la base de datos para poder usarse en los dispositivos de acceso.
+ */
+public final class TicketToken {
+
+    public static final String PREFIX = "RT1.";
+
+    public static final String INVALID_FORMAT = "INVALID_TOKEN";
+    public static final String INVALID_SIGNATURE = "INVALID_SIGNATURE";
+    public static final String WRONG_EVENT = "WRONG_EVENT";
+    public static final String NOT_YET_VALID = "NOT_YET_VALID";
+    public static final String EXPIRED = "TOKEN_EXPIRED";
+
+    private static final String ALGORITHM = "HmacSHA256";
+    private static final int PAYLOAD_LENGTH = 1 + 5 * Long.BYTES + QrDigest.LENGTH;
+    private static final int SIGNATURE_LENGTH = 32;
+
+    private static final Base64.Encoder ENCODER = Base64.getUrlEncoder().withoutPadding();
+    private static final Base64.Decoder DECODER = Base64.getUrlDecoder();
+
+    private TicketToken() {
+    }
+
+    /**
+     * Datos firmados del token. {@code sectionId} es 0 si el ticket no tiene sección.
+     */
+    public record Claims(int keyVersion, long ticketId, long eventId, long sectionId,
+                         long validFrom, long validUntil, byte[] qrDigest) {
+    }
+
+    /**
+     * Token rechazado; {@code errorCode} es una de las constantes de esta clase
+     */
+    public static final class InvalidTokenException extends RuntimeException {
+
+        private final String errorCode;
+
+        public InvalidTokenException(String errorCode, String message) {
+            super(message);
+            this.errorCode = errorCode;
+        }
+
+        public String getErrorCode() {
+            return errorCode;
+        }
+    }
+
+    /**
+     * Deriva la clave de un evento: HMAC-SHA256 de la clave maestra sobre "event:{versión}:{eventId}"
+     */
+    public static byte[] deriveEventKey(byte[] masterKey, int keyVersion, long eventId) {
+        return hmac(masterKey, ("event:" + keyVersion + ":" + eventId).getBytes(StandardCharsets.US_ASCII));
+    }
+
+    /**
+     * Firma los datos con la clave del evento
+     */
+    public static String sign(Claims claims, byte[] eventKey) {
+        if (claims.qrDigest() == null || claims.qrDigest().length != QrDigest.LENGTH) {
+            throw new IllegalArgumentException("QR digest must be " + QrDigest.LENGTH + " bytes");
+        }
+
+        ByteBuffer payload = ByteBuffer.allocate(PAYLOAD_LENGTH)
+                .put((byte) claims.keyVersion())
+                .putLong(claims.ticketId())
+                .putLong(claims.eventId())
+                .putLong(claims.sectionId())
+                .putLong(claims.validFrom())
+                .putLong(claims.validUntil())
+                .put(claims.qrDigest());
+
+        String signed = PREFIX + ENCODER.encodeToString(payload.array());
+        return signed + "." + ENCODER.encodeToString(hmac(eventKey, signed.getBytes(StandardCharsets.US_ASCII)));
+    }
+
+    /**
+     * Lee los datos sin verificar la firma, para elegir la clave con la que verificarlo
+     *
+     * @throws InvalidTokenException si el texto no tiene el formato de un token
+     */
+    public static Claims peek(String token) {
+        return decode(token, split(token));
+    }
+
+    /**
+     * Verifica la firma, el evento y la ventana de validez del token
+     *
+     * @param eventId Evento del acceso que lee el token
+     * @param eventKey Clave del evento para la versión indicada en el token
+     * @param nowEpochSecond Hora actual en segundos epoch
+     * @return Los datos firmados
+     * @throws InvalidTokenException si el token no es válido en este momento para este evento
+     */
+    public static Claims verify(String token, long eventId, byte[] eventKey, long nowEpochSecond) {
+        int signatureStart = split(token);
+        byte[] signature;
+        try {
+            signature = DECODER.decode(token.substring(signatureStart + 1));
+        } catch (IllegalArgumentException e) {
+            throw new InvalidTokenException(INVALID_FORMAT, "El código no es una entrada válida");
+        }
+
+        byte[] expected = hmac(eventKey, token.substring(0, signatureStart).getBytes(StandardCharsets.US_ASCII));
+        if (signature.length != SIGNATURE_LENGTH || !MessageDigest.isEqual(expected, signature)) {
+            throw new InvalidTokenException(INVALID_SIGNATURE, "La firma de la entrada no es válida");
+        }
+
+        Claims claims = decode(token, signatureStart);
+        if (claims.eventId() != eventId) {
+            throw new InvalidTokenException(WRONG_EVENT, "La entrada no corresponde a este evento");
+        }
+        if (nowEpochSecond < claims.validFrom()) {
+            throw new InvalidTokenException(NOT_YET_VALID, "La entrada todavía no habilita el ingreso");
+        }
+        if (nowEpochSecond > claims.validUntil()) {
+            throw new InvalidTokenException(EXPIRED, "La entrada está vencida");
+        }
+        return claims;
+    }
+
+    /**
+     * Posición del punto que separa los datos de la firma
+     */
+    private static int split(String token) {
+        int signatureStart = token != null && token.startsWith(PREFIX) ? token.indexOf('.', PREFIX.length()) : -1;
+        if (signatureStart < 0) {
+            throw new InvalidTokenException(INVALID_FORMAT, "El código no es una entrada válida");
+        }
+        return signatureStart;
+    }
+
+    private static Claims decode(String token, int signatureStart) {
+        byte[] payload;
+        try {
+            payload = DECODER.decode(token.substring(PREFIX.length(), signatureStart));
+        } catch (IllegalArgumentException e) {
+            throw new InvalidTokenException(INVALID_FORMAT, "El código no es una entrada válida");
+        }
+        if (payload.length != PAYLOAD_LENGTH) {
+            throw new InvalidTokenException(INVALID_FORMAT, "El código no es una entrada válida");
+        }
+
+        ByteBuffer buffer = ByteBuffer.wrap(payload);
+        int keyVersion = Byte.toUnsignedInt(buffer.get());
+        long ticketId = buffer.getLong();
+        long eventId = buffer.getLong();
+        long sectionId = buffer.getLong();
+        long validFrom = buffer.getLong();
+        long validUntil = buffer.getLong();
+        byte[] qrDigest = Arrays.copyOfRange(payload, buffer.position(), payload.length);
+        return new Claims(keyVersion, ticketId, eventId, sectionId, validFrom, validUntil, qrDigest);
+    }
+
+    private static byte[] hmac(byte[] key, byte[] data) {
+        try {
+            Mac mac = Mac.getInstance(ALGORITHM);
+            mac.init(new SecretKeySpec(key, ALGORITHM));
+            return mac.doFinal(data);
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException(ALGORITHM + " not available", e);
+        }
+    }
+}
@@ -0,0 +1,72 @@
+package com.recitapp.recitapp_api.config;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.jvm.ExecutorServiceMetrics;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.task.TaskExecutionAutoConfiguration;
+import org.springframework.boot.task.ThreadPoolTaskExecutorBuilder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.scheduling.annotation.EnableAsync;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+import java.util.List;
+import java.util.concurrent.ThreadPoolExecutor;
+
+/**
+ * Configuración de ejecución asíncrona.
+ * Cada pool es acotado (hilos y cola) y publica sus métricas en Micrometer.
+ */
+@Configuration
+@EnableAsync
+@Slf4j
+public class AsyncConfig {
+
+    public static final String PURCHASE_EVENTS_EXECUTOR = "purchaseEventsExecutor";
+
+    @Value("${recitapp.async.purchase-events.core-size:2}")
+    private int purchaseEventsCoreSize;
+
+    @Value("${recitapp.async.purchase-events.max-size:4}")
+    private int purchaseEventsMaxSize;
+
+    @Value("${recitapp.async.purchase-events.queue-capacity:1000}")
+    private int purchaseEventsQueueCapacity;
+
+    /**
+     * Pool por defecto de la aplicación (MVC asíncrono, exportaciones en streaming, @Async sin nombre).
+     * Spring Boot deja de crearlo en cuanto existe cualquier otro Executor, así que se declara aquí
+     * con el mismo nombre y el builder de Boot, que sigue aplicando spring.task.execution.*.
+     */
+    @Lazy
+    @Bean(name = {TaskExecutionAutoConfiguration.APPLICATION_TASK_EXECUTOR_BEAN_NAME, "taskExecutor"})
+    public ThreadPoolTaskExecutor applicationTaskExecutor(ThreadPoolTaskExecutorBuilder builder) {
+        return builder.build();
+    }
+
+    /**
+     * Pool para los efectos posteriores a una compra (estado del evento, alertas de disponibilidad).
+     * Si la cola se llena la tarea se ejecuta en el hilo que publicó el evento, que ya confirmó
+     * su transacción: se frena al productor en lugar de descartar notificaciones.
+     */
+    @Bean(name = PURCHASE_EVENTS_EXECUTOR)
+    public ThreadPoolTaskExecutor purchaseEventsExecutor(MeterRegistry meterRegistry) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(purchaseEventsCoreSize);
+        executor.setMaxPoolSize(purchaseEventsMaxSize);
+        executor.setQueueCapacity(purchaseEventsQueueCapacity);
+        executor.setThreadNamePrefix("purchase-events-");
+        executor.setRejectedExecutionHandler(new ThreadPoolExecutor.CallerRunsPolicy());
+        executor.setWaitForTasksToCompleteOnShutdown(true);
+        executor.setAwaitTerminationSeconds(30);
+        executor.initialize();
+
+        ExecutorServiceMetrics.monitor(meterRegistry, executor.getThreadPoolExecutor(),
+                "recitapp.purchase.events", List.of());
+        log.info("Purchase events executor: core={}, max={}, queue={}",
+                purchaseEventsCoreSize, purchaseEventsMaxSize, purchaseEventsQueueCapacity);
+        return executor;
+    }
+}
@@ -0,0 +1,71 @@
+package com.recitapp.recitapp_api.config;
+
+import com.recitapp.recitapp_api.common.cache.CacheRegions;
+import org.hibernate.cfg.AvailableSettings;
+import org.redisson.Redisson;
+import org.redisson.api.RedissonClient;
+import org.redisson.jcache.JCacheManager;
+import org.redisson.jcache.JCachingProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.io.ClassPathResource;
+
+import javax.cache.CacheManager;
+import javax.cache.Caching;
+import javax.cache.configuration.MutableConfiguration;
+import javax.cache.expiry.CreatedExpiryPolicy;
+import java.io.IOException;
+import java.net.URI;
+import java.net.URISyntaxException;
+import java.util.Properties;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Caché de segundo nivel de Hibernate (JCache) para las entidades de catálogo.
+ * ehcache: caché en memoria de cada instancia, con tamaño y TTL por región en ehcache.xml.
+ * redisson: caché compartida en Redis entre nodos, con los TTL de {@link CacheRegions}.
+ */
+@Configuration
+@ConditionalOnProperty(name = "recitapp.cache.enabled", havingValue = "true", matchIfMissing = true)
+public class HibernateCacheConfig {
+
+    private static final String EHCACHE_PROVIDER = "org.ehcache.jsr107.EhcacheCachingProvider";
+
+    @Value("${recitapp.cache.statistics:true}")
+    private boolean statistics;
+
+    @Bean(destroyMethod = "close")
+    @ConditionalOnProperty(name = "recitapp.cache.provider", havingValue = "ehcache", matchIfMissing = true)
+    public CacheManager ehcacheCacheManager() throws IOException, URISyntaxException {
+        URI config = new ClassPathResource("ehcache.xml").getURL().toURI();
+        return Caching.getCachingProvider(EHCACHE_PROVIDER).getCacheManager(config, getClass().getClassLoader());
+    }
+
+    // Sin destroyMethod: al cerrarse apagaría el cliente Redisson, que se cierra con su propio bean
+    @Bean(destroyMethod = "")
+    @ConditionalOnProperty(name = "recitapp.cache.provider", havingValue = "redisson")
+    public CacheManager redissonCacheManager(RedissonClient redissonClient) {
+        JCacheManager cacheManager = new JCacheManager((Redisson) redissonClient, getClass().getClassLoader(),
+                new JCachingProvider(), new Properties(), URI.create("recitapp-hibernate-cache"));
+
+        CacheRegions.TTL.forEach((region, ttl) -> cacheManager.createCache(region,
+                new MutableConfiguration<>().setExpiryPolicyFactory(CreatedExpiryPolicy.factoryOf(
+                        new javax.cache.expiry.Duration(TimeUnit.SECONDS, ttl.toSeconds())))));
+        return cacheManager;
+    }
+
+    @Bean
+    public HibernatePropertiesCustomizer secondLevelCacheCustomizer(CacheManager hibernateCacheManager) {
+        return properties -> {
+            properties.put(AvailableSettings.USE_SECOND_LEVEL_CACHE, true);
+            properties.put(AvailableSettings.CACHE_REGION_FACTORY, "jcache");
+            properties.put("hibernate.javax.cache.cache_manager", hibernateCacheManager);
+            properties.put("hibernate.javax.cache.missing_cache_strategy", "create-warn");
+            properties.put(AvailableSettings.JAKARTA_SHARED_CACHE_MODE, "ENABLE_SELECTIVE");
+            properties.put(AvailableSettings.GENERATE_STATISTICS, statistics);
+        };
+    }
+}
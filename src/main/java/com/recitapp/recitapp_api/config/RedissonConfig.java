@@ -0,0 +1,39 @@
+package com.recitapp.recitapp_api.config;
+
+import org.redisson.Redisson;
+import org.redisson.api.RedissonClient;
+import org.redisson.config.Config;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnExpression;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Cliente Redisson para los bloqueos distribuidos y la caché de segundo nivel compartida.
+ * Usa la misma conexión Redis que Spring Data.
+ */
+@Configuration
+@ConditionalOnExpression("'${recitapp.inventory.lock.mode:local}' == 'redisson' or '${recitapp.cache.provider:ehcache}' == 'redisson'")
+public class RedissonConfig {
+
+    @Value("${spring.data.redis.host:localhost}")
+    private String host;
+
+    @Value("${spring.data.redis.port:6379}")
+    private int port;
+
+    @Value("${spring.data.redis.password:}")
+    private String password;
+
+    @Value("${spring.data.redis.ssl.enabled:false}")
+    private boolean ssl;
+
+    @Bean(destroyMethod = "shutdown")
+    public RedissonClient redissonClient() {
+        Config config = new Config();
+        config.useSingleServer()
+                .setAddress((ssl ? "rediss://" : "redis://") + host + ":" + port)
+                .setPassword(password.isBlank() ? null : password);
+        return Redisson.create(config);
+    }
+}
@@ -0,0 +1,30 @@
+package com.recitapp.recitapp_api.config;
+
+import com.recitapp.recitapp_api.modules.ticket.service.SoldOutRegistry;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Propaga entre nodos los cambios del registro de agotados mediante Redis pub/sub
+ */
+@Configuration
+@ConditionalOnProperty(name = "recitapp.inventory.sold-out.cluster-sync", havingValue = "true")
+public class SoldOutSyncConfig {
+
+    @Bean
+    public RedisMessageListenerContainer soldOutListenerContainer(RedisConnectionFactory connectionFactory,
+                                                                  SoldOutRegistry soldOutRegistry) {
+        RedisMessageListenerContainer container = new RedisMessageListenerContainer();
+        container.setConnectionFactory(connectionFactory);
+        container.addMessageListener(
+                (message, pattern) -> soldOutRegistry.applyRemote(new String(message.getBody(), StandardCharsets.UTF_8)),
+                new ChannelTopic(SoldOutRegistry.CHANNEL));
+        return container;
+    }
+}
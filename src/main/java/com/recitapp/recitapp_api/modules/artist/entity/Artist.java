@@ -1,7 +1,10 @@
 package com.recitapp.recitapp_api.modules.artist.entity;
 
+import com.recitapp.recitapp_api.common.cache.CacheRegions;
 import com.recitapp.recitapp_api.modules.user.entity.User;
 import jakarta.persistence.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
@@ -10,6 +13,8 @@ import java.time.LocalDateTime;
 
 @Entity
 @Table(name = "artists")
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = CacheRegions.ARTIST)
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
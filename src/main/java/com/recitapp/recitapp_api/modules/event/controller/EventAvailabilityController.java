@@ -1,5 +1,6 @@
 package com.recitapp.recitapp_api.modules.event.controller;
 
+import com.recitapp.recitapp_api.modules.ticket.dto.SeatMapDTO;
 import com.recitapp.recitapp_api.modules.venue.dto.SectionAvailabilityDTO;
 import com.recitapp.recitapp_api.modules.event.service.EventAvailabilityService;
 import lombok.RequiredArgsConstructor;
@@ -27,4 +28,10 @@ public class EventAvailabilityController {
         SectionAvailabilityDTO availability = eventAvailabilityService.getSectionAvailability(eventId, sectionId);
         return ResponseEntity.ok(availability);
     }
+
+    @GetMapping("/{eventId}/sections/{sectionId}/seats")
+    public ResponseEntity<SeatMapDTO> getSectionSeatMap(
+            @PathVariable Long eventId, @PathVariable Long sectionId) {
+        return ResponseEntity.ok(eventAvailabilityService.getSectionSeatMap(eventId, sectionId));
+    }
 }
\ No newline at end of file
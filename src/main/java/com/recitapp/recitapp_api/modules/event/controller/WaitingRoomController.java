@@ -0,0 +1,47 @@
+package com.recitapp.recitapp_api.modules.event.controller;
+
+import com.recitapp.recitapp_api.modules.event.dto.WaitingRoomStatusDTO;
+import com.recitapp.recitapp_api.modules.event.service.WaitingRoomService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.Map;
+
+@RestController
+@RequiredArgsConstructor
+public class WaitingRoomController {
+
+    private final WaitingRoomService waitingRoomService;
+
+    @PostMapping("/events/{eventId}/waiting-room")
+    public ResponseEntity<WaitingRoomStatusDTO> joinWaitingRoom(
+            @PathVariable Long eventId,
+            @RequestParam Long userId) {
+        return ResponseEntity.ok(waitingRoomService.join(eventId, userId));
+    }
+
+    @GetMapping("/events/{eventId}/waiting-room/status")
+    public ResponseEntity<WaitingRoomStatusDTO> getWaitingRoomStatus(
+            @PathVariable Long eventId,
+            @RequestParam Long userId) {
+        return ResponseEntity.ok(waitingRoomService.getStatus(eventId, userId));
+    }
+
+    @PostMapping("/admin/events/{eventId}/waiting-room/open")
+    public ResponseEntity<Map<String, Object>> openWaitingRoom(
+            @PathVariable Long eventId,
+            @RequestParam(required = false) Integer admissionsPerMinute) {
+        return ResponseEntity.ok(waitingRoomService.openRoom(eventId, admissionsPerMinute));
+    }
+
+    @PostMapping("/admin/events/{eventId}/waiting-room/close")
+    public ResponseEntity<Map<String, Object>> closeWaitingRoom(@PathVariable Long eventId) {
+        return ResponseEntity.ok(waitingRoomService.closeRoom(eventId));
+    }
+
+    @GetMapping("/admin/events/{eventId}/waiting-room")
+    public ResponseEntity<Map<String, Object>> getWaitingRoomSummary(@PathVariable Long eventId) {
+        return ResponseEntity.ok(waitingRoomService.getRoomSummary(eventId));
+    }
+}
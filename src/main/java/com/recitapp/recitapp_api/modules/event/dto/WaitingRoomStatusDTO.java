@@ -0,0 +1,25 @@
+package com.recitapp.recitapp_api.modules.event.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class WaitingRoomStatusDTO {
+    private Long eventId;
+    private Long userId;
+    private String status; // "EN_ESPERA", "ADMITIDO"
+    private Long position;
+    private Long usersAhead;
+    private Long estimatedWaitSeconds;
+
+    // Solo para usuarios admitidos: se envía en el header X-Waiting-Room-Token al comprar
+    private String accessToken;
+    private LocalDateTime accessExpiresAt;
+}
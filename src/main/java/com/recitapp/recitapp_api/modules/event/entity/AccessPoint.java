@@ -1,6 +1,9 @@
 package com.recitapp.recitapp_api.modules.event.entity;
 
+import com.recitapp.recitapp_api.common.cache.CacheRegions;
 import jakarta.persistence.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
@@ -11,6 +14,8 @@ import java.time.LocalDateTime;
  */
 @Entity
 @Table(name = "access_points")
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = CacheRegions.ACCESS_POINT)
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
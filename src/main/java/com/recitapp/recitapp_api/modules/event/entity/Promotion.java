@@ -1,6 +1,9 @@
 package com.recitapp.recitapp_api.modules.event.entity;
 
+import com.recitapp.recitapp_api.common.cache.CacheRegions;
 import jakarta.persistence.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
@@ -10,6 +13,8 @@ import java.time.LocalDateTime;
 
 @Entity
 @Table(name = "promotions")
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = CacheRegions.PROMOTION)
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
@@ -35,6 +35,10 @@ public class TicketPrice {
 
     @Column(name = "available_quantity", nullable = false)
     private Integer availableQuantity;
+
+    // Entradas de este tipo que ocupan un lugar; solo se modifica con los UPDATE atómicos de TicketPriceRepository
+    @Column(name = "sold_quantity", nullable = false, updatable = false)
+    private Integer soldQuantity = 0;
     
     // Nuevos campos para entradas promocionales y de regalo
     @Column(name = "is_promotional", nullable = false)
@@ -48,4 +52,11 @@ public class TicketPrice {
     
     @Column(name = "seats_per_ticket", nullable = false)
     private Integer seatsPerTicket = 1; // Para 2x1 sería 2, para regalo 1
+
+    /**
+     * Entradas de este tipo que todavía se pueden vender
+     */
+    public int getRemainingQuantity() {
+        return Math.max(0, availableQuantity - soldQuantity);
+    }
 }
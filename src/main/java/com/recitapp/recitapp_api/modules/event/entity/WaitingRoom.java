@@ -36,6 +36,9 @@ public class WaitingRoom {
     @Column(name = "access_token", unique = true)
     private String accessToken;
 
+    @Column(name = "access_token_id", unique = true, length = 36)
+    private String accessTokenId;
+
     @Column(name = "access_date")
     private LocalDateTime accessDate;
 
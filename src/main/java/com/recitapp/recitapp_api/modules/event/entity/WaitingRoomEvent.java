@@ -0,0 +1,41 @@
+package com.recitapp.recitapp_api.modules.event.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * Sala de espera abierta de un evento, compartida por todos los nodos
+ */
+@Entity
+@Table(name = "waiting_room_events")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class WaitingRoomEvent {
+
+    @Id
+    @Column(name = "event_id")
+    private Long eventId;
+
+    @Column(name = "admissions_per_minute", nullable = false)
+    private Integer admissionsPerMinute;
+
+    @Column(name = "opened_at", nullable = false)
+    private LocalDateTime openedAt;
+
+    // Último número de orden entregado
+    @Column(name = "next_position", nullable = false)
+    private Integer nextPosition;
+
+    // Número de orden del último usuario admitido
+    @Column(name = "admitted_position", nullable = false)
+    private Integer admittedPosition;
+
+    // Instante (epoch ms) hasta el que ya se admitieron usuarios al ritmo configurado
+    @Column(name = "admission_clock")
+    private Long admissionClock;
+}
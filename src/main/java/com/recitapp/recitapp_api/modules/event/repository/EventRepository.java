@@ -52,6 +52,8 @@ public interface EventRepository extends JpaRepository<Event, Long> {
     // Buscar eventos por venue
     List<Event> findByVenueId(Long venueId);
 
+    List<Event> findByStatusName(String statusName);
+
     // Buscar eventos en un rango de fechas
     @Query("SELECT e FROM Event e WHERE e.startDateTime >= :startDate AND e.startDateTime <= :endDate")
     List<Event> findByDateRange(@Param("startDate") LocalDateTime startDate,
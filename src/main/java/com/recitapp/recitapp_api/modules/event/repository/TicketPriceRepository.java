@@ -2,11 +2,13 @@ package com.recitapp.recitapp_api.modules.event.repository;
 
 import com.recitapp.recitapp_api.modules.event.entity.TicketPrice;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
+import java.util.Optional;
 
 @Repository
 public interface TicketPriceRepository extends JpaRepository<TicketPrice, Long> {
@@ -38,25 +40,68 @@ public interface TicketPriceRepository extends JpaRepository<TicketPrice, Long>
     boolean existsBySectionId(@Param("sectionId") Long sectionId);
     
     /**
-     * Obtiene estadísticas por sección para un evento específico
+     * Obtiene estadísticas por sección para un evento específico a partir de los contadores de cada precio
      */
     @Query(value = """
-        SELECT 
+        SELECT
             tp.section_id as sectionId,
             vs.name as sectionName,
             SUM(tp.available_quantity) as totalTicketsForSale,
-            COALESCE(COUNT(t.id), 0) as ticketsSold,
-            SUM(tp.available_quantity) - COALESCE(COUNT(t.id), 0) as ticketsRemaining,
-            ROUND(
-                ((SUM(tp.available_quantity) - COALESCE(COUNT(t.id), 0)) * 100.0) / SUM(tp.available_quantity), 
+            SUM(tp.sold_quantity) as ticketsSold,
+            SUM(GREATEST(tp.available_quantity - tp.sold_quantity, 0)) as ticketsRemaining,
+            COALESCE(ROUND(
+                (SUM(GREATEST(tp.available_quantity - tp.sold_quantity, 0)) * 100.0) / NULLIF(SUM(tp.available_quantity), 0),
                 2
-            ) as percentageAvailable
+            ), 0) as percentageAvailable
         FROM ticket_prices tp
-        LEFT JOIN tickets t ON t.event_id = tp.event_id AND t.section_id = tp.section_id
         JOIN venue_sections vs ON vs.id = tp.section_id
         WHERE tp.event_id = :eventId
         GROUP BY tp.section_id, vs.name
         ORDER BY tp.section_id
     """, nativeQuery = true)
     List<Object[]> getSectionStatisticsByEventId(@Param("eventId") Long eventId);
+
+    /**
+     * Cupo total y entradas vendidas de un evento: [sum(availableQuantity), sum(soldQuantity)]
+     */
+    @Query("SELECT COALESCE(SUM(tp.availableQuantity), 0), COALESCE(SUM(tp.soldQuantity), 0) " +
+            "FROM TicketPrice tp WHERE tp.event.id = :eventId")
+    List<Object[]> sumQuantitiesByEventId(@Param("eventId") Long eventId);
+
+    /**
+     * Suma entradas vendidas solo si no se supera el cupo del precio
+     *
+     * @return 1 si se reservaron las entradas, 0 si no hay cupo suficiente
+     */
+    @Modifying
+    @Query("UPDATE TicketPrice tp SET tp.soldQuantity = tp.soldQuantity + :quantity " +
+            "WHERE tp.id = :ticketPriceId AND tp.event.id = :eventId " +
+            "AND tp.soldQuantity + :quantity <= tp.availableQuantity")
+    int reserve(@Param("eventId") Long eventId, @Param("ticketPriceId") Long ticketPriceId, @Param("quantity") int quantity);
+
+    /**
+     * Entradas que quedan del precio, leídas de la base sin pasar por la caché de entidades
+     */
+    @Query("SELECT tp.availableQuantity - tp.soldQuantity FROM TicketPrice tp WHERE tp.id = :ticketPriceId")
+    Optional<Integer> findRemainingQuantity(@Param("ticketPriceId") Long ticketPriceId);
+
+    /**
+     * Suma entradas ya admitidas en otro lado (por ejemplo por el inventario de Redis) sin volver a validar el cupo
+     */
+    @Modifying
+    @Query("UPDATE TicketPrice tp SET tp.soldQuantity = tp.soldQuantity + :quantity WHERE tp.id = :ticketPriceId")
+    int applySale(@Param("ticketPriceId") Long ticketPriceId, @Param("quantity") int quantity);
+
+    /**
+     * Devuelve entradas al cupo del precio sin bajar de cero
+     */
+    @Modifying
+    @Query("UPDATE TicketPrice tp SET tp.soldQuantity = " +
+            "CASE WHEN tp.soldQuantity > :quantity THEN tp.soldQuantity - :quantity ELSE 0 END " +
+            "WHERE tp.id = :ticketPriceId")
+    int release(@Param("ticketPriceId") Long ticketPriceId, @Param("quantity") int quantity);
+
+    @Modifying
+    @Query("UPDATE TicketPrice tp SET tp.soldQuantity = :soldQuantity WHERE tp.id = :ticketPriceId")
+    int overwriteSoldQuantity(@Param("ticketPriceId") Long ticketPriceId, @Param("soldQuantity") int soldQuantity);
 }
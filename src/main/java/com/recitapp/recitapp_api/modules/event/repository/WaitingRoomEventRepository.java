@@ -0,0 +1,53 @@
+package com.recitapp.recitapp_api.modules.event.repository;
+
+import com.recitapp.recitapp_api.modules.event.entity.WaitingRoomEvent;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface WaitingRoomEventRepository extends JpaRepository<WaitingRoomEvent, Long> {
+
+    /**
+     * Bloquea la sala del evento: los ingresos y las admisiones de todos los nodos se hacen de a uno
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT r FROM WaitingRoomEvent r WHERE r.eventId = :eventId")
+    Optional<WaitingRoomEvent> findByIdForUpdate(@Param("eventId") Long eventId);
+
+    /**
+     * IDs de los eventos con sala de espera abierta
+     */
+    @Query("SELECT r.eventId FROM WaitingRoomEvent r")
+    List<Long> findOpenEventIds();
+
+    /**
+     * Ritmo de admisión de la sala abierta del evento (vacío si el evento no tiene sala abierta)
+     */
+    @Query("SELECT r.admissionsPerMinute FROM WaitingRoomEvent r WHERE r.eventId = :eventId")
+    Optional<Integer> findOpenRoomRate(@Param("eventId") Long eventId);
+
+    /**
+     * Abre o reconfigura la sala de espera del evento para todos los nodos
+     */
+    @Modifying
+    @Query(value = "INSERT INTO waiting_room_events (event_id, admissions_per_minute, opened_at) " +
+                   "VALUES (:eventId, :admissionsPerMinute, NOW()) " +
+                   "ON DUPLICATE KEY UPDATE admissions_per_minute = VALUES(admissions_per_minute)",
+           nativeQuery = true)
+    int openRoom(@Param("eventId") Long eventId, @Param("admissionsPerMinute") int admissionsPerMinute);
+
+    /**
+     * Cierra la sala de espera del evento para todos los nodos
+     */
+    @Modifying
+    @Query("DELETE FROM WaitingRoomEvent r WHERE r.eventId = :eventId")
+    int closeRoom(@Param("eventId") Long eventId);
+}
@@ -0,0 +1,64 @@
+package com.recitapp.recitapp_api.modules.event.repository;
+
+import com.recitapp.recitapp_api.modules.event.entity.WaitingRoom;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface WaitingRoomRepository extends JpaRepository<WaitingRoom, Long> {
+
+    /**
+     * Busca los ingresos de la sala de espera de un evento
+     */
+    List<WaitingRoom> findByEventIdOrderByQueuePositionAsc(Long eventId);
+
+    /**
+     * Último ingreso del usuario a la sala de espera del evento
+     */
+    Optional<WaitingRoom> findFirstByEventIdAndUserIdOrderByIdDesc(Long eventId, Long userId);
+
+    /**
+     * Usuarios en espera del evento, en orden de llegada
+     */
+    @Query("SELECT w FROM WaitingRoom w WHERE w.event.id = :eventId AND w.accessDate IS NULL " +
+           "ORDER BY w.queuePosition")
+    List<WaitingRoom> findNextWaiting(@Param("eventId") Long eventId, Pageable pageable);
+
+    /**
+     * Cuenta los usuarios que esperan ser admitidos
+     */
+    long countByEventIdAndAccessDateIsNull(Long eventId);
+
+    /**
+     * Cuenta los usuarios admitidos desde la fecha indicada que todavía no usaron su turno
+     */
+    long countByEventIdAndCompletedFalseAndAccessDateAfter(Long eventId, LocalDateTime since);
+
+    /**
+     * Saca de la cola a los usuarios que todavía no fueron admitidos
+     */
+    @Modifying
+    @Query("DELETE FROM WaitingRoom w WHERE w.event.id = :eventId AND w.accessDate IS NULL")
+    int deleteWaiting(@Param("eventId") Long eventId);
+
+    /**
+     * Consume el turno con ese ID: solo la primera compra que lo presenta lo marca como completado
+     *
+     * @return 1 si esta llamada consumió el turno
+     */
+    @Modifying
+    @Query("UPDATE WaitingRoom w SET w.completed = true " +
+           "WHERE w.accessTokenId = :accessTokenId AND w.event.id = :eventId AND w.user.id = :userId " +
+           "AND w.completed = false")
+    int claimAccess(@Param("accessTokenId") String accessTokenId,
+                    @Param("eventId") Long eventId,
+                    @Param("userId") Long userId);
+}
@@ -0,0 +1,30 @@
+package com.recitapp.recitapp_api.modules.event.scheduler;
+
+import com.recitapp.recitapp_api.modules.event.service.WaitingRoomService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * Admite usuarios de las salas de espera abiertas a ritmo constante
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class WaitingRoomScheduler {
+
+    private final WaitingRoomService waitingRoomService;
+
+    @Scheduled(fixedRateString = "${recitapp.waiting-room.admission-interval-ms:1000}")
+    public void admitUsers() {
+        try {
+            int admitted = waitingRoomService.admitNextBatch();
+            if (admitted > 0) {
+                log.debug("Sala de espera: {} usuarios admitidos", admitted);
+            }
+        } catch (Exception e) {
+            log.error("Error admitiendo usuarios de la sala de espera", e);
+        }
+    }
+}
@@ -1,5 +1,6 @@
 package com.recitapp.recitapp_api.modules.event.service;
 
+import com.recitapp.recitapp_api.modules.ticket.dto.SeatMapDTO;
 import com.recitapp.recitapp_api.modules.venue.dto.SectionAvailabilityDTO;
 
 import java.util.List;
@@ -22,4 +23,13 @@ public interface EventAvailabilityService {
      * @return Availability information for the specified section
      */
     SectionAvailabilityDTO getSectionAvailability(Long eventId, Long sectionId);
-}
\ No newline at end of file
+
+    /**
+     * Get the occupied-seat map of a numbered section for an event
+     *
+     * @param eventId ID of the event
+     * @param sectionId ID of the section
+     * @return Seat map with one string per row
+     */
+    SeatMapDTO getSectionSeatMap(Long eventId, Long sectionId);
+}
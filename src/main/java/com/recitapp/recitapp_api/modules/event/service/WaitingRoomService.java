@@ -0,0 +1,79 @@
+package com.recitapp.recitapp_api.modules.event.service;
+
+import com.recitapp.recitapp_api.modules.event.dto.WaitingRoomStatusDTO;
+
+import java.util.Map;
+
+/**
+ * Sala de espera virtual para salidas a la venta con alta demanda.
+ * Los usuarios entran en una cola FIFO por evento y se admiten a un ritmo configurable;
+ * cada admisión recibe un token firmado que alcanza para una sola compra.
+ * La cola y el ritmo de admisión se guardan en la base, así que todos los nodos atienden la misma cola.
+ */
+public interface WaitingRoomService {
+
+    String ACCESS_TOKEN_HEADER = "X-Waiting-Room-Token";
+
+    /**
+     * Abre (o reconfigura) la sala de espera de un evento
+     *
+     * @param eventId ID del evento
+     * @param admissionsPerMinute Usuarios admitidos por minuto (null para usar el valor por defecto)
+     * @return Estado de la sala
+     */
+    Map<String, Object> openRoom(Long eventId, Integer admissionsPerMinute);
+
+    /**
+     * Cierra la sala de espera de un evento; las compras dejan de requerir token
+     *
+     * @param eventId ID del evento
+     * @return Estado final de la sala
+     */
+    Map<String, Object> closeRoom(Long eventId);
+
+    /**
+     * Obtiene el estado de la sala de espera de un evento
+     *
+     * @param eventId ID del evento
+     * @return Estado de la sala (abierta, en espera, admitidos, ritmo)
+     */
+    Map<String, Object> getRoomSummary(Long eventId);
+
+    /**
+     * Ingresa un usuario a la cola del evento. Si ya estaba en la cola conserva su lugar.
+     *
+     * @param eventId ID del evento
+     * @param userId ID del usuario
+     * @return Posición y tiempo estimado de espera
+     */
+    WaitingRoomStatusDTO join(Long eventId, Long userId);
+
+    /**
+     * Consulta la posición y el tiempo estimado de un usuario
+     *
+     * @param eventId ID del evento
+     * @param userId ID del usuario
+     * @return Estado del usuario en la sala
+     */
+    WaitingRoomStatusDTO getStatus(Long eventId, Long userId);
+
+    /**
+     * Admite el siguiente grupo de usuarios de cada sala abierta según su ritmo de admisión.
+     * Los turnos solo se entregan si las admisiones quedaron guardadas.
+     *
+     * @return Cantidad de usuarios admitidos
+     */
+    int admitNextBatch();
+
+    /**
+     * Valida que el usuario tenga un turno vigente para comprar y lo consume en la transacción actual:
+     * si la compra se revierte el turno sigue disponible. Si el evento no tiene sala abierta no exige token.
+     *
+     * @param eventId ID del evento
+     * @param userId ID del usuario
+     * @param accessToken Token recibido al ser admitido
+     * @throws com.recitapp.recitapp_api.common.exception.RecitappException si el token falta, es inválido,
+     *         venció o ya se usó
+     */
+    void validateAccess(Long eventId, Long userId, String accessToken);
+}
@@ -6,7 +6,8 @@ import com.recitapp.recitapp_api.modules.event.entity.TicketPrice;
 import com.recitapp.recitapp_api.modules.event.repository.EventRepository;
 import com.recitapp.recitapp_api.modules.event.repository.TicketPriceRepository;
 import com.recitapp.recitapp_api.modules.event.service.EventAvailabilityService;
-import com.recitapp.recitapp_api.modules.ticket.repository.TicketRepository;
+import com.recitapp.recitapp_api.modules.ticket.dto.SeatMapDTO;
+import com.recitapp.recitapp_api.modules.ticket.service.SeatMapService;
 import com.recitapp.recitapp_api.modules.venue.dto.SectionAvailabilityDTO;
 import com.recitapp.recitapp_api.modules.venue.entity.VenueSection;
 import com.recitapp.recitapp_api.modules.venue.repository.VenueSectionRepository;
@@ -23,8 +24,8 @@ public class EventAvailabilityServiceImpl implements EventAvailabilityService {
 
     private final EventRepository eventRepository;
     private final VenueSectionRepository venueSectionRepository;
-    private final TicketRepository ticketRepository;
     private final TicketPriceRepository ticketPriceRepository;
+    private final SeatMapService seatMapService;
 
     @Override
     @Transactional(readOnly = true)
@@ -64,21 +65,38 @@ public class EventAvailabilityServiceImpl implements EventAvailabilityService {
         return calculateSectionAvailability(eventId, section);
     }
 
+    @Override
+    @Transactional(readOnly = true)
+    public SeatMapDTO getSectionSeatMap(Long eventId, Long sectionId) {
+        Event event = eventRepository.findById(eventId)
+                .orElseThrow(() -> new EntityNotFoundException("Event not found with ID: " + eventId));
+
+        VenueSection section = venueSectionRepository.findById(sectionId)
+                .orElseThrow(() -> new EntityNotFoundException("Section not found with ID: " + sectionId));
+
+        if (!section.getVenue().getId().equals(event.getVenue().getId())) {
+            throw new EntityNotFoundException("Section with ID " + sectionId +
+                    " does not belong to the venue for event with ID " + eventId);
+        }
+
+        return seatMapService.getSeatMap(eventId, section);
+    }
+
     private SectionAvailabilityDTO calculateSectionAvailability(Long eventId, VenueSection section) {
         // Get total capacity for the section
         Integer totalCapacity = section.getCapacity();
 
-        // Count sold tickets for this event and section
-        Long soldTickets = ticketRepository.countByEventIdAndSectionIdAndStatusName(
-                eventId, section.getId(), "VENDIDA");
-
-        // Get ticket prices for this event and section
+        // Get ticket prices for this event and section; each one keeps its own sold counter
         List<TicketPrice> ticketPrices = ticketPriceRepository.findByEventIdAndSectionId(eventId, section.getId());
-        
-        // Calculate available tickets based on ticket prices (not just section capacity)
+
+        // Availability comes from the stored counters instead of counting tickets
+        Long soldTickets = ticketPrices.stream()
+                .mapToLong(TicketPrice::getSoldQuantity)
+                .sum();
+
         Long availableTickets = ticketPrices.stream()
-                .mapToLong(tp -> tp.getAvailableQuantity())
-                .sum() - soldTickets;
+                .mapToLong(TicketPrice::getRemainingQuantity)
+                .sum();
 
         // Calculate availability percentage based on total available tickets from prices
         Long totalAvailableFromPrices = ticketPrices.stream()
@@ -95,7 +113,7 @@ public class EventAvailabilityServiceImpl implements EventAvailabilityService {
                         .ticketPriceId(tp.getId())
                         .ticketType(tp.getTicketType())
                         .price(tp.getPrice())
-                        .availableQuantity(tp.getAvailableQuantity())
+                        .availableQuantity(tp.getRemainingQuantity())
                         .build())
                 .collect(Collectors.toList());
 
@@ -1,5 +1,6 @@
 package com.recitapp.recitapp_api.modules.event.service.impl;
 
+import com.recitapp.recitapp_api.common.lookup.LookupRegistry;
 import com.recitapp.recitapp_api.common.exception.EntityNotFoundException;
 import com.recitapp.recitapp_api.common.exception.RecitappException;
 import com.recitapp.recitapp_api.modules.artist.entity.Artist;
@@ -12,10 +13,11 @@ import com.recitapp.recitapp_api.modules.event.entity.TicketPrice;
 import com.recitapp.recitapp_api.modules.event.repository.EventArtistRepository;
 import com.recitapp.recitapp_api.modules.event.repository.EventRepository;
 import com.recitapp.recitapp_api.modules.event.repository.EventStatisticsRepository;
-import com.recitapp.recitapp_api.modules.event.repository.EventStatusRepository;
 import com.recitapp.recitapp_api.modules.event.repository.TicketPriceRepository;
 import com.recitapp.recitapp_api.modules.event.service.EventService;
 import com.recitapp.recitapp_api.modules.ticket.repository.TicketRepository;
+import com.recitapp.recitapp_api.modules.ticket.service.SectionInventoryService;
+import com.recitapp.recitapp_api.modules.ticket.service.SoldOutRegistry;
 import com.recitapp.recitapp_api.modules.user.entity.User;
 import com.recitapp.recitapp_api.modules.user.repository.UserRepository;
 import com.recitapp.recitapp_api.modules.venue.entity.Venue;
@@ -31,6 +33,8 @@ import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Iterator;
 import java.util.List;
 import java.util.stream.Collectors;
 
@@ -40,7 +44,7 @@ import java.util.stream.Collectors;
 public class EventServiceImpl implements EventService {
 
     private final EventRepository eventRepository;
-    private final EventStatusRepository eventStatusRepository;
+    private final LookupRegistry lookupRegistry;
     private final ArtistRepository artistRepository;
     private final VenueRepository venueRepository;
     private final UserRepository userRepository;
@@ -50,6 +54,8 @@ public class EventServiceImpl implements EventService {
     private final TicketPriceRepository ticketPriceRepository;
     private final VenueSectionRepository venueSectionRepository;
     private final NotificationService notificationService;
+    private final SoldOutRegistry soldOutRegistry;
+    private final SectionInventoryService sectionInventoryService;
 
     // Actualiza el método createEvent con mejor manejo de excepciones
     @Override
@@ -89,7 +95,7 @@ public class EventServiceImpl implements EventService {
         }
 
         // Por defecto, crear el evento con estado "PROXIMO"
-        EventStatus status = eventStatusRepository.findByName("PROXIMO")
+        EventStatus status = lookupRegistry.findEventStatus("PROXIMO")
                 .orElseThrow(() -> EntityNotFoundException.createByName("Estado de evento", "PROXIMO"));
 
         // Crear la entidad Event
@@ -276,7 +282,7 @@ public class EventServiceImpl implements EventService {
 
         // Actualizar el estado si se proporcionó
         if (eventDTO.getStatusName() != null) {
-            EventStatus status = eventStatusRepository.findByName(eventDTO.getStatusName())
+            EventStatus status = lookupRegistry.findEventStatus(eventDTO.getStatusName())
                     .orElseThrow(() -> new EntityNotFoundException("Event status not found: " + eventDTO.getStatusName()));
             event.setStatus(status);
         }
@@ -333,10 +339,9 @@ public class EventServiceImpl implements EventService {
 
         // Actualizar precios de tickets si se proporcionaron
         if (eventDTO.getTicketPrices() != null) {
-            // Eliminar precios existentes
-            ticketPriceRepository.deleteByEventId(eventId);
+            // Los precios existentes se actualizan en el lugar para conservar su contador de vendidas
+            List<TicketPrice> existingPrices = new ArrayList<>(ticketPriceRepository.findByEventId(eventId));
 
-            // Crear nuevos precios
             for (TicketPriceDTO ticketPriceDTO : eventDTO.getTicketPrices()) {
                 // Validar que la sección existe y pertenece al venue del evento
                 VenueSection section = venueSectionRepository.findById(ticketPriceDTO.getSectionId())
@@ -354,8 +359,15 @@ public class EventServiceImpl implements EventService {
                                                "' (" + section.getCapacity() + ")");
                 }
 
-                TicketPrice ticketPrice = new TicketPrice();
-                ticketPrice.setEvent(updatedEvent);
+                TicketPrice ticketPrice = takeExistingPrice(existingPrices, ticketPriceDTO);
+                if (ticketPrice == null) {
+                    ticketPrice = new TicketPrice();
+                    ticketPrice.setEvent(updatedEvent);
+                } else if (ticketPriceDTO.getAvailableQuantity() < ticketPrice.getSoldQuantity()) {
+                    throw new RecitappException("La cantidad disponible (" + ticketPriceDTO.getAvailableQuantity() +
+                                               ") no puede ser menor a las entradas ya vendidas (" +
+                                               ticketPrice.getSoldQuantity() + ") en la sección '" + section.getName() + "'");
+                }
                 ticketPrice.setSection(section);
                 ticketPrice.setTicketType(ticketPriceDTO.getTicketType());
                 
@@ -382,6 +394,19 @@ public class EventServiceImpl implements EventService {
                                                "'. Detalles: " + ex.getMessage(), ex);
                 }
             }
+
+            // Los precios que ya no figuran solo se eliminan si no tienen entradas vendidas
+            for (TicketPrice removedPrice : existingPrices) {
+                if (removedPrice.getSoldQuantity() > 0) {
+                    throw RecitappException.operationNotAllowed("Precio",
+                            "No se puede eliminar el precio '" + removedPrice.getTicketType() + "' de la sección '" +
+                            removedPrice.getSection().getName() + "' porque tiene entradas vendidas");
+                }
+            }
+            ticketPriceRepository.deleteAll(existingPrices);
+
+            // El stock cacheado del evento se vuelve a cargar con los nuevos cupos
+            sectionInventoryService.invalidateEvent(eventId);
         }
 
         return mapToDTO(updatedEvent);
@@ -537,7 +562,7 @@ public class EventServiceImpl implements EventService {
                 event.getSalesStartDate() != null &&
                 event.getSalesStartDate().isBefore(LocalDateTime.now())) {
 
-            EventStatus enVentaStatus = eventStatusRepository.findByName("EN_VENTA")
+            EventStatus enVentaStatus = lookupRegistry.findEventStatus("EN_VENTA")
                     .orElseThrow(() -> EntityNotFoundException.createByName("Estado de evento", "EN_VENTA"));
 
             event.setStatus(enVentaStatus);
@@ -568,7 +593,7 @@ public class EventServiceImpl implements EventService {
 
         // Si se solicitó actualizar el estado
         if (request.getUpdateStatus() != null && request.getUpdateStatus() && request.getNewStatus() != null) {
-            EventStatus newStatus = eventStatusRepository.findByName(request.getNewStatus())
+            EventStatus newStatus = lookupRegistry.findEventStatus(request.getNewStatus())
                     .orElseThrow(() -> new EntityNotFoundException("Event status not found: " + request.getNewStatus()));
 
             // Validar la transición de estado
@@ -579,7 +604,7 @@ public class EventServiceImpl implements EventService {
                 event.getSalesStartDate() != null &&
                 event.getSalesStartDate().isBefore(LocalDateTime.now())) {
             // actualizar a "EN_VENTA" si la fecha de inicio de ventas ya pasó
-            EventStatus enVentaStatus = eventStatusRepository.findByName("EN_VENTA")
+            EventStatus enVentaStatus = lookupRegistry.findEventStatus("EN_VENTA")
                     .orElseThrow(() -> new EntityNotFoundException("Event status 'EN_VENTA' not found"));
 
             event.setStatus(enVentaStatus);
@@ -622,7 +647,7 @@ public class EventServiceImpl implements EventService {
         Event event = eventRepository.findById(eventId)
                 .orElseThrow(() -> new EntityNotFoundException("Event not found with ID: " + eventId));
 
-        EventStatus newStatus = eventStatusRepository.findByName(statusName)
+        EventStatus newStatus = lookupRegistry.findEventStatus(statusName)
                 .orElseThrow(() -> new EntityNotFoundException("Event status not found: " + statusName));
 
         // Validar la transición de estado
@@ -653,7 +678,7 @@ public class EventServiceImpl implements EventService {
                     "No se puede cancelar un evento que ya ha finalizado");
         }
 
-        EventStatus canceledStatus = eventStatusRepository.findByName("CANCELADO")
+        EventStatus canceledStatus = lookupRegistry.findEventStatus("CANCELADO")
                 .orElseThrow(() -> EntityNotFoundException.createByName("Estado de evento", "CANCELADO"));
 
         event.setStatus(canceledStatus);
@@ -819,6 +844,25 @@ public class EventServiceImpl implements EventService {
         return dto;
     }
 
+    /**
+     * Quita de la lista y devuelve el precio existente que corresponde al DTO: por ID o, si no viene,
+     * por sección y tipo de entrada
+     */
+    private TicketPrice takeExistingPrice(List<TicketPrice> existingPrices, TicketPriceDTO ticketPriceDTO) {
+        for (Iterator<TicketPrice> iterator = existingPrices.iterator(); iterator.hasNext(); ) {
+            TicketPrice existing = iterator.next();
+            boolean matches = ticketPriceDTO.getId() != null
+                    ? existing.getId().equals(ticketPriceDTO.getId())
+                    : existing.getSection().getId().equals(ticketPriceDTO.getSectionId())
+                            && existing.getTicketType().equals(ticketPriceDTO.getTicketType());
+            if (matches) {
+                iterator.remove();
+                return existing;
+            }
+        }
+        return null;
+    }
+
     private TicketPriceDTO mapTicketPriceToDTO(TicketPrice ticketPrice) {
         TicketPriceDTO dto = new TicketPriceDTO();
         dto.setId(ticketPrice.getId());
@@ -860,6 +904,10 @@ public class EventServiceImpl implements EventService {
     @Override
     @Transactional(readOnly = true)
     public boolean isEventSoldOut(Long eventId) {
+        if (soldOutRegistry.isEventSoldOut(eventId)) {
+            return true;
+        }
+
         Event event = eventRepository.findById(eventId)
                 .orElseThrow(() -> new EntityNotFoundException("Event not found with ID: " + eventId));
 
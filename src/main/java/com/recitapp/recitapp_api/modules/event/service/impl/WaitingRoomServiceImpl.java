@@ -0,0 +1,341 @@
+package com.recitapp.recitapp_api.modules.event.service.impl;
+
+import com.recitapp.recitapp_api.common.exception.EntityNotFoundException;
+import com.recitapp.recitapp_api.common.exception.RecitappException;
+import com.recitapp.recitapp_api.modules.event.dto.WaitingRoomStatusDTO;
+import com.recitapp.recitapp_api.modules.event.entity.WaitingRoom;
+import com.recitapp.recitapp_api.modules.event.entity.WaitingRoomEvent;
+import com.recitapp.recitapp_api.modules.event.repository.EventRepository;
+import com.recitapp.recitapp_api.modules.event.repository.WaitingRoomEventRepository;
+import com.recitapp.recitapp_api.modules.event.repository.WaitingRoomRepository;
+import com.recitapp.recitapp_api.modules.event.service.WaitingRoomService;
+import com.recitapp.recitapp_api.modules.user.repository.UserRepository;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.io.Decoders;
+import io.jsonwebtoken.security.Keys;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.crypto.SecretKey;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * La cola, los números de orden y el reloj de admisión de cada sala se guardan en la base.
+ * Los ingresos y las admisiones de un evento bloquean su fila de waiting_room_events, así que
+ * todos los nodos atienden una sola cola FIFO y el ritmo de admisión es el configurado para el cluster.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class WaitingRoomServiceImpl implements WaitingRoomService {
+
+    private static final String STATUS_WAITING = "EN_ESPERA";
+    private static final String STATUS_ADMITTED = "ADMITIDO";
+
+    private final WaitingRoomRepository waitingRoomRepository;
+    private final WaitingRoomEventRepository waitingRoomEventRepository;
+    private final EventRepository eventRepository;
+    private final UserRepository userRepository;
+    private final PlatformTransactionManager transactionManager;
+
+    // Sin valor por defecto: debe configurarse y ser distinta de jwt.secret
+    @Value("${recitapp.waiting-room.token-secret:}")
+    private String tokenSecret;
+
+    @Value("${jwt.secret:}")
+    private String jwtSecret;
+
+    @Value("${recitapp.waiting-room.access-minutes:10}")
+    private int accessMinutes;
+
+    @Value("${recitapp.waiting-room.admission-interval-ms:1000}")
+    private long admissionIntervalMs;
+
+    @Value("${recitapp.waiting-room.default-admissions-per-minute:120}")
+    private int defaultAdmissionsPerMinute;
+
+    // Cada cuánto un nodo vuelve a consultar en la base si la sala del evento sigue abierta
+    @Value("${recitapp.waiting-room.recheck-ms:2000}")
+    private long recheckMs;
+
+    private final Map<Long, SharedRoom> sharedRooms = new ConcurrentHashMap<>();
+
+    private SecretKey signingKey;
+    private TransactionTemplate transactionTemplate;
+
+    @PostConstruct
+    public void init() {
+        if (tokenSecret.isBlank()) {
+            throw new IllegalStateException("recitapp.waiting-room.token-secret must be configured");
+        }
+        if (tokenSecret.equals(jwtSecret)) {
+            throw new IllegalStateException("recitapp.waiting-room.token-secret must differ from jwt.secret");
+        }
+        signingKey = Keys.hmacShaKeyFor(Decoders.BASE64.decode(tokenSecret));
+        transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    @Override
+    @Transactional
+    public Map<String, Object> openRoom(Long eventId, Integer admissionsPerMinute) {
+        if (!eventRepository.existsById(eventId)) {
+            throw new EntityNotFoundException("Event not found with ID: " + eventId);
+        }
+
+        int rate = admissionsPerMinute != null ? admissionsPerMinute : defaultAdmissionsPerMinute;
+        if (rate <= 0) {
+            throw new RecitappException("El ritmo de admisión debe ser mayor a cero");
+        }
+
+        waitingRoomEventRepository.openRoom(eventId, rate);
+        sharedRooms.put(eventId, new SharedRoom(rate, System.currentTimeMillis()));
+        log.info("Sala de espera abierta para el evento {} ({} admisiones por minuto)", eventId, rate);
+        return getRoomSummary(eventId);
+    }
+
+    @Override
+    @Transactional
+    public Map<String, Object> closeRoom(Long eventId) {
+        Map<String, Object> summary = getRoomSummary(eventId);
+        int removed = waitingRoomRepository.deleteWaiting(eventId);
+        waitingRoomEventRepository.closeRoom(eventId);
+        sharedRooms.put(eventId, new SharedRoom(null, System.currentTimeMillis()));
+        summary.put("open", false);
+        log.info("Sala de espera cerrada para el evento {} ({} usuarios seguían en espera)", eventId, removed);
+        return summary;
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public Map<String, Object> getRoomSummary(Long eventId) {
+        WaitingRoomEvent room = waitingRoomEventRepository.findById(eventId).orElse(null);
+
+        Map<String, Object> summary = new HashMap<>();
+        summary.put("eventId", eventId);
+        summary.put("open", room != null);
+        if (room != null) {
+            summary.put("admissionsPerMinute", room.getAdmissionsPerMinute());
+            summary.put("waiting", waitingRoomRepository.countByEventIdAndAccessDateIsNull(eventId));
+            summary.put("admitted", waitingRoomRepository.countByEventIdAndCompletedFalseAndAccessDateAfter(
+                    eventId, LocalDateTime.now().minusMinutes(accessMinutes)));
+            summary.put("totalJoined", room.getNextPosition());
+        }
+        return summary;
+    }
+
+    @Override
+    @Transactional
+    public WaitingRoomStatusDTO join(Long eventId, Long userId) {
+        // Con la sala bloqueada los ingresos concurrentes reciben números de orden consecutivos
+        // y un mismo usuario no puede ingresar dos veces
+        WaitingRoomEvent room = waitingRoomEventRepository.findByIdForUpdate(eventId)
+                .orElseThrow(() -> new RecitappException("El evento no tiene una sala de espera abierta"));
+
+        WaitingRoom entry = findActiveEntry(eventId, userId).orElse(null);
+        if (entry == null) {
+            room.setNextPosition(room.getNextPosition() + 1);
+
+            entry = new WaitingRoom();
+            entry.setEvent(eventRepository.getReferenceById(eventId));
+            entry.setUser(userRepository.getReferenceById(userId));
+            entry.setQueuePosition(room.getNextPosition());
+            entry.setMaximumTimeMinutes(accessMinutes);
+            entry.setCompleted(false);
+            entry = waitingRoomRepository.save(entry);
+        }
+
+        return buildStatus(room, entry);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public WaitingRoomStatusDTO getStatus(Long eventId, Long userId) {
+        WaitingRoomEvent room = waitingRoomEventRepository.findById(eventId)
+                .orElseThrow(() -> new RecitappException("El evento no tiene una sala de espera abierta"));
+        WaitingRoom entry = findActiveEntry(eventId, userId)
+                .orElseThrow(() -> new RecitappException("El usuario no está en la sala de espera del evento"));
+        return buildStatus(room, entry);
+    }
+
+    @Override
+    public int admitNextBatch() {
+        int totalAdmitted = 0;
+
+        for (Long eventId : waitingRoomEventRepository.findOpenEventIds()) {
+            try {
+                // Cada evento en su propia transacción: si no se guardan las admisiones no se entrega ningún turno
+                Integer admitted = transactionTemplate.execute(status -> admitUsers(eventId));
+                totalAdmitted += admitted != null ? admitted : 0;
+            } catch (RuntimeException e) {
+                log.error("Error admitiendo usuarios del evento {}, no se admitió a nadie: {}", eventId, e.getMessage());
+            }
+        }
+
+        return totalAdmitted;
+    }
+
+    @Override
+    @Transactional
+    public void validateAccess(Long eventId, Long userId, String accessToken) {
+        if (openRoomRate(eventId) == null) {
+            return;
+        }
+
+        if (accessToken == null || accessToken.isBlank()) {
+            throw new RecitappException("Este evento tiene sala de espera: se requiere un turno para comprar entradas");
+        }
+
+        Claims claims;
+        try {
+            claims = Jwts.parser()
+                    .verifyWith(signingKey)
+                    .build()
+                    .parseSignedClaims(accessToken)
+                    .getPayload();
+        } catch (JwtException | IllegalArgumentException e) {
+            throw new RecitappException("El turno de la sala de espera es inválido o está vencido");
+        }
+
+        Long tokenEventId = claims.get("eventId", Long.class);
+        if (!eventId.equals(tokenEventId) || !String.valueOf(userId).equals(claims.getSubject())) {
+            throw new RecitappException("El turno de la sala de espera no corresponde a este evento o usuario");
+        }
+
+        // Un turno alcanza para una sola compra, aunque el token siga vigente
+        if (claims.getId() == null || waitingRoomRepository.claimAccess(claims.getId(), eventId, userId) != 1) {
+            throw new RecitappException("El turno de la sala de espera ya fue usado");
+        }
+    }
+
+    /**
+     * Admite a los usuarios que corresponden según el tiempo transcurrido desde la última admisión del evento.
+     * El reloj de admisión se guarda con la sala, así que no importa cuántos nodos ejecuten el programador.
+     */
+    private int admitUsers(Long eventId) {
+        WaitingRoomEvent room = waitingRoomEventRepository.findByIdForUpdate(eventId).orElse(null);
+        if (room == null) {
+            return 0;
+        }
+
+        long now = System.currentTimeMillis();
+        double msPerAdmission = 60000.0 / room.getAdmissionsPerMinute();
+        // El crédito acumulado no supera un intervalo (o una admisión): una sala sin actividad
+        // no admite una ráfaga al recibir usuarios
+        long maxCredit = Math.max(admissionIntervalMs, (long) Math.ceil(msPerAdmission));
+        long clock = Math.max(room.getAdmissionClock() != null ? room.getAdmissionClock() : 0, now - maxCredit);
+
+        int toAdmit = (int) ((now - clock) / msPerAdmission);
+        if (toAdmit == 0) {
+            room.setAdmissionClock(clock);
+            return 0;
+        }
+
+        List<WaitingRoom> entries = waitingRoomRepository.findNextWaiting(eventId, PageRequest.of(0, toAdmit));
+        // Si la cola se vació el crédito sobrante se descarta
+        room.setAdmissionClock(entries.size() < toAdmit ? now : clock + (long) (toAdmit * msPerAdmission));
+
+        for (WaitingRoom entry : entries) {
+            grantAccess(entry);
+        }
+        if (!entries.isEmpty()) {
+            room.setAdmittedPosition(entries.get(entries.size() - 1).getQueuePosition());
+        }
+        return entries.size();
+    }
+
+    private void grantAccess(WaitingRoom entry) {
+        LocalDateTime accessDate = LocalDateTime.now();
+        LocalDateTime expiresAt = accessDate.plusMinutes(accessMinutes);
+        String tokenId = UUID.randomUUID().toString();
+        String token = Jwts.builder()
+                .id(tokenId)
+                .subject(String.valueOf(entry.getUser().getId()))
+                .claim("eventId", entry.getEvent().getId())
+                .issuedAt(toDate(accessDate))
+                .expiration(toDate(expiresAt))
+                .signWith(signingKey)
+                .compact();
+
+        entry.setAccessToken(token);
+        entry.setAccessTokenId(tokenId);
+        entry.setAccessDate(accessDate);
+        entry.setMaximumTimeMinutes(accessMinutes);
+    }
+
+    /**
+     * Ingreso vigente del usuario: en espera, o admitido con un turno sin usar ni vencer
+     */
+    private Optional<WaitingRoom> findActiveEntry(Long eventId, Long userId) {
+        LocalDateTime now = LocalDateTime.now();
+        return waitingRoomRepository.findFirstByEventIdAndUserIdOrderByIdDesc(eventId, userId)
+                .filter(entry -> !Boolean.TRUE.equals(entry.getCompleted()))
+                .filter(entry -> entry.getAccessDate() == null || expiresAt(entry).isAfter(now));
+    }
+
+    private static LocalDateTime expiresAt(WaitingRoom entry) {
+        return entry.getAccessDate().plusMinutes(entry.getMaximumTimeMinutes());
+    }
+
+    private WaitingRoomStatusDTO buildStatus(WaitingRoomEvent room, WaitingRoom entry) {
+        Long userId = entry.getUser().getId();
+        if (entry.getAccessDate() != null) {
+            return WaitingRoomStatusDTO.builder()
+                    .eventId(room.getEventId())
+                    .userId(userId)
+                    .status(STATUS_ADMITTED)
+                    .position(0L)
+                    .usersAhead(0L)
+                    .estimatedWaitSeconds(0L)
+                    .accessToken(entry.getAccessToken())
+                    .accessExpiresAt(expiresAt(entry))
+                    .build();
+        }
+
+        long usersAhead = Math.max(0, entry.getQueuePosition() - room.getAdmittedPosition() - 1L);
+        long estimatedWaitSeconds = (long) Math.ceil((usersAhead + 1) * 60.0 / room.getAdmissionsPerMinute());
+
+        return WaitingRoomStatusDTO.builder()
+                .eventId(room.getEventId())
+                .userId(userId)
+                .status(STATUS_WAITING)
+                .position(usersAhead + 1)
+                .usersAhead(usersAhead)
+                .estimatedWaitSeconds(estimatedWaitSeconds)
+                .build();
+    }
+
+    /**
+     * Ritmo de admisión de la sala abierta del evento, o null si no tiene sala abierta.
+     * Se consulta en la base como mucho una vez cada {@code recheck-ms} por evento.
+     */
+    private Integer openRoomRate(Long eventId) {
+        long now = System.currentTimeMillis();
+        SharedRoom sharedRoom = sharedRooms.get(eventId);
+        if (sharedRoom != null && now - sharedRoom.checkedAt() < recheckMs) {
+            return sharedRoom.admissionsPerMinute();
+        }
+
+        Integer rate = waitingRoomEventRepository.findOpenRoomRate(eventId).orElse(null);
+        sharedRooms.put(eventId, new SharedRoom(rate, now));
+        return rate;
+    }
+
+    private static Date toDate(LocalDateTime dateTime) {
+        return Date.from(dateTime.atZone(ZoneId.systemDefault()).toInstant());
+    }
+
+    private record SharedRoom(Integer admissionsPerMinute, long checkedAt) {
+    }
+}
@@ -1,5 +1,6 @@
 package com.recitapp.recitapp_api.modules.notification.service.impl;
 
+import com.recitapp.recitapp_api.common.lookup.LookupRegistry;
 import com.recitapp.recitapp_api.common.exception.EntityNotFoundException;
 import com.recitapp.recitapp_api.common.exception.RecitappException;
 import com.recitapp.recitapp_api.modules.artist.entity.Artist;
@@ -63,6 +64,7 @@ public class NotificationServiceImpl implements NotificationService {
     
     // Additional repositories for enhanced functionality
     private final UserDeviceTokenRepository deviceTokenRepository;
+    private final LookupRegistry lookupRegistry;
 
     // RAPP113935-113: Register notification preferences
     @Override
@@ -417,6 +419,7 @@ public class NotificationServiceImpl implements NotificationService {
         channel.setActive(channelDTO.getActive() != null ? channelDTO.getActive() : true);
 
         NotificationChannel saved = channelRepository.save(channel);
+        lookupRegistry.reloadAfterCommit();
         return mapToChannelDTO(saved);
     }
 
@@ -437,6 +440,7 @@ public class NotificationServiceImpl implements NotificationService {
         }
 
         NotificationChannel updated = channelRepository.save(channel);
+        lookupRegistry.reloadAfterCommit();
         return mapToChannelDTO(updated);
     }
 
@@ -447,6 +451,7 @@ public class NotificationServiceImpl implements NotificationService {
             throw new EntityNotFoundException("Canal no encontrado con ID: " + channelId);
         }
         channelRepository.deleteById(channelId);
+        lookupRegistry.reloadAfterCommit();
     }
 
     @Override
@@ -567,6 +572,7 @@ public class NotificationServiceImpl implements NotificationService {
         type.setTemplate(typeDTO.getTemplate());
 
         NotificationType saved = typeRepository.save(type);
+        lookupRegistry.reloadAfterCommit();
         return mapToTypeDTO(saved);
     }
 
@@ -587,6 +593,7 @@ public class NotificationServiceImpl implements NotificationService {
         }
 
         NotificationType updated = typeRepository.save(type);
+        lookupRegistry.reloadAfterCommit();
         return mapToTypeDTO(updated);
     }
 
@@ -946,12 +953,12 @@ public class NotificationServiceImpl implements NotificationService {
     }
 
     private NotificationType getNotificationTypeByName(String name) {
-        return typeRepository.findByName(name)
+        return lookupRegistry.findNotificationType(name)
                 .orElseThrow(() -> new EntityNotFoundException("Tipo de notificación no encontrado: " + name));
     }
 
     private NotificationChannel getNotificationChannelByName(String name) {
-        return channelRepository.findByName(name)
+        return lookupRegistry.findNotificationChannel(name)
                 .orElseThrow(() -> new EntityNotFoundException("Canal de notificación no encontrado: " + name));
     }
 
@@ -1,5 +1,6 @@
 package com.recitapp.recitapp_api.modules.payment.controller;
 
+import com.recitapp.recitapp_api.common.idempotency.IdempotencyService;
 import com.recitapp.recitapp_api.modules.payment.dto.CheckoutApiPaymentRequestDTO;
 import com.recitapp.recitapp_api.modules.payment.dto.PaymentRequestDTO;
 import com.recitapp.recitapp_api.modules.payment.dto.PaymentResponseDTO;
@@ -23,6 +24,7 @@ import java.util.HashMap;
 public class CheckoutApiController {
     
     private final CheckoutApiService checkoutApiService;
+    private final IdempotencyService idempotencyService;
     
     /**
      * Procesar pago con tarjeta usando Checkout API
@@ -30,7 +32,14 @@ public class CheckoutApiController {
      */
     @PostMapping("/card-payment")
     public ResponseEntity<PaymentResponseDTO> processCardPayment(
-            @Valid @RequestBody CheckoutApiPaymentRequestDTO paymentRequest) {
+            @Valid @RequestBody CheckoutApiPaymentRequestDTO paymentRequest,
+            @RequestHeader(value = IdempotencyService.HEADER, required = false) String idempotencyKey) {
+        // Un reintento del cliente no vuelve a cobrar la tarjeta
+        return idempotencyService.execute("checkout.card:" + paymentRequest.getUserId(), idempotencyKey,
+                paymentRequest, PaymentResponseDTO.class, () -> doProcessCardPayment(paymentRequest));
+    }
+
+    private ResponseEntity<PaymentResponseDTO> doProcessCardPayment(CheckoutApiPaymentRequestDTO paymentRequest) {
         
         // ========================================
 
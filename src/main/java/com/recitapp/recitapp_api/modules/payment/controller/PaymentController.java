@@ -1,5 +1,7 @@
 package com.recitapp.recitapp_api.modules.payment.controller;
 
+import com.recitapp.recitapp_api.common.idempotency.IdempotencyService;
+import com.recitapp.recitapp_api.modules.event.service.WaitingRoomService;
 import com.recitapp.recitapp_api.modules.payment.dto.PaymentRequestDTO;
 import com.recitapp.recitapp_api.modules.payment.dto.PaymentResponseDTO;
 import com.recitapp.recitapp_api.modules.payment.service.MercadoPagoService;
@@ -7,6 +9,7 @@ import com.recitapp.recitapp_api.modules.ticket.dto.TicketPurchaseRequestDTO;
 import com.recitapp.recitapp_api.modules.ticket.dto.TicketPurchaseResponseDTO;
 import com.recitapp.recitapp_api.modules.ticket.dto.TicketDTO;
 import com.recitapp.recitapp_api.modules.ticket.service.TicketService;
+import com.recitapp.recitapp_api.modules.ticket.service.SoldOutRegistry;
 import com.recitapp.recitapp_api.modules.transaction.service.TransactionService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -35,6 +38,8 @@ public class PaymentController {
     private final MercadoPagoService mercadoPagoService;
     private final TicketService ticketService;
     private final TransactionService transactionService;
+    private final SoldOutRegistry soldOutRegistry;
+    private final IdempotencyService idempotencyService;
 
     @PostConstruct
     public void init() {
@@ -43,7 +48,16 @@ public class PaymentController {
 
     @PostMapping("/create-preference")
     public ResponseEntity<PaymentResponseDTO> createPaymentPreference(
-            @RequestBody PaymentRequestDTO paymentRequest) {
+            @RequestBody PaymentRequestDTO paymentRequest,
+            @RequestHeader(value = WaitingRoomService.ACCESS_TOKEN_HEADER, required = false) String waitingRoomToken,
+            @RequestHeader(value = IdempotencyService.HEADER, required = false) String idempotencyKey) {
+        paymentRequest.setWaitingRoomToken(waitingRoomToken);
+        // Un reintento del cliente no crea otra preferencia en MercadoPago
+        return idempotencyService.execute("payments.preference:" + paymentRequest.getUserId(), idempotencyKey,
+                paymentRequest, PaymentResponseDTO.class, () -> doCreatePaymentPreference(paymentRequest));
+    }
+
+    private ResponseEntity<PaymentResponseDTO> doCreatePaymentPreference(PaymentRequestDTO paymentRequest) {
         try {
             // BYPASS DE SEGURIDAD: Establecer contexto anónimo para forzar que sea público
             if (SecurityContextHolder.getContext().getAuthentication() == null) {
@@ -122,7 +136,16 @@ public class PaymentController {
     }
 
     @PostMapping("/process-payment")
-    public ResponseEntity<PaymentResponseDTO> processPayment(@RequestBody PaymentRequestDTO paymentRequest) {
+    public ResponseEntity<PaymentResponseDTO> processPayment(
+            @RequestBody PaymentRequestDTO paymentRequest,
+            @RequestHeader(value = WaitingRoomService.ACCESS_TOKEN_HEADER, required = false) String waitingRoomToken,
+            @RequestHeader(value = IdempotencyService.HEADER, required = false) String idempotencyKey) {
+        paymentRequest.setWaitingRoomToken(waitingRoomToken);
+        return idempotencyService.execute("payments.process:" + paymentRequest.getUserId(), idempotencyKey,
+                paymentRequest, PaymentResponseDTO.class, () -> doProcessPayment(paymentRequest));
+    }
+
+    private ResponseEntity<PaymentResponseDTO> doProcessPayment(PaymentRequestDTO paymentRequest) {
         
         // ========================================
 
@@ -159,7 +182,22 @@ public class PaymentController {
     }
 
     @PostMapping("/wallet-purchase")
-    public ResponseEntity<PaymentResponseDTO> processWalletPurchase(@RequestBody PaymentRequestDTO paymentRequest) {
+    public ResponseEntity<PaymentResponseDTO> processWalletPurchase(
+            @RequestBody PaymentRequestDTO paymentRequest,
+            @RequestHeader(value = WaitingRoomService.ACCESS_TOKEN_HEADER, required = false) String waitingRoomToken,
+            @RequestHeader(value = IdempotencyService.HEADER, required = false) String idempotencyKey) {
+        paymentRequest.setWaitingRoomToken(waitingRoomToken);
+        return idempotencyService.execute("payments.wallet:" + paymentRequest.getUserId(), idempotencyKey,
+                paymentRequest, PaymentResponseDTO.class, () -> doProcessWalletPurchase(paymentRequest));
+    }
+
+    private ResponseEntity<PaymentResponseDTO> doProcessWalletPurchase(PaymentRequestDTO paymentRequest) {
+        if (paymentRequest.getTickets() != null) {
+            soldOutRegistry.assertPurchasable(paymentRequest.getEventId(), paymentRequest.getTickets().stream()
+                    .map(PaymentRequestDTO.TicketItemDTO::getSectionId)
+                    .toList());
+        }
+
         try {
             log.info("🏦 [WALLET-CONTROLLER] Processing wallet purchase for Event: {}, User: {}", 
                     paymentRequest.getEventId(), paymentRequest.getUserId());
@@ -252,6 +290,7 @@ public class PaymentController {
             .paymentMethodId(walletPaymentMethodId)
             .userId(paymentRequest.getUserId())
             .tickets(ticketRequests)
+            .waitingRoomToken(paymentRequest.getWaitingRoomToken())
             .build();
     }
     
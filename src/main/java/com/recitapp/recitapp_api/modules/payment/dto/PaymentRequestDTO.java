@@ -1,5 +1,6 @@
 package com.recitapp.recitapp_api.modules.payment.dto;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
@@ -21,6 +22,10 @@ public class PaymentRequestDTO {
     
     // Campo adicional para detección de códigos de prueba por nombre del titular
     private String cardholderName;
+
+    // Turno de la sala de espera: llega en el header X-Waiting-Room-Token, no en el cuerpo
+    @JsonIgnore
+    private String waitingRoomToken;
     
     @Data
     @Builder
@@ -858,6 +858,7 @@ public class MercadoPagoServiceImpl implements MercadoPagoService {
             .paymentMethodId(mercadoPagoPaymentMethodId)
             .userId(paymentRequest.getUserId())
             .tickets(ticketRequests)
+            .waitingRoomToken(paymentRequest.getWaitingRoomToken())
             .build();
     }
     
@@ -1002,6 +1003,7 @@ public class MercadoPagoServiceImpl implements MercadoPagoService {
             .paymentMethodId(giftPaymentMethodId)
             .userId(paymentRequest.getUserId())
             .tickets(ticketRequests)
+            .waitingRoomToken(paymentRequest.getWaitingRoomToken())
             .build();
     }
     
@@ -1,8 +1,10 @@
 package com.recitapp.recitapp_api.modules.ticket.controller;
 
 
+import com.recitapp.recitapp_api.modules.ticket.dto.BulkIssuanceJobDTO;
 import com.recitapp.recitapp_api.modules.ticket.dto.PromotionalTicketRequestDTO;
 import com.recitapp.recitapp_api.modules.ticket.dto.PromotionalTicketResponseDTO;
+import com.recitapp.recitapp_api.modules.ticket.service.impl.BulkPromotionalIssuanceService;
 import com.recitapp.recitapp_api.modules.ticket.service.impl.PromotionalTicketService;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
@@ -20,6 +22,7 @@ import org.springframework.web.bind.annotation.*;
 public class PromotionalTicketController {
 
     private final PromotionalTicketService promotionalTicketService;
+    private final BulkPromotionalIssuanceService bulkIssuanceService;
 
     /**
      * Creates promotional tickets for an event
@@ -34,4 +37,41 @@ public class PromotionalTicketController {
         PromotionalTicketResponseDTO response = promotionalTicketService.createPromotionalTickets(requestDTO);
         return new ResponseEntity<>(response, HttpStatus.CREATED);
     }
-}
\ No newline at end of file
+
+    /**
+     * Starts a bulk issuance of promotional tickets (sponsor allocations, comps).
+     * Tickets are issued and emailed in the background; the returned job can be polled for progress.
+     *
+     * @param requestDTO The request with the recipient list
+     * @return The created job
+     */
+    @PostMapping("/bulk")
+    public ResponseEntity<BulkIssuanceJobDTO> createBulkIssuance(
+            @Valid @RequestBody PromotionalTicketRequestDTO requestDTO) {
+
+        BulkIssuanceJobDTO job = bulkIssuanceService.createJob(requestDTO);
+        return new ResponseEntity<>(job, HttpStatus.ACCEPTED);
+    }
+
+    /**
+     * Gets the progress of a bulk issuance
+     *
+     * @param jobId The ID of the job
+     * @return The job status and counters
+     */
+    @GetMapping("/bulk/{jobId}")
+    public ResponseEntity<BulkIssuanceJobDTO> getBulkIssuance(@PathVariable Long jobId) {
+        return ResponseEntity.ok(bulkIssuanceService.getJob(jobId));
+    }
+
+    /**
+     * Resumes a failed or interrupted bulk issuance without repeating issued tickets or sent emails
+     *
+     * @param jobId The ID of the job
+     * @return The job status and counters
+     */
+    @PostMapping("/bulk/{jobId}/resume")
+    public ResponseEntity<BulkIssuanceJobDTO> resumeBulkIssuance(@PathVariable Long jobId) {
+        return new ResponseEntity<>(bulkIssuanceService.resumeJob(jobId), HttpStatus.ACCEPTED);
+    }
+}
@@ -2,10 +2,19 @@ package com.recitapp.recitapp_api.modules.ticket.controller;
 
 
 import com.recitapp.recitapp_api.modules.ticket.dto.TicketDTO;
+import com.recitapp.recitapp_api.common.exception.RecitappException;
+import com.recitapp.recitapp_api.modules.ticket.service.SectionInventoryService;
 import com.recitapp.recitapp_api.modules.ticket.service.TicketAdminService;
+import com.recitapp.recitapp_api.modules.ticket.service.TicketExportService;
+import com.recitapp.recitapp_api.modules.ticket.service.TicketTokenService;
+import com.recitapp.recitapp_api.modules.ticket.service.impl.UsedTicketRegistry;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.util.List;
 import java.util.Map;
@@ -19,6 +28,10 @@ import java.util.Map;
 public class TicketAdminController {
 
     private final TicketAdminService ticketAdminService;
+    private final SectionInventoryService sectionInventoryService;
+    private final TicketExportService ticketExportService;
+    private final TicketTokenService ticketTokenService;
+    private final UsedTicketRegistry usedTicketRegistry;
 
     /**
      * Marcar tickets de eventos pasados como vencidos (cambiar estado de VENDIDA a VENCIDA)
@@ -32,6 +45,16 @@ public class TicketAdminController {
         return ResponseEntity.ok(result);
     }
 
+    /**
+     * Consultar el avance del proceso de vencimiento de tickets
+     *
+     * @return Tickets encontrados y procesados en la ejecución actual o la última
+     */
+    @GetMapping("/expiry/progress")
+    public ResponseEntity<Map<String, Object>> getExpiryProgress() {
+        return ResponseEntity.ok(ticketAdminService.getExpiryProgress());
+    }
+
     /**
      * Obtener tickets que pueden ser marcados como vencidos (preview)
      * 
@@ -65,4 +88,111 @@ public class TicketAdminController {
         Map<String, Object> result = ticketAdminService.markSpecificTicketsExpired(ticketIds);
         return ResponseEntity.ok(result);
     }
-} 
\ No newline at end of file
+
+    /**
+     * Reconstruir los contadores de inventario de un evento a partir de sus tickets
+     *
+     * @param eventId ID del evento
+     * @return Resultado de la reconciliación
+     */
+    @PostMapping("/inventory/reconcile/{eventId}")
+    public ResponseEntity<Map<String, Object>> reconcileEventInventory(@PathVariable Long eventId) {
+        Map<String, Object> result = sectionInventoryService.reconcileEvent(eventId);
+        return ResponseEntity.ok(result);
+    }
+
+    /**
+     * Comparar los contadores de inventario de un evento con sus tickets, sin corregirlos
+     *
+     * @param eventId ID del evento
+     * @return Diferencias encontradas
+     */
+    @GetMapping("/inventory/audit/{eventId}")
+    public ResponseEntity<Map<String, Object>> auditEventInventory(@PathVariable Long eventId) {
+        Map<String, Object> result = sectionInventoryService.auditEvent(eventId);
+        return ResponseEntity.ok(result);
+    }
+
+    /**
+     * Reconstruir los contadores de inventario de todos los eventos con inventario inicializado
+     *
+     * @return Resultado de la reconciliación
+     */
+    @PostMapping("/inventory/reconcile")
+    public ResponseEntity<Map<String, Object>> reconcileAllInventory() {
+        Map<String, Object> result = sectionInventoryService.reconcileAll();
+        return ResponseEntity.ok(result);
+    }
+
+    /**
+     * Exportar las entradas y asistentes de un evento en CSV o NDJSON.
+     * Las filas se escriben a medida que se leen de la base de datos.
+     *
+     * @param eventId ID del evento
+     * @param format Formato de salida (csv o ndjson)
+     * @param status Estados a incluir (opcional, todos por defecto)
+     * @return Archivo con una fila por entrada
+     */
+    @GetMapping("/export/{eventId}")
+    public ResponseEntity<StreamingResponseBody> exportEventTickets(
+            @PathVariable Long eventId,
+            @RequestParam(defaultValue = "csv") String format,
+            @RequestParam(required = false) List<String> status) {
+        TicketExportService.Format exportFormat = parseExportFormat(format);
+        String fileName = ticketExportService.getExportFileName(eventId, exportFormat);
+
+        StreamingResponseBody body = outputStream ->
+                ticketExportService.writeEventTickets(eventId, exportFormat, status, outputStream);
+
+        return ResponseEntity.ok()
+                .header(HttpHeaders.CONTENT_DISPOSITION,
+                        ContentDisposition.attachment().filename(fileName).build().toString())
+                .contentType(MediaType.parseMediaType(exportFormat.getContentType() + ";charset=UTF-8"))
+                .body(body);
+    }
+
+    /**
+     * Claves de verificación de un evento para los dispositivos de acceso que validan
+     * los QR firmados sin conexión. Solo accesible para administradores.
+     *
+     * @param eventId ID del evento
+     * @return Algoritmo, versión vigente y claves del evento por versión
+     */
+    @GetMapping("/gate-keys/{eventId}")
+    public ResponseEntity<Map<String, Object>> getGateKeys(@PathVariable Long eventId) {
+        return ResponseEntity.ok(ticketTokenService.getGateKeys(eventId));
+    }
+
+    /**
+     * Abrir el acceso de un evento: carga en memoria los tickets ya usados para detectar
+     * reingresos sin consultar la base de datos. Solo accesible para administradores.
+     */
+    @PostMapping("/gate/{eventId}/open")
+    public ResponseEntity<Map<String, Object>> openGate(@PathVariable Long eventId) {
+        return ResponseEntity.ok(usedTicketRegistry.open(eventId));
+    }
+
+    /**
+     * Cerrar el acceso de un evento y liberar su registro de tickets usados
+     */
+    @PostMapping("/gate/{eventId}/close")
+    public ResponseEntity<Map<String, Object>> closeGate(@PathVariable Long eventId) {
+        return ResponseEntity.ok(usedTicketRegistry.close(eventId));
+    }
+
+    /**
+     * Estado del registro de tickets usados de un evento
+     */
+    @GetMapping("/gate/{eventId}")
+    public ResponseEntity<Map<String, Object>> getGateStatus(@PathVariable Long eventId) {
+        return ResponseEntity.ok(usedTicketRegistry.getSummary(eventId));
+    }
+
+    private TicketExportService.Format parseExportFormat(String format) {
+        try {
+            return TicketExportService.Format.valueOf(format.trim().toUpperCase());
+        } catch (IllegalArgumentException e) {
+            throw new RecitappException("Formato de exportación no soportado: " + format);
+        }
+    }
+}
@@ -1,7 +1,10 @@
 package com.recitapp.recitapp_api.modules.ticket.controller;
 
+import com.recitapp.recitapp_api.common.idempotency.IdempotencyService;
+import com.recitapp.recitapp_api.modules.event.service.WaitingRoomService;
 import com.recitapp.recitapp_api.modules.ticket.dto.*;
 import com.recitapp.recitapp_api.modules.ticket.service.TicketService;
+import com.recitapp.recitapp_api.modules.ticket.service.SoldOutRegistry;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Page;
@@ -19,12 +22,26 @@ import java.util.List;
 public class TicketController {
 
     private final TicketService ticketService;
+    private final SoldOutRegistry soldOutRegistry;
+    private final IdempotencyService idempotencyService;
 
     @PostMapping("/purchase")
     public ResponseEntity<TicketPurchaseResponseDTO> purchaseTickets(
-            @Valid @RequestBody TicketPurchaseRequestDTO purchaseRequest) {
-        TicketPurchaseResponseDTO response = ticketService.purchaseTickets(purchaseRequest);
-        return new ResponseEntity<>(response, HttpStatus.CREATED);
+            @Valid @RequestBody TicketPurchaseRequestDTO purchaseRequest,
+            @RequestHeader(value = WaitingRoomService.ACCESS_TOKEN_HEADER, required = false) String waitingRoomToken,
+            @RequestHeader(value = IdempotencyService.HEADER, required = false) String idempotencyKey) {
+        purchaseRequest.setWaitingRoomToken(waitingRoomToken);
+        // Los reintentos con la misma clave reciben la respuesta de la primera compra
+        return idempotencyService.execute("tickets.purchase:" + purchaseRequest.getUserId(), idempotencyKey,
+                purchaseRequest, TicketPurchaseResponseDTO.class, () -> {
+            soldOutRegistry.assertPurchasable(purchaseRequest.getEventId(), purchaseRequest.getTickets().stream()
+                    .map(TicketPurchaseRequestDTO.TicketRequestDTO::getSectionId)
+                    .toList());
+
+            // El turno de la sala de espera se valida y consume dentro de la compra
+            TicketPurchaseResponseDTO response = ticketService.purchaseTickets(purchaseRequest);
+            return new ResponseEntity<>(response, HttpStatus.CREATED);
+        });
     }
 
     @GetMapping("/{id}")
@@ -57,6 +74,15 @@ public class TicketController {
         return ResponseEntity.ok(tickets);
     }
 
+    // Billetera de entradas: una sola consulta por página, paginada por cursor
+    @GetMapping("/user/{userId}/wallet")
+    public ResponseEntity<TicketWalletDTO> getUserWallet(
+            @PathVariable Long userId,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int size) {
+        return ResponseEntity.ok(ticketService.getUserWallet(userId, cursor, size));
+    }
+
     @GetMapping("/event/{eventId}/section/{sectionId}")
     public ResponseEntity<List<TicketDTO>> getTicketsByEventAndSection(
             @PathVariable Long eventId, @PathVariable Long sectionId) {
@@ -1,17 +1,24 @@
 package com.recitapp.recitapp_api.modules.ticket.controller;
 
+import com.recitapp.recitapp_api.modules.ticket.dto.GateScanBatchRequestDTO;
+import com.recitapp.recitapp_api.modules.ticket.dto.GateScanBatchResponseDTO;
+import com.recitapp.recitapp_api.modules.ticket.dto.TicketTokenVerificationRequestDTO;
 import com.recitapp.recitapp_api.modules.ticket.dto.TicketVerificationRequestDTO;
 import com.recitapp.recitapp_api.modules.ticket.dto.TicketVerificationResponseDTO;
 import com.recitapp.recitapp_api.modules.ticket.entity.TicketVerification;
+import com.recitapp.recitapp_api.modules.ticket.service.GateManifestService;
+import com.recitapp.recitapp_api.modules.ticket.service.impl.GateScanBatchService;
 import com.recitapp.recitapp_api.modules.ticket.service.impl.TicketVerificationService;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.util.List;
 
@@ -24,7 +31,11 @@ import java.util.List;
 @RequiredArgsConstructor
 public class TicketVerificationController {
 
+    private static final String MANIFEST_VERSION_HEADER = "X-Manifest-Version";
+
     private final TicketVerificationService verificationService;
+    private final GateManifestService gateManifestService;
+    private final GateScanBatchService gateScanBatchService;
 
     /**
      * Verifies a ticket at an access point
@@ -48,6 +59,83 @@ public class TicketVerificationController {
         return ResponseEntity.ok(response);
     }
 
+    /**
+     * Verifies a signed QR token and admits the ticket.
+     * The token is authenticated without database reads; only the "already used" check is stateful.
+     *
+     * @param requestDTO The token verification request
+     * @return The verification result
+     */
+    @PostMapping("/token")
+    public ResponseEntity<TicketVerificationResponseDTO> verifyToken(
+            @Valid @RequestBody TicketTokenVerificationRequestDTO requestDTO) {
+        return ResponseEntity.ok(verificationService.verifyToken(requestDTO));
+    }
+
+    /**
+     * Authenticates a signed QR token without admitting the ticket (no database access)
+     *
+     * @param requestDTO The token verification request
+     * @return The authentication result
+     */
+    @PostMapping("/token/authenticate")
+    public ResponseEntity<TicketVerificationResponseDTO> authenticateToken(
+            @Valid @RequestBody TicketTokenVerificationRequestDTO requestDTO) {
+        return ResponseEntity.ok(verificationService.authenticateToken(requestDTO));
+    }
+
+    /**
+     * Uploads scans buffered by a scanner device (for example during a connectivity loss).
+     * The batch is applied with set-based statements; when a ticket was scanned more than once
+     * the earliest device timestamp wins.
+     *
+     * @param requestDTO The batch of scans of one access point
+     * @return One verdict per scan, in the order received
+     */
+    @PostMapping("/scans/batch")
+    public ResponseEntity<GateScanBatchResponseDTO> uploadScanBatch(
+            @Valid @RequestBody GateScanBatchRequestDTO requestDTO) {
+        return ResponseEntity.ok(gateScanBatchService.ingest(requestDTO));
+    }
+
+    /**
+     * Downloads the binary manifest of every admissible ticket of an event, so scanner devices
+     * can validate locally. The manifest version is returned in the X-Manifest-Version header.
+     *
+     * @param eventId The ID of the event
+     * @return The manifest (format described in GateManifestService)
+     */
+    @GetMapping("/manifest/{eventId}")
+    public ResponseEntity<StreamingResponseBody> getGateManifest(@PathVariable Long eventId) {
+        long version = gateManifestService.currentVersion(eventId);
+        return manifestResponse(version,
+                outputStream -> gateManifestService.writeManifest(eventId, version, outputStream));
+    }
+
+    /**
+     * Downloads the changes of an event's manifest since a version: purchases, transfers,
+     * cancellations, expirations and used tickets
+     *
+     * @param eventId The ID of the event
+     * @param since The version the device currently has
+     * @return The delta, with the new version in the X-Manifest-Version header
+     */
+    @GetMapping("/manifest/{eventId}/delta")
+    public ResponseEntity<StreamingResponseBody> getGateManifestDelta(
+            @PathVariable Long eventId,
+            @RequestParam long since) {
+        long version = gateManifestService.currentVersion(eventId);
+        return manifestResponse(version,
+                outputStream -> gateManifestService.writeDelta(eventId, since, version, outputStream));
+    }
+
+    private ResponseEntity<StreamingResponseBody> manifestResponse(long version, StreamingResponseBody body) {
+        return ResponseEntity.ok()
+                .header(MANIFEST_VERSION_HEADER, String.valueOf(version))
+                .contentType(MediaType.parseMediaType(GateManifestService.CONTENT_TYPE))
+                .body(body);
+    }
+
     /**
      * Gets verification history for a ticket
      *
@@ -0,0 +1,33 @@
+package com.recitapp.recitapp_api.modules.ticket.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * Estado y avance de una emisión masiva de entradas promocionales
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class BulkIssuanceJobDTO {
+    private Long jobId;
+    private Long eventId;
+    private String eventName;
+    private Long adminUserId;
+    private String promotionName;
+    private String status;
+    private Integer totalRecipients;
+    private Integer issuedCount;
+    private Integer deliveredCount;
+    private Integer failedDeliveries;
+    private Integer failedIssuances;
+    private String errorMessage;
+    private LocalDateTime createdAt;
+    private LocalDateTime updatedAt;
+    private LocalDateTime completedAt;
+}
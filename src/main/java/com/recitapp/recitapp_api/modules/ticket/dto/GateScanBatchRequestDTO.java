@@ -0,0 +1,48 @@
+package com.recitapp.recitapp_api.modules.ticket.dto;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Lote de lecturas acumuladas por un dispositivo de acceso (por ejemplo, sin conexión)
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class GateScanBatchRequestDTO {
+
+    @NotNull(message = "El ID del evento es obligatorio")
+    private Long eventId;
+
+    @NotNull(message = "El ID del punto de acceso es obligatorio")
+    private Long accessPointId;
+
+    @NotNull(message = "El ID del usuario verificador es obligatorio")
+    private Long verifierUserId;
+
+    @NotEmpty(message = "Se debe incluir al menos una lectura")
+    @Valid
+    private List<ScanDTO> scans;
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class ScanDTO {
+        // Identificador de la lectura en el dispositivo, se devuelve en el resultado
+        private String scanId;
+
+        // Token firmado (QR nuevos) o texto del QR (QR anteriores): uno de los dos
+        private String token;
+        private String qrCode;
+
+        @NotNull(message = "La hora de lectura es obligatoria")
+        private LocalDateTime scannedAt;
+    }
+}
@@ -0,0 +1,39 @@
+package com.recitapp.recitapp_api.modules.ticket.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Resultado de un lote de lecturas: un veredicto por lectura, en el orden recibido
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class GateScanBatchResponseDTO {
+    private Long eventId;
+    private Long accessPointId;
+    private Integer received;
+    private Integer admitted;
+    private Integer rejected;
+    private List<ScanResultDTO> results;
+
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class ScanResultDTO {
+        private String scanId;
+        private Long ticketId;
+        private LocalDateTime scannedAt;
+        // ADMITTED o REJECTED
+        private String status;
+        private String errorCode;
+        private String message;
+    }
+}
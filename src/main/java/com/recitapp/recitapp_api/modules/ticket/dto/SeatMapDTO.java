@@ -0,0 +1,23 @@
+package com.recitapp.recitapp_api.modules.ticket.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class SeatMapDTO {
+    private Long eventId;
+    private Long sectionId;
+    private String sectionName;
+    private Integer seatRows;
+    private Integer seatsPerRow;
+    private Integer availableSeats;
+    // Una cadena por fila: 'X' asiento ocupado, '.' asiento libre
+    private List<String> rows;
+}
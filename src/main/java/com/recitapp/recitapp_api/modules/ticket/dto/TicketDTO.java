@@ -19,6 +19,8 @@ public class TicketDTO {
     private LocalDateTime eventDate;
     private Long sectionId;
     private String sectionName;
+    private Integer seatRow;
+    private Integer seatNumber;
     private String venueName;
     private BigDecimal price;
     private String status;
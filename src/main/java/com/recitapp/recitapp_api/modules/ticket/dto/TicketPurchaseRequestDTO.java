@@ -1,5 +1,6 @@
 package com.recitapp.recitapp_api.modules.ticket.dto;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
@@ -27,6 +28,10 @@ public class TicketPurchaseRequestDTO {
     @NotEmpty(message = "Se debe incluir al menos un ticket")
     private List<TicketRequestDTO> tickets;
 
+    // Turno de la sala de espera: llega en el header X-Waiting-Room-Token, no en el cuerpo
+    @JsonIgnore
+    private String waitingRoomToken;
+
     @Data
     @NoArgsConstructor
     @AllArgsConstructor
@@ -51,5 +56,9 @@ public class TicketPurchaseRequestDTO {
         // Campos para mantener información del tipo de ticket original
         private Long ticketPriceId; // ID del precio de ticket seleccionado
         private String ticketType; // "GENERAL", "PROMOTIONAL_2X1", "GIFT", "VIP"
+
+        // Asiento elegido en secciones numeradas; si no se indica se asigna el mejor disponible
+        private Integer seatRow;
+        private Integer seatNumber;
     }
 }
\ No newline at end of file
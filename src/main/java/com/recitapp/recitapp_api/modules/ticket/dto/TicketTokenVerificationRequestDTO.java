@@ -0,0 +1,28 @@
+package com.recitapp.recitapp_api.modules.ticket.dto;
+
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * DTO for verifications of signed QR tokens
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class TicketTokenVerificationRequestDTO {
+
+    @NotBlank(message = "El token es obligatorio")
+    private String token;
+
+    @NotNull(message = "El ID del evento es obligatorio")
+    private Long eventId;
+
+    @NotNull(message = "El ID del punto de acceso es obligatorio")
+    private Long accessPointId;
+
+    @NotNull(message = "El ID del usuario verificador es obligatorio")
+    private Long verifierUserId;
+}
@@ -14,7 +14,7 @@ import lombok.NoArgsConstructor;
 @AllArgsConstructor
 public class TicketVerificationRequestDTO {
 
-    @NotNull(message = "El ID del ticket es obligatorio")
+    // Opcional: sin ID el ticket se busca por el resumen de su código QR
     private Long ticketId;
 
     @NotBlank(message = "El código QR es obligatorio")
@@ -26,6 +26,7 @@ public class TicketVerificationResponseDTO {
     private Long eventId;
     private String eventName;
     private LocalDateTime eventDate;
+    private Long sectionId;
     private String sectionName;
     private String attendeeName;
     private String attendeeDni;
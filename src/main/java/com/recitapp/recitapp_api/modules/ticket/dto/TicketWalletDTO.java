@@ -0,0 +1,22 @@
+package com.recitapp.recitapp_api.modules.ticket.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Una página de la billetera de entradas de un usuario
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class TicketWalletDTO {
+    private List<TicketDTO> tickets;
+    // Cursor opaco para pedir la página siguiente (null si no hay más)
+    private String nextCursor;
+    private boolean hasMore;
+}
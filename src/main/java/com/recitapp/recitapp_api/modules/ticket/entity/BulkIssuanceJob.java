@@ -0,0 +1,94 @@
+package com.recitapp.recitapp_api.modules.ticket.entity;
+
+import com.recitapp.recitapp_api.modules.event.entity.Event;
+import com.recitapp.recitapp_api.modules.event.entity.Promotion;
+import com.recitapp.recitapp_api.modules.user.entity.User;
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * Emisión masiva de entradas promocionales (cortesías de sponsors, invitaciones).
+ * Los destinatarios se guardan en {@link BulkIssuanceRecipient}; el trabajo avanza por etapas
+ * (emisión de tickets y luego envío de PDF por email) y puede retomarse tras un reinicio.
+ */
+@Entity
+@Table(name = "bulk_issuance_jobs")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BulkIssuanceJob {
+
+    public static final String STATUS_PENDING = "PENDIENTE";
+    public static final String STATUS_ISSUING = "EMITIENDO";
+    public static final String STATUS_DELIVERING = "ENVIANDO";
+    public static final String STATUS_COMPLETED = "COMPLETADO";
+    public static final String STATUS_FAILED = "FALLIDO";
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "event_id", nullable = false)
+    private Event event;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "admin_user_id", nullable = false)
+    private User adminUser;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "promotion_id")
+    private Promotion promotion;
+
+    @Column(nullable = false, length = 20)
+    private String status;
+
+    @Column(name = "total_recipients", nullable = false)
+    private Integer totalRecipients;
+
+    @Column(name = "issued_count", nullable = false)
+    private Integer issuedCount;
+
+    @Column(name = "delivered_count", nullable = false)
+    private Integer deliveredCount;
+
+    @Column(name = "failed_deliveries", nullable = false)
+    private Integer failedDeliveries;
+
+    @Column(name = "failed_issuances", nullable = false)
+    private Integer failedIssuances;
+
+    @Column(name = "error_message", length = 500)
+    private String errorMessage;
+
+    // Nodo que está procesando el trabajo y hasta cuándo lo tiene tomado
+    @Column(name = "claimed_by", length = 100)
+    private String claimedBy;
+
+    @Column(name = "claimed_until")
+    private LocalDateTime claimedUntil;
+
+    @Column(name = "created_at")
+    private LocalDateTime createdAt;
+
+    @Column(name = "updated_at")
+    private LocalDateTime updatedAt;
+
+    @Column(name = "completed_at")
+    private LocalDateTime completedAt;
+
+    @PrePersist
+    protected void onCreate() {
+        createdAt = LocalDateTime.now();
+        updatedAt = createdAt;
+    }
+
+    @PreUpdate
+    protected void onUpdate() {
+        updatedAt = LocalDateTime.now();
+    }
+}
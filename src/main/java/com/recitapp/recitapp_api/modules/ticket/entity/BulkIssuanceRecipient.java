@@ -0,0 +1,66 @@
+package com.recitapp.recitapp_api.modules.ticket.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Destinatario de una emisión masiva. {@code ticketId} queda en null hasta que se emite su entrada,
+ * lo que permite retomar la emisión sin duplicar tickets. Si su entrada no se pudo emitir (por ejemplo,
+ * sección sin capacidad) queda {@code issuanceError} y el trabajo sigue con los demás.
+ */
+@Entity
+@Table(name = "bulk_issuance_recipients")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BulkIssuanceRecipient {
+
+    public static final String DELIVERY_PENDING = "PENDIENTE";
+    public static final String DELIVERY_SENT = "ENVIADO";
+    public static final String DELIVERY_FAILED = "FALLIDO";
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.TABLE, generator = "bulk_issuance_recipient_id_generator")
+    @TableGenerator(name = "bulk_issuance_recipient_id_generator", table = "id_generators",
+            pkColumnName = "sequence_name", valueColumnName = "next_val",
+            pkColumnValue = "bulk_issuance_recipients", allocationSize = 50)
+    private Long id;
+
+    @Column(name = "job_id", nullable = false)
+    private Long jobId;
+
+    @Column(name = "section_id", nullable = false)
+    private Long sectionId;
+
+    @Column(name = "recipient_user_id", nullable = false)
+    private Long recipientUserId;
+
+    @Column(name = "attendee_first_name", length = 100, nullable = false)
+    private String attendeeFirstName;
+
+    @Column(name = "attendee_last_name", length = 100, nullable = false)
+    private String attendeeLastName;
+
+    @Column(name = "attendee_dni", length = 20, nullable = false)
+    private String attendeeDni;
+
+    @Column(name = "is_gift", nullable = false)
+    private Boolean isGift;
+
+    @Column(name = "ticket_id")
+    private Long ticketId;
+
+    @Column(name = "delivery_status", nullable = false, length = 20)
+    private String deliveryStatus;
+
+    @Column(name = "delivery_attempts", nullable = false)
+    private Integer deliveryAttempts;
+
+    @Column(name = "error_message", length = 500)
+    private String errorMessage;
+
+    @Column(name = "issuance_error", length = 500)
+    private String issuanceError;
+}
@@ -0,0 +1,52 @@
+package com.recitapp.recitapp_api.modules.ticket.entity;
+
+import com.recitapp.recitapp_api.modules.event.entity.Event;
+import com.recitapp.recitapp_api.modules.venue.entity.VenueSection;
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * Contador de inventario por evento y sección.
+ * Las reservas y liberaciones se hacen con UPDATE condicionales sobre esta fila,
+ * evitando contar la tabla de tickets en cada compra.
+ */
+@Entity
+@Table(name = "section_inventories",
+        uniqueConstraints = @UniqueConstraint(name = "uk_section_inventory_event_section",
+                columnNames = {"event_id", "section_id"}))
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class SectionInventory {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "event_id", nullable = false)
+    private Event event;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "section_id", nullable = false)
+    private VenueSection section;
+
+    @Column(nullable = false)
+    private Integer capacity;
+
+    @Column(name = "available_quantity", nullable = false)
+    private Integer availableQuantity;
+
+    @Column(name = "updated_at")
+    private LocalDateTime updatedAt;
+
+    @PrePersist
+    @PreUpdate
+    protected void onUpdate() {
+        updatedAt = LocalDateTime.now();
+    }
+}
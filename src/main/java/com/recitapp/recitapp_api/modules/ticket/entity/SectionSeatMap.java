@@ -0,0 +1,59 @@
+package com.recitapp.recitapp_api.modules.ticket.entity;
+
+import com.recitapp.recitapp_api.modules.event.entity.Event;
+import com.recitapp.recitapp_api.modules.venue.entity.VenueSection;
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * Mapa de asientos ocupados de una sección numerada para un evento.
+ * Cada asiento es un bit (fila x asientos por fila); la versión se incrementa en cada cambio
+ * para detectar escrituras concurrentes de otros nodos.
+ */
+@Entity
+@Table(name = "section_seat_maps",
+        uniqueConstraints = @UniqueConstraint(name = "uk_section_seat_map_event_section",
+                columnNames = {"event_id", "section_id"}))
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class SectionSeatMap {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "event_id", nullable = false)
+    private Event event;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "section_id", nullable = false)
+    private VenueSection section;
+
+    @Column(name = "seat_rows", nullable = false)
+    private Integer seatRows;
+
+    @Column(name = "seats_per_row", nullable = false)
+    private Integer seatsPerRow;
+
+    @Lob
+    @Column(nullable = false, columnDefinition = "MEDIUMBLOB")
+    private byte[] occupied;
+
+    @Column(nullable = false)
+    private Long version;
+
+    @Column(name = "updated_at")
+    private LocalDateTime updatedAt;
+
+    @PrePersist
+    @PreUpdate
+    protected void onUpdate() {
+        updatedAt = LocalDateTime.now();
+    }
+}
@@ -1,7 +1,9 @@
 package com.recitapp.recitapp_api.modules.ticket.entity;
 
+import com.recitapp.recitapp_api.common.util.QrDigest;
 import com.recitapp.recitapp_api.modules.event.entity.Event;
 import com.recitapp.recitapp_api.modules.event.entity.Promotion;
+import com.recitapp.recitapp_api.modules.event.entity.TicketPrice;
 import com.recitapp.recitapp_api.modules.user.entity.User;
 import com.recitapp.recitapp_api.modules.venue.entity.VenueSection;
 import jakarta.persistence.*;
@@ -20,7 +22,10 @@ import java.time.LocalDateTime;
 public class Ticket {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.TABLE, generator = "ticket_id_generator")
+    @TableGenerator(name = "ticket_id_generator", table = "id_generators",
+            pkColumnName = "sequence_name", valueColumnName = "next_val",
+            pkColumnValue = "tickets", allocationSize = 50)
     private Long id;
 
     @ManyToOne
@@ -31,19 +36,34 @@ public class Ticket {
     @JoinColumn(name = "section_id", nullable = false)
     private VenueSection section;
 
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "ticket_price_id")
+    private TicketPrice ticketPrice;
+
     @ManyToOne
     @JoinColumn(name = "status_id", nullable = false)
     private TicketStatus status;
 
+    // Asiento asignado en secciones numeradas (fila y número comienzan en 1)
+    @Column(name = "seat_row")
+    private Integer seatRow;
+
+    @Column(name = "seat_number")
+    private Integer seatNumber;
+
     @Column(name = "sale_price", nullable = true, precision = 10, scale = 2)
     private BigDecimal salePrice;
 
     @Column(name = "identification_code", length = 50, unique = true, nullable = false)
     private String identificationCode;
 
-    @Column(name = "qr_code", unique = true, nullable = false, length = 500)
+    @Column(name = "qr_code", nullable = false, length = 500)
     private String qrCode;
 
+    // Resumen de 16 bytes del QR (ver QrDigest); las búsquedas por QR usan este índice
+    @Column(name = "qr_digest", unique = true, columnDefinition = "BINARY(16)")
+    private byte[] qrDigest;
+
     @ManyToOne
     @JoinColumn(name = "user_id", nullable = false)
     private User user;
@@ -87,10 +107,12 @@ public class Ticket {
         if (isGift == null) {
             isGift = false;
         }
+        qrDigest = QrDigest.of(qrCode);
     }
 
     @PreUpdate
     protected void onUpdate() {
         updatedAt = LocalDateTime.now();
+        qrDigest = QrDigest.of(qrCode);
     }
 }
@@ -0,0 +1,10 @@
+package com.recitapp.recitapp_api.modules.ticket.event;
+
+/**
+ * Evento publicado al registrar una emisión masiva de entradas promocionales;
+ * el trabajo se encola después del commit
+ *
+ * @param jobId ID del trabajo de emisión
+ */
+public record BulkIssuanceRequestedEvent(Long jobId) {
+}
@@ -0,0 +1,13 @@
+package com.recitapp.recitapp_api.modules.ticket.event;
+
+import java.util.Collection;
+
+/**
+ * Evento publicado cuando tickets entran en RESERVADA o salen de ella; el motor de reservas
+ * programa o cancela sus vencimientos después del commit
+ *
+ * @param ticketIds IDs de los tickets
+ * @param held true si quedaron reservados, false si la reserva se confirmó, canceló o venció
+ */
+public record TicketHoldsChangedEvent(Collection<Long> ticketIds, boolean held) {
+}
@@ -0,0 +1,110 @@
+package com.recitapp.recitapp_api.modules.ticket.event;
+
+import com.recitapp.recitapp_api.common.lookup.LookupRegistry;
+import com.recitapp.recitapp_api.config.AsyncConfig;
+import com.recitapp.recitapp_api.modules.event.entity.Event;
+import com.recitapp.recitapp_api.modules.event.repository.EventRepository;
+import com.recitapp.recitapp_api.modules.event.repository.TicketPriceRepository;
+import com.recitapp.recitapp_api.modules.notification.service.NotificationService;
+import com.recitapp.recitapp_api.modules.ticket.repository.TicketRepository;
+import com.recitapp.recitapp_api.modules.ticket.service.SoldOutRegistry;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+/**
+ * Efectos de una compra que no necesitan bloquear al comprador: recalcular el estado del evento
+ * y enviar las alertas de baja disponibilidad. Se ejecutan en el pool de eventos de compra,
+ * solo si la transacción de compra se confirmó.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class TicketPurchaseEventListener {
+
+    private final EventRepository eventRepository;
+    private final LookupRegistry lookupRegistry;
+    private final TicketRepository ticketRepository;
+    private final TicketPriceRepository ticketPriceRepository;
+    private final NotificationService notificationService;
+    private final SoldOutRegistry soldOutRegistry;
+    private final MeterRegistry meterRegistry;
+
+    @Async(AsyncConfig.PURCHASE_EVENTS_EXECUTOR)
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    public void onTicketsPurchased(TicketsPurchasedEvent purchasedEvent) {
+        Timer.Sample sample = Timer.start(meterRegistry);
+        String outcome = "success";
+        try {
+            checkAndUpdateEventStatus(purchasedEvent.eventId());
+        } catch (Exception e) {
+            outcome = "error";
+            log.error("Error procesando la compra {} del evento {}: {}",
+                    purchasedEvent.transactionId(), purchasedEvent.eventId(), e.getMessage(), e);
+        } finally {
+            sample.stop(meterRegistry.timer("recitapp.purchase.side_effects", "outcome", outcome));
+        }
+    }
+
+    private void checkAndUpdateEventStatus(Long eventId) {
+        Event event = eventRepository.findById(eventId).orElse(null);
+        if (event == null) {
+            log.warn("Evento {} no encontrado al procesar una compra", eventId);
+            return;
+        }
+
+        // Tickets for sale and sold tickets come from the price-tier counters
+        Object[] quantities = ticketPriceRepository.sumQuantitiesByEventId(eventId).get(0);
+        long totalCapacity = ((Number) quantities[0]).longValue();
+        long soldTickets = ((Number) quantities[1]).longValue();
+
+        // Events without ticket prices fall back to the venue capacity and the sold ticket count
+        if (totalCapacity == 0) {
+            totalCapacity = event.getVenue().getTotalCapacity();
+            soldTickets = ticketRepository.countSoldTicketsByEventId(eventId);
+        }
+        
+        // Calculate availability percentage
+        double availabilityPercentage = totalCapacity > 0 ? 
+            ((totalCapacity - (double) soldTickets) / totalCapacity) * 100 : 0;
+
+        // 🚀 AUTOMÁTICO: Enviar notificaciones de baja disponibilidad
+        try {
+            // Notificar cuando queda menos del 20% de entradas
+            if (availabilityPercentage <= 20 && availabilityPercentage > 0) {
+                int remainingTickets = (int) (totalCapacity - soldTickets);
+                notificationService.sendLowAvailabilityAlert(eventId, remainingTickets);
+                log.info("Notificación de baja disponibilidad enviada para evento {}: {} entradas restantes", 
+                        eventId, remainingTickets);
+            }
+        } catch (Exception e) {
+            log.warn("Error enviando notificación de baja disponibilidad para evento {}: {}", 
+                    eventId, e.getMessage());
+        }
+
+        // If all tickets are sold, update event status to "AGOTADO"
+        if (soldTickets >= totalCapacity) {
+            lookupRegistry.findEventStatus("AGOTADO")
+                    .ifPresent(event::setStatus);
+            eventRepository.save(event);
+            soldOutRegistry.markEventSoldOut(eventId);
+            
+            // 🚀 AUTOMÁTICO: Enviar notificaciones de evento agotado (con 0 entradas restantes)
+            try {
+                notificationService.sendLowAvailabilityAlert(eventId, 0);
+                log.info("Notificación de evento agotado enviada para evento {}", eventId);
+            } catch (Exception e) {
+                log.warn("Error enviando notificación de evento agotado para evento {}: {}", 
+                        eventId, e.getMessage());
+            }
+        }
+    }
+}
@@ -0,0 +1,12 @@
+package com.recitapp.recitapp_api.modules.ticket.event;
+
+/**
+ * Evento publicado dentro de la transacción de compra; sus listeners se ejecutan después del commit
+ *
+ * @param eventId ID del evento
+ * @param transactionId ID de la transacción de compra
+ * @param userId ID del comprador
+ * @param ticketCount Cantidad de entradas vendidas
+ */
+public record TicketsPurchasedEvent(Long eventId, Long transactionId, Long userId, int ticketCount) {
+}
@@ -0,0 +1,59 @@
+package com.recitapp.recitapp_api.modules.ticket.repository;
+
+import com.recitapp.recitapp_api.modules.ticket.entity.BulkIssuanceJob;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface BulkIssuanceJobRepository extends JpaRepository<BulkIssuanceJob, Long> {
+
+    /**
+     * Trabajos sin terminar que no tiene tomados ningún nodo (o cuyo plazo venció)
+     */
+    @Query("SELECT j.id FROM BulkIssuanceJob j " +
+           "WHERE j.status IN :statuses AND (j.claimedUntil IS NULL OR j.claimedUntil < :now) " +
+           "ORDER BY j.id")
+    List<Long> findUnclaimedIdsByStatusIn(@Param("statuses") Collection<String> statuses,
+                                          @Param("now") LocalDateTime now);
+
+    /**
+     * Toma (o renueva) el trabajo para un nodo si está libre, vencido o ya es suyo
+     *
+     * @return 1 si el nodo quedó a cargo del trabajo
+     */
+    @Modifying
+    @Query("UPDATE BulkIssuanceJob j SET j.claimedBy = :owner, j.claimedUntil = :until " +
+           "WHERE j.id = :jobId AND (j.claimedBy IS NULL OR j.claimedBy = :owner OR j.claimedUntil < :now)")
+    int claim(@Param("jobId") Long jobId,
+              @Param("owner") String owner,
+              @Param("until") LocalDateTime until,
+              @Param("now") LocalDateTime now);
+
+    @Modifying
+    @Query("UPDATE BulkIssuanceJob j SET j.claimedBy = NULL, j.claimedUntil = NULL " +
+           "WHERE j.id = :jobId AND j.claimedBy = :owner")
+    int release(@Param("jobId") Long jobId, @Param("owner") String owner);
+
+    @Modifying
+    @Query("UPDATE BulkIssuanceJob j SET j.issuedCount = j.issuedCount + :quantity, j.updatedAt = CURRENT_TIMESTAMP " +
+           "WHERE j.id = :jobId")
+    int addIssued(@Param("jobId") Long jobId, @Param("quantity") int quantity);
+
+    @Modifying
+    @Query("UPDATE BulkIssuanceJob j SET j.failedIssuances = j.failedIssuances + :quantity, " +
+           "j.updatedAt = CURRENT_TIMESTAMP WHERE j.id = :jobId")
+    int addFailedIssuances(@Param("jobId") Long jobId, @Param("quantity") int quantity);
+
+    @Modifying
+    @Query("UPDATE BulkIssuanceJob j SET j.deliveredCount = j.deliveredCount + :delivered, " +
+           "j.failedDeliveries = j.failedDeliveries + :failed, j.updatedAt = CURRENT_TIMESTAMP " +
+           "WHERE j.id = :jobId")
+    int addDeliveries(@Param("jobId") Long jobId, @Param("delivered") int delivered, @Param("failed") int failed);
+}
@@ -0,0 +1,59 @@
+package com.recitapp.recitapp_api.modules.ticket.repository;
+
+import com.recitapp.recitapp_api.modules.ticket.entity.BulkIssuanceRecipient;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface BulkIssuanceRecipientRepository extends JpaRepository<BulkIssuanceRecipient, Long> {
+
+    /**
+     * Siguiente bloque de destinatarios sin entrada emitida (sin contar los que ya fallaron)
+     */
+    @Query("SELECT r FROM BulkIssuanceRecipient r " +
+           "WHERE r.jobId = :jobId AND r.ticketId IS NULL AND r.issuanceError IS NULL ORDER BY r.id")
+    List<BulkIssuanceRecipient> findPendingIssuance(@Param("jobId") Long jobId, Pageable pageable);
+
+    /**
+     * IDs del siguiente bloque de destinatarios sin entrada emitida, para emitirlos de a uno
+     */
+    @Query("SELECT r.id FROM BulkIssuanceRecipient r " +
+           "WHERE r.jobId = :jobId AND r.ticketId IS NULL AND r.issuanceError IS NULL ORDER BY r.id")
+    List<Long> findPendingIssuanceIds(@Param("jobId") Long jobId, Pageable pageable);
+
+    /**
+     * Marca la emisión del destinatario como fallida si todavía estaba pendiente
+     *
+     * @return 1 si el destinatario quedó marcado
+     */
+    @Modifying
+    @Query("UPDATE BulkIssuanceRecipient r SET r.issuanceError = :issuanceError " +
+           "WHERE r.id = :recipientId AND r.ticketId IS NULL AND r.issuanceError IS NULL")
+    int markIssuanceFailed(@Param("recipientId") Long recipientId, @Param("issuanceError") String issuanceError);
+
+    /**
+     * Siguiente bloque de destinatarios con entrada emitida y envío pendiente, a partir de {@code afterId}
+     */
+    @Query("SELECT r FROM BulkIssuanceRecipient r " +
+           "WHERE r.jobId = :jobId AND r.ticketId IS NOT NULL AND r.deliveryStatus = 'PENDIENTE' AND r.id > :afterId " +
+           "ORDER BY r.id")
+    List<BulkIssuanceRecipient> findPendingDelivery(@Param("jobId") Long jobId,
+                                                    @Param("afterId") Long afterId,
+                                                    Pageable pageable);
+
+    @Modifying
+    @Query("UPDATE BulkIssuanceRecipient r SET r.deliveryStatus = :deliveryStatus, " +
+           "r.deliveryAttempts = r.deliveryAttempts + :attempts, r.errorMessage = :errorMessage " +
+           "WHERE r.id IN :recipientIds")
+    int updateDelivery(@Param("recipientIds") Collection<Long> recipientIds,
+                       @Param("deliveryStatus") String deliveryStatus,
+                       @Param("attempts") int attempts,
+                       @Param("errorMessage") String errorMessage);
+}
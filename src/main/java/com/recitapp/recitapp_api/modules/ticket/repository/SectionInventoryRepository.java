@@ -0,0 +1,84 @@
+package com.recitapp.recitapp_api.modules.ticket.repository;
+
+import com.recitapp.recitapp_api.modules.ticket.entity.SectionInventory;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Repository for per-section inventory counters
+ */
+@Repository
+public interface SectionInventoryRepository extends JpaRepository<SectionInventory, Long> {
+
+    Optional<SectionInventory> findByEventIdAndSectionId(Long eventId, Long sectionId);
+
+    List<SectionInventory> findByEventId(Long eventId);
+
+    @Query("SELECT DISTINCT si.event.id FROM SectionInventory si")
+    List<Long> findDistinctEventIds();
+
+    @Query("SELECT si.availableQuantity FROM SectionInventory si WHERE si.event.id = :eventId AND si.section.id = :sectionId")
+    Optional<Integer> findAvailableQuantity(@Param("eventId") Long eventId, @Param("sectionId") Long sectionId);
+
+    /**
+     * Decrements the counter only if enough seats remain
+     *
+     * @return 1 if the seats were reserved, 0 if there was not enough stock (or no counter row)
+     */
+    @Modifying
+    @Query("UPDATE SectionInventory si SET si.availableQuantity = si.availableQuantity - :quantity, " +
+            "si.updatedAt = CURRENT_TIMESTAMP " +
+            "WHERE si.event.id = :eventId AND si.section.id = :sectionId AND si.availableQuantity >= :quantity")
+    int reserve(@Param("eventId") Long eventId, @Param("sectionId") Long sectionId, @Param("quantity") int quantity);
+
+    /**
+     * Applies seats already admitted elsewhere (e.g. by the Redis inventory) without re-checking stock
+     *
+     * @return The number of rows updated
+     */
+    @Modifying
+    @Query("UPDATE SectionInventory si SET si.availableQuantity = si.availableQuantity - :quantity, " +
+            "si.updatedAt = CURRENT_TIMESTAMP " +
+            "WHERE si.event.id = :eventId AND si.section.id = :sectionId")
+    int applySale(@Param("eventId") Long eventId, @Param("sectionId") Long sectionId, @Param("quantity") int quantity);
+
+    /**
+     * Returns seats to the counter without exceeding the section capacity
+     *
+     * @return The number of rows updated
+     */
+    @Modifying
+    @Query("UPDATE SectionInventory si SET si.availableQuantity = " +
+            "CASE WHEN si.availableQuantity + :quantity > si.capacity THEN si.capacity " +
+            "ELSE si.availableQuantity + :quantity END, " +
+            "si.updatedAt = CURRENT_TIMESTAMP " +
+            "WHERE si.event.id = :eventId AND si.section.id = :sectionId")
+    int release(@Param("eventId") Long eventId, @Param("sectionId") Long sectionId, @Param("quantity") int quantity);
+
+    /**
+     * Creates the counter row if it does not exist yet. Concurrent initializations are
+     * resolved by the unique key on (event_id, section_id).
+     */
+    @Modifying
+    @Query(value = "INSERT IGNORE INTO section_inventories (event_id, section_id, capacity, available_quantity, updated_at) " +
+            "VALUES (:eventId, :sectionId, :capacity, :availableQuantity, CURRENT_TIMESTAMP)", nativeQuery = true)
+    int insertIfAbsent(@Param("eventId") Long eventId,
+                       @Param("sectionId") Long sectionId,
+                       @Param("capacity") int capacity,
+                       @Param("availableQuantity") int availableQuantity);
+
+    @Modifying
+    @Query("UPDATE SectionInventory si SET si.capacity = :capacity, si.availableQuantity = :availableQuantity, " +
+            "si.updatedAt = CURRENT_TIMESTAMP " +
+            "WHERE si.event.id = :eventId AND si.section.id = :sectionId")
+    int overwrite(@Param("eventId") Long eventId,
+                  @Param("sectionId") Long sectionId,
+                  @Param("capacity") int capacity,
+                  @Param("availableQuantity") int availableQuantity);
+}
@@ -0,0 +1,75 @@
+package com.recitapp.recitapp_api.modules.ticket.repository;
+
+import com.recitapp.recitapp_api.modules.ticket.entity.SectionSeatMap;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Repository for the seat bitmaps of numbered sections
+ */
+@Repository
+public interface SectionSeatMapRepository extends JpaRepository<SectionSeatMap, Long> {
+
+    Optional<SectionSeatMap> findByEventIdAndSectionId(Long eventId, Long sectionId);
+
+    /**
+     * Locks the bitmap row until the end of the transaction and returns its current version.
+     * Being a locking read, it sees the latest committed version even inside an older snapshot.
+     */
+    @Query(value = "SELECT version FROM section_seat_maps WHERE event_id = :eventId AND section_id = :sectionId FOR UPDATE",
+            nativeQuery = true)
+    Optional<Long> lockVersion(@Param("eventId") Long eventId, @Param("sectionId") Long sectionId);
+
+    /**
+     * Locking read of the whole row: [seat_rows, seats_per_row, occupied, version]
+     */
+    @Query(value = "SELECT seat_rows, seats_per_row, occupied, version FROM section_seat_maps " +
+            "WHERE event_id = :eventId AND section_id = :sectionId FOR UPDATE", nativeQuery = true)
+    List<Object[]> findForUpdate(@Param("eventId") Long eventId, @Param("sectionId") Long sectionId);
+
+    /**
+     * Writes the bitmap only if nobody changed it since it was read
+     *
+     * @return 1 if the bitmap was written, 0 if the version no longer matches
+     */
+    @Modifying
+    @Query("UPDATE SectionSeatMap sm SET sm.occupied = :occupied, sm.version = sm.version + 1, " +
+            "sm.updatedAt = CURRENT_TIMESTAMP " +
+            "WHERE sm.event.id = :eventId AND sm.section.id = :sectionId AND sm.version = :version")
+    int updateOccupied(@Param("eventId") Long eventId,
+                       @Param("sectionId") Long sectionId,
+                       @Param("occupied") byte[] occupied,
+                       @Param("version") long version);
+
+    /**
+     * Replaces the bitmap and layout unconditionally (used when rebuilding from tickets)
+     */
+    @Modifying
+    @Query("UPDATE SectionSeatMap sm SET sm.seatRows = :seatRows, sm.seatsPerRow = :seatsPerRow, " +
+            "sm.occupied = :occupied, sm.version = sm.version + 1, sm.updatedAt = CURRENT_TIMESTAMP " +
+            "WHERE sm.event.id = :eventId AND sm.section.id = :sectionId")
+    int overwrite(@Param("eventId") Long eventId,
+                  @Param("sectionId") Long sectionId,
+                  @Param("seatRows") int seatRows,
+                  @Param("seatsPerRow") int seatsPerRow,
+                  @Param("occupied") byte[] occupied);
+
+    /**
+     * Creates the bitmap row if it does not exist yet. Concurrent initializations are
+     * resolved by the unique key on (event_id, section_id).
+     */
+    @Modifying
+    @Query(value = "INSERT IGNORE INTO section_seat_maps (event_id, section_id, seat_rows, seats_per_row, occupied, version, updated_at) " +
+            "VALUES (:eventId, :sectionId, :seatRows, :seatsPerRow, :occupied, 0, CURRENT_TIMESTAMP)", nativeQuery = true)
+    int insertIfAbsent(@Param("eventId") Long eventId,
+                       @Param("sectionId") Long sectionId,
+                       @Param("seatRows") int seatRows,
+                       @Param("seatsPerRow") int seatsPerRow,
+                       @Param("occupied") byte[] occupied);
+}
@@ -1,15 +1,20 @@
 package com.recitapp.recitapp_api.modules.ticket.repository;
 
+import com.recitapp.recitapp_api.common.util.QrDigest;
+import com.recitapp.recitapp_api.modules.ticket.dto.TicketDTO;
 import com.recitapp.recitapp_api.modules.ticket.entity.Ticket;
+import com.recitapp.recitapp_api.modules.ticket.entity.TicketStatus;
 import com.recitapp.recitapp_api.modules.user.entity.User;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -23,8 +28,20 @@ public interface TicketRepository extends JpaRepository<Ticket, Long> {
     @Query("SELECT t FROM Ticket t WHERE t.event.id = :eventId AND t.section.id = :sectionId")
     List<Ticket> findByEventIdAndSectionId(@Param("eventId") Long eventId, @Param("sectionId") Long sectionId);
 
-    @Query("SELECT t FROM Ticket t WHERE t.qrCode = :qrCode")
-    Optional<Ticket> findByQrCode(@Param("qrCode") String qrCode);
+    @Query("SELECT t FROM Ticket t WHERE t.qrDigest = :qrDigest")
+    Optional<Ticket> findByQrDigest(@Param("qrDigest") byte[] qrDigest);
+
+    /**
+     * Busca un ticket por su QR con una sola lectura del índice de resúmenes;
+     * el texto completo se compara después sobre la fila encontrada
+     */
+    default Optional<Ticket> findByQrCode(String qrCode) {
+        if (qrCode == null) {
+            return Optional.empty();
+        }
+        return findByQrDigest(QrDigest.of(qrCode))
+                .filter(ticket -> qrCode.equals(ticket.getQrCode()));
+    }
 
     @Query("SELECT t FROM Ticket t WHERE t.event.id = :eventId AND t.status.name = 'ACTIVO'")
     List<Ticket> findActiveTicketsByEventId(@Param("eventId") Long eventId);
@@ -55,6 +72,38 @@ public interface TicketRepository extends JpaRepository<Ticket, Long> {
 
     Page<Ticket> findByUserOrderByPurchaseDateDesc(User user, Pageable pageable);
 
+    /**
+     * Billetera del usuario en una sola consulta, proyectada directamente a TicketDTO sin cargar entidades.
+     * Orden descendente por (purchaseDate, id); con cursor devuelve solo los tickets posteriores a él.
+     */
+    @Query("SELECT new com.recitapp.recitapp_api.modules.ticket.dto.TicketDTO(" +
+           "t.id, e.id, e.name, e.startDateTime, s.id, s.name, t.seatRow, t.seatNumber, v.name, t.salePrice, " +
+           "st.name, t.assignedUserFirstName, t.assignedUserLastName, t.assignedUserDni, t.qrCode, t.purchaseDate, " +
+           "u.id, u.email, u.email, u.firstName, u.lastName, t.isGift, p.name, p.description, t.ticketType) " +
+           "FROM Ticket t JOIN t.event e JOIN e.venue v JOIN t.section s JOIN t.status st JOIN t.user u " +
+           "LEFT JOIN t.promotion p " +
+           "WHERE u.id = :userId " +
+           "AND (:cursorDate IS NULL OR t.purchaseDate < :cursorDate " +
+           "OR (t.purchaseDate = :cursorDate AND t.id < :cursorId)) " +
+           "ORDER BY t.purchaseDate DESC, t.id DESC")
+    List<TicketDTO> findWalletByUserId(@Param("userId") Long userId,
+                                       @Param("cursorDate") LocalDateTime cursorDate,
+                                       @Param("cursorId") Long cursorId,
+                                       Pageable pageable);
+
+    /**
+     * Tickets indicados proyectados a TicketDTO en una sola consulta, en orden de ID
+     */
+    @Query("SELECT new com.recitapp.recitapp_api.modules.ticket.dto.TicketDTO(" +
+           "t.id, e.id, e.name, e.startDateTime, s.id, s.name, t.seatRow, t.seatNumber, v.name, t.salePrice, " +
+           "st.name, t.assignedUserFirstName, t.assignedUserLastName, t.assignedUserDni, t.qrCode, t.purchaseDate, " +
+           "u.id, u.email, u.email, u.firstName, u.lastName, t.isGift, p.name, p.description, t.ticketType) " +
+           "FROM Ticket t JOIN t.event e JOIN e.venue v JOIN t.section s JOIN t.status st JOIN t.user u " +
+           "LEFT JOIN t.promotion p " +
+           "WHERE t.id IN :ticketIds " +
+           "ORDER BY t.id")
+    List<TicketDTO> findTicketDTOsByIds(@Param("ticketIds") Collection<Long> ticketIds);
+
     Optional<Ticket> findByIdentificationCode(String identificationCode);
 
     @Query("SELECT COUNT(t) FROM Ticket t WHERE t.event.id = :eventId AND t.section.id = :sectionId AND t.status.name = :statusName")
@@ -69,8 +118,131 @@ public interface TicketRepository extends JpaRepository<Ticket, Long> {
     @Query("SELECT COUNT(t) FROM Ticket t WHERE t.event.id = :eventId AND t.status.name = 'VENDIDA'")
     Long countSoldTicketsByEventId(@Param("eventId") Long eventId);
 
+    @Query("SELECT COUNT(t) FROM Ticket t WHERE t.event.id = :eventId AND t.section.id = :sectionId " +
+           "AND t.status.name IN :statusNames")
+    Long countByEventIdAndSectionIdAndStatusNames(
+            @Param("eventId") Long eventId,
+            @Param("sectionId") Long sectionId,
+            @Param("statusNames") Collection<String> statusNames);
+
+    @Query("SELECT t.section.id, COUNT(t) FROM Ticket t " +
+           "WHERE t.event.id = :eventId AND t.status.name IN :statusNames " +
+           "GROUP BY t.section.id")
+    List<Object[]> countByEventIdAndStatusNamesGroupBySection(
+            @Param("eventId") Long eventId,
+            @Param("statusNames") Collection<String> statusNames);
+
+    @Query("SELECT t.seatRow, t.seatNumber FROM Ticket t " +
+           "WHERE t.event.id = :eventId AND t.section.id = :sectionId AND t.seatRow IS NOT NULL " +
+           "AND t.status.name IN :statusNames")
+    List<Object[]> findSeatsByEventIdAndSectionIdAndStatusNames(
+            @Param("eventId") Long eventId,
+            @Param("sectionId") Long sectionId,
+            @Param("statusNames") Collection<String> statusNames);
+
+    @Query("SELECT t.ticketPrice.id, COUNT(t) FROM Ticket t " +
+           "WHERE t.event.id = :eventId AND t.ticketPrice IS NOT NULL AND t.status.name IN :statusNames " +
+           "GROUP BY t.ticketPrice.id")
+    List<Object[]> countByEventIdAndStatusNamesGroupByTicketPrice(
+            @Param("eventId") Long eventId,
+            @Param("statusNames") Collection<String> statusNames);
+
     @Query("SELECT t FROM Ticket t " +
            "WHERE t.status.name = 'VENDIDA' " +
            "AND t.event.endDateTime < :now")
     List<Ticket> findExpiredSoldTickets(@Param("now") LocalDateTime now);
-}
\ No newline at end of file
+
+    @Query("SELECT t.id FROM Ticket t WHERE t.event.id = :eventId AND t.status.name = :statusName")
+    List<Long> findTicketIdsByEventAndStatus(@Param("eventId") Long eventId, @Param("statusName") String statusName);
+
+    @Query("SELECT t.id, t.status.name FROM Ticket t WHERE t.id IN :ticketIds")
+    List<Object[]> findStatusNamesByIds(@Param("ticketIds") Collection<Long> ticketIds);
+
+    @Query("SELECT COUNT(t) FROM Ticket t " +
+           "WHERE t.status.id = :soldStatusId AND t.event.endDateTime < :now")
+    long countExpiredSoldTickets(@Param("soldStatusId") Long soldStatusId, @Param("now") LocalDateTime now);
+
+    /**
+     * IDs del siguiente bloque de tickets vendidos de eventos terminados, en orden de ID a partir de {@code afterId}
+     */
+    @Query("SELECT t.id FROM Ticket t " +
+           "WHERE t.status.id = :soldStatusId AND t.event.endDateTime < :now AND t.id > :afterId " +
+           "ORDER BY t.id")
+    List<Long> findExpiredSoldTicketIds(@Param("soldStatusId") Long soldStatusId,
+                                        @Param("now") LocalDateTime now,
+                                        @Param("afterId") Long afterId,
+                                        Pageable pageable);
+
+    /**
+     * Cambia el estado de los tickets indicados con un único UPDATE condicional: solo afecta a los
+     * que siguen en alguno de los estados de origen (ver TicketTransitionService)
+     *
+     * @return Cantidad de tickets que cambiaron de estado
+     */
+    @Modifying(clearAutomatically = true, flushAutomatically = true)
+    @Query("UPDATE Ticket t SET t.status = :toStatus, t.updatedAt = :now " +
+           "WHERE t.id IN :ticketIds AND t.status IN :fromStatuses")
+    int transitionStatus(@Param("ticketIds") Collection<Long> ticketIds,
+                         @Param("fromStatuses") Collection<TicketStatus> fromStatuses,
+                         @Param("toStatus") TicketStatus toStatus,
+                         @Param("now") LocalDateTime now);
+
+    /**
+     * Bloquea los tickets indicados que siguen en alguno de los estados de origen y devuelve sus IDs:
+     * un UPDATE posterior sobre esos IDs cambia exactamente esos tickets
+     */
+    @Query(value = "SELECT id FROM tickets WHERE id IN (:ticketIds) AND status_id IN (:statusIds) " +
+                   "ORDER BY id FOR UPDATE", nativeQuery = true)
+    List<Long> lockIdsInStatuses(@Param("ticketIds") Collection<Long> ticketIds,
+                                 @Param("statusIds") Collection<Long> statusIds);
+
+    @Modifying(clearAutomatically = true, flushAutomatically = true)
+    @Query("UPDATE Ticket t SET t.status = :usedStatus, t.useDate = :now, t.updatedAt = :now " +
+           "WHERE t.id = :ticketId AND t.status IN :fromStatuses")
+    int markUsed(@Param("ticketId") Long ticketId,
+                 @Param("fromStatuses") Collection<TicketStatus> fromStatuses,
+                 @Param("usedStatus") TicketStatus usedStatus,
+                 @Param("now") LocalDateTime now);
+
+    /**
+     * Marca como usado el ticket solo si además su QR coincide (por el resumen indexado)
+     */
+    @Modifying(clearAutomatically = true, flushAutomatically = true)
+    @Query("UPDATE Ticket t SET t.status = :usedStatus, t.useDate = :now, t.updatedAt = :now " +
+           "WHERE t.id = :ticketId AND t.qrDigest = :qrDigest AND t.status IN :fromStatuses")
+    int markUsedByIdAndQrDigest(@Param("ticketId") Long ticketId,
+                                @Param("qrDigest") byte[] qrDigest,
+                                @Param("fromStatuses") Collection<TicketStatus> fromStatuses,
+                                @Param("usedStatus") TicketStatus usedStatus,
+                                @Param("now") LocalDateTime now);
+
+    @Modifying(clearAutomatically = true, flushAutomatically = true)
+    @Query("UPDATE Ticket t SET t.status = :usedStatus, t.useDate = :now, t.updatedAt = :now " +
+           "WHERE t.identificationCode = :identificationCode AND t.status IN :fromStatuses")
+    int markUsedByIdentificationCode(@Param("identificationCode") String identificationCode,
+                                     @Param("fromStatuses") Collection<TicketStatus> fromStatuses,
+                                     @Param("usedStatus") TicketStatus usedStatus,
+                                     @Param("now") LocalDateTime now);
+
+    /**
+     * Cambia el titular de un ticket solo si sigue en un estado transferible y, si se indica,
+     * sigue perteneciendo a {@code currentOwnerId}. Limpia el contexto de persistencia para que
+     * una lectura posterior vea los datos nuevos.
+     */
+    @Modifying(clearAutomatically = true, flushAutomatically = true)
+    @Query("UPDATE Ticket t SET t.user = :newOwner, t.assignedUserFirstName = :firstName, " +
+           "t.assignedUserLastName = :lastName, t.assignedUserDni = :dni, " +
+           "t.qrCode = :qrCode, t.qrDigest = :qrDigest, t.updatedAt = :now " +
+           "WHERE t.id = :ticketId AND t.status IN :fromStatuses " +
+           "AND (:currentOwnerId IS NULL OR t.user.id = :currentOwnerId)")
+    int transferOwnership(@Param("ticketId") Long ticketId,
+                          @Param("currentOwnerId") Long currentOwnerId,
+                          @Param("fromStatuses") Collection<TicketStatus> fromStatuses,
+                          @Param("newOwner") User newOwner,
+                          @Param("firstName") String firstName,
+                          @Param("lastName") String lastName,
+                          @Param("dni") String dni,
+                          @Param("qrCode") String qrCode,
+                          @Param("qrDigest") byte[] qrDigest,
+                          @Param("now") LocalDateTime now);
+}
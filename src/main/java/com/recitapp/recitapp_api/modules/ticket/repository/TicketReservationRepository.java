@@ -1,13 +1,16 @@
 package com.recitapp.recitapp_api.modules.ticket.repository;
 
 import com.recitapp.recitapp_api.modules.ticket.entity.Ticket;
+import jakarta.persistence.LockModeType;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
 import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -23,6 +26,37 @@ public interface TicketReservationRepository extends JpaRepository<Ticket, Long>
     @Query("SELECT t FROM Ticket t WHERE t.status.name = 'RESERVADA' AND t.updatedAt < :expirationTime")
     List<Ticket> findExpiredReservations(@Param("expirationTime") LocalDateTime expirationTime);
 
+    /**
+     * Finds the IDs of expired reserved tickets
+     *
+     * @param expirationTime The cutoff time for expired reservations
+     * @return A list of ticket IDs
+     */
+    @Query("SELECT t.id FROM Ticket t WHERE t.status.name = 'RESERVADA' AND t.updatedAt < :expirationTime")
+    List<Long> findExpiredReservationIds(@Param("expirationTime") LocalDateTime expirationTime);
+
+    /**
+     * Returns the ID and last update time of every pending reservation, used to rebuild the hold timers
+     *
+     * @return Rows of {ticketId, updatedAt}
+     */
+    @Query("SELECT t.id, t.updatedAt FROM Ticket t WHERE t.status.name = 'RESERVADA'")
+    List<Object[]> findPendingReservationTimes();
+
+    /**
+     * Locks the given tickets that are still reserved and whose reservation has expired
+     *
+     * @param ticketIds The IDs of the tickets
+     * @param expirationTime The cutoff time for expired reservations
+     * @return The expired tickets that are still in 'RESERVADA' status
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT t FROM Ticket t WHERE t.id IN :ticketIds AND t.status.name = 'RESERVADA' " +
+            "AND t.updatedAt <= :expirationTime")
+    List<Ticket> findExpiredByIdsForUpdate(
+            @Param("ticketIds") Collection<Long> ticketIds,
+            @Param("expirationTime") LocalDateTime expirationTime);
+
     /**
      * Counts the number of reserved tickets for a given event
      *
@@ -0,0 +1,293 @@
+package com.recitapp.recitapp_api.modules.ticket.scheduler;
+
+import com.recitapp.recitapp_api.common.exception.EntityNotFoundException;
+import com.recitapp.recitapp_api.common.exception.RecitappException;
+import com.recitapp.recitapp_api.modules.ticket.dto.TicketDTO;
+import com.recitapp.recitapp_api.modules.ticket.entity.BulkIssuanceJob;
+import com.recitapp.recitapp_api.modules.ticket.entity.BulkIssuanceRecipient;
+import com.recitapp.recitapp_api.modules.ticket.event.BulkIssuanceRequestedEvent;
+import com.recitapp.recitapp_api.modules.ticket.service.TicketEmailService;
+import com.recitapp.recitapp_api.modules.ticket.service.TicketPdfService;
+import com.recitapp.recitapp_api.modules.ticket.service.impl.BulkPromotionalIssuanceService;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.net.InetAddress;
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Ejecuta las emisiones masivas de entradas promocionales en segundo plano.
+ * Cada trabajo emite sus tickets por bloques y luego envía los PDF por email a un ritmo acotado.
+ * El avance queda en la base de datos: un trabajo interrumpido se retoma al iniciar la aplicación
+ * o, si lo tenía otro nodo, cuando vence el plazo que ese nodo tenía tomado.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class BulkIssuanceEngine {
+
+    private final BulkPromotionalIssuanceService issuanceService;
+    private final TicketPdfService ticketPdfService;
+    private final TicketEmailService ticketEmailService;
+
+    @Value("${recitapp.promotional.bulk.workers:1}")
+    private int workers;
+
+    @Value("${recitapp.promotional.bulk.issue-batch-size:500}")
+    private int issueBatchSize;
+
+    @Value("${recitapp.promotional.bulk.delivery-batch-size:50}")
+    private int deliveryBatchSize;
+
+    @Value("${recitapp.promotional.bulk.deliveries-per-second:5}")
+    private double deliveriesPerSecond;
+
+    @Value("${recitapp.promotional.bulk.delivery-attempts:3}")
+    private int deliveryAttempts;
+
+    @Value("${recitapp.promotional.bulk.claim-seconds:120}")
+    private long claimSeconds;
+
+    private final Set<Long> runningJobs = ConcurrentHashMap.newKeySet();
+
+    private ExecutorService executor;
+    private String nodeId;
+    private long nextDeliveryNanos;
+
+    @PostConstruct
+    public void start() {
+        AtomicInteger threadNumber = new AtomicInteger();
+        executor = Executors.newFixedThreadPool(workers, runnable -> {
+            Thread thread = new Thread(runnable, "bulk-issuance-" + threadNumber.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        nodeId = resolveHostName() + "-" + UUID.randomUUID().toString().substring(0, 8);
+    }
+
+    @PreDestroy
+    public void stop() {
+        // Los trabajos interrumpidos quedan tomados hasta que vence su plazo y se retoman desde la base
+        executor.shutdownNow();
+    }
+
+    /**
+     * Retoma los trabajos sin terminar al iniciar la aplicación
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void resumePendingJobs() {
+        List<Long> jobIds = issuanceService.findUnclaimedJobIds();
+        jobIds.forEach(this::submit);
+        if (!jobIds.isEmpty()) {
+            log.info("Retomando {} emisiones masivas pendientes", jobIds.size());
+        }
+    }
+
+    /**
+     * Toma los trabajos abandonados por otros nodos (plazo vencido)
+     */
+    @Scheduled(fixedDelayString = "${recitapp.promotional.bulk.recovery-interval-ms:60000}")
+    public void recoverAbandonedJobs() {
+        try {
+            issuanceService.findUnclaimedJobIds().forEach(this::submit);
+        } catch (Exception e) {
+            log.error("Error buscando emisiones masivas abandonadas", e);
+        }
+    }
+
+    /**
+     * Encola una emisión recién registrada, una vez confirmada su transacción
+     */
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    public void onBulkIssuanceRequested(BulkIssuanceRequestedEvent requestedEvent) {
+        submit(requestedEvent.jobId());
+    }
+
+    public void submit(Long jobId) {
+        if (runningJobs.add(jobId)) {
+            executor.execute(() -> {
+                try {
+                    run(jobId);
+                } finally {
+                    runningJobs.remove(jobId);
+                }
+            });
+        }
+    }
+
+    private void run(Long jobId) {
+        if (!renewClaim(jobId)) {
+            log.debug("La emisión masiva {} la está procesando otro nodo", jobId);
+            return;
+        }
+
+        try {
+            issuanceService.updateStatus(jobId, BulkIssuanceJob.STATUS_ISSUING, null);
+            int processed;
+            while ((processed = issueNextChunk(jobId)) > 0) {
+                log.info("Emisión masiva {}: {} destinatarios procesados en el bloque", jobId, processed);
+                if (!renewClaim(jobId)) {
+                    return;
+                }
+            }
+
+            issuanceService.updateStatus(jobId, BulkIssuanceJob.STATUS_DELIVERING, null);
+            if (!deliver(jobId)) {
+                return;
+            }
+
+            issuanceService.updateStatus(jobId, BulkIssuanceJob.STATUS_COMPLETED, null);
+            log.info("Emisión masiva {} completada", jobId);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            log.info("Emisión masiva {} interrumpida, se retomará desde la base de datos", jobId);
+        } catch (Exception e) {
+            log.error("Error en la emisión masiva {}", jobId, e);
+            try {
+                issuanceService.updateStatus(jobId, BulkIssuanceJob.STATUS_FAILED, e.getMessage());
+            } catch (Exception statusError) {
+                log.error("No se pudo marcar como fallida la emisión masiva {}", jobId, statusError);
+            }
+        } finally {
+            try {
+                issuanceService.release(jobId, nodeId);
+            } catch (Exception e) {
+                log.warn("No se pudo liberar la emisión masiva {}: {}", jobId, e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * Emite el siguiente bloque en una sola transacción. Si algún destinatario no se puede emitir
+     * (sin capacidad en su sección, asiento no disponible), el bloque se emite de a uno: los que fallan
+     * quedan marcados y se saltean, para que un destinatario no trabe el trabajo.
+     * Los errores que no son del destinatario (base de datos, etc.) hacen fallar el trabajo, que se puede retomar.
+     *
+     * @return Destinatarios procesados (emitidos o marcados como fallidos); 0 si no quedan pendientes
+     */
+    private int issueNextChunk(Long jobId) {
+        try {
+            return issuanceService.issueNextChunk(jobId, issueBatchSize);
+        } catch (RecitappException | EntityNotFoundException chunkError) {
+            log.warn("Emisión masiva {}: el bloque falló ({}), se emite de a un destinatario",
+                    jobId, chunkError.getMessage());
+        }
+
+        int processed = 0;
+        for (Long recipientId : issuanceService.findPendingIssuanceIds(jobId, issueBatchSize)) {
+            try {
+                issuanceService.issueRecipient(jobId, recipientId);
+            } catch (RecitappException | EntityNotFoundException recipientError) {
+                log.warn("Emisión masiva {}: no se pudo emitir la entrada del destinatario {}: {}",
+                        jobId, recipientId, recipientError.getMessage());
+                issuanceService.markIssuanceFailed(jobId, recipientId, recipientError.getMessage());
+            }
+            processed++;
+        }
+        return processed;
+    }
+
+    /**
+     * Envía los PDF de los tickets emitidos, bloque por bloque
+     *
+     * @return false si el trabajo se interrumpió o pasó a otro nodo
+     */
+    private boolean deliver(Long jobId) throws InterruptedException {
+        long afterId = 0L;
+        while (true) {
+            List<BulkIssuanceRecipient> recipients =
+                    issuanceService.findPendingDeliveries(jobId, afterId, deliveryBatchSize);
+            if (recipients.isEmpty()) {
+                return true;
+            }
+            afterId = recipients.get(recipients.size() - 1).getId();
+
+            Map<Long, TicketDTO> tickets = issuanceService.findTicketsForDelivery(recipients);
+            List<Long> delivered = new ArrayList<>();
+            Map<Long, String> failed = new HashMap<>();
+            for (BulkIssuanceRecipient recipient : recipients) {
+                String error = deliver(tickets.get(recipient.getTicketId()));
+                if (error == null) {
+                    delivered.add(recipient.getId());
+                } else {
+                    failed.put(recipient.getId(), error);
+                }
+            }
+
+            issuanceService.recordDeliveries(jobId, delivered, failed, deliveryAttempts);
+            if (!renewClaim(jobId)) {
+                return false;
+            }
+        }
+    }
+
+    /**
+     * Genera el PDF de un ticket y lo envía por email, con reintentos
+     *
+     * @return null si se envió, o el último error
+     */
+    private String deliver(TicketDTO ticket) throws InterruptedException {
+        if (ticket == null) {
+            return "Ticket no encontrado";
+        }
+
+        String error = null;
+        for (int attempt = 1; attempt <= deliveryAttempts; attempt++) {
+            awaitDeliverySlot();
+            try {
+                byte[] pdf = ticketPdfService.generateTicketPdf(ticket);
+                ticketEmailService.sendTicketWithAttachment(ticket, ticket.getUserEmail(), pdf);
+                return null;
+            } catch (Exception e) {
+                error = e.getMessage() != null ? e.getMessage() : e.getClass().getSimpleName();
+                log.warn("Error enviando el ticket {} (intento {} de {}): {}",
+                        ticket.getId(), attempt, deliveryAttempts, error);
+            }
+        }
+        return error;
+    }
+
+    /**
+     * Espera el próximo turno de envío para no superar {@code deliveries-per-second} en este nodo
+     */
+    private void awaitDeliverySlot() throws InterruptedException {
+        long intervalNanos = (long) (TimeUnit.SECONDS.toNanos(1) / deliveriesPerSecond);
+        long waitNanos;
+        synchronized (this) {
+            long now = System.nanoTime();
+            long slot = Math.max(now, nextDeliveryNanos);
+            nextDeliveryNanos = slot + intervalNanos;
+            waitNanos = slot - now;
+        }
+        if (waitNanos > 0) {
+            TimeUnit.NANOSECONDS.sleep(waitNanos);
+        }
+    }
+
+    private boolean renewClaim(Long jobId) {
+        return issuanceService.claim(jobId, nodeId, LocalDateTime.now().plusSeconds(claimSeconds));
+    }
+
+    private static String resolveHostName() {
+        try {
+            return InetAddress.getLocalHost().getHostName();
+        } catch (Exception e) {
+            return "node";
+        }
+    }
+}
@@ -0,0 +1,59 @@
+package com.recitapp.recitapp_api.modules.ticket.scheduler;
+
+import com.recitapp.recitapp_api.modules.event.entity.Event;
+import com.recitapp.recitapp_api.modules.event.repository.EventRepository;
+import com.recitapp.recitapp_api.modules.ticket.service.SectionInventoryService;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+
+/**
+ * Consistency audit of the inventory counters (sections and ticket prices) of events on sale.
+ * Counters are compared against the tickets that hold a seat; drift is logged and counted in
+ * {@code recitapp.inventory.audit.drift}, and optionally corrected by reconciling the event.
+ */
+@Component
+@ConditionalOnProperty(name = "recitapp.inventory.audit.enabled", havingValue = "true", matchIfMissing = true)
+@RequiredArgsConstructor
+@Slf4j
+public class InventoryAuditScheduler {
+
+    private final SectionInventoryService sectionInventoryService;
+    private final EventRepository eventRepository;
+    private final MeterRegistry meterRegistry;
+
+    @Value("${recitapp.inventory.audit.auto-correct:false}")
+    private boolean autoCorrect;
+
+    @Scheduled(cron = "${recitapp.inventory.audit.cron:0 */15 * * * *}")
+    public void auditEventsOnSale() {
+        for (Event event : eventRepository.findByStatusName("EN_VENTA")) {
+            try {
+                audit(event.getId());
+            } catch (Exception e) {
+                log.error("Error auditing inventory of event {}", event.getId(), e);
+            }
+        }
+    }
+
+    private void audit(Long eventId) {
+        Map<String, Object> result = sectionInventoryService.auditEvent(eventId);
+        int drifts = (Integer) result.get("drifts");
+        if (drifts == 0) {
+            return;
+        }
+
+        meterRegistry.counter("recitapp.inventory.audit.drift").increment(drifts);
+        log.warn("Inventory drift in event {}: {}", eventId, result.get("details"));
+
+        if (autoCorrect) {
+            sectionInventoryService.reconcileEvent(eventId);
+        }
+    }
+}
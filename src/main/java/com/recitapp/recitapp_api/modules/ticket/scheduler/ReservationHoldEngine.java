@@ -0,0 +1,157 @@
+package com.recitapp.recitapp_api.modules.ticket.scheduler;
+
+import com.recitapp.recitapp_api.modules.ticket.event.TicketHoldsChangedEvent;
+import com.recitapp.recitapp_api.modules.ticket.service.impl.ReservationService;
+import io.netty.util.HashedWheelTimer;
+import io.netty.util.Timeout;
+import io.netty.util.concurrent.DefaultThreadFactory;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Hold engine for ticket reservations built on a hashed timer wheel.
+ * Each reserved ticket gets a timeout at its exact deadline; expired holds are queued and
+ * released in batches, returning their seats to the inventory. Holds are tracked as tickets enter or
+ * leave 'RESERVADA' through TicketTransitionService, and pending holds are reloaded on startup.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class ReservationHoldEngine {
+
+    private final ReservationService reservationService;
+
+    @Value("${recitapp.tickets.reservation.expiry-minutes:10}")
+    private int reservationExpiryMinutes;
+
+    @Value("${recitapp.tickets.reservation.release-batch-size:200}")
+    private int releaseBatchSize;
+
+    private final Map<Long, Timeout> holds = new ConcurrentHashMap<>();
+    private final Queue<Long> expiredHolds = new ConcurrentLinkedQueue<>();
+
+    private HashedWheelTimer timer;
+
+    @PostConstruct
+    public void start() {
+        // 100 ms ticks: a hold is released at most one tick plus one release interval after its deadline
+        timer = new HashedWheelTimer(new DefaultThreadFactory("reservation-hold-timer", true),
+                100, TimeUnit.MILLISECONDS, 512);
+    }
+
+    @PreDestroy
+    public void stop() {
+        timer.stop();
+    }
+
+    /**
+     * Rebuilds the timers of every pending reservation after a restart.
+     * Holds that expired while the application was down are released on the next batch.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void reloadPendingHolds() {
+        List<Object[]> pending = reservationService.findPendingReservationTimes();
+        for (Object[] row : pending) {
+            track((Long) row[0], (LocalDateTime) row[1]);
+        }
+
+        if (!pending.isEmpty()) {
+            log.info("Reloaded {} pending ticket reservations", pending.size());
+        }
+    }
+
+    /**
+     * Tracks the tickets that were just reserved and stops tracking the ones whose reservation was
+     * confirmed, cancelled or released, once the status change is committed
+     */
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onHoldsChanged(TicketHoldsChangedEvent changedEvent) {
+        if (changedEvent.held()) {
+            LocalDateTime reservedAt = LocalDateTime.now();
+            changedEvent.ticketIds().forEach(ticketId -> track(ticketId, reservedAt));
+        } else {
+            changedEvent.ticketIds().forEach(this::cancel);
+        }
+    }
+
+    /**
+     * Schedules (or reschedules) the expiration of a reserved ticket
+     *
+     * @param ticketId The ID of the reserved ticket
+     * @param reservedAt The time the ticket was reserved
+     */
+    public void track(Long ticketId, LocalDateTime reservedAt) {
+        LocalDateTime deadline = reservedAt.plusMinutes(reservationExpiryMinutes);
+        long delayMs = Math.max(0, Duration.between(LocalDateTime.now(), deadline).toMillis());
+
+        Timeout timeout = timer.newTimeout(expired -> {
+            holds.remove(ticketId, expired);
+            expiredHolds.add(ticketId);
+        }, delayMs, TimeUnit.MILLISECONDS);
+
+        Timeout previous = holds.put(ticketId, timeout);
+        if (previous != null) {
+            previous.cancel();
+        }
+    }
+
+    /**
+     * Cancels the expiration of a ticket whose reservation was confirmed or cancelled
+     *
+     * @param ticketId The ID of the ticket
+     */
+    public void cancel(Long ticketId) {
+        Timeout timeout = holds.remove(ticketId);
+        if (timeout != null) {
+            timeout.cancel();
+        }
+    }
+
+    /**
+     * Releases the queued expired holds in batches
+     */
+    @Scheduled(fixedDelayString = "${recitapp.tickets.reservation.release-interval-ms:250}")
+    public void releaseExpiredHolds() {
+        List<Long> expired = new ArrayList<>();
+        Long ticketId;
+        while ((ticketId = expiredHolds.poll()) != null) {
+            expired.add(ticketId);
+        }
+
+        // Failed batches are queued again and retried on the next run
+        for (int from = 0; from < expired.size(); from += releaseBatchSize) {
+            release(expired.subList(from, Math.min(from + releaseBatchSize, expired.size())));
+        }
+    }
+
+    private void release(List<Long> ticketIds) {
+        try {
+            int released = reservationService.releaseExpiredReservations(ticketIds, reservationExpiryMinutes);
+            if (released > 0) {
+                log.info("Released {} expired ticket reservations", released);
+            }
+        } catch (Exception e) {
+            log.error("Error releasing {} expired ticket reservations, will retry", ticketIds.size(), e);
+            expiredHolds.addAll(ticketIds);
+        }
+    }
+}
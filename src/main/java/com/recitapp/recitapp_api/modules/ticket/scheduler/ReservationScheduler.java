@@ -21,7 +21,9 @@ public class ReservationScheduler {
     private int reservationExpiryMinutes;
 
     /**
-     * Task that runs every minute to clear expired ticket reservations
+     * Task that runs every minute to clear expired ticket reservations.
+     * Holds are normally expired on time by {@link ReservationHoldEngine}; this catches
+     * reservations created on other nodes or missed by the engine.
      */
     @Scheduled(fixedRate = 60000) // Run every minute
     public void clearExpiredReservations() {
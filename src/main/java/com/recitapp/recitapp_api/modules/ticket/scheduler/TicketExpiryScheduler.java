@@ -0,0 +1,34 @@
+package com.recitapp.recitapp_api.modules.ticket.scheduler;
+
+import com.recitapp.recitapp_api.modules.ticket.service.TicketAdminService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+
+/**
+ * Marca periódicamente como vencidos (VENCIDA) los tickets vendidos de eventos ya terminados
+ */
+@Component
+@ConditionalOnProperty(name = "recitapp.tickets.expiry.enabled", havingValue = "true", matchIfMissing = true)
+@RequiredArgsConstructor
+@Slf4j
+public class TicketExpiryScheduler {
+
+    private final TicketAdminService ticketAdminService;
+
+    @Scheduled(cron = "${recitapp.tickets.expiry.cron:0 10 * * * *}")
+    public void expireSoldTickets() {
+        try {
+            Map<String, Object> result = ticketAdminService.markExpiredTickets();
+            if (!Boolean.TRUE.equals(result.get("success"))) {
+                log.warn("Vencimiento programado de tickets con errores: {}", result.get("message"));
+            }
+        } catch (Exception e) {
+            log.error("Error en el vencimiento programado de tickets", e);
+        }
+    }
+}
@@ -0,0 +1,50 @@
+package com.recitapp.recitapp_api.modules.ticket.service;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.List;
+
+/**
+ * Manifiesto binario de las entradas habilitadas de un evento, para que los dispositivos de acceso
+ * validen localmente y se mantengan al día con deltas.
+ * <p>
+ * Formato (big endian): cabecera {@code "RGM1"}, tipo (1 byte: 0 completo, 1 delta), evento (8 bytes),
+ * versión (8 bytes) y versión de origen del delta (8 bytes, 0 en el completo). Luego un registro de
+ * 33 bytes por ticket: operación (1 byte: 1 alta, 0 baja), ticket (8), sección (8) y resumen del QR
+ * (16, en cero en las bajas). Cierra con el byte {@code 0xFF} y la cantidad de registros (8 bytes),
+ * para detectar descargas cortadas.
+ * <p>
+ * Una alta reemplaza lo que el dispositivo tenga para ese ticket (por ejemplo, el QR anterior a una
+ * transferencia); una baja lo quita (cancelado, vencido o ya usado).
+ */
+public interface GateManifestService {
+
+    String CONTENT_TYPE = "application/octet-stream";
+
+    /**
+     * Estados que habilitan el ingreso: son los tickets que figuran en el manifiesto
+     */
+    List<String> ADMISSIBLE_STATUSES = List.of("VENDIDA", "REGALO");
+
+    /**
+     * Versión que tendrá un manifiesto o delta generado ahora (marca de tiempo en milisegundos)
+     *
+     * @throws com.recitapp.recitapp_api.common.exception.EntityNotFoundException si el evento no existe
+     */
+    long currentVersion(Long eventId);
+
+    /**
+     * Escribe el manifiesto completo del evento
+     *
+     * @return Cantidad de registros escritos
+     */
+    long writeManifest(Long eventId, long version, OutputStream out) throws IOException;
+
+    /**
+     * Escribe los cambios del evento desde la versión indicada. Los registros son idempotentes:
+     * un delta puede repetir cambios que el dispositivo ya tenía.
+     *
+     * @return Cantidad de registros escritos
+     */
+    long writeDelta(Long eventId, long sinceVersion, long version, OutputStream out) throws IOException;
+}
@@ -0,0 +1,50 @@
+package com.recitapp.recitapp_api.modules.ticket.service;
+
+import com.recitapp.recitapp_api.modules.ticket.dto.SeatMapDTO;
+import com.recitapp.recitapp_api.modules.ticket.entity.Ticket;
+import com.recitapp.recitapp_api.modules.venue.entity.VenueSection;
+
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Asignación de asientos numerados en secciones con filas y asientos por fila
+ */
+public interface SeatMapService {
+
+    /**
+     * Asigna asientos a los tickets de una sección numerada. Los tickets con fila y número pedidos
+     * ocupan exactamente ese asiento; el resto recibe un bloque de asientos contiguos.
+     * En secciones sin numerar no hace nada.
+     *
+     * @param eventId ID del evento
+     * @param section Sección del recinto
+     * @param tickets Tickets de la sección todavía sin guardar
+     * @throws com.recitapp.recitapp_api.common.exception.RecitappException si algún asiento no está disponible
+     */
+    void assignSeats(Long eventId, VenueSection section, List<Ticket> tickets);
+
+    /**
+     * Libera los asientos de tickets cancelados o vencidos
+     *
+     * @param tickets Tickets a liberar
+     */
+    void releaseSeats(Collection<Ticket> tickets);
+
+    /**
+     * Reconstruye el mapa de asientos de una sección a partir de los tickets que ocupan lugar
+     *
+     * @param eventId ID del evento
+     * @param section Sección numerada
+     */
+    void rebuild(Long eventId, VenueSection section);
+
+    /**
+     * Obtiene el mapa de asientos ocupados de una sección numerada
+     *
+     * @param eventId ID del evento
+     * @param section Sección numerada
+     * @return El mapa de asientos
+     */
+    SeatMapDTO getSeatMap(Long eventId, VenueSection section);
+}
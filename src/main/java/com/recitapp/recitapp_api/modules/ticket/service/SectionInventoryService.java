@@ -0,0 +1,106 @@
+package com.recitapp.recitapp_api.modules.ticket.service;
+
+import com.recitapp.recitapp_api.modules.ticket.entity.Ticket;
+import com.recitapp.recitapp_api.modules.venue.entity.VenueSection;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Servicio de inventario por evento y sección basado en contadores atómicos
+ */
+public interface SectionInventoryService {
+
+    /**
+     * Estados de ticket que ocupan un lugar en la sección
+     */
+    List<String> SEAT_HOLDING_STATUSES = List.of("VENDIDA", "USADA", "REGALO", "RESERVADA", "VENCIDA");
+
+    /**
+     * Reserva lugares en una sección mediante un decremento condicional del contador
+     *
+     * @param eventId ID del evento
+     * @param section Sección del recinto
+     * @param quantity Cantidad de lugares a reservar
+     * @throws com.recitapp.recitapp_api.common.exception.RecitappException si no hay lugares suficientes
+     */
+    void reserveSeats(Long eventId, VenueSection section, int quantity);
+
+    /**
+     * Reserva unidades de un tipo de entrada (TicketPrice) sumándolas a su contador de vendidas
+     * solo si no se supera el cupo configurado
+     *
+     * @param eventId ID del evento
+     * @param ticketPriceId ID del precio/tipo de entrada
+     * @param quantity Cantidad de entradas a reservar
+     * @throws com.recitapp.recitapp_api.common.exception.RecitappException si no hay stock suficiente
+     */
+    void reservePriceTier(Long eventId, Long ticketPriceId, int quantity);
+
+    /**
+     * Devuelve unidades al cupo de un tipo de entrada
+     *
+     * @param eventId ID del evento
+     * @param ticketPriceId ID del precio/tipo de entrada
+     * @param quantity Cantidad de entradas a liberar
+     */
+    void releasePriceTier(Long eventId, Long ticketPriceId, int quantity);
+
+    /**
+     * Devuelve lugares al contador de una sección
+     *
+     * @param eventId ID del evento
+     * @param sectionId ID de la sección
+     * @param quantity Cantidad de lugares a liberar
+     */
+    void releaseSeats(Long eventId, Long sectionId, int quantity);
+
+    /**
+     * Devuelve al inventario los lugares ocupados por los tickets indicados, agrupados por evento y sección,
+     * y las unidades de su tipo de entrada
+     *
+     * @param tickets Tickets que dejan de ocupar un lugar
+     */
+    void releaseTickets(Collection<Ticket> tickets);
+
+    /**
+     * Obtiene la cantidad de lugares disponibles de una sección sin contar tickets
+     *
+     * @param eventId ID del evento
+     * @param section Sección del recinto
+     * @return Lugares disponibles
+     */
+    long getAvailableQuantity(Long eventId, VenueSection section);
+
+    /**
+     * Descarta el stock cacheado del evento (marcas de agotado, claves de Redis) después de
+     * modificar sus precios o cupos
+     *
+     * @param eventId ID del evento
+     */
+    void invalidateEvent(Long eventId);
+
+    /**
+     * Compara los contadores de secciones y tipos de entrada del evento con los tickets existentes, sin corregirlos
+     *
+     * @param eventId ID del evento
+     * @return Mapa con las diferencias encontradas
+     */
+    Map<String, Object> auditEvent(Long eventId);
+
+    /**
+     * Reconstruye los contadores de un evento (secciones y tipos de entrada) a partir de los tickets existentes
+     *
+     * @param eventId ID del evento
+     * @return Mapa con el resultado (secciones procesadas, diferencias corregidas)
+     */
+    Map<String, Object> reconcileEvent(Long eventId);
+
+    /**
+     * Reconstruye los contadores de todos los eventos que tienen inventario inicializado
+     *
+     * @return Mapa con el resultado de la reconciliación
+     */
+    Map<String, Object> reconcileAll();
+}
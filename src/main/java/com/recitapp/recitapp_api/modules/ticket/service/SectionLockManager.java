@@ -0,0 +1,21 @@
+package com.recitapp.recitapp_api.modules.ticket.service;
+
+import java.util.Collection;
+
+/**
+ * Bloqueos por evento y sección para serializar compras sobre la misma sección
+ * sin frenar las compras de otras secciones
+ */
+public interface SectionLockManager {
+
+    /**
+     * Bloquea las secciones indicadas (siempre en el mismo orden, para evitar interbloqueos) hasta que
+     * termine la transacción actual, sea por commit o por rollback
+     *
+     * @param eventId ID del evento
+     * @param sectionIds IDs de las secciones a bloquear
+     * @throws com.recitapp.recitapp_api.common.exception.RecitappException si no se obtiene el bloqueo a tiempo
+     * @throws IllegalStateException si no hay una transacción activa
+     */
+    void lockSections(Long eventId, Collection<Long> sectionIds);
+}
@@ -0,0 +1,47 @@
+package com.recitapp.recitapp_api.modules.ticket.service;
+
+import com.recitapp.recitapp_api.common.exception.RecitappException;
+
+import java.util.Collection;
+
+/**
+ * Registro de eventos y secciones agotados, consultado antes de abrir una transacción de compra.
+ * Las marcas son orientativas: vencen solas y la venta sigue validando el stock real.
+ */
+public interface SoldOutRegistry {
+
+    /**
+     * Canal de Redis por el que se propagan los cambios entre nodos
+     */
+    String CHANNEL = "recitapp:inventory:sold-out";
+
+    boolean isEventSoldOut(Long eventId);
+
+    boolean isSectionSoldOut(Long eventId, Long sectionId);
+
+    /**
+     * Rechaza la compra si el evento o alguna de las secciones pedidas está marcada como agotada
+     *
+     * @throws RecitappException si no hay entradas
+     */
+    void assertPurchasable(Long eventId, Collection<Long> sectionIds);
+
+    void markEventSoldOut(Long eventId);
+
+    void markSectionSoldOut(Long eventId, Long sectionId);
+
+    /**
+     * Vuelve a habilitar una sección (y el evento) al liberarse lugares
+     */
+    void clearSection(Long eventId, Long sectionId);
+
+    /**
+     * Quita todas las marcas del evento (por ejemplo tras reconciliar el inventario)
+     */
+    void clearEvent(Long eventId);
+
+    /**
+     * Aplica un cambio recibido de otro nodo, con el formato "ACCION|eventId|sectionId"
+     */
+    void applyRemote(String message);
+}
@@ -17,6 +17,13 @@ public interface TicketAdminService {
      */
     Map<String, Object> markExpiredTickets();
 
+    /**
+     * Obtiene el avance del proceso de vencimiento en curso o de la última ejecución
+     *
+     * @return Mapa con tickets encontrados, procesados y bloques aplicados
+     */
+    Map<String, Object> getExpiryProgress();
+
     /**
      * Obtiene lista de tickets que pueden ser marcados como vencidos
      * 
@@ -0,0 +1,36 @@
+package com.recitapp.recitapp_api.modules.ticket.service;
+
+/**
+ * Generación y validación de códigos de identificación de tickets.
+ * Formato: PREFIJO-XXXXXXX-C, con 7 caracteres base32 de Crockford y un dígito verificador.
+ */
+public interface TicketCodeService {
+
+    String DEFAULT_PREFIX = "TKT";
+
+    /**
+     * Genera un código único sin consultar la base de datos (salvo al reservar un nuevo bloque de IDs)
+     *
+     * @param prefix Prefijo del código (por ejemplo "TKT" o "PROMO")
+     * @return Código de identificación
+     */
+    String generateCode(String prefix);
+
+    /**
+     * Normaliza un código ingresado manualmente (mayúsculas, O por 0, I/L por 1).
+     * Los códigos del formato anterior solo se pasan a mayúsculas.
+     *
+     * @param code Código ingresado
+     * @return Código normalizado
+     */
+    String normalize(String code);
+
+    /**
+     * Verifica el dígito verificador de un código sin acceder a la base de datos.
+     * Los códigos del formato anterior (PREFIJO-XXXXXXXX) no tienen verificador y se consideran válidos.
+     *
+     * @param code Código normalizado
+     * @return false si el código tiene el formato nuevo y el verificador no coincide
+     */
+    boolean hasValidCheckDigit(String code);
+}
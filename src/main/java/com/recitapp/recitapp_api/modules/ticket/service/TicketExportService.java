@@ -0,0 +1,54 @@
+package com.recitapp.recitapp_api.modules.ticket.service;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.List;
+
+/**
+ * Exportación de las entradas y asistentes de un evento, escrita fila por fila sin cargar
+ * el listado completo en memoria
+ */
+public interface TicketExportService {
+
+    enum Format {
+        CSV("text/csv", "csv"),
+        NDJSON("application/x-ndjson", "ndjson");
+
+        private final String contentType;
+        private final String extension;
+
+        Format(String contentType, String extension) {
+            this.contentType = contentType;
+            this.extension = extension;
+        }
+
+        public String getContentType() {
+            return contentType;
+        }
+
+        public String getExtension() {
+            return extension;
+        }
+    }
+
+    /**
+     * Valida que el evento exista y devuelve el nombre del archivo de exportación
+     *
+     * @param eventId ID del evento
+     * @param format Formato de salida
+     * @return Nombre de archivo sugerido
+     * @throws com.recitapp.recitapp_api.common.exception.EntityNotFoundException si el evento no existe
+     */
+    String getExportFileName(Long eventId, Format format);
+
+    /**
+     * Escribe las entradas del evento en el stream, en orden de ID
+     *
+     * @param eventId ID del evento
+     * @param format Formato de salida
+     * @param statusNames Estados a incluir (todos si es null o vacío)
+     * @param out Stream de salida; no se cierra
+     * @return Cantidad de entradas escritas
+     */
+    long writeEventTickets(Long eventId, Format format, List<String> statusNames, OutputStream out) throws IOException;
+}
@@ -4,6 +4,7 @@ import com.recitapp.recitapp_api.modules.ticket.dto.TicketAssignmentDTO;
 import com.recitapp.recitapp_api.modules.ticket.dto.TicketDTO;
 import com.recitapp.recitapp_api.modules.ticket.dto.TicketPurchaseRequestDTO;
 import com.recitapp.recitapp_api.modules.ticket.dto.TicketPurchaseResponseDTO;
+import com.recitapp.recitapp_api.modules.ticket.dto.TicketWalletDTO;
 
 import java.util.List;
 
@@ -11,6 +12,10 @@ import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 
 public interface TicketService {
+    /**
+     * Compra las entradas. Si el evento tiene sala de espera abierta exige y consume el turno
+     * indicado en {@link TicketPurchaseRequestDTO#getWaitingRoomToken()}.
+     */
     TicketPurchaseResponseDTO purchaseTickets(TicketPurchaseRequestDTO purchaseRequest);
 
     TicketDTO getTicketById(Long ticketId);
@@ -45,4 +50,13 @@ public interface TicketService {
      * Get paginated tickets for a specific user
      */
     Page<TicketDTO> getUserTicketsPaginated(Long userId, Pageable pageable);
+
+    /**
+     * Get a page of the user's ticket wallet, newest first, using keyset pagination
+     *
+     * @param userId ID of the user
+     * @param cursor Cursor returned by the previous page, or null for the first page
+     * @param size Page size
+     */
+    TicketWalletDTO getUserWallet(Long userId, String cursor, int size);
 }
\ No newline at end of file
@@ -0,0 +1,42 @@
+package com.recitapp.recitapp_api.modules.ticket.service;
+
+import com.recitapp.recitapp_api.common.util.TicketToken;
+import com.recitapp.recitapp_api.modules.ticket.dto.TicketDTO;
+
+import java.time.LocalDateTime;
+import java.util.Map;
+
+/**
+ * Emisión y verificación de los tokens firmados que se imprimen en el QR de las entradas.
+ * La verificación solo usa la clave del evento: no consulta la base de datos.
+ */
+public interface TicketTokenService {
+
+    /**
+     * Firma el token de una entrada, válido desde el día del evento hasta las horas configuradas
+     * después de su inicio
+     *
+     * @param ticket Entrada con ID, evento, fecha del evento y código QR
+     * @return El token para imprimir en el QR
+     */
+    String issueToken(TicketDTO ticket);
+
+    /**
+     * Verifica un token leído en un acceso del evento
+     *
+     * @return Los datos firmados del token
+     * @throws TicketToken.InvalidTokenException si el token no es válido en este momento para este evento
+     */
+    TicketToken.Claims authenticate(String token, Long eventId);
+
+    /**
+     * Verifica un token contra la ventana de validez en el momento en que se leyó
+     * (lecturas acumuladas sin conexión que se suben después)
+     */
+    TicketToken.Claims authenticate(String token, Long eventId, LocalDateTime scannedAt);
+
+    /**
+     * Claves vigentes de un evento (por versión) para los dispositivos de acceso que verifican sin conexión
+     */
+    Map<String, Object> getGateKeys(Long eventId);
+}
@@ -0,0 +1,90 @@
+package com.recitapp.recitapp_api.modules.ticket.service;
+
+import com.recitapp.recitapp_api.modules.user.entity.User;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Cambios de estado de tickets como UPDATE condicional sobre el estado esperado (compare-and-set).
+ * Cada cambio se aplica en un solo viaje a la base de datos y solo gana uno de dos procesos
+ * concurrentes: por ejemplo, dos accesos que escanean el mismo ticket a la vez.
+ */
+public interface TicketTransitionService {
+
+    /**
+     * Transiciones permitidas: estado actual -> estados a los que puede pasar
+     */
+    Map<String, Set<String>> ALLOWED_TRANSITIONS = Map.of(
+            "DISPONIBLE", Set.of("RESERVADA", "VENDIDA"),
+            "RESERVADA", Set.of("VENDIDA", "CANCELADA", "DISPONIBLE"),
+            "VENDIDA", Set.of("USADA", "CANCELADA", "VENCIDA"),
+            "REGALO", Set.of("USADA", "CANCELADA", "VENCIDA"));
+
+    /**
+     * Estados en los que un ticket puede cambiar de titular (sin cambiar de estado)
+     */
+    List<String> TRANSFERABLE_STATUSES = List.of("VENDIDA", "REGALO");
+
+    /**
+     * Indica si la tabla de transiciones permite pasar de {@code fromStatus} a {@code toStatus}
+     */
+    static boolean isAllowed(String fromStatus, String toStatus) {
+        return ALLOWED_TRANSITIONS.getOrDefault(fromStatus, Set.of()).contains(toStatus);
+    }
+
+    /**
+     * Cambia el estado de un ticket si todavía está en alguno de los estados de origen
+     *
+     * @return true si esta llamada aplicó el cambio
+     * @throws IllegalArgumentException si algún origen no tiene permitido pasar a {@code toStatus}
+     */
+    boolean transition(Long ticketId, Collection<String> fromStatuses, String toStatus);
+
+    /**
+     * Cambia el estado de varios tickets con un solo UPDATE
+     *
+     * @return Cantidad de tickets que cambiaron de estado
+     */
+    int transitionAll(Collection<Long> ticketIds, Collection<String> fromStatuses, String toStatus);
+
+    /**
+     * Marca el ticket como USADA con la fecha de uso actual
+     *
+     * @return true si esta llamada admitió el ticket
+     */
+    boolean markUsed(Long ticketId, Collection<String> fromStatuses);
+
+    /**
+     * Marca el ticket como USADA solo si el QR leído coincide con el suyo
+     *
+     * @return true si esta llamada admitió el ticket
+     */
+    boolean markUsedByQr(Long ticketId, String qrCode, Collection<String> fromStatuses);
+
+    /**
+     * Marca el ticket como USADA solo si su QR sigue teniendo ese resumen (por ejemplo, el firmado
+     * en un token): un QR reemplazado por una transferencia ya no admite el ingreso
+     *
+     * @return true si esta llamada admitió el ticket
+     */
+    boolean markUsedByQrDigest(Long ticketId, byte[] qrDigest, Collection<String> fromStatuses);
+
+    /**
+     * Marca como USADA el ticket con ese código de identificación
+     *
+     * @return true si esta llamada admitió el ticket
+     */
+    boolean markUsedByIdentificationCode(String identificationCode, Collection<String> fromStatuses);
+
+    /**
+     * Cambia el titular y el asistente de un ticket si sigue en un estado transferible
+     *
+     * @param currentOwnerId Titular esperado, o null para no verificarlo
+     * @return true si esta llamada aplicó la transferencia
+     */
+    boolean transfer(Long ticketId, Long currentOwnerId, User newOwner,
+                     String firstName, String lastName, String dni, String qrCode);
+}
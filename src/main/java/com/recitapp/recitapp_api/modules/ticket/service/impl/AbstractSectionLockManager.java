@@ -0,0 +1,121 @@
+package com.recitapp.recitapp_api.modules.ticket.service.impl;
+
+import com.recitapp.recitapp_api.common.exception.RecitappException;
+import com.recitapp.recitapp_api.modules.ticket.service.SectionLockManager;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.TreeSet;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Base de los gestores de bloqueo por sección: orden de adquisición, liberación al terminar
+ * la transacción e histogramas de espera y de tiempo retenido
+ *
+ * @param <L> Tipo de bloqueo de la implementación
+ */
+@Slf4j
+public abstract class AbstractSectionLockManager<L> implements SectionLockManager {
+
+    private final Timer waitAcquired;
+    private final Timer waitTimeout;
+    private final Timer holdTimer;
+    private final long waitTimeoutMs;
+
+    protected AbstractSectionLockManager(MeterRegistry meterRegistry, String mode, long waitTimeoutMs) {
+        this.waitTimeoutMs = waitTimeoutMs;
+        this.waitAcquired = waitTimer(meterRegistry, mode, "acquired");
+        this.waitTimeout = waitTimer(meterRegistry, mode, "timeout");
+        this.holdTimer = Timer.builder("recitapp.inventory.lock.hold")
+                .description("Tiempo que una compra retiene los bloqueos de sección")
+                .tag("mode", mode)
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+    }
+
+    /**
+     * Obtiene el bloqueo de una sección (el mismo objeto para todos los que compiten por ella)
+     */
+    protected abstract L getLock(Long eventId, Long sectionId);
+
+    protected abstract boolean tryLock(L lock, long timeoutMs) throws InterruptedException;
+
+    protected abstract void unlock(L lock);
+
+    /**
+     * Bloqueos distintos que cubren las secciones, en el orden en que se toman: por ID de sección.
+     * Las implementaciones que comparten un bloqueo entre varias secciones deben ordenar por bloqueo.
+     */
+    protected List<L> orderedLocks(Long eventId, Collection<Long> sectionIds) {
+        List<L> locks = new ArrayList<>();
+        for (Long sectionId : new TreeSet<>(sectionIds)) {
+            L lock = getLock(eventId, sectionId);
+            if (!locks.contains(lock)) {
+                locks.add(lock);
+            }
+        }
+        return locks;
+    }
+
+    @Override
+    public void lockSections(Long eventId, Collection<Long> sectionIds) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            throw new IllegalStateException("Los bloqueos de sección requieren una transacción activa");
+        }
+
+        List<L> acquired = new ArrayList<>();
+        long waitStart = System.nanoTime();
+        try {
+            for (L lock : orderedLocks(eventId, sectionIds)) {
+                if (!tryLock(lock, waitTimeoutMs)) {
+                    waitTimeout.record(System.nanoTime() - waitStart, TimeUnit.NANOSECONDS);
+                    throw new RecitappException("Hay demasiadas compras simultáneas para esta sección, intentá nuevamente");
+                }
+                acquired.add(lock);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            releaseAll(acquired);
+            throw new RecitappException("Se interrumpió la espera del bloqueo de sección", e);
+        } catch (RuntimeException e) {
+            releaseAll(acquired);
+            throw e;
+        }
+
+        waitAcquired.record(System.nanoTime() - waitStart, TimeUnit.NANOSECONDS);
+        long holdStart = System.nanoTime();
+
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                releaseAll(acquired);
+                holdTimer.record(System.nanoTime() - holdStart, TimeUnit.NANOSECONDS);
+            }
+        });
+    }
+
+    private void releaseAll(List<L> locks) {
+        for (int i = locks.size() - 1; i >= 0; i--) {
+            try {
+                unlock(locks.get(i));
+            } catch (Exception e) {
+                log.warn("Error liberando bloqueo de sección: {}", e.getMessage());
+            }
+        }
+    }
+
+    private static Timer waitTimer(MeterRegistry meterRegistry, String mode, String outcome) {
+        return Timer.builder("recitapp.inventory.lock.wait")
+                .description("Espera para obtener los bloqueos de sección de una compra")
+                .tag("mode", mode)
+                .tag("outcome", outcome)
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+    }
+}
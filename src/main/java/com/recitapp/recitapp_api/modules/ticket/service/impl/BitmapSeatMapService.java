@@ -0,0 +1,282 @@
+package com.recitapp.recitapp_api.modules.ticket.service.impl;
+
+import com.recitapp.recitapp_api.common.exception.RecitappException;
+import com.recitapp.recitapp_api.modules.ticket.dto.SeatMapDTO;
+import com.recitapp.recitapp_api.modules.ticket.entity.SectionSeatMap;
+import com.recitapp.recitapp_api.modules.ticket.entity.Ticket;
+import com.recitapp.recitapp_api.modules.ticket.repository.SectionSeatMapRepository;
+import com.recitapp.recitapp_api.modules.ticket.repository.TicketRepository;
+import com.recitapp.recitapp_api.modules.ticket.service.SeatMapService;
+import com.recitapp.recitapp_api.modules.ticket.service.SectionInventoryService;
+import com.recitapp.recitapp_api.modules.venue.entity.VenueSection;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+
+/**
+ * Asignación de asientos sobre mapas de bits en memoria, uno por evento y sección.
+ * La fila de section_seat_maps se bloquea durante la transacción y solo se vuelve a leer el mapa
+ * completo cuando su versión no coincide con la del mapa en memoria (otro nodo lo modificó).
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class BitmapSeatMapService implements SeatMapService {
+
+    private static final int MAX_BLOCK_ATTEMPTS = 3;
+
+    private final SectionSeatMapRepository sectionSeatMapRepository;
+    private final TicketRepository ticketRepository;
+
+    private final Map<List<Long>, SeatBitmap> seatMaps = new ConcurrentHashMap<>();
+
+    @Override
+    @Transactional
+    public void assignSeats(Long eventId, VenueSection section, List<Ticket> tickets) {
+        if (tickets.isEmpty()) {
+            return;
+        }
+
+        if (!section.hasNumberedSeats()) {
+            boolean seatRequested = tickets.stream()
+                    .anyMatch(ticket -> ticket.getSeatRow() != null || ticket.getSeatNumber() != null);
+            if (seatRequested) {
+                throw new RecitappException("La sección " + section.getName() + " no tiene asientos numerados");
+            }
+            return;
+        }
+
+        SeatBitmap bitmap = lockAndLoad(eventId, section);
+        List<Integer> claimed = new ArrayList<>();
+        List<Ticket> unseated = new ArrayList<>();
+
+        try {
+            for (Ticket ticket : tickets) {
+                if (ticket.getSeatRow() == null && ticket.getSeatNumber() == null) {
+                    unseated.add(ticket);
+                    continue;
+                }
+
+                int index = bitmap.index(ticket.getSeatRow(), ticket.getSeatNumber());
+                if (index < 0) {
+                    throw new RecitappException(String.format("El asiento fila %s número %s no existe en la sección %s",
+                            ticket.getSeatRow(), ticket.getSeatNumber(), section.getName()));
+                }
+                if (!bitmap.claim(index)) {
+                    throw new RecitappException(String.format("El asiento fila %d número %d ya no está disponible",
+                            ticket.getSeatRow(), ticket.getSeatNumber()));
+                }
+                claimed.add(index);
+            }
+
+            if (!unseated.isEmpty()) {
+                int[] block = claimAdjacent(bitmap, unseated.size());
+                if (block == null) {
+                    throw new RecitappException(String.format("No hay %d asientos contiguos disponibles en la sección %s",
+                            unseated.size(), section.getName()));
+                }
+                for (int i = 0; i < block.length; i++) {
+                    unseated.get(i).setSeatRow(bitmap.row(block[i]));
+                    unseated.get(i).setSeatNumber(bitmap.seat(block[i]));
+                    claimed.add(block[i]);
+                }
+            }
+
+            persist(eventId, section.getId(), bitmap);
+        } catch (RuntimeException e) {
+            claimed.forEach(bitmap::release);
+            throw e;
+        }
+    }
+
+    @Override
+    @Transactional
+    public void releaseSeats(Collection<Ticket> tickets) {
+        Map<List<Long>, List<Ticket>> seatedBySection = tickets.stream()
+                .filter(ticket -> ticket.getSeatRow() != null && ticket.getSeatNumber() != null)
+                .filter(ticket -> ticket.getSection().hasNumberedSeats())
+                .collect(Collectors.groupingBy(
+                        ticket -> List.of(ticket.getEvent().getId(), ticket.getSection().getId())));
+
+        seatedBySection.forEach((key, seated) -> {
+            SeatBitmap bitmap = lockAndLoad(key.get(0), seated.get(0).getSection());
+            for (Ticket ticket : seated) {
+                int index = bitmap.index(ticket.getSeatRow(), ticket.getSeatNumber());
+                if (index >= 0) {
+                    bitmap.release(index);
+                }
+            }
+            persist(key.get(0), key.get(1), bitmap);
+        });
+    }
+
+    @Override
+    @Transactional
+    public void rebuild(Long eventId, VenueSection section) {
+        SeatBitmap bitmap = buildFromTickets(eventId, section);
+        byte[] occupied = bitmap.toBytes();
+
+        int inserted = sectionSeatMapRepository.insertIfAbsent(eventId, section.getId(),
+                section.getSeatRows(), section.getSeatsPerRow(), occupied);
+        if (inserted == 0) {
+            sectionSeatMapRepository.overwrite(eventId, section.getId(),
+                    section.getSeatRows(), section.getSeatsPerRow(), occupied);
+        }
+
+        // Se vuelve a leer en la próxima asignación con la versión actualizada
+        seatMaps.remove(List.of(eventId, section.getId()));
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public SeatMapDTO getSeatMap(Long eventId, VenueSection section) {
+        if (!section.hasNumberedSeats()) {
+            throw new RecitappException("La sección " + section.getName() + " no tiene asientos numerados");
+        }
+
+        SeatBitmap bitmap = seatMaps.get(List.of(eventId, section.getId()));
+        if (bitmap == null || !matchesLayout(bitmap, section)) {
+            bitmap = sectionSeatMapRepository.findByEventIdAndSectionId(eventId, section.getId())
+                    .filter(seatMap -> seatMap.getSeatRows().equals(section.getSeatRows())
+                            && seatMap.getSeatsPerRow().equals(section.getSeatsPerRow()))
+                    .map(this::toBitmap)
+                    .orElseGet(() -> buildFromTickets(eventId, section));
+        }
+
+        List<String> rows = new ArrayList<>(bitmap.getSeatRows());
+        for (int row = 1; row <= bitmap.getSeatRows(); row++) {
+            StringBuilder line = new StringBuilder(bitmap.getSeatsPerRow());
+            for (int seat = 1; seat <= bitmap.getSeatsPerRow(); seat++) {
+                line.append(bitmap.isOccupied(bitmap.index(row, seat)) ? 'X' : '.');
+            }
+            rows.add(line.toString());
+        }
+
+        return SeatMapDTO.builder()
+                .eventId(eventId)
+                .sectionId(section.getId())
+                .sectionName(section.getName())
+                .seatRows(bitmap.getSeatRows())
+                .seatsPerRow(bitmap.getSeatsPerRow())
+                .availableSeats(bitmap.countFree())
+                .rows(rows)
+                .build();
+    }
+
+    /**
+     * Bloquea la fila del mapa y devuelve el mapa en memoria, recargándolo si otro nodo lo cambió.
+     * Si la sección todavía no tiene mapa se construye desde los tickets.
+     */
+    private SeatBitmap lockAndLoad(Long eventId, VenueSection section) {
+        List<Long> key = List.of(eventId, section.getId());
+
+        Optional<Long> version = sectionSeatMapRepository.lockVersion(eventId, section.getId());
+        if (version.isEmpty()) {
+            SeatBitmap initial = buildFromTickets(eventId, section);
+            sectionSeatMapRepository.insertIfAbsent(eventId, section.getId(),
+                    section.getSeatRows(), section.getSeatsPerRow(), initial.toBytes());
+            version = sectionSeatMapRepository.lockVersion(eventId, section.getId());
+        }
+
+        SeatBitmap cached = seatMaps.get(key);
+        if (cached != null && version.isPresent() && cached.getVersion() == version.get()
+                && matchesLayout(cached, section)) {
+            evictOnRollback(key, cached);
+            return cached;
+        }
+
+        SeatBitmap bitmap = sectionSeatMapRepository.findForUpdate(eventId, section.getId()).stream()
+                .findFirst()
+                .map(row -> new SeatBitmap(((Number) row[0]).intValue(), ((Number) row[1]).intValue(),
+                        (byte[]) row[2], ((Number) row[3]).longValue()))
+                .orElseThrow(() -> new RecitappException("No se pudo inicializar el mapa de asientos de la sección "
+                        + section.getName()));
+
+        if (!matchesLayout(bitmap, section)) {
+            // La sección cambió de distribución: se rehace el mapa desde los tickets
+            log.info("Reconstruyendo mapa de asientos del evento {} sección {} por cambio de distribución",
+                    eventId, section.getId());
+            SeatBitmap rebuilt = buildFromTickets(eventId, section);
+            sectionSeatMapRepository.overwrite(eventId, section.getId(),
+                    section.getSeatRows(), section.getSeatsPerRow(), rebuilt.toBytes());
+            rebuilt.setVersion(bitmap.getVersion() + 1);
+            bitmap = rebuilt;
+        }
+
+        seatMaps.put(key, bitmap);
+        evictOnRollback(key, bitmap);
+        return bitmap;
+    }
+
+    /**
+     * Escribe el mapa verificando la versión. Con la fila bloqueada no debería fallar; si falla
+     * se descarta el mapa en memoria y se rechaza la operación.
+     */
+    private void persist(Long eventId, Long sectionId, SeatBitmap bitmap) {
+        long version = bitmap.getVersion();
+        if (sectionSeatMapRepository.updateOccupied(eventId, sectionId, bitmap.toBytes(), version) == 0) {
+            seatMaps.remove(List.of(eventId, sectionId), bitmap);
+            throw new RecitappException("El mapa de asientos cambió mientras se procesaba la compra, intente nuevamente");
+        }
+        bitmap.setVersion(version + 1);
+    }
+
+    private int[] claimAdjacent(SeatBitmap bitmap, int count) {
+        for (int attempt = 0; attempt < MAX_BLOCK_ATTEMPTS; attempt++) {
+            int[] block = bitmap.findAdjacent(count);
+            if (block == null) {
+                return null;
+            }
+            if (bitmap.claimAll(block)) {
+                return block;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Si la transacción se revierte el mapa en memoria ya no coincide con la base de datos
+     */
+    private void evictOnRollback(List<Long> key, SeatBitmap bitmap) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            return;
+        }
+
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                if (status != STATUS_COMMITTED) {
+                    seatMaps.remove(key, bitmap);
+                }
+            }
+        });
+    }
+
+    private SeatBitmap buildFromTickets(Long eventId, VenueSection section) {
+        SeatBitmap bitmap = new SeatBitmap(section.getSeatRows(), section.getSeatsPerRow(), null, 0);
+        List<Object[]> seats = ticketRepository.findSeatsByEventIdAndSectionIdAndStatusNames(
+                eventId, section.getId(), SectionInventoryService.SEAT_HOLDING_STATUSES);
+        for (Object[] seat : seats) {
+            int index = bitmap.index((Integer) seat[0], (Integer) seat[1]);
+            if (index >= 0) {
+                bitmap.claim(index);
+            }
+        }
+        return bitmap;
+    }
+
+    private SeatBitmap toBitmap(SectionSeatMap seatMap) {
+        return new SeatBitmap(seatMap.getSeatRows(), seatMap.getSeatsPerRow(), seatMap.getOccupied(), seatMap.getVersion());
+    }
+
+    private static boolean matchesLayout(SeatBitmap bitmap, VenueSection section) {
+        return bitmap.getSeatRows() == section.getSeatRows() && bitmap.getSeatsPerRow() == section.getSeatsPerRow();
+    }
+}
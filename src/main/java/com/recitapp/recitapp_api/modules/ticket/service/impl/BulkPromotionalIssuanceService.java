@@ -0,0 +1,344 @@
+package com.recitapp.recitapp_api.modules.ticket.service.impl;
+
+import com.recitapp.recitapp_api.common.exception.EntityNotFoundException;
+import com.recitapp.recitapp_api.common.exception.RecitappException;
+import com.recitapp.recitapp_api.modules.event.entity.Event;
+import com.recitapp.recitapp_api.modules.event.entity.Promotion;
+import com.recitapp.recitapp_api.modules.event.repository.EventRepository;
+import com.recitapp.recitapp_api.modules.ticket.dto.BulkIssuanceJobDTO;
+import com.recitapp.recitapp_api.modules.ticket.dto.PromotionalTicketRequestDTO;
+import com.recitapp.recitapp_api.modules.ticket.dto.TicketDTO;
+import com.recitapp.recitapp_api.modules.ticket.entity.BulkIssuanceJob;
+import com.recitapp.recitapp_api.modules.ticket.entity.BulkIssuanceRecipient;
+import com.recitapp.recitapp_api.modules.ticket.entity.Ticket;
+import com.recitapp.recitapp_api.modules.ticket.entity.TicketStatus;
+import com.recitapp.recitapp_api.modules.ticket.repository.BulkIssuanceJobRepository;
+import com.recitapp.recitapp_api.modules.ticket.repository.BulkIssuanceRecipientRepository;
+import com.recitapp.recitapp_api.modules.ticket.repository.TicketRepository;
+import com.recitapp.recitapp_api.modules.user.entity.User;
+import com.recitapp.recitapp_api.modules.user.repository.UserRepository;
+import com.recitapp.recitapp_api.modules.venue.entity.VenueSection;
+import com.recitapp.recitapp_api.modules.venue.repository.VenueSectionRepository;
+import com.recitapp.recitapp_api.modules.ticket.event.BulkIssuanceRequestedEvent;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Emisión masiva de entradas promocionales. Crear el trabajo solo valida y guarda los destinatarios;
+ * los tickets se emiten por bloques con inserciones en batch y los PDF se envían después, ambos desde
+ * {@link com.recitapp.recitapp_api.modules.ticket.scheduler.BulkIssuanceEngine}.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class BulkPromotionalIssuanceService {
+
+    static final List<String> UNFINISHED_STATUSES = List.of(
+            BulkIssuanceJob.STATUS_PENDING, BulkIssuanceJob.STATUS_ISSUING, BulkIssuanceJob.STATUS_DELIVERING);
+
+    private final BulkIssuanceJobRepository jobRepository;
+    private final BulkIssuanceRecipientRepository recipientRepository;
+    private final TicketRepository ticketRepository;
+    private final EventRepository eventRepository;
+    private final UserRepository userRepository;
+    private final VenueSectionRepository venueSectionRepository;
+    private final PromotionalTicketService promotionalTicketService;
+    private final ApplicationEventPublisher eventPublisher;
+
+    /**
+     * Valida el pedido y registra el trabajo con todos sus destinatarios, sin emitir tickets
+     *
+     * @param requestDTO Evento, administrador, promoción y lista de destinatarios
+     * @return El trabajo creado, en estado PENDIENTE
+     */
+    @Transactional
+    public BulkIssuanceJobDTO createJob(PromotionalTicketRequestDTO requestDTO) {
+        Event event = eventRepository.findById(requestDTO.getEventId())
+                .orElseThrow(() -> new EntityNotFoundException("Event not found with ID: " + requestDTO.getEventId()));
+
+        User adminUser = userRepository.findById(requestDTO.getAdminUserId())
+                .orElseThrow(() -> new EntityNotFoundException("Admin user not found with ID: " + requestDTO.getAdminUserId()));
+
+        if (!promotionalTicketService.hasAdminRole(adminUser)) {
+            throw new RecitappException("User does not have permission to create promotional tickets");
+        }
+        promotionalTicketService.validateEventForPromotionalTickets(event);
+
+        // Secciones y destinatarios se validan con una consulta por tabla
+        List<PromotionalTicketRequestDTO.PromotionalTicketDTO> tickets = requestDTO.getTickets();
+        Set<Long> sectionIds = tickets.stream()
+                .map(PromotionalTicketRequestDTO.PromotionalTicketDTO::getSectionId)
+                .collect(Collectors.toSet());
+        Set<Long> foundSectionIds = venueSectionRepository.findAllById(sectionIds).stream()
+                .map(VenueSection::getId)
+                .collect(Collectors.toSet());
+        sectionIds.removeAll(foundSectionIds);
+        if (!sectionIds.isEmpty()) {
+            throw new EntityNotFoundException("Section not found with ID: " + sectionIds.iterator().next());
+        }
+
+        Set<Long> userIds = tickets.stream()
+                .map(PromotionalTicketRequestDTO.PromotionalTicketDTO::getRecipientUserId)
+                .collect(Collectors.toSet());
+        Set<Long> foundUserIds = userRepository.findAllById(userIds).stream()
+                .map(User::getId)
+                .collect(Collectors.toSet());
+        userIds.removeAll(foundUserIds);
+        if (!userIds.isEmpty()) {
+            throw new EntityNotFoundException("Recipient user not found with ID: " + userIds.iterator().next());
+        }
+
+        Promotion promotion = promotionalTicketService.createPromotionIfNeeded(event, requestDTO);
+
+        BulkIssuanceJob job = new BulkIssuanceJob();
+        job.setEvent(event);
+        job.setAdminUser(adminUser);
+        job.setPromotion(promotion);
+        job.setStatus(BulkIssuanceJob.STATUS_PENDING);
+        job.setTotalRecipients(tickets.size());
+        job.setIssuedCount(0);
+        job.setDeliveredCount(0);
+        job.setFailedDeliveries(0);
+        job.setFailedIssuances(0);
+        job = jobRepository.save(job);
+
+        List<BulkIssuanceRecipient> recipients = new ArrayList<>(tickets.size());
+        for (PromotionalTicketRequestDTO.PromotionalTicketDTO ticketDTO : tickets) {
+            BulkIssuanceRecipient recipient = new BulkIssuanceRecipient();
+            recipient.setJobId(job.getId());
+            recipient.setSectionId(ticketDTO.getSectionId());
+            recipient.setRecipientUserId(ticketDTO.getRecipientUserId());
+            recipient.setAttendeeFirstName(ticketDTO.getAttendeeFirstName());
+            recipient.setAttendeeLastName(ticketDTO.getAttendeeLastName());
+            recipient.setAttendeeDni(ticketDTO.getAttendeeDni());
+            recipient.setIsGift(ticketDTO.isGift());
+            recipient.setDeliveryStatus(BulkIssuanceRecipient.DELIVERY_PENDING);
+            recipient.setDeliveryAttempts(0);
+            recipients.add(recipient);
+        }
+        recipientRepository.saveAll(recipients);
+        eventPublisher.publishEvent(new BulkIssuanceRequestedEvent(job.getId()));
+
+        log.info("Emisión masiva {} creada para el evento {} con {} destinatarios",
+                job.getId(), event.getId(), recipients.size());
+        return mapToDTO(job);
+    }
+
+    /**
+     * Emite las entradas del siguiente bloque de destinatarios pendientes en una sola transacción:
+     * reserva de inventario por sección, asignación de asientos e inserción en batch
+     *
+     * @return Cantidad de tickets emitidos (0 si no quedan destinatarios pendientes)
+     */
+    @Transactional
+    public int issueNextChunk(Long jobId, int chunkSize) {
+        List<BulkIssuanceRecipient> recipients = recipientRepository.findPendingIssuance(jobId, PageRequest.of(0, chunkSize));
+        if (recipients.isEmpty()) {
+            return 0;
+        }
+        return issue(findJob(jobId), recipients);
+    }
+
+    /**
+     * IDs del siguiente bloque de destinatarios pendientes, para emitirlos de a uno cuando el bloque falla
+     */
+    @Transactional(readOnly = true)
+    public List<Long> findPendingIssuanceIds(Long jobId, int limit) {
+        return recipientRepository.findPendingIssuanceIds(jobId, PageRequest.of(0, limit));
+    }
+
+    /**
+     * Emite la entrada de un solo destinatario en su propia transacción
+     *
+     * @return 1 si se emitió, 0 si ya no estaba pendiente
+     */
+    @Transactional
+    public int issueRecipient(Long jobId, Long recipientId) {
+        BulkIssuanceRecipient recipient = recipientRepository.findById(recipientId)
+                .filter(pending -> jobId.equals(pending.getJobId()))
+                .filter(pending -> pending.getTicketId() == null && pending.getIssuanceError() == null)
+                .orElse(null);
+        if (recipient == null) {
+            return 0;
+        }
+        return issue(findJob(jobId), List.of(recipient));
+    }
+
+    /**
+     * Registra que la entrada de un destinatario no se pudo emitir y lo cuenta en el trabajo;
+     * la emisión sigue con los demás destinatarios
+     */
+    @Transactional
+    public void markIssuanceFailed(Long jobId, Long recipientId, String errorMessage) {
+        String error = errorMessage == null ? "Error desconocido"
+                : errorMessage.length() > 500 ? errorMessage.substring(0, 500) : errorMessage;
+        if (recipientRepository.markIssuanceFailed(recipientId, error) == 1) {
+            jobRepository.addFailedIssuances(jobId, 1);
+        }
+    }
+
+    private int issue(BulkIssuanceJob job, List<BulkIssuanceRecipient> recipients) {
+        Long jobId = job.getId();
+        Event event = job.getEvent();
+        Promotion promotion = job.getPromotion();
+        TicketStatus ticketStatus = promotionalTicketService.findPromotionalTicketStatus();
+        Map<Long, VenueSection> sections = venueSectionRepository.findAllById(recipients.stream()
+                        .map(BulkIssuanceRecipient::getSectionId)
+                        .collect(Collectors.toSet())).stream()
+                .collect(Collectors.toMap(VenueSection::getId, Function.identity()));
+
+        List<Ticket> tickets = new ArrayList<>(recipients.size());
+        Map<Long, List<Ticket>> ticketsBySection = new TreeMap<>();
+        for (BulkIssuanceRecipient recipient : recipients) {
+            VenueSection section = sections.get(recipient.getSectionId());
+            if (section == null) {
+                throw new EntityNotFoundException("Section not found with ID: " + recipient.getSectionId());
+            }
+
+            PromotionalTicketRequestDTO.PromotionalTicketDTO ticketDTO = new PromotionalTicketRequestDTO.PromotionalTicketDTO(
+                    recipient.getSectionId(), recipient.getRecipientUserId(), recipient.getAttendeeFirstName(),
+                    recipient.getAttendeeLastName(), recipient.getAttendeeDni(), recipient.getIsGift());
+            Ticket ticket = promotionalTicketService.createTicket(ticketDTO, event, section, ticketStatus,
+                    userRepository.getReferenceById(recipient.getRecipientUserId()), promotion);
+            tickets.add(ticket);
+            ticketsBySection.computeIfAbsent(section.getId(), id -> new ArrayList<>()).add(ticket);
+        }
+
+        promotionalTicketService.reserveSeats(event, ticketsBySection);
+        ticketRepository.saveAll(tickets);
+
+        for (int i = 0; i < recipients.size(); i++) {
+            recipients.get(i).setTicketId(tickets.get(i).getId());
+        }
+        jobRepository.addIssued(jobId, tickets.size());
+        return tickets.size();
+    }
+
+    /**
+     * Siguiente bloque de destinatarios con envío pendiente, a partir de {@code afterId}
+     */
+    @Transactional(readOnly = true)
+    public List<BulkIssuanceRecipient> findPendingDeliveries(Long jobId, Long afterId, int limit) {
+        return recipientRepository.findPendingDelivery(jobId, afterId, PageRequest.of(0, limit));
+    }
+
+    /**
+     * Datos de los tickets emitidos para generar sus PDF, indexados por ID de ticket
+     */
+    @Transactional(readOnly = true)
+    public Map<Long, TicketDTO> findTicketsForDelivery(List<BulkIssuanceRecipient> recipients) {
+        List<Long> ticketIds = recipients.stream().map(BulkIssuanceRecipient::getTicketId).toList();
+        return ticketRepository.findTicketDTOsByIds(ticketIds).stream()
+                .collect(Collectors.toMap(TicketDTO::getId, Function.identity()));
+    }
+
+    /**
+     * Guarda el resultado de los envíos de un bloque y actualiza los contadores del trabajo
+     *
+     * @param delivered IDs de destinatarios con el email enviado
+     * @param failed Destinatarios cuyo envío falló en todos los intentos, con el último error
+     * @param attempts Intentos realizados por destinatario fallido
+     */
+    @Transactional
+    public void recordDeliveries(Long jobId, List<Long> delivered, Map<Long, String> failed, int attempts) {
+        if (!delivered.isEmpty()) {
+            recipientRepository.updateDelivery(delivered, BulkIssuanceRecipient.DELIVERY_SENT, 1, null);
+        }
+        for (Map.Entry<Long, String> failure : failed.entrySet()) {
+            String error = failure.getValue() != null && failure.getValue().length() > 500
+                    ? failure.getValue().substring(0, 500) : failure.getValue();
+            recipientRepository.updateDelivery(List.of(failure.getKey()), BulkIssuanceRecipient.DELIVERY_FAILED,
+                    attempts, error);
+        }
+        jobRepository.addDeliveries(jobId, delivered.size(), failed.size());
+    }
+
+    @Transactional
+    public void updateStatus(Long jobId, String status, String errorMessage) {
+        BulkIssuanceJob job = findJob(jobId);
+        job.setStatus(status);
+        job.setErrorMessage(errorMessage != null && errorMessage.length() > 500 ? errorMessage.substring(0, 500) : errorMessage);
+        if (BulkIssuanceJob.STATUS_COMPLETED.equals(status)) {
+            job.setCompletedAt(LocalDateTime.now());
+        }
+    }
+
+    /**
+     * Vuelve a poner en cola un trabajo fallido o interrumpido; los destinatarios ya emitidos o
+     * enviados no se repiten
+     *
+     * @return El trabajo, en estado PENDIENTE si había fallado
+     */
+    @Transactional
+    public BulkIssuanceJobDTO resumeJob(Long jobId) {
+        BulkIssuanceJob job = findJob(jobId);
+        if (BulkIssuanceJob.STATUS_COMPLETED.equals(job.getStatus())) {
+            throw new RecitappException("La emisión masiva ya fue completada");
+        }
+        if (BulkIssuanceJob.STATUS_FAILED.equals(job.getStatus())) {
+            job.setStatus(BulkIssuanceJob.STATUS_PENDING);
+            job.setErrorMessage(null);
+        }
+        eventPublisher.publishEvent(new BulkIssuanceRequestedEvent(jobId));
+        return mapToDTO(job);
+    }
+
+    /**
+     * Toma o renueva el trabajo para este nodo hasta {@code until}
+     *
+     * @return true si el nodo quedó a cargo
+     */
+    @Transactional
+    public boolean claim(Long jobId, String owner, LocalDateTime until) {
+        return jobRepository.claim(jobId, owner, until, LocalDateTime.now()) == 1;
+    }
+
+    @Transactional
+    public void release(Long jobId, String owner) {
+        jobRepository.release(jobId, owner);
+    }
+
+    @Transactional(readOnly = true)
+    public List<Long> findUnclaimedJobIds() {
+        return jobRepository.findUnclaimedIdsByStatusIn(UNFINISHED_STATUSES, LocalDateTime.now());
+    }
+
+    @Transactional(readOnly = true)
+    public BulkIssuanceJobDTO getJob(Long jobId) {
+        return mapToDTO(findJob(jobId));
+    }
+
+    private BulkIssuanceJob findJob(Long jobId) {
+        return jobRepository.findById(jobId)
+                .orElseThrow(() -> new EntityNotFoundException("Bulk issuance job not found with ID: " + jobId));
+    }
+
+    private BulkIssuanceJobDTO mapToDTO(BulkIssuanceJob job) {
+        return BulkIssuanceJobDTO.builder()
+                .jobId(job.getId())
+                .eventId(job.getEvent().getId())
+                .eventName(job.getEvent().getName())
+                .adminUserId(job.getAdminUser().getId())
+                .promotionName(job.getPromotion() != null ? job.getPromotion().getName() : null)
+                .status(job.getStatus())
+                .totalRecipients(job.getTotalRecipients())
+                .issuedCount(job.getIssuedCount())
+                .deliveredCount(job.getDeliveredCount())
+                .failedDeliveries(job.getFailedDeliveries())
+                .failedIssuances(job.getFailedIssuances())
+                .errorMessage(job.getErrorMessage())
+                .createdAt(job.getCreatedAt())
+                .updatedAt(job.getUpdatedAt())
+                .completedAt(job.getCompletedAt())
+                .build();
+    }
+}
@@ -0,0 +1,146 @@
+package com.recitapp.recitapp_api.modules.ticket.service.impl;
+
+import com.recitapp.recitapp_api.common.exception.EntityNotFoundException;
+import com.recitapp.recitapp_api.common.exception.RecitappException;
+import com.recitapp.recitapp_api.common.util.QrDigest;
+import com.recitapp.recitapp_api.modules.event.repository.EventRepository;
+import com.recitapp.recitapp_api.modules.ticket.service.GateManifestService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Genera el manifiesto y los deltas con un ResultSet de solo avance, igual que la exportación de entradas.
+ * Los deltas se calculan sobre {@code tickets.updated_at}, que actualizan todas las altas, cambios de
+ * estado y transferencias. Se relee un margen antes de la versión pedida para cubrir transacciones que
+ * confirmaron tarde y diferencias de reloj entre nodos.
+ */
+@Service
+@Slf4j
+public class GateManifestServiceImpl implements GateManifestService {
+
+    private static final byte[] MAGIC = "RGM1".getBytes(StandardCharsets.US_ASCII);
+    private static final int TYPE_FULL = 0;
+    private static final int TYPE_DELTA = 1;
+    private static final int OP_REMOVE = 0;
+    private static final int OP_ADD = 1;
+    private static final int END = 0xFF;
+    private static final byte[] NO_DIGEST = new byte[QrDigest.LENGTH];
+
+    private static final String MANIFEST_QUERY =
+            "SELECT t.id, t.section_id, t.qr_digest, ts.name FROM tickets t " +
+            "JOIN ticket_statuses ts ON ts.id = t.status_id " +
+            "WHERE t.event_id = ? AND ts.name IN (" +
+            String.join(",", Collections.nCopies(ADMISSIBLE_STATUSES.size(), "?")) + ") " +
+            "ORDER BY t.id";
+
+    private static final String DELTA_QUERY =
+            "SELECT t.id, t.section_id, t.qr_digest, ts.name FROM tickets t " +
+            "JOIN ticket_statuses ts ON ts.id = t.status_id " +
+            "WHERE t.event_id = ? AND t.updated_at >= ? " +
+            "ORDER BY t.updated_at, t.id";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final EventRepository eventRepository;
+    private final int fetchSize;
+    private final long overlapMs;
+
+    public GateManifestServiceImpl(JdbcTemplate jdbcTemplate,
+                                   EventRepository eventRepository,
+                                   @Value("${recitapp.tickets.export.fetch-size:500}") int fetchSize,
+                                   @Value("${recitapp.gate.manifest.delta-overlap-ms:5000}") long overlapMs) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.eventRepository = eventRepository;
+        this.fetchSize = fetchSize;
+        this.overlapMs = overlapMs;
+    }
+
+    @Override
+    public long currentVersion(Long eventId) {
+        if (!eventRepository.existsById(eventId)) {
+            throw new EntityNotFoundException("Event not found with ID: " + eventId);
+        }
+        return System.currentTimeMillis();
+    }
+
+    @Override
+    public long writeManifest(Long eventId, long version, OutputStream out) throws IOException {
+        List<Object> parameters = new ArrayList<>();
+        parameters.add(eventId);
+        parameters.addAll(ADMISSIBLE_STATUSES);
+
+        long records = write(MANIFEST_QUERY, parameters, TYPE_FULL, eventId, version, 0, out);
+        log.info("Manifiesto del evento {} (versión {}) enviado con {} entradas", eventId, version, records);
+        return records;
+    }
+
+    @Override
+    public long writeDelta(Long eventId, long sinceVersion, long version, OutputStream out) throws IOException {
+        if (sinceVersion <= 0 || sinceVersion > version) {
+            throw new RecitappException("Versión de manifiesto inválida: " + sinceVersion);
+        }
+
+        List<Object> parameters = List.of(eventId, new Timestamp(sinceVersion - overlapMs));
+        long records = write(DELTA_QUERY, parameters, TYPE_DELTA, eventId, version, sinceVersion, out);
+        log.debug("Delta del manifiesto del evento {} desde {}: {} cambios", eventId, sinceVersion, records);
+        return records;
+    }
+
+    private long write(String sql, List<Object> parameters, int type, Long eventId, long version, long since,
+                       OutputStream out) throws IOException {
+        DataOutputStream data = new DataOutputStream(new BufferedOutputStream(out, 16 * 1024));
+        data.write(MAGIC);
+        data.writeByte(type);
+        data.writeLong(eventId);
+        data.writeLong(version);
+        data.writeLong(since);
+
+        long[] records = {0};
+        try {
+            jdbcTemplate.query(connection -> {
+                PreparedStatement statement = connection.prepareStatement(sql,
+                        ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+                statement.setFetchSize(fetchSize);
+                for (int i = 0; i < parameters.size(); i++) {
+                    statement.setObject(i + 1, parameters.get(i));
+                }
+                return statement;
+            }, resultSet -> {
+                byte[] digest = resultSet.getBytes(3);
+                boolean admissible = digest != null && ADMISSIBLE_STATUSES.contains(resultSet.getString(4));
+                try {
+                    data.writeByte(admissible ? OP_ADD : OP_REMOVE);
+                    data.writeLong(resultSet.getLong(1));
+                    data.writeLong(resultSet.getLong(2));
+                    data.write(admissible ? digest : NO_DIGEST);
+                    records[0]++;
+                } catch (IOException e) {
+                    // El dispositivo cortó la descarga: se corta la lectura del ResultSet
+                    throw new UncheckedIOException(e);
+                }
+            });
+        } catch (UncheckedIOException e) {
+            log.info("Manifiesto del evento {} interrumpido tras {} registros: {}", eventId, records[0], e.getMessage());
+            throw e.getCause();
+        }
+
+        data.writeByte(END);
+        data.writeLong(records[0]);
+        data.flush();
+        return records[0];
+    }
+}
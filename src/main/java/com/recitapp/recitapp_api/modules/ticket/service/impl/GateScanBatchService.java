@@ -0,0 +1,348 @@
+package com.recitapp.recitapp_api.modules.ticket.service.impl;
+
+import com.recitapp.recitapp_api.common.exception.EntityNotFoundException;
+import com.recitapp.recitapp_api.common.exception.RecitappException;
+import com.recitapp.recitapp_api.common.lookup.LookupRegistry;
+import com.recitapp.recitapp_api.common.util.QrDigest;
+import com.recitapp.recitapp_api.common.util.TicketToken;
+import com.recitapp.recitapp_api.modules.event.entity.AccessPoint;
+import com.recitapp.recitapp_api.modules.event.repository.AccessPointRepository;
+import com.recitapp.recitapp_api.modules.event.repository.EventRepository;
+import com.recitapp.recitapp_api.modules.ticket.dto.GateScanBatchRequestDTO;
+import com.recitapp.recitapp_api.modules.ticket.dto.GateScanBatchResponseDTO;
+import com.recitapp.recitapp_api.modules.ticket.entity.TicketStatus;
+import com.recitapp.recitapp_api.modules.ticket.service.TicketTokenService;
+import com.recitapp.recitapp_api.modules.user.repository.UserRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.nio.ByteBuffer;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.*;
+
+/**
+ * Procesa lotes de lecturas acumuladas por los dispositivos de acceso (por ejemplo, durante un corte
+ * de conexión) con pocas sentencias por lote: una consulta por cada mil QR distintos, un UPDATE
+ * condicional en batch para los ingresos y un INSERT en batch para el historial.
+ * <p>
+ * Si un mismo ticket se leyó en varios accesos gana la lectura más temprana según la hora del
+ * dispositivo, también frente a un ingreso ya registrado con hora posterior.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class GateScanBatchService {
+
+    private static final String ADMITTED = "ADMITTED";
+    private static final String REJECTED = "REJECTED";
+    private static final String USED = "USADA";
+    private static final List<String> VALID_ENTRY_STATUSES = List.of("VENDIDA", "REGALO");
+    private static final int LOOKUP_CHUNK_SIZE = 1000;
+
+    private static final String LOOKUP_QUERY =
+            "SELECT t.id, t.qr_digest, t.event_id, ts.name FROM tickets t " +
+            "JOIN ticket_statuses ts ON ts.id = t.status_id " +
+            "WHERE t.qr_digest IN (:digests)";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final NamedParameterJdbcTemplate namedParameterJdbcTemplate;
+    private final EventRepository eventRepository;
+    private final AccessPointRepository accessPointRepository;
+    private final UserRepository userRepository;
+    private final LookupRegistry lookupRegistry;
+    private final TicketTokenService ticketTokenService;
+    private final UsedTicketRegistry usedTicketRegistry;
+    private final VerificationAuditWriter verificationAuditWriter;
+
+    @Value("${recitapp.gate.scan-batch.max-size:5000}")
+    private int maxBatchSize;
+
+    /**
+     * Aplica un lote de lecturas y devuelve un veredicto por lectura, en el orden recibido
+     *
+     * @param requestDTO Lote con evento, punto de acceso, verificador y lecturas
+     * @return Resultado del lote
+     */
+    @Transactional
+    public GateScanBatchResponseDTO ingest(GateScanBatchRequestDTO requestDTO) {
+        Long eventId = requestDTO.getEventId();
+        List<GateScanBatchRequestDTO.ScanDTO> scans = requestDTO.getScans();
+        if (scans.size() > maxBatchSize) {
+            throw new RecitappException("El lote supera el máximo de " + maxBatchSize + " lecturas");
+        }
+        validateBatch(requestDTO);
+
+        List<Scan> pending = new ArrayList<>(scans.size());
+        for (int i = 0; i < scans.size(); i++) {
+            pending.add(decode(eventId, scans.get(i), i));
+        }
+
+        Map<ByteBuffer, TicketState> tickets = lookupTickets(pending);
+        Map<Long, List<Scan>> scansByTicket = new HashMap<>();
+        for (Scan scan : pending) {
+            if (scan.status == null) {
+                resolveTicket(eventId, scan, tickets);
+            }
+            if (scan.status == null) {
+                scansByTicket.computeIfAbsent(scan.ticket.id(), id -> new ArrayList<>()).add(scan);
+            }
+        }
+
+        // Gana la lectura más temprana de cada ticket; las demás son reingresos
+        List<Scan> winners = new ArrayList<>();
+        for (List<Scan> ticketScans : scansByTicket.values()) {
+            ticketScans.sort(Comparator.comparing((Scan scan) -> scan.request.getScannedAt())
+                    .thenComparingInt(scan -> scan.index));
+            winners.add(ticketScans.get(0));
+            for (Scan duplicate : ticketScans.subList(1, ticketScans.size())) {
+                duplicate.reject("DUPLICATE_SCAN", "El ticket ya ingresó a las " + ticketScans.get(0).request.getScannedAt());
+            }
+        }
+
+        admit(winners);
+        recordVerifications(requestDTO, pending);
+
+        List<Long> admittedTicketIds = pending.stream()
+                .filter(scan -> ADMITTED.equals(scan.status))
+                .map(scan -> scan.ticket.id())
+                .toList();
+        afterCommit(() -> admittedTicketIds.forEach(ticketId -> usedTicketRegistry.markUsed(eventId, ticketId)));
+
+        List<GateScanBatchResponseDTO.ScanResultDTO> results = pending.stream()
+                .map(scan -> GateScanBatchResponseDTO.ScanResultDTO.builder()
+                        .scanId(scan.request.getScanId())
+                        .ticketId(scan.ticket != null ? scan.ticket.id() : scan.claimedTicketId)
+                        .scannedAt(scan.request.getScannedAt())
+                        .status(scan.status)
+                        .errorCode(scan.errorCode)
+                        .message(scan.message)
+                        .build())
+                .toList();
+
+        log.info("Lote de {} lecturas del evento {} (acceso {}): {} ingresos",
+                scans.size(), eventId, requestDTO.getAccessPointId(), admittedTicketIds.size());
+
+        return GateScanBatchResponseDTO.builder()
+                .eventId(eventId)
+                .accessPointId(requestDTO.getAccessPointId())
+                .received(scans.size())
+                .admitted(admittedTicketIds.size())
+                .rejected(scans.size() - admittedTicketIds.size())
+                .results(results)
+                .build();
+    }
+
+    private void validateBatch(GateScanBatchRequestDTO requestDTO) {
+        if (!eventRepository.existsById(requestDTO.getEventId())) {
+            throw new EntityNotFoundException("Event not found with ID: " + requestDTO.getEventId());
+        }
+        AccessPoint accessPoint = accessPointRepository.findById(requestDTO.getAccessPointId())
+                .orElseThrow(() -> new EntityNotFoundException("Access point not found with ID: " + requestDTO.getAccessPointId()));
+        if (!accessPoint.getEvent().getId().equals(requestDTO.getEventId())) {
+            throw new RecitappException("El punto de acceso no corresponde a este evento");
+        }
+        if (!userRepository.existsById(requestDTO.getVerifierUserId())) {
+            throw new EntityNotFoundException("Verifier user not found with ID: " + requestDTO.getVerifierUserId());
+        }
+    }
+
+    /**
+     * Obtiene el resumen del QR de una lectura; los tokens firmados se verifican sin consultar la base
+     */
+    private Scan decode(Long eventId, GateScanBatchRequestDTO.ScanDTO request, int index) {
+        Scan scan = new Scan(request, index);
+        if (request.getToken() != null && !request.getToken().isBlank()) {
+            try {
+                TicketToken.Claims claims = ticketTokenService.authenticate(request.getToken(), eventId, request.getScannedAt());
+                scan.claimedTicketId = claims.ticketId();
+                scan.digest = claims.qrDigest();
+            } catch (TicketToken.InvalidTokenException e) {
+                scan.reject(e.getErrorCode(), e.getMessage());
+            }
+        } else if (request.getQrCode() != null && !request.getQrCode().isBlank()) {
+            scan.digest = QrDigest.of(request.getQrCode());
+        } else {
+            scan.reject("INVALID_SCAN", "La lectura no incluye token ni código QR");
+        }
+        return scan;
+    }
+
+    private void resolveTicket(Long eventId, Scan scan, Map<ByteBuffer, TicketState> tickets) {
+        TicketState ticket = tickets.get(ByteBuffer.wrap(scan.digest));
+        if (ticket == null || (scan.claimedTicketId != null && !scan.claimedTicketId.equals(ticket.id()))) {
+            if (scan.claimedTicketId != null) {
+                scan.reject("TOKEN_REVOKED", "El código QR fue reemplazado; la entrada fue transferida");
+            } else {
+                scan.reject("TICKET_NOT_FOUND", "No existe un ticket con ese código QR");
+            }
+            return;
+        }
+
+        scan.ticket = ticket;
+        if (!ticket.eventId().equals(eventId)) {
+            scan.reject("EVENT_MISMATCH", "El ticket no corresponde a este evento");
+        }
+    }
+
+    /**
+     * Busca los tickets de todas las lecturas por el resumen de su QR, de a mil por consulta
+     */
+    private Map<ByteBuffer, TicketState> lookupTickets(List<Scan> scans) {
+        Map<ByteBuffer, byte[]> digests = new LinkedHashMap<>();
+        for (Scan scan : scans) {
+            if (scan.status == null) {
+                digests.putIfAbsent(ByteBuffer.wrap(scan.digest), scan.digest);
+            }
+        }
+
+        Map<ByteBuffer, TicketState> tickets = new HashMap<>();
+        List<byte[]> values = new ArrayList<>(digests.values());
+        for (int from = 0; from < values.size(); from += LOOKUP_CHUNK_SIZE) {
+            List<byte[]> chunk = values.subList(from, Math.min(from + LOOKUP_CHUNK_SIZE, values.size()));
+            namedParameterJdbcTemplate.query(LOOKUP_QUERY, Map.of("digests", chunk), resultSet -> {
+                TicketState ticket = new TicketState(resultSet.getLong(1), resultSet.getLong(3), resultSet.getString(4));
+                tickets.put(ByteBuffer.wrap(resultSet.getBytes(2)), ticket);
+            });
+        }
+        return tickets;
+    }
+
+    /**
+     * Registra los ingresos ganadores: un UPDATE condicional en batch para los tickets habilitados y
+     * otro que adelanta la hora de uso de los tickets ya usados más tarde que la lectura
+     */
+    private void admit(List<Scan> winners) {
+        TicketStatus usedStatus = lookupRegistry.findTicketStatus(USED)
+                .orElseThrow(() -> new EntityNotFoundException("Ticket status '" + USED + "' not found"));
+        List<Long> admissibleStatusIds = new ArrayList<>();
+        for (String status : VALID_ENTRY_STATUSES) {
+            lookupRegistry.findTicketStatus(status).ifPresent(found -> admissibleStatusIds.add(found.getId()));
+        }
+
+        List<Scan> toAdmit = new ArrayList<>();
+        List<Scan> toBackdate = new ArrayList<>();
+        for (Scan scan : winners) {
+            if (VALID_ENTRY_STATUSES.contains(scan.ticket.status())) {
+                toAdmit.add(scan);
+            } else if (USED.equals(scan.ticket.status())) {
+                toBackdate.add(scan);
+            } else {
+                scan.reject("INVALID_STATUS", "Estado de ticket inválido: " + scan.ticket.status());
+            }
+        }
+
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        if (!toAdmit.isEmpty() && !admissibleStatusIds.isEmpty()) {
+            String sql = "UPDATE tickets SET status_id = ?, use_date = ?, updated_at = ? WHERE id = ? AND status_id IN (" +
+                    String.join(",", Collections.nCopies(admissibleStatusIds.size(), "?")) + ")";
+            int[] counts = jdbcTemplate.batchUpdate(sql, toAdmit, toAdmit.size(), (statement, scan) -> {
+                statement.setLong(1, usedStatus.getId());
+                statement.setTimestamp(2, Timestamp.valueOf(scan.request.getScannedAt()));
+                statement.setTimestamp(3, now);
+                statement.setLong(4, scan.ticket.id());
+                for (int i = 0; i < admissibleStatusIds.size(); i++) {
+                    statement.setLong(5 + i, admissibleStatusIds.get(i));
+                }
+            })[0];
+            for (int i = 0; i < counts.length; i++) {
+                if (counts[i] == 0) {
+                    // Otro acceso lo admitió en línea mientras tanto: se compara la hora de uso
+                    toBackdate.add(toAdmit.get(i));
+                } else {
+                    toAdmit.get(i).admit();
+                }
+            }
+        }
+
+        if (!toBackdate.isEmpty()) {
+            int[] counts = jdbcTemplate.batchUpdate(
+                    "UPDATE tickets SET use_date = ?, updated_at = ? WHERE id = ? AND status_id = ? AND use_date > ?",
+                    toBackdate, toBackdate.size(), (statement, scan) -> {
+                        Timestamp scannedAt = Timestamp.valueOf(scan.request.getScannedAt());
+                        statement.setTimestamp(1, scannedAt);
+                        statement.setTimestamp(2, now);
+                        statement.setLong(3, scan.ticket.id());
+                        statement.setLong(4, usedStatus.getId());
+                        statement.setTimestamp(5, scannedAt);
+                    })[0];
+            for (int i = 0; i < counts.length; i++) {
+                Scan scan = toBackdate.get(i);
+                if (counts[i] == 0) {
+                    scan.reject("ALREADY_USED", "El ticket ya ha sido utilizado");
+                } else {
+                    scan.admit();
+                }
+            }
+        }
+    }
+
+    /**
+     * Guarda en el historial todas las lecturas que corresponden a un ticket existente, con la hora del dispositivo.
+     * El lote ya viene agrupado: se escribe en la misma transacción, sin pasar por la cola del historial.
+     */
+    private void recordVerifications(GateScanBatchRequestDTO requestDTO, List<Scan> scans) {
+        List<VerificationAuditWriter.Entry> entries = scans.stream()
+                .filter(scan -> scan.ticket != null)
+                .map(scan -> new VerificationAuditWriter.Entry(scan.ticket.id(), requestDTO.getEventId(),
+                        requestDTO.getAccessPointId(), requestDTO.getVerifierUserId(),
+                        scan.request.getScannedAt(), ADMITTED.equals(scan.status), scan.errorCode, scan.message,
+                        scan.request.getToken() != null ? scan.request.getToken() : scan.request.getQrCode()))
+                .toList();
+        verificationAuditWriter.writeNow(entries);
+    }
+
+    private static void afterCommit(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
+
+    /**
+     * Lectura en proceso. {@code status} queda en null mientras no tenga veredicto.
+     */
+    private static final class Scan {
+        private final GateScanBatchRequestDTO.ScanDTO request;
+        private final int index;
+        private byte[] digest;
+        private Long claimedTicketId;
+        private TicketState ticket;
+        private String status;
+        private String errorCode;
+        private String message;
+
+        private Scan(GateScanBatchRequestDTO.ScanDTO request, int index) {
+            this.request = request;
+            this.index = index;
+        }
+
+        private void admit() {
+            status = ADMITTED;
+            message = "Ticket verificado correctamente";
+        }
+
+        private void reject(String errorCode, String message) {
+            this.status = REJECTED;
+            this.errorCode = errorCode;
+            this.message = message;
+        }
+    }
+
+    private record TicketState(Long id, Long eventId, String status) {
+    }
+}
@@ -0,0 +1,174 @@
+package com.recitapp.recitapp_api.modules.ticket.service.impl;
+
+import com.recitapp.recitapp_api.modules.event.repository.TicketPriceRepository;
+import com.recitapp.recitapp_api.modules.ticket.repository.SectionInventoryRepository;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Escribe en MySQL, en segundo plano, las ventas ya admitidas por el inventario de Redis.
+ * Los lugares vendidos se acumulan por evento y sección (y por tipo de entrada) y se aplican con un
+ * único UPDATE por contador. Después de escribir una venta la descuenta de las ventas pendientes
+ * que el inventario de Redis suma al reservar (compartidas por todos los nodos).
+ */
+@Component
+@ConditionalOnProperty(name = "recitapp.inventory.mode", havingValue = "redis")
+@RequiredArgsConstructor
+@Slf4j
+public class InventoryWriteBehindWriter {
+
+    private final SectionInventoryRepository sectionInventoryRepository;
+    private final TicketPriceRepository ticketPriceRepository;
+    private final PlatformTransactionManager transactionManager;
+    private final StringRedisTemplate redisTemplate;
+
+    @Value("${recitapp.inventory.redis.write-behind-interval-ms:500}")
+    private long flushIntervalMs;
+
+    private final Map<List<Long>, AtomicInteger> pendingSales = new ConcurrentHashMap<>();
+    private final Map<Long, AtomicInteger> pendingPriceSales = new ConcurrentHashMap<>();
+
+    /**
+     * Ventas pendientes de Redis que ya se escribieron (o se revirtieron) y falta descontar
+     */
+    private final Map<String, AtomicInteger> unsettled = new ConcurrentHashMap<>();
+
+    private ScheduledExecutorService executor;
+    private TransactionTemplate transactionTemplate;
+
+    @PostConstruct
+    public void start() {
+        transactionTemplate = new TransactionTemplate(transactionManager);
+        transactionTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+
+        executor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "inventory-write-behind");
+            thread.setDaemon(true);
+            return thread;
+        });
+        executor.scheduleWithFixedDelay(this::flushQuietly, flushIntervalMs, flushIntervalMs, TimeUnit.MILLISECONDS);
+        log.info("Write-behind de inventario iniciado (intervalo {} ms)", flushIntervalMs);
+    }
+
+    @PreDestroy
+    public void stop() {
+        executor.shutdown();
+        flush();
+    }
+
+    /**
+     * Registra lugares vendidos (transacción confirmada) pendientes de escribir en la base de datos
+     */
+    public void recordSale(Long eventId, Long sectionId, int quantity) {
+        pendingSales.computeIfAbsent(List.of(eventId, sectionId), key -> new AtomicInteger())
+                .addAndGet(quantity);
+    }
+
+    /**
+     * Registra entradas vendidas de un tipo de entrada pendientes de escribir en la base de datos
+     */
+    public void recordPriceSale(Long ticketPriceId, int quantity) {
+        pendingPriceSales.computeIfAbsent(ticketPriceId, key -> new AtomicInteger()).addAndGet(quantity);
+    }
+
+    /**
+     * Descuenta de las ventas pendientes en Redis una venta ya escrita o revertida.
+     * Si Redis no responde se reintenta en el próximo ciclo.
+     */
+    public void settle(String pendingKey, int quantity) {
+        unsettled.computeIfAbsent(pendingKey, key -> new AtomicInteger()).addAndGet(quantity);
+        applySettlements();
+    }
+
+    /**
+     * Aplica en la base de datos todas las ventas pendientes. Si un contador falla, su delta se
+     * conserva para el próximo ciclo.
+     */
+    public synchronized void flush() {
+        for (Map.Entry<List<Long>, AtomicInteger> entry : pendingSales.entrySet()) {
+            int quantity = entry.getValue().getAndSet(0);
+            if (quantity == 0) {
+                continue;
+            }
+
+            Long eventId = entry.getKey().get(0);
+            Long sectionId = entry.getKey().get(1);
+            try {
+                transactionTemplate.executeWithoutResult(status ->
+                        sectionInventoryRepository.applySale(eventId, sectionId, quantity));
+                unsettled.computeIfAbsent(RedisSectionInventoryService.pendingSectionKey(eventId, sectionId),
+                        key -> new AtomicInteger()).addAndGet(quantity);
+            } catch (RuntimeException e) {
+                entry.getValue().addAndGet(quantity);
+                log.error("Error escribiendo {} ventas del evento {} sección {}: {}",
+                        quantity, eventId, sectionId, e.getMessage());
+            }
+        }
+
+        for (Map.Entry<Long, AtomicInteger> entry : pendingPriceSales.entrySet()) {
+            int quantity = entry.getValue().getAndSet(0);
+            if (quantity == 0) {
+                continue;
+            }
+
+            Long ticketPriceId = entry.getKey();
+            try {
+                transactionTemplate.executeWithoutResult(status ->
+                        ticketPriceRepository.applySale(ticketPriceId, quantity));
+                unsettled.computeIfAbsent(RedisSectionInventoryService.pendingPriceKey(ticketPriceId),
+                        key -> new AtomicInteger()).addAndGet(quantity);
+            } catch (RuntimeException e) {
+                entry.getValue().addAndGet(quantity);
+                log.error("Error escribiendo {} ventas del precio {}: {}", quantity, ticketPriceId, e.getMessage());
+            }
+        }
+
+        applySettlements();
+    }
+
+    /**
+     * Se descuenta después de escribir en la base: mientras tanto una clave de stock recargada queda
+     * por debajo de lo real, nunca por encima
+     */
+    private void applySettlements() {
+        for (Map.Entry<String, AtomicInteger> entry : unsettled.entrySet()) {
+            int quantity = entry.getValue().getAndSet(0);
+            if (quantity == 0) {
+                continue;
+            }
+
+            try {
+                redisTemplate.opsForValue().decrement(entry.getKey(), quantity);
+            } catch (DataAccessException e) {
+                entry.getValue().addAndGet(quantity);
+                log.debug("Ventas pendientes de {} sin descontar: {}", entry.getKey(), e.getMessage());
+            }
+        }
+    }
+
+    private void flushQuietly() {
+        try {
+            flush();
+        } catch (Exception e) {
+            log.error("Error en el write-behind de inventario", e);
+        }
+    }
+}
@@ -0,0 +1,75 @@
+package com.recitapp.recitapp_api.modules.ticket.service.impl;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Objects;
+import java.util.TreeSet;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Bloqueos de sección dentro de la JVM, repartidos en un número fijo de franjas (lock striping).
+ * Secciones distintas caen en franjas arbitrarias, así que las franjas se toman por índice y no por ID de sección.
+ */
+@Service
+@ConditionalOnProperty(name = "recitapp.inventory.lock.mode", havingValue = "local", matchIfMissing = true)
+public class LocalSectionLockManager extends AbstractSectionLockManager<ReentrantLock> {
+
+    private final ReentrantLock[] stripes;
+
+    public LocalSectionLockManager(MeterRegistry meterRegistry,
+                                   @Value("${recitapp.inventory.lock.stripes:1024}") int stripeCount,
+                                   @Value("${recitapp.inventory.lock.wait-timeout-ms:5000}") long waitTimeoutMs) {
+        super(meterRegistry, "local", waitTimeoutMs);
+        // Potencia de dos para calcular la franja con una máscara
+        int size = Integer.highestOneBit(Math.max(1, stripeCount - 1)) << 1;
+        this.stripes = new ReentrantLock[size];
+        for (int i = 0; i < size; i++) {
+            stripes[i] = new ReentrantLock(true);
+        }
+    }
+
+    @Override
+    protected ReentrantLock getLock(Long eventId, Long sectionId) {
+        return stripes[stripeIndex(eventId, sectionId)];
+    }
+
+    @Override
+    protected List<ReentrantLock> orderedLocks(Long eventId, Collection<Long> sectionIds) {
+        // Sin repetir franjas y en orden de índice: dos compras nunca toman las mismas franjas en orden inverso
+        TreeSet<Integer> indexes = new TreeSet<>();
+        for (Long sectionId : sectionIds) {
+            indexes.add(stripeIndex(eventId, sectionId));
+        }
+
+        List<ReentrantLock> locks = new ArrayList<>(indexes.size());
+        for (int index : indexes) {
+            locks.add(stripes[index]);
+        }
+        return locks;
+    }
+
+    int stripeIndex(Long eventId, Long sectionId) {
+        int hash = Objects.hash(eventId, sectionId);
+        hash ^= (hash >>> 16);
+        return hash & (stripes.length - 1);
+    }
+
+    @Override
+    protected boolean tryLock(ReentrantLock lock, long timeoutMs) throws InterruptedException {
+        return lock.tryLock(timeoutMs, TimeUnit.MILLISECONDS);
+    }
+
+    @Override
+    protected void unlock(ReentrantLock lock) {
+        if (lock.isHeldByCurrentThread()) {
+            lock.unlock();
+        }
+    }
+}
@@ -1,5 +1,6 @@
 package com.recitapp.recitapp_api.modules.ticket.service.impl;
 
+import com.recitapp.recitapp_api.common.lookup.LookupRegistry;
 import com.recitapp.recitapp_api.common.exception.EntityNotFoundException;
 import com.recitapp.recitapp_api.common.exception.RecitappException;
 import com.recitapp.recitapp_api.common.util.QRGenerator;
@@ -13,7 +14,10 @@ import com.recitapp.recitapp_api.modules.ticket.dto.TicketDTO;
 import com.recitapp.recitapp_api.modules.ticket.entity.Ticket;
 import com.recitapp.recitapp_api.modules.ticket.entity.TicketStatus;
 import com.recitapp.recitapp_api.modules.ticket.repository.TicketRepository;
-import com.recitapp.recitapp_api.modules.ticket.repository.TicketStatusRepository;
+import com.recitapp.recitapp_api.modules.ticket.service.SectionInventoryService;
+import com.recitapp.recitapp_api.modules.ticket.service.SeatMapService;
+import com.recitapp.recitapp_api.modules.ticket.service.SectionLockManager;
+import com.recitapp.recitapp_api.modules.ticket.service.TicketCodeService;
 import com.recitapp.recitapp_api.modules.user.entity.User;
 import com.recitapp.recitapp_api.modules.user.repository.UserRepository;
 import com.recitapp.recitapp_api.modules.venue.entity.VenueSection;
@@ -27,6 +31,8 @@ import java.math.BigDecimal;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
 import java.util.UUID;
 import java.util.stream.Collectors;
 
@@ -39,12 +45,16 @@ import java.util.stream.Collectors;
 public class PromotionalTicketService {
 
     private final TicketRepository ticketRepository;
-    private final TicketStatusRepository ticketStatusRepository;
+    private final LookupRegistry lookupRegistry;
     private final EventRepository eventRepository;
     private final UserRepository userRepository;
     private final VenueSectionRepository venueSectionRepository;
     private final PromotionRepository promotionRepository;
     private final QRGenerator qrGenerator;
+    private final SectionInventoryService sectionInventoryService;
+    private final SectionLockManager sectionLockManager;
+    private final TicketCodeService ticketCodeService;
+    private final SeatMapService seatMapService;
 
     /**
      * Creates promotional tickets for an event
@@ -71,12 +81,11 @@ public class PromotionalTicketService {
         validateEventForPromotionalTickets(event);
 
         // Get "REGALO" or "VENDIDA" status for tickets
-        TicketStatus ticketStatus = ticketStatusRepository.findByName("REGALO")
-                .orElseGet(() -> ticketStatusRepository.findByName("VENDIDA")
-                        .orElseThrow(() -> new EntityNotFoundException("Required ticket status not found")));
+        TicketStatus ticketStatus = findPromotionalTicketStatus();
 
         // Create a list to store the created tickets
         List<Ticket> createdTickets = new ArrayList<>();
+        Map<Long, List<Ticket>> ticketsBySection = new TreeMap<>();
 
         // Create a promotion record if name and description are provided
         Promotion promotion = createPromotionIfNeeded(event, requestDTO);
@@ -91,14 +100,14 @@ public class PromotionalTicketService {
             User recipientUser = userRepository.findById(ticketDTO.getRecipientUserId())
                     .orElseThrow(() -> new EntityNotFoundException("Recipient user not found with ID: " + ticketDTO.getRecipientUserId()));
 
-            // Check availability for the section
-            validateSectionAvailability(event.getId(), section.getId());
-
             // Create the ticket
             Ticket ticket = createTicket(ticketDTO, event, section, ticketStatus, recipientUser, promotion);
             createdTickets.add(ticket);
+            ticketsBySection.computeIfAbsent(section.getId(), id -> new ArrayList<>()).add(ticket);
         }
 
+        reserveSeats(event, ticketsBySection);
+
         // Save all tickets
         List<Ticket> savedTickets = ticketRepository.saveAll(createdTickets);
 
@@ -106,10 +115,34 @@ public class PromotionalTicketService {
         return buildPromotionalTicketResponse(requestDTO, event, adminUser, savedTickets);
     }
 
+    /**
+     * Gets the status for promotional tickets: REGALO, or VENDIDA if it does not exist
+     */
+    TicketStatus findPromotionalTicketStatus() {
+        return lookupRegistry.findTicketStatus("REGALO")
+                .orElseGet(() -> lookupRegistry.findTicketStatus("VENDIDA")
+                        .orElseThrow(() -> new EntityNotFoundException("Required ticket status not found")));
+    }
+
+    /**
+     * Reserves inventory and assigns seats for new tickets grouped by section (in section ID order)
+     */
+    void reserveSeats(Event event, Map<Long, List<Ticket>> ticketsBySection) {
+        // Buyers of the same section are serialized until commit; other sections proceed in parallel
+        sectionLockManager.lockSections(event.getId(), ticketsBySection.keySet());
+
+        // Reserve seats with one conditional decrement per section, then pick seats in numbered sections
+        for (List<Ticket> sectionTickets : ticketsBySection.values()) {
+            VenueSection ticketSection = sectionTickets.get(0).getSection();
+            sectionInventoryService.reserveSeats(event.getId(), ticketSection, sectionTickets.size());
+            seatMapService.assignSeats(event.getId(), ticketSection, sectionTickets);
+        }
+    }
+
     /**
      * Creates a ticket entity from the provided details
      */
-    private Ticket createTicket(PromotionalTicketRequestDTO.PromotionalTicketDTO ticketDTO,
+    Ticket createTicket(PromotionalTicketRequestDTO.PromotionalTicketDTO ticketDTO,
                                 Event event, VenueSection section, TicketStatus ticketStatus,
                                 User recipientUser, Promotion promotion) {
 
@@ -148,7 +181,7 @@ public class PromotionalTicketService {
     /**
      * Creates a promotion if name and description are provided
      */
-    private Promotion createPromotionIfNeeded(Event event, PromotionalTicketRequestDTO requestDTO) {
+    Promotion createPromotionIfNeeded(Event event, PromotionalTicketRequestDTO requestDTO) {
         if (requestDTO.getPromotionName() == null || requestDTO.getPromotionName().isBlank()) {
             return null;
         }
@@ -193,7 +226,7 @@ public class PromotionalTicketService {
      * @param user The user to check
      * @return true if the user has admin permissions
      */
-    private boolean hasAdminRole(User user) {
+    boolean hasAdminRole(User user) {
         String roleName = user.getRole().getName();
         return "ADMIN".equals(roleName) || "MODERADOR".equals(roleName) || "REGISTRADOR_EVENTO".equals(roleName);
     }
@@ -204,7 +237,7 @@ public class PromotionalTicketService {
      * @param event The event to validate
      * @throws RecitappException If the event is not valid
      */
-    private void validateEventForPromotionalTickets(Event event) {
+    void validateEventForPromotionalTickets(Event event) {
         // Check if the event is canceled
         if ("CANCELADO".equals(event.getStatus().getName())) {
             throw new RecitappException("No se pueden crear entradas promocionales para eventos cancelados");
@@ -221,35 +254,13 @@ public class PromotionalTicketService {
         }
     }
 
-    /**
-     * Validates if there are available tickets in a section
-     *
-     * @param eventId The ID of the event
-     * @param sectionId The ID of the section
-     * @throws RecitappException If there are no available tickets
-     */
-    private void validateSectionAvailability(Long eventId, Long sectionId) {
-        // Get the venue section to check its capacity
-        VenueSection section = venueSectionRepository.findById(sectionId)
-                .orElseThrow(() -> new EntityNotFoundException("Section not found with ID: " + sectionId));
-
-        // Count sold tickets for this event and section
-        long soldTickets = ticketRepository.countByEventIdAndSectionIdAndStatusName(eventId, sectionId, "VENDIDA");
-        soldTickets += ticketRepository.countByEventIdAndSectionIdAndStatusName(eventId, sectionId, "REGALO");
-
-        // Check if there are available tickets
-        if (soldTickets >= section.getCapacity()) {
-            throw new RecitappException("No hay entradas disponibles en la sección: " + section.getName());
-        }
-    }
-
     /**
      * Generates a unique code for a ticket
      *
      * @return A unique ticket code
      */
     private String generateUniqueTicketCode() {
-        return "PROMO-" + UUID.randomUUID().toString().substring(0, 8).toUpperCase();
+        return ticketCodeService.generateCode("PROMO");
     }
 
     /**
@@ -266,6 +277,8 @@ public class PromotionalTicketService {
                 .eventDate(ticket.getEvent().getStartDateTime())
                 .sectionId(ticket.getSection().getId())
                 .sectionName(ticket.getSection().getName())
+                .seatRow(ticket.getSeatRow())
+                .seatNumber(ticket.getSeatNumber())
                 .venueName(ticket.getEvent().getVenue().getName())
                 .price(ticket.getSalePrice())
                 .status(ticket.getStatus().getName())
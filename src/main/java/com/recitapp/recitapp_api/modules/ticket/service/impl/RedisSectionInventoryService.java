@@ -0,0 +1,487 @@
+package com.recitapp.recitapp_api.modules.ticket.service.impl;
+
+import com.recitapp.recitapp_api.common.exception.RecitappException;
+import com.recitapp.recitapp_api.modules.event.entity.Event;
+import com.recitapp.recitapp_api.modules.event.entity.TicketPrice;
+import com.recitapp.recitapp_api.modules.event.repository.EventRepository;
+import com.recitapp.recitapp_api.modules.event.repository.TicketPriceRepository;
+import com.recitapp.recitapp_api.modules.ticket.entity.SectionInventory;
+import com.recitapp.recitapp_api.modules.ticket.entity.Ticket;
+import com.recitapp.recitapp_api.modules.ticket.repository.SectionInventoryRepository;
+import com.recitapp.recitapp_api.modules.ticket.service.SeatMapService;
+import com.recitapp.recitapp_api.modules.ticket.service.SectionInventoryService;
+import com.recitapp.recitapp_api.modules.ticket.service.SoldOutRegistry;
+import com.recitapp.recitapp_api.modules.venue.entity.VenueSection;
+import com.recitapp.recitapp_api.modules.venue.repository.VenueSectionRepository;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.annotation.Primary;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.redis.connection.RedisConnection;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+
+/**
+ * Inventario "caliente" en Redis compartido por todos los nodos.
+ * Las reservas se hacen con scripts Lua (decremento condicional atómico) y las ventas confirmadas
+ * se escriben en MySQL en segundo plano. Si Redis no responde se usa el inventario de base de datos.
+ * <p>
+ * Las ventas admitidas que todavía no llegaron a MySQL se cuentan en Redis (claves "pending"), sumando
+ * las de todos los nodos: al volver a cargar una clave de stock se descuentan de lo que dice la base.
+ */
+@Service
+@Primary
+@ConditionalOnProperty(name = "recitapp.inventory.mode", havingValue = "redis")
+@RequiredArgsConstructor
+@Slf4j
+public class RedisSectionInventoryService implements SectionInventoryService {
+
+    private static final String KEY_PREFIX = "recitapp:inventory:";
+    private static final long MISSING_KEY = -1L;
+    private static final long INSUFFICIENT_STOCK = -2L;
+
+    /**
+     * Decrementa el stock solo si alcanza y suma la reserva a las ventas pendientes (KEYS[2]).
+     * Devuelve el stock restante, -1 si la clave no existe o -2 si no hay stock suficiente.
+     */
+    private static final RedisScript<Long> RESERVE_SCRIPT = new DefaultRedisScript<>(
+            "local current = redis.call('GET', KEYS[1]) " +
+            "if not current then return -1 end " +
+            "if tonumber(current) < tonumber(ARGV[1]) then return -2 end " +
+            "redis.call('INCRBY', KEYS[2], ARGV[1]) " +
+            "return redis.call('DECRBY', KEYS[1], ARGV[1])", Long.class);
+
+    /**
+     * Devuelve stock a una clave existente. Devuelve el nuevo stock o -1 si la clave no existe.
+     */
+    private static final RedisScript<Long> RELEASE_SCRIPT = new DefaultRedisScript<>(
+            "if redis.call('EXISTS', KEYS[1]) == 0 then return -1 end " +
+            "return redis.call('INCRBY', KEYS[1], ARGV[1])", Long.class);
+
+    private final SectionInventoryServiceImpl databaseInventory;
+    private final InventoryWriteBehindWriter writeBehindWriter;
+    private final StringRedisTemplate redisTemplate;
+    private final SectionInventoryRepository sectionInventoryRepository;
+    private final TicketPriceRepository ticketPriceRepository;
+    private final EventRepository eventRepository;
+    private final VenueSectionRepository venueSectionRepository;
+    private final SoldOutRegistry soldOutRegistry;
+    private final SeatMapService seatMapService;
+    private final PlatformTransactionManager transactionManager;
+
+    @Value("${recitapp.inventory.redis.retry-interval-ms:10000}")
+    private long retryIntervalMs;
+
+    private volatile boolean redisAvailable = true;
+    private volatile long nextRetryAt = 0;
+
+    /**
+     * Claves modificadas solo en la base de datos mientras Redis no estaba disponible
+     */
+    private final Set<String> staleKeys = ConcurrentHashMap.newKeySet();
+
+    /**
+     * Lecturas de la base en una transacción nueva, para no ver una foto anterior a la lectura de Redis
+     */
+    private TransactionTemplate freshRead;
+
+    @PostConstruct
+    public void init() {
+        freshRead = new TransactionTemplate(transactionManager);
+        freshRead.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    }
+
+    /**
+     * Precarga en Redis el stock de los eventos en venta. Usa SET NX para no pisar el
+     * stock que otro nodo ya esté descontando.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional
+    public void warmUp() {
+        List<Event> events = eventRepository.findByStatusName("EN_VENTA");
+        int keys = 0;
+
+        try {
+            for (Event event : events) {
+                for (VenueSection section : venueSectionRepository.findByVenueId(event.getVenue().getId())) {
+                    warmSection(event.getId(), section);
+                    keys++;
+                }
+                for (TicketPrice ticketPrice : ticketPriceRepository.findByEventId(event.getId())) {
+                    warmPriceTier(ticketPrice);
+                    keys++;
+                }
+            }
+            log.info("Inventario Redis precargado: {} eventos en venta, {} claves", events.size(), keys);
+        } catch (DataAccessException e) {
+            markUnavailable(e);
+        }
+    }
+
+    @Override
+    @Transactional
+    public void reserveSeats(Long eventId, VenueSection section, int quantity) {
+        if (quantity <= 0) {
+            return;
+        }
+
+        String key = sectionKey(eventId, section.getId());
+        if (!useRedis()) {
+            staleKeys.add(key);
+            databaseInventory.reserveSeats(eventId, section, quantity);
+            return;
+        }
+
+        String pendingKey = pendingSectionKey(eventId, section.getId());
+        long result;
+        try {
+            result = reserve(key, pendingKey, quantity);
+            if (result == MISSING_KEY) {
+                warmSection(eventId, section);
+                result = reserve(key, pendingKey, quantity);
+            }
+        } catch (DataAccessException e) {
+            markUnavailable(e);
+            staleKeys.add(key);
+            databaseInventory.reserveSeats(eventId, section, quantity);
+            return;
+        }
+
+        if (result == INSUFFICIENT_STOCK || result == MISSING_KEY) {
+            throw new RecitappException("No hay entradas disponibles para la sección: " + section.getName());
+        }
+
+        Long sectionId = section.getId();
+        if (result == 0) {
+            soldOutRegistry.markSectionSoldOut(eventId, sectionId);
+        }
+        onCompletion(key, pendingKey, quantity,
+                () -> writeBehindWriter.recordSale(eventId, sectionId, quantity),
+                () -> soldOutRegistry.clearSection(eventId, sectionId));
+    }
+
+    @Override
+    @Transactional
+    public void reservePriceTier(Long eventId, Long ticketPriceId, int quantity) {
+        if (quantity <= 0) {
+            return;
+        }
+
+        String key = priceKey(eventId, ticketPriceId);
+        if (!useRedis()) {
+            staleKeys.add(key);
+            databaseInventory.reservePriceTier(eventId, ticketPriceId, quantity);
+            return;
+        }
+
+        String pendingKey = pendingPriceKey(ticketPriceId);
+        long result;
+        try {
+            result = reserve(key, pendingKey, quantity);
+            if (result == MISSING_KEY) {
+                Optional<TicketPrice> ticketPrice = ticketPriceRepository.findById(ticketPriceId)
+                        .filter(tp -> tp.getEvent().getId().equals(eventId));
+                if (ticketPrice.isPresent()) {
+                    warmPriceTier(ticketPrice.get());
+                    result = reserve(key, pendingKey, quantity);
+                }
+            }
+        } catch (DataAccessException e) {
+            markUnavailable(e);
+            staleKeys.add(key);
+            databaseInventory.reservePriceTier(eventId, ticketPriceId, quantity);
+            return;
+        }
+
+        if (result == INSUFFICIENT_STOCK || result == MISSING_KEY) {
+            throw new RecitappException("No hay más entradas disponibles de este tipo");
+        }
+
+        onCompletion(key, pendingKey, quantity,
+                () -> writeBehindWriter.recordPriceSale(ticketPriceId, quantity),
+                () -> { });
+    }
+
+    @Override
+    @Transactional
+    public void releasePriceTier(Long eventId, Long ticketPriceId, int quantity) {
+        if (quantity <= 0) {
+            return;
+        }
+
+        databaseInventory.releasePriceTier(eventId, ticketPriceId, quantity);
+
+        String key = priceKey(eventId, ticketPriceId);
+        if (!useRedis()) {
+            staleKeys.add(key);
+            return;
+        }
+
+        runAfterCommit(() -> increment(key, quantity));
+    }
+
+    @Override
+    @Transactional
+    public void releaseSeats(Long eventId, Long sectionId, int quantity) {
+        if (quantity <= 0) {
+            return;
+        }
+
+        databaseInventory.releaseSeats(eventId, sectionId, quantity);
+
+        String key = sectionKey(eventId, sectionId);
+        if (!useRedis()) {
+            staleKeys.add(key);
+            return;
+        }
+
+        runAfterCommit(() -> increment(key, quantity));
+    }
+
+    @Override
+    @Transactional
+    public void releaseTickets(Collection<Ticket> tickets) {
+        Map<List<Long>, Long> seatsByEventAndSection = tickets.stream()
+                .collect(Collectors.groupingBy(
+                        ticket -> List.of(ticket.getEvent().getId(), ticket.getSection().getId()),
+                        Collectors.counting()));
+
+        seatsByEventAndSection.forEach((key, count) ->
+                releaseSeats(key.get(0), key.get(1), count.intValue()));
+
+        SectionInventoryServiceImpl.countByEventAndPrice(tickets).forEach((key, count) ->
+                releasePriceTier(key.get(0), key.get(1), count.intValue()));
+
+        seatMapService.releaseSeats(tickets);
+    }
+
+    @Override
+    @Transactional
+    public long getAvailableQuantity(Long eventId, VenueSection section) {
+        if (!useRedis()) {
+            return databaseInventory.getAvailableQuantity(eventId, section);
+        }
+
+        String key = sectionKey(eventId, section.getId());
+        try {
+            String value = redisTemplate.opsForValue().get(key);
+            if (value == null) {
+                warmSection(eventId, section);
+                value = redisTemplate.opsForValue().get(key);
+            }
+            if (value != null) {
+                return Long.parseLong(value);
+            }
+        } catch (DataAccessException e) {
+            markUnavailable(e);
+        }
+        return databaseInventory.getAvailableQuantity(eventId, section);
+    }
+
+    @Override
+    @Transactional
+    public void invalidateEvent(Long eventId) {
+        databaseInventory.invalidateEvent(eventId);
+        runAfterCommit(() -> evictEvent(eventId));
+    }
+
+    @Override
+    public Map<String, Object> auditEvent(Long eventId) {
+        writeBehindWriter.flush();
+        return databaseInventory.auditEvent(eventId);
+    }
+
+    @Override
+    @Transactional
+    public Map<String, Object> reconcileEvent(Long eventId) {
+        writeBehindWriter.flush();
+        Map<String, Object> result = databaseInventory.reconcileEvent(eventId);
+        runAfterCommit(() -> evictEvent(eventId));
+        return result;
+    }
+
+    @Override
+    public Map<String, Object> reconcileAll() {
+        writeBehindWriter.flush();
+        Map<String, Object> result = databaseInventory.reconcileAll();
+        for (Long eventId : sectionInventoryRepository.findDistinctEventIds()) {
+            evictEvent(eventId);
+        }
+        return result;
+    }
+
+    /**
+     * Carga en Redis el stock de la sección desde el contador de la base de datos, descontando las
+     * ventas de todos los nodos que todavía no se escribieron. Las pendientes se leen antes que la base:
+     * si una escritura termina entre ambas lecturas el stock queda por debajo, nunca por encima.
+     */
+    private void warmSection(Long eventId, VenueSection section) {
+        long pending = pendingSales(pendingSectionKey(eventId, section.getId()));
+        Long stored = freshRead.execute(status -> databaseInventory.getAvailableQuantity(eventId, section));
+        long available = (stored != null ? stored : 0) - pending;
+        redisTemplate.opsForValue().setIfAbsent(sectionKey(eventId, section.getId()),
+                String.valueOf(Math.max(0, available)));
+    }
+
+    /**
+     * Carga en Redis el stock de un tipo de entrada desde su contador en la base de datos,
+     * descontando las ventas de todos los nodos que todavía no se escribieron
+     */
+    private void warmPriceTier(TicketPrice ticketPrice) {
+        long pending = pendingSales(pendingPriceKey(ticketPrice.getId()));
+        Integer stored = freshRead.execute(status ->
+                ticketPriceRepository.findRemainingQuantity(ticketPrice.getId()).orElse(0));
+        long available = (stored != null ? stored : 0) - pending;
+        redisTemplate.opsForValue().setIfAbsent(priceKey(ticketPrice.getEvent().getId(), ticketPrice.getId()),
+                String.valueOf(Math.max(0, available)));
+    }
+
+    private long pendingSales(String pendingKey) {
+        String value = redisTemplate.opsForValue().get(pendingKey);
+        return value != null ? Math.max(0, Long.parseLong(value)) : 0;
+    }
+
+    /**
+     * Elimina las claves del evento para que se vuelvan a cargar desde la base de datos
+     */
+    private void evictEvent(Long eventId) {
+        List<String> keys = new ArrayList<>();
+        for (SectionInventory inventory : sectionInventoryRepository.findByEventId(eventId)) {
+            keys.add(sectionKey(eventId, inventory.getSection().getId()));
+        }
+        for (TicketPrice ticketPrice : ticketPriceRepository.findByEventId(eventId)) {
+            keys.add(priceKey(eventId, ticketPrice.getId()));
+        }
+
+        try {
+            redisTemplate.delete(keys);
+        } catch (DataAccessException e) {
+            markUnavailable(e);
+            staleKeys.addAll(keys);
+        }
+    }
+
+    private long reserve(String key, String pendingKey, int quantity) {
+        Long result = redisTemplate.execute(RESERVE_SCRIPT, List.of(key, pendingKey), String.valueOf(quantity));
+        return result != null ? result : MISSING_KEY;
+    }
+
+    private void increment(String key, int quantity) {
+        try {
+            redisTemplate.execute(RELEASE_SCRIPT, List.of(key), String.valueOf(quantity));
+        } catch (DataAccessException e) {
+            markUnavailable(e);
+            staleKeys.add(key);
+        }
+    }
+
+    /**
+     * Si la transacción se confirma ejecuta la acción indicada; si se revierte devuelve el stock a Redis
+     * y descuenta la reserva de las ventas pendientes
+     */
+    private void onCompletion(String key, String pendingKey, int quantity, Runnable onCommit, Runnable onRollback) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            onCommit.run();
+            return;
+        }
+
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                if (status == STATUS_COMMITTED) {
+                    onCommit.run();
+                } else {
+                    increment(key, quantity);
+                    writeBehindWriter.settle(pendingKey, quantity);
+                    onRollback.run();
+                }
+            }
+        });
+    }
+
+    private void runAfterCommit(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
+
+    /**
+     * Indica si se debe usar Redis. Mientras está marcado como no disponible se reintenta
+     * cada {@code retryIntervalMs}; al recuperarse se invalidan las claves que quedaron desactualizadas.
+     */
+    private boolean useRedis() {
+        if (redisAvailable) {
+            return true;
+        }
+
+        long now = System.currentTimeMillis();
+        if (now < nextRetryAt) {
+            return false;
+        }
+        nextRetryAt = now + retryIntervalMs;
+
+        try {
+            redisTemplate.execute((RedisCallback<String>) RedisConnection::ping);
+            writeBehindWriter.flush();
+            Set<String> keys = new HashSet<>(staleKeys);
+            redisTemplate.delete(keys);
+            staleKeys.removeAll(keys);
+            redisAvailable = true;
+            log.info("Redis disponible nuevamente, {} claves de inventario invalidadas", keys.size());
+            return true;
+        } catch (DataAccessException e) {
+            log.debug("Redis sigue sin estar disponible: {}", e.getMessage());
+            return false;
+        }
+    }
+
+    private void markUnavailable(DataAccessException e) {
+        if (redisAvailable) {
+            log.error("Redis no disponible, se usa el inventario de base de datos: {}", e.getMessage());
+        }
+        redisAvailable = false;
+        nextRetryAt = System.currentTimeMillis() + retryIntervalMs;
+    }
+
+    private static String sectionKey(Long eventId, Long sectionId) {
+        return KEY_PREFIX + eventId + ":section:" + sectionId;
+    }
+
+    private static String priceKey(Long eventId, Long ticketPriceId) {
+        return KEY_PREFIX + eventId + ":price:" + ticketPriceId;
+    }
+
+    static String pendingSectionKey(Long eventId, Long sectionId) {
+        return KEY_PREFIX + "pending:" + eventId + ":section:" + sectionId;
+    }
+
+    static String pendingPriceKey(Long ticketPriceId) {
+        return KEY_PREFIX + "pending:price:" + ticketPriceId;
+    }
+}
@@ -0,0 +1,47 @@
+package com.recitapp.recitapp_api.modules.ticket.service.impl;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.redisson.api.RLock;
+import org.redisson.api.RedissonClient;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Service;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Bloqueos de sección compartidos entre nodos con Redisson.
+ * El watchdog de Redisson renueva el bloqueo mientras la compra sigue en curso.
+ */
+@Service
+@ConditionalOnProperty(name = "recitapp.inventory.lock.mode", havingValue = "redisson")
+public class RedissonSectionLockManager extends AbstractSectionLockManager<RLock> {
+
+    private static final String LOCK_PREFIX = "recitapp:lock:section:";
+
+    private final RedissonClient redissonClient;
+
+    public RedissonSectionLockManager(RedissonClient redissonClient,
+                                      MeterRegistry meterRegistry,
+                                      @Value("${recitapp.inventory.lock.wait-timeout-ms:5000}") long waitTimeoutMs) {
+        super(meterRegistry, "redisson", waitTimeoutMs);
+        this.redissonClient = redissonClient;
+    }
+
+    @Override
+    protected RLock getLock(Long eventId, Long sectionId) {
+        return redissonClient.getFairLock(LOCK_PREFIX + eventId + ":" + sectionId);
+    }
+
+    @Override
+    protected boolean tryLock(RLock lock, long timeoutMs) throws InterruptedException {
+        return lock.tryLock(timeoutMs, TimeUnit.MILLISECONDS);
+    }
+
+    @Override
+    protected void unlock(RLock lock) {
+        if (lock.isHeldByCurrentThread()) {
+            lock.unlock();
+        }
+    }
+}
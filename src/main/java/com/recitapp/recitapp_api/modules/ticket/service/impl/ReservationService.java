@@ -1,15 +1,20 @@
 package com.recitapp.recitapp_api.modules.ticket.service.impl;
 
 import com.recitapp.recitapp_api.modules.ticket.entity.Ticket;
-import com.recitapp.recitapp_api.modules.ticket.entity.TicketStatus;
 import com.recitapp.recitapp_api.modules.ticket.repository.TicketReservationRepository;
-import com.recitapp.recitapp_api.modules.ticket.repository.TicketStatusRepository;
+import com.recitapp.recitapp_api.modules.ticket.service.SectionInventoryService;
+import com.recitapp.recitapp_api.modules.ticket.service.TicketTransitionService;
+import jakarta.annotation.PostConstruct;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 
 /**
@@ -21,7 +26,19 @@ import java.util.List;
 public class ReservationService {
 
     private final TicketReservationRepository ticketReservationRepository;
-    private final TicketStatusRepository ticketStatusRepository;
+    private final TicketTransitionService ticketTransitionService;
+    private final SectionInventoryService sectionInventoryService;
+    private final PlatformTransactionManager transactionManager;
+
+    private static final int RELEASE_CHUNK_SIZE = 500;
+
+    private TransactionTemplate chunkTransaction;
+
+    @PostConstruct
+    public void init() {
+        chunkTransaction = new TransactionTemplate(transactionManager);
+        chunkTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    }
 
     /**
      * Finds all reserved tickets that have expired
@@ -40,22 +57,61 @@ public class ReservationService {
      * @param reservationExpiryMinutes The number of minutes after which a reservation expires
      * @return The number of reservations cleared
      */
-    @Transactional
     public int clearExpiredReservations(int reservationExpiryMinutes) {
         LocalDateTime expirationTime = LocalDateTime.now().minusMinutes(reservationExpiryMinutes);
+        List<Long> expiredIds = ticketReservationRepository.findExpiredReservationIds(expirationTime);
 
-        // Get the 'DISPONIBLE' status
-        TicketStatus availableStatus = ticketStatusRepository.findByName("DISPONIBLE")
-                .orElseThrow(() -> new RuntimeException("Status 'DISPONIBLE' not found"));
-
-        // Update all expired reservations
-        int updatedCount = ticketReservationRepository.updateExpiredReservationsStatus(
-                expirationTime, availableStatus.getId());
+        // Each chunk commits in its own transaction, so row locks are released chunk by chunk
+        // instead of being held until the whole backlog is cleared
+        int updatedCount = 0;
+        for (int from = 0; from < expiredIds.size(); from += RELEASE_CHUNK_SIZE) {
+            List<Long> chunk = expiredIds.subList(from, Math.min(from + RELEASE_CHUNK_SIZE, expiredIds.size()));
+            Integer released = chunkTransaction.execute(status -> releaseExpiredReservations(chunk, reservationExpiryMinutes));
+            updatedCount += released != null ? released : 0;
+        }
 
         log.info("Cleared {} expired ticket reservations", updatedCount);
         return updatedCount;
     }
 
+    /**
+     * Returns the given reservations to sale if they have expired: locks the tickets that are still
+     * reserved, moves them from 'RESERVADA' to 'DISPONIBLE' with a single conditional update and
+     * releases their seats
+     *
+     * @param ticketIds The IDs of the reserved tickets
+     * @param reservationExpiryMinutes The number of minutes after which a reservation expires
+     * @return The number of reservations released
+     */
+    @Transactional
+    public int releaseExpiredReservations(Collection<Long> ticketIds, int reservationExpiryMinutes) {
+        if (ticketIds.isEmpty()) {
+            return 0;
+        }
+
+        LocalDateTime expirationTime = LocalDateTime.now().minusMinutes(reservationExpiryMinutes);
+        List<Ticket> expiredTickets = ticketReservationRepository.findExpiredByIdsForUpdate(ticketIds, expirationTime);
+        if (expiredTickets.isEmpty()) {
+            return 0;
+        }
+
+        // Only tickets still in 'RESERVADA' change: a reservation confirmed meanwhile keeps its status
+        List<Long> expiredIds = expiredTickets.stream().map(Ticket::getId).toList();
+        int updatedCount = ticketTransitionService.transitionAll(expiredIds, List.of("RESERVADA"), "DISPONIBLE");
+
+        sectionInventoryService.releaseTickets(expiredTickets);
+        return updatedCount;
+    }
+
+    /**
+     * Returns the ID and last update time of every pending reservation
+     *
+     * @return Rows of {ticketId, updatedAt}
+     */
+    public List<Object[]> findPendingReservationTimes() {
+        return ticketReservationRepository.findPendingReservationTimes();
+    }
+
     /**
      * Counts the number of reserved tickets for a given event
      *
@@ -0,0 +1,175 @@
+package com.recitapp.recitapp_api.modules.ticket.service.impl;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Mapa de bits de los asientos ocupados de una sección: un bit por asiento, fila por fila.
+ * Los asientos se toman y liberan con compare-and-set sobre palabras de 64 bits, sin bloqueos.
+ * Filas y números de asiento comienzan en 1; los índices internos en 0.
+ */
+final class SeatBitmap {
+
+    private final int seatRows;
+    private final int seatsPerRow;
+    private final AtomicLongArray words;
+
+    /**
+     * Versión de la fila de section_seat_maps que refleja este mapa
+     */
+    private volatile long version;
+
+    SeatBitmap(int seatRows, int seatsPerRow, byte[] occupied, long version) {
+        this.seatRows = seatRows;
+        this.seatsPerRow = seatsPerRow;
+        this.words = new AtomicLongArray((seatRows * seatsPerRow + 63) / 64);
+        this.version = version;
+
+        if (occupied != null) {
+            ByteBuffer buffer = ByteBuffer.wrap(occupied).order(ByteOrder.LITTLE_ENDIAN);
+            for (int i = 0; i < words.length() && buffer.remaining() >= Long.BYTES; i++) {
+                words.set(i, buffer.getLong());
+            }
+        }
+    }
+
+    int getSeatRows() {
+        return seatRows;
+    }
+
+    int getSeatsPerRow() {
+        return seatsPerRow;
+    }
+
+    long getVersion() {
+        return version;
+    }
+
+    void setVersion(long version) {
+        this.version = version;
+    }
+
+    /**
+     * @return El índice del asiento, o -1 si no existe en la sección
+     */
+    int index(Integer row, Integer seat) {
+        if (row == null || seat == null || row < 1 || row > seatRows || seat < 1 || seat > seatsPerRow) {
+            return -1;
+        }
+        return (row - 1) * seatsPerRow + (seat - 1);
+    }
+
+    int row(int index) {
+        return index / seatsPerRow + 1;
+    }
+
+    int seat(int index) {
+        return index % seatsPerRow + 1;
+    }
+
+    boolean isOccupied(int index) {
+        return (words.get(index >>> 6) & (1L << (index & 63))) != 0;
+    }
+
+    /**
+     * Marca el asiento como ocupado solo si estaba libre
+     */
+    boolean claim(int index) {
+        int word = index >>> 6;
+        long mask = 1L << (index & 63);
+        while (true) {
+            long current = words.get(word);
+            if ((current & mask) != 0) {
+                return false;
+            }
+            if (words.compareAndSet(word, current, current | mask)) {
+                return true;
+            }
+        }
+    }
+
+    /**
+     * Toma todos los asientos o ninguno
+     */
+    boolean claimAll(int[] indexes) {
+        for (int i = 0; i < indexes.length; i++) {
+            if (!claim(indexes[i])) {
+                for (int j = 0; j < i; j++) {
+                    release(indexes[j]);
+                }
+                return false;
+            }
+        }
+        return true;
+    }
+
+    void release(int index) {
+        int word = index >>> 6;
+        long mask = 1L << (index & 63);
+        long current;
+        do {
+            current = words.get(word);
+        } while ((current & mask) != 0 && !words.compareAndSet(word, current, current & ~mask));
+    }
+
+    int countFree() {
+        int occupied = 0;
+        for (int i = 0; i < words.length(); i++) {
+            occupied += Long.bitCount(words.get(i));
+        }
+        return seatRows * seatsPerRow - occupied;
+    }
+
+    /**
+     * Busca {@code count} asientos libres contiguos en una misma fila, recorriendo las filas desde
+     * el frente y eligiendo dentro de la fila el bloque más cercano al centro
+     *
+     * @return Los índices del bloque, o null si ninguna fila tiene lugar
+     */
+    int[] findAdjacent(int count) {
+        if (count <= 0 || count > seatsPerRow) {
+            return null;
+        }
+
+        for (int row = 0; row < seatRows; row++) {
+            int base = row * seatsPerRow;
+            int bestStart = -1;
+            int bestDistance = Integer.MAX_VALUE;
+            int freeRun = 0;
+
+            for (int seat = 0; seat < seatsPerRow; seat++) {
+                if (isOccupied(base + seat)) {
+                    freeRun = 0;
+                    continue;
+                }
+                if (++freeRun >= count) {
+                    int start = seat - count + 1;
+                    // Distancia (duplicada) entre el centro del bloque y el centro de la fila
+                    int distance = Math.abs(2 * start + count - seatsPerRow);
+                    if (distance < bestDistance) {
+                        bestDistance = distance;
+                        bestStart = start;
+                    }
+                }
+            }
+
+            if (bestStart >= 0) {
+                int[] block = new int[count];
+                for (int i = 0; i < count; i++) {
+                    block[i] = base + bestStart + i;
+                }
+                return block;
+            }
+        }
+        return null;
+    }
+
+    byte[] toBytes() {
+        ByteBuffer buffer = ByteBuffer.allocate(words.length() * Long.BYTES).order(ByteOrder.LITTLE_ENDIAN);
+        for (int i = 0; i < words.length(); i++) {
+            buffer.putLong(words.get(i));
+        }
+        return buffer.array();
+    }
+}
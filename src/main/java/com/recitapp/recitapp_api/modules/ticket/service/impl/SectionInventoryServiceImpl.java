@@ -0,0 +1,296 @@
+package com.recitapp.recitapp_api.modules.ticket.service.impl;
+
+import com.recitapp.recitapp_api.common.exception.EntityNotFoundException;
+import com.recitapp.recitapp_api.common.exception.RecitappException;
+import com.recitapp.recitapp_api.modules.event.entity.Event;
+import com.recitapp.recitapp_api.modules.event.entity.TicketPrice;
+import com.recitapp.recitapp_api.modules.event.repository.EventRepository;
+import com.recitapp.recitapp_api.modules.event.repository.TicketPriceRepository;
+import com.recitapp.recitapp_api.modules.ticket.entity.SectionInventory;
+import com.recitapp.recitapp_api.modules.ticket.entity.Ticket;
+import com.recitapp.recitapp_api.modules.ticket.repository.SectionInventoryRepository;
+import com.recitapp.recitapp_api.modules.ticket.repository.TicketRepository;
+import com.recitapp.recitapp_api.modules.ticket.service.SeatMapService;
+import com.recitapp.recitapp_api.modules.ticket.service.SectionInventoryService;
+import com.recitapp.recitapp_api.modules.ticket.service.SoldOutRegistry;
+import com.recitapp.recitapp_api.modules.venue.entity.VenueSection;
+import com.recitapp.recitapp_api.modules.venue.repository.VenueSectionRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.*;
+import java.util.stream.Collectors;
+
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class SectionInventoryServiceImpl implements SectionInventoryService {
+
+    private final SectionInventoryRepository sectionInventoryRepository;
+    private final TicketRepository ticketRepository;
+    private final TicketPriceRepository ticketPriceRepository;
+    private final EventRepository eventRepository;
+    private final VenueSectionRepository venueSectionRepository;
+    private final SoldOutRegistry soldOutRegistry;
+    private final SeatMapService seatMapService;
+
+    @Override
+    @Transactional
+    public void reserveSeats(Long eventId, VenueSection section, int quantity) {
+        if (quantity <= 0) {
+            return;
+        }
+
+        int updated = sectionInventoryRepository.reserve(eventId, section.getId(), quantity);
+        if (updated == 0 && initializeIfAbsent(eventId, section)) {
+            updated = sectionInventoryRepository.reserve(eventId, section.getId(), quantity);
+        }
+
+        if (updated == 0) {
+            if (sectionInventoryRepository.findAvailableQuantity(eventId, section.getId()).orElse(0) == 0) {
+                soldOutRegistry.markSectionSoldOut(eventId, section.getId());
+            }
+            throw new RecitappException("No hay entradas disponibles para la sección: " + section.getName());
+        }
+    }
+
+    @Override
+    @Transactional
+    public void reservePriceTier(Long eventId, Long ticketPriceId, int quantity) {
+        if (quantity <= 0) {
+            return;
+        }
+
+        if (ticketPriceRepository.reserve(eventId, ticketPriceId, quantity) == 0) {
+            throw new RecitappException("No hay más entradas disponibles de este tipo");
+        }
+    }
+
+    @Override
+    @Transactional
+    public void releasePriceTier(Long eventId, Long ticketPriceId, int quantity) {
+        if (quantity <= 0) {
+            return;
+        }
+
+        ticketPriceRepository.release(ticketPriceId, quantity);
+    }
+
+    @Override
+    @Transactional
+    public void releaseSeats(Long eventId, Long sectionId, int quantity) {
+        if (quantity <= 0) {
+            return;
+        }
+
+        int updated = sectionInventoryRepository.release(eventId, sectionId, quantity);
+        soldOutRegistry.clearSection(eventId, sectionId);
+        if (updated == 0) {
+            // Sin contador todavía: se inicializará desde los tickets en la próxima reserva
+            log.debug("No inventory counter for event {} section {}, release of {} skipped",
+                    eventId, sectionId, quantity);
+        }
+    }
+
+    @Override
+    @Transactional
+    public void releaseTickets(Collection<Ticket> tickets) {
+        Map<List<Long>, Long> seatsByEventAndSection = tickets.stream()
+                .collect(Collectors.groupingBy(
+                        ticket -> List.of(ticket.getEvent().getId(), ticket.getSection().getId()),
+                        Collectors.counting()));
+
+        seatsByEventAndSection.forEach((key, count) ->
+                releaseSeats(key.get(0), key.get(1), count.intValue()));
+
+        countByEventAndPrice(tickets).forEach((key, count) ->
+                releasePriceTier(key.get(0), key.get(1), count.intValue()));
+
+        seatMapService.releaseSeats(tickets);
+    }
+
+    @Override
+    @Transactional
+    public long getAvailableQuantity(Long eventId, VenueSection section) {
+        Optional<Integer> available = sectionInventoryRepository.findAvailableQuantity(eventId, section.getId());
+        if (available.isPresent()) {
+            return available.get();
+        }
+
+        initializeIfAbsent(eventId, section);
+        return sectionInventoryRepository.findAvailableQuantity(eventId, section.getId()).orElse(0);
+    }
+
+    @Override
+    @Transactional
+    public Map<String, Object> reconcileEvent(Long eventId) {
+        Event event = eventRepository.findById(eventId)
+                .orElseThrow(() -> new EntityNotFoundException("Event not found with ID: " + eventId));
+
+        Map<Long, Long> heldBySection = countHeldSeatsBySection(eventId);
+        List<VenueSection> sections = venueSectionRepository.findByVenueId(event.getVenue().getId());
+
+        int corrected = 0;
+        List<String> drifts = new ArrayList<>();
+
+        for (VenueSection section : sections) {
+            int capacity = section.getCapacity();
+            int expected = Math.max(0, capacity - heldBySection.getOrDefault(section.getId(), 0L).intValue());
+
+            Optional<SectionInventory> current =
+                    sectionInventoryRepository.findByEventIdAndSectionId(eventId, section.getId());
+
+            if (current.isEmpty()) {
+                sectionInventoryRepository.insertIfAbsent(eventId, section.getId(), capacity, expected);
+                continue;
+            }
+
+            SectionInventory inventory = current.get();
+            if (inventory.getAvailableQuantity() != expected || inventory.getCapacity() != capacity) {
+                drifts.add(String.format("Sección %d: disponible %d -> %d",
+                        section.getId(), inventory.getAvailableQuantity(), expected));
+                sectionInventoryRepository.overwrite(eventId, section.getId(), capacity, expected);
+                corrected++;
+            }
+        }
+
+        // Los mapas de asientos se rehacen siempre: comparar bit a bit cuesta lo mismo que reconstruirlos
+        for (VenueSection section : sections) {
+            if (section.hasNumberedSeats()) {
+                seatMapService.rebuild(eventId, section);
+            }
+        }
+
+        Map<Long, Long> heldByPrice = countHeldTicketsByPrice(eventId);
+        for (TicketPrice ticketPrice : ticketPriceRepository.findByEventId(eventId)) {
+            int expected = heldByPrice.getOrDefault(ticketPrice.getId(), 0L).intValue();
+            if (ticketPrice.getSoldQuantity() != expected) {
+                drifts.add(String.format("Precio %d: vendidas %d -> %d",
+                        ticketPrice.getId(), ticketPrice.getSoldQuantity(), expected));
+                ticketPriceRepository.overwriteSoldQuantity(ticketPrice.getId(), expected);
+                corrected++;
+            }
+        }
+
+        soldOutRegistry.clearEvent(eventId);
+
+        if (corrected > 0) {
+            log.warn("Inventario del evento {} reconciliado: {} contadores corregidos {}", eventId, corrected, drifts);
+        }
+
+        Map<String, Object> result = new HashMap<>();
+        result.put("eventId", eventId);
+        result.put("sections", sections.size());
+        result.put("corrected", corrected);
+        result.put("details", drifts);
+        return result;
+    }
+
+    @Override
+    public void invalidateEvent(Long eventId) {
+        soldOutRegistry.clearEvent(eventId);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public Map<String, Object> auditEvent(Long eventId) {
+        List<String> drifts = new ArrayList<>();
+
+        Map<Long, Long> heldBySection = countHeldSeatsBySection(eventId);
+        for (SectionInventory inventory : sectionInventoryRepository.findByEventId(eventId)) {
+            long held = heldBySection.getOrDefault(inventory.getSection().getId(), 0L);
+            long expected = Math.max(0, inventory.getCapacity() - held);
+            if (inventory.getAvailableQuantity() != expected) {
+                drifts.add(String.format("Sección %d: disponible %d, según tickets %d",
+                        inventory.getSection().getId(), inventory.getAvailableQuantity(), expected));
+            }
+        }
+
+        Map<Long, Long> heldByPrice = countHeldTicketsByPrice(eventId);
+        for (TicketPrice ticketPrice : ticketPriceRepository.findByEventId(eventId)) {
+            long expected = heldByPrice.getOrDefault(ticketPrice.getId(), 0L);
+            if (ticketPrice.getSoldQuantity() != expected) {
+                drifts.add(String.format("Precio %d: vendidas %d, según tickets %d",
+                        ticketPrice.getId(), ticketPrice.getSoldQuantity(), expected));
+            }
+        }
+
+        Map<String, Object> result = new HashMap<>();
+        result.put("eventId", eventId);
+        result.put("consistent", drifts.isEmpty());
+        result.put("drifts", drifts.size());
+        result.put("details", drifts);
+        return result;
+    }
+
+    @Override
+    public Map<String, Object> reconcileAll() {
+        List<Long> eventIds = sectionInventoryRepository.findDistinctEventIds();
+        List<Map<String, Object>> results = new ArrayList<>();
+        List<String> errors = new ArrayList<>();
+
+        for (Long eventId : eventIds) {
+            try {
+                results.add(reconcileEvent(eventId));
+            } catch (Exception e) {
+                String errorMsg = String.format("Error reconciliando inventario del evento %d: %s", eventId, e.getMessage());
+                errors.add(errorMsg);
+                log.error(errorMsg, e);
+            }
+        }
+
+        Map<String, Object> result = new HashMap<>();
+        result.put("success", errors.isEmpty());
+        result.put("events", results);
+        result.put("errorDetails", errors);
+        return result;
+    }
+
+    /**
+     * Crea el contador de la sección a partir de los tickets existentes si todavía no existe
+     *
+     * @return true si se intentó inicializar (no existía el contador)
+     */
+    private boolean initializeIfAbsent(Long eventId, VenueSection section) {
+        if (sectionInventoryRepository.findAvailableQuantity(eventId, section.getId()).isPresent()) {
+            return false;
+        }
+
+        long held = ticketRepository.countByEventIdAndSectionIdAndStatusNames(
+                eventId, section.getId(), SEAT_HOLDING_STATUSES);
+        int available = (int) Math.max(0, section.getCapacity() - held);
+
+        sectionInventoryRepository.insertIfAbsent(eventId, section.getId(), section.getCapacity(), available);
+        log.info("Inventario inicializado para evento {} sección {}: {} disponibles", eventId, section.getId(), available);
+        return true;
+    }
+
+    /**
+     * Agrupa los tickets con tipo de entrada por [eventId, ticketPriceId]
+     */
+    static Map<List<Long>, Long> countByEventAndPrice(Collection<Ticket> tickets) {
+        return tickets.stream()
+                .filter(ticket -> ticket.getTicketPrice() != null)
+                .collect(Collectors.groupingBy(
+                        ticket -> List.of(ticket.getEvent().getId(), ticket.getTicketPrice().getId()),
+                        Collectors.counting()));
+    }
+
+    private Map<Long, Long> countHeldTicketsByPrice(Long eventId) {
+        Map<Long, Long> result = new HashMap<>();
+        for (Object[] row : ticketRepository.countByEventIdAndStatusNamesGroupByTicketPrice(eventId, SEAT_HOLDING_STATUSES)) {
+            result.put((Long) row[0], (Long) row[1]);
+        }
+        return result;
+    }
+
+    private Map<Long, Long> countHeldSeatsBySection(Long eventId) {
+        Map<Long, Long> result = new HashMap<>();
+        for (Object[] row : ticketRepository.countByEventIdAndStatusNamesGroupBySection(eventId, SEAT_HOLDING_STATUSES)) {
+            result.put((Long) row[0], (Long) row[1]);
+        }
+        return result;
+    }
+}
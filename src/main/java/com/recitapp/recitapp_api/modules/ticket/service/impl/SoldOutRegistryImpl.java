@@ -0,0 +1,151 @@
+package com.recitapp.recitapp_api.modules.ticket.service.impl;
+
+import com.recitapp.recitapp_api.common.exception.RecitappException;
+import com.recitapp.recitapp_api.modules.ticket.service.SoldOutRegistry;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.stereotype.Component;
+
+import java.util.Collection;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Registro en memoria de eventos y secciones agotados.
+ * Permite rechazar compras sin abrir una transacción ni consultar la base de datos.
+ * Cada marca vence a los {@code ttl-seconds} para que una invalidación perdida no bloquee ventas;
+ * con {@code cluster-sync} los cambios se propagan a los demás nodos por Redis pub/sub.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class SoldOutRegistryImpl implements SoldOutRegistry {
+
+    private static final String SOLD_OUT = "SOLD_OUT";
+    private static final String AVAILABLE = "AVAILABLE";
+    private static final String ALL_SECTIONS = "*";
+
+    private final ObjectProvider<StringRedisTemplate> redisTemplateProvider;
+
+    @Value("${recitapp.inventory.sold-out.ttl-seconds:30}")
+    private long ttlSeconds;
+
+    @Value("${recitapp.inventory.sold-out.cluster-sync:false}")
+    private boolean clusterSync;
+
+    /**
+     * Clave "eventId:sectionId" (o "eventId:*" para el evento completo) -> vencimiento en ms
+     */
+    private final Map<String, Long> soldOut = new ConcurrentHashMap<>();
+
+    @Override
+    public boolean isEventSoldOut(Long eventId) {
+        return isMarked(key(eventId, ALL_SECTIONS));
+    }
+
+    @Override
+    public boolean isSectionSoldOut(Long eventId, Long sectionId) {
+        return isEventSoldOut(eventId) || isMarked(key(eventId, String.valueOf(sectionId)));
+    }
+
+    @Override
+    public void assertPurchasable(Long eventId, Collection<Long> sectionIds) {
+        if (eventId == null) {
+            return;
+        }
+        if (isEventSoldOut(eventId)) {
+            throw new RecitappException("Las entradas para este evento están agotadas");
+        }
+        for (Long sectionId : sectionIds) {
+            if (sectionId != null && isSectionSoldOut(eventId, sectionId)) {
+                throw new RecitappException("No hay entradas disponibles para la sección seleccionada");
+            }
+        }
+    }
+
+    @Override
+    public void markEventSoldOut(Long eventId) {
+        apply(SOLD_OUT, eventId, ALL_SECTIONS, true);
+    }
+
+    @Override
+    public void markSectionSoldOut(Long eventId, Long sectionId) {
+        apply(SOLD_OUT, eventId, String.valueOf(sectionId), true);
+    }
+
+    @Override
+    public void clearSection(Long eventId, Long sectionId) {
+        apply(AVAILABLE, eventId, String.valueOf(sectionId), true);
+    }
+
+    @Override
+    public void clearEvent(Long eventId) {
+        apply(AVAILABLE, eventId, ALL_SECTIONS, true);
+    }
+
+    @Override
+    public void applyRemote(String message) {
+        String[] parts = message.split("\\|");
+        if (parts.length != 3) {
+            log.warn("Mensaje de agotados inválido: {}", message);
+            return;
+        }
+        apply(parts[0], Long.valueOf(parts[1]), parts[2], false);
+    }
+
+    private void apply(String action, Long eventId, String section, boolean broadcast) {
+        boolean changed;
+        if (SOLD_OUT.equals(action)) {
+            changed = soldOut.put(key(eventId, section), System.currentTimeMillis() + ttlSeconds * 1000) == null;
+        } else if (ALL_SECTIONS.equals(section)) {
+            String prefix = eventId + ":";
+            changed = soldOut.keySet().removeIf(key -> key.startsWith(prefix));
+        } else {
+            // Si se libera un lugar en una sección el evento deja de estar agotado
+            boolean sectionCleared = soldOut.remove(key(eventId, section)) != null;
+            boolean eventCleared = soldOut.remove(key(eventId, ALL_SECTIONS)) != null;
+            changed = sectionCleared || eventCleared;
+        }
+
+        if (changed && broadcast) {
+            publish(action + "|" + eventId + "|" + section);
+        }
+    }
+
+    private boolean isMarked(String key) {
+        Long expiresAt = soldOut.get(key);
+        if (expiresAt == null) {
+            return false;
+        }
+        if (expiresAt < System.currentTimeMillis()) {
+            soldOut.remove(key, expiresAt);
+            return false;
+        }
+        return true;
+    }
+
+    private void publish(String message) {
+        if (!clusterSync) {
+            return;
+        }
+
+        StringRedisTemplate redisTemplate = redisTemplateProvider.getIfAvailable();
+        if (redisTemplate == null) {
+            return;
+        }
+
+        try {
+            redisTemplate.convertAndSend(CHANNEL, message);
+        } catch (Exception e) {
+            // Los otros nodos corrigen su estado al vencer el TTL
+            log.warn("No se pudo propagar el cambio de agotados '{}': {}", message, e.getMessage());
+        }
+    }
+
+    private static String key(Long eventId, String section) {
+        return eventId + ":" + section;
+    }
+}
@@ -1,5 +1,6 @@
 package com.recitapp.recitapp_api.modules.ticket.service.impl;
 
+import com.recitapp.recitapp_api.common.lookup.LookupRegistry;
 import com.recitapp.recitapp_api.modules.ticket.dto.TicketDTO;
 import com.recitapp.recitapp_api.modules.ticket.entity.Ticket;
 import com.recitapp.recitapp_api.modules.ticket.entity.TicketStatus;
@@ -7,14 +8,17 @@ import com.recitapp.recitapp_api.modules.ticket.repository.TicketRepository;
 import com.recitapp.recitapp_api.modules.ticket.repository.TicketStatusRepository;
 import com.recitapp.recitapp_api.modules.ticket.service.TicketAdminService;
 import com.recitapp.recitapp_api.modules.ticket.service.TicketService;
+import com.recitapp.recitapp_api.modules.ticket.service.TicketTransitionService;
 import com.recitapp.recitapp_api.common.exception.EntityNotFoundException;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
 import java.util.*;
+import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.stream.Collectors;
 
 @Service
@@ -25,69 +29,113 @@ public class TicketAdminServiceImpl implements TicketAdminService {
     private final TicketRepository ticketRepository;
     private final TicketStatusRepository ticketStatusRepository;
     private final TicketService ticketService;
+    private final LookupRegistry lookupRegistry;
+    private final TicketTransitionService ticketTransitionService;
+
+    @Value("${recitapp.tickets.expiry.batch-size:1000}")
+    private int expiryBatchSize;
+
+    private final AtomicBoolean expiryRunning = new AtomicBoolean();
+    private volatile ExpiryProgress expiryProgress;
 
     @Override
-    @Transactional
     public Map<String, Object> markExpiredTickets() {
-        log.info("Iniciando proceso de marcado de tickets vencidos");
-        
         Map<String, Object> result = new HashMap<>();
+        if (!expiryRunning.compareAndSet(false, true)) {
+            result.put("success", false);
+            result.put("message", "Ya hay un proceso de vencimiento de tickets en curso");
+            result.put("progress", getExpiryProgress());
+            return result;
+        }
+
+        log.info("Iniciando proceso de marcado de tickets vencidos");
+        long startedAt = System.currentTimeMillis();
         List<String> errors = new ArrayList<>();
         int processedCount = 0;
-        int errorCount = 0;
+        int batches = 0;
+        long totalFound = 0;
 
         try {
+            TicketStatus soldStatus = lookupRegistry.findTicketStatus("VENDIDA")
+                    .orElseThrow(() -> new EntityNotFoundException("Ticket status 'VENDIDA' not found"));
             // Obtener estado VENCIDA, crearlo si no existe
-            TicketStatus expiredStatus = getOrCreateExpiredStatus();
-            
-            // Obtener tickets de eventos pasados que están en estado VENDIDA
+            getOrCreateExpiredStatus();
+
+            // Tickets de eventos pasados que están en estado VENDIDA, al momento de iniciar el proceso
             LocalDateTime now = LocalDateTime.now();
-            List<Ticket> ticketsToExpire = ticketRepository.findExpiredSoldTickets(now);
-            
-            log.info("Encontrados {} tickets para marcar como vencidos", ticketsToExpire.size());
-            
-            for (Ticket ticket : ticketsToExpire) {
+            totalFound = ticketRepository.countExpiredSoldTickets(soldStatus.getId(), now);
+            expiryProgress = new ExpiryProgress(true, totalFound, 0, 0, startedAt, null);
+            log.info("Encontrados {} tickets para marcar como vencidos (bloques de {})", totalFound, expiryBatchSize);
+
+            // Cada bloque es un UPDATE condicional en su propia transacción; los bloques ya aplicados quedan confirmados
+            long afterId = 0L;
+            while (true) {
+                List<Long> ticketIds = ticketRepository.findExpiredSoldTicketIds(
+                        soldStatus.getId(), now, afterId, PageRequest.of(0, expiryBatchSize));
+                if (ticketIds.isEmpty()) {
+                    break;
+                }
+                afterId = ticketIds.get(ticketIds.size() - 1);
+
                 try {
-                    ticket.setStatus(expiredStatus);
-                    ticket.setUpdatedAt(LocalDateTime.now());
-                    ticketRepository.save(ticket);
-                    processedCount++;
-                    
-                    log.debug("Ticket {} marcado como vencido para evento {}", 
-                            ticket.getId(), ticket.getEvent().getId());
-                    
+                    processedCount += ticketTransitionService.transitionAll(ticketIds, List.of("VENDIDA"), "VENCIDA");
                 } catch (Exception e) {
-                    errorCount++;
-                    String errorMsg = String.format("Error marcando ticket %d como vencido: %s", 
-                            ticket.getId(), e.getMessage());
+                    String errorMsg = String.format("Error marcando como vencidos los tickets %d a %d: %s",
+                            ticketIds.get(0), afterId, e.getMessage());
                     errors.add(errorMsg);
                     log.error(errorMsg, e);
                 }
+                batches++;
+
+                expiryProgress = new ExpiryProgress(true, totalFound, processedCount, batches, startedAt, null);
+                log.info("Vencimiento de tickets: {} de {} procesados ({} bloques)", processedCount, totalFound, batches);
             }
 
-            result.put("success", true);
-            result.put("totalFound", ticketsToExpire.size());
+            result.put("success", errors.isEmpty());
+            result.put("totalFound", totalFound);
             result.put("processed", processedCount);
-            result.put("errors", errorCount);
+            result.put("batches", batches);
+            result.put("errors", errors.size());
             result.put("errorDetails", errors);
-            result.put("message", String.format("Proceso completado. %d tickets marcados como vencidos, %d errores", 
-                    processedCount, errorCount));
+            result.put("durationMs", System.currentTimeMillis() - startedAt);
+            result.put("message", String.format("Proceso completado. %d tickets marcados como vencidos, %d errores",
+                    processedCount, errors.size()));
 
-            log.info("Proceso completado: {} tickets procesados, {} errores", processedCount, errorCount);
+            log.info("Proceso completado: {} tickets procesados en {} bloques, {} errores",
+                    processedCount, batches, errors.size());
 
         } catch (Exception e) {
             log.error("Error durante el proceso de marcado de tickets vencidos: {}", e.getMessage(), e);
             result.put("success", false);
             result.put("processed", processedCount);
-            result.put("errors", errorCount + 1);
+            result.put("errors", errors.size() + 1);
             result.put("message", "Error durante el proceso: " + e.getMessage());
             errors.add("Error general: " + e.getMessage());
             result.put("errorDetails", errors);
+        } finally {
+            expiryProgress = new ExpiryProgress(false, totalFound, processedCount, batches, startedAt,
+                    System.currentTimeMillis());
+            expiryRunning.set(false);
         }
 
         return result;
     }
 
+    @Override
+    public Map<String, Object> getExpiryProgress() {
+        ExpiryProgress progress = expiryProgress;
+        Map<String, Object> result = new HashMap<>();
+        result.put("running", progress != null && progress.running());
+        if (progress != null) {
+            result.put("totalFound", progress.totalFound());
+            result.put("processed", progress.processed());
+            result.put("batches", progress.batches());
+            result.put("startedAt", progress.startedAt());
+            result.put("finishedAt", progress.finishedAt());
+        }
+        return result;
+    }
+
     @Override
     public List<TicketDTO> getTicketsToExpire() {
         try {
@@ -127,7 +175,6 @@ public class TicketAdminServiceImpl implements TicketAdminService {
     }
 
     @Override
-    @Transactional
     public Map<String, Object> markSpecificTicketsExpired(List<Long> ticketIds) {
         log.info("Marcando {} tickets específicos como vencidos", ticketIds.size());
         
@@ -137,32 +184,27 @@ public class TicketAdminServiceImpl implements TicketAdminService {
         int errorCount = 0;
 
         try {
-            TicketStatus expiredStatus = getOrCreateExpiredStatus();
-            
-            for (Long ticketId : ticketIds) {
-                try {
-                    Ticket ticket = ticketRepository.findById(ticketId)
-                            .orElseThrow(() -> new EntityNotFoundException("Ticket not found with ID: " + ticketId));
-                    
-                    // Verificar que el ticket esté en estado VENDIDA
-                    if (!"VENDIDA".equals(ticket.getStatus().getName())) {
-                        errors.add(String.format("Ticket %d no está en estado VENDIDA (estado actual: %s)", 
-                                ticketId, ticket.getStatus().getName()));
+            getOrCreateExpiredStatus();
+
+            // Un único UPDATE condicional: solo pasan a VENCIDA los tickets que siguen en VENDIDA
+            processedCount = ticketTransitionService.transitionAll(ticketIds, List.of("VENDIDA"), "VENCIDA");
+
+            if (processedCount < ticketIds.size()) {
+                Map<Long, String> statuses = new HashMap<>();
+                for (Object[] row : ticketRepository.findStatusNamesByIds(ticketIds)) {
+                    statuses.put((Long) row[0], (String) row[1]);
+                }
+                for (Long ticketId : new LinkedHashSet<>(ticketIds)) {
+                    String status = statuses.get(ticketId);
+                    if (status == null) {
+                        errors.add(String.format("Error marcando ticket %d como vencido: Ticket not found with ID: %d",
+                                ticketId, ticketId));
+                        errorCount++;
+                    } else if (!"VENCIDA".equals(status)) {
+                        errors.add(String.format("Ticket %d no está en estado VENDIDA (estado actual: %s)",
+                                ticketId, status));
                         errorCount++;
-                        continue;
                     }
-                    
-                    ticket.setStatus(expiredStatus);
-                    ticket.setUpdatedAt(LocalDateTime.now());
-                    ticketRepository.save(ticket);
-                    processedCount++;
-                    
-                } catch (Exception e) {
-                    errorCount++;
-                    String errorMsg = String.format("Error marcando ticket %d como vencido: %s", 
-                            ticketId, e.getMessage());
-                    errors.add(errorMsg);
-                    log.error(errorMsg, e);
                 }
             }
 
@@ -191,7 +233,7 @@ public class TicketAdminServiceImpl implements TicketAdminService {
      * Obtiene o crea el estado VENCIDA
      */
     private TicketStatus getOrCreateExpiredStatus() {
-        Optional<TicketStatus> expiredStatus = ticketStatusRepository.findByName("VENCIDA");
+        Optional<TicketStatus> expiredStatus = lookupRegistry.findTicketStatus("VENCIDA");
         
         if (expiredStatus.isPresent()) {
             return expiredStatus.get();
@@ -203,7 +245,9 @@ public class TicketAdminServiceImpl implements TicketAdminService {
         newExpiredStatus.setDescription("Ticket vencido - evento ya pasó");
         
         log.info("Creando nuevo estado de ticket: VENCIDA");
-        return ticketStatusRepository.save(newExpiredStatus);
+        TicketStatus saved = ticketStatusRepository.save(newExpiredStatus);
+        lookupRegistry.reloadAfterCommit();
+        return saved;
     }
 
     /**
@@ -297,4 +341,11 @@ public class TicketAdminServiceImpl implements TicketAdminService {
         
         return "GENERAL";
     }
-} 
\ No newline at end of file
+
+    /**
+     * Avance de la última ejecución del vencimiento de tickets (fechas en ms)
+     */
+    private record ExpiryProgress(boolean running, long totalFound, int processed, int batches,
+                                  long startedAt, Long finishedAt) {
+    }
+}
@@ -0,0 +1,127 @@
+package com.recitapp.recitapp_api.modules.ticket.service.impl;
+
+import com.recitapp.recitapp_api.common.util.CrockfordBase32;
+import com.recitapp.recitapp_api.modules.ticket.service.TicketCodeService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.regex.Pattern;
+
+/**
+ * Cada nodo reserva bloques de IDs en la tabla id_generators y los entrega desde memoria.
+ * El ID se permuta de forma biyectiva en 35 bits (32^7) para que los códigos no sean
+ * consecutivos, y se codifica en base32 con dígito verificador. Dos IDs distintos nunca
+ * producen el mismo código, así que no hace falta verificar unicidad.
+ */
+@Service
+@Slf4j
+public class TicketCodeServiceImpl implements TicketCodeService {
+
+    private static final String SEQUENCE_NAME = "ticket_codes";
+    private static final int PAYLOAD_LENGTH = 7;
+    private static final long PAYLOAD_MASK = (1L << 35) - 1;
+
+    // Multiplicador impar (invertible módulo 2^35) y máscara XOR de la permutación
+    private static final long PERMUTATION_MULTIPLIER = 0x5DEECE66DL | 1L;
+    private static final long PERMUTATION_XOR = 0x2F3A5C7B1L & PAYLOAD_MASK;
+
+    private static final Pattern CHECKED_CODE = Pattern.compile("^[A-Z]+-[0-9A-Z]{" + PAYLOAD_LENGTH + "}-[0-9A-Z]$");
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final int blockSize;
+
+    private long nextId;
+    private long blockEnd;
+
+    public TicketCodeServiceImpl(JdbcTemplate jdbcTemplate,
+                                 PlatformTransactionManager transactionManager,
+                                 @Value("${recitapp.tickets.code.block-size:1000}") int blockSize) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.blockSize = blockSize;
+    }
+
+    @Override
+    public String generateCode(String prefix) {
+        long permuted = ((nextId() * PERMUTATION_MULTIPLIER) & PAYLOAD_MASK) ^ PERMUTATION_XOR;
+        String payload = CrockfordBase32.encode(permuted, PAYLOAD_LENGTH);
+        return prefix + "-" + payload + "-" + CrockfordBase32.checkCharacter(payload);
+    }
+
+    @Override
+    public String normalize(String code) {
+        if (code == null) {
+            return null;
+        }
+
+        String upper = code.trim().toUpperCase();
+        if (!hasCheckedFormat(upper)) {
+            // Formato anterior (hexadecimal): no se aplican las equivalencias de Crockford
+            return upper;
+        }
+
+        int prefixEnd = upper.indexOf('-');
+        return upper.substring(0, prefixEnd) + CrockfordBase32.normalize(upper.substring(prefixEnd));
+    }
+
+    @Override
+    public boolean hasValidCheckDigit(String code) {
+        if (code == null) {
+            return false;
+        }
+        if (!hasCheckedFormat(code)) {
+            return true;
+        }
+        if (!CHECKED_CODE.matcher(code).matches()) {
+            return false;
+        }
+
+        int payloadStart = code.indexOf('-') + 1;
+        String payload = code.substring(payloadStart, payloadStart + PAYLOAD_LENGTH);
+        char check = code.charAt(code.length() - 1);
+        return CrockfordBase32.isValid(payload) && CrockfordBase32.checkCharacter(payload) == check;
+    }
+
+    /**
+     * Los códigos nuevos tienen dos guiones (PREFIJO-PAYLOAD-C); los anteriores, uno solo
+     */
+    private static boolean hasCheckedFormat(String code) {
+        return code.chars().filter(c -> c == '-').count() == 2;
+    }
+
+    private synchronized long nextId() {
+        if (nextId >= blockEnd) {
+            allocateBlock();
+        }
+        return nextId++;
+    }
+
+    /**
+     * Reserva el siguiente bloque de IDs en su propia transacción (bloqueo de fila en id_generators)
+     */
+    private void allocateBlock() {
+        Long start = transactionTemplate.execute(status -> {
+            jdbcTemplate.update("INSERT IGNORE INTO id_generators (sequence_name, next_val) VALUES (?, 1)", SEQUENCE_NAME);
+            Long current = jdbcTemplate.queryForObject(
+                    "SELECT next_val FROM id_generators WHERE sequence_name = ? FOR UPDATE", Long.class, SEQUENCE_NAME);
+            jdbcTemplate.update("UPDATE id_generators SET next_val = ? WHERE sequence_name = ?",
+                    current + blockSize, SEQUENCE_NAME);
+            return current;
+        });
+
+        if (start == null || start + blockSize > PAYLOAD_MASK) {
+            throw new IllegalStateException("Ticket code space exhausted");
+        }
+
+        nextId = start;
+        blockEnd = start + blockSize;
+        log.debug("Reserved ticket code block [{}, {})", nextId, blockEnd);
+    }
+}
@@ -0,0 +1,260 @@
+package com.recitapp.recitapp_api.modules.ticket.service.impl;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.recitapp.recitapp_api.common.exception.EntityNotFoundException;
+import com.recitapp.recitapp_api.modules.event.repository.EventRepository;
+import com.recitapp.recitapp_api.modules.ticket.service.TicketExportService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+
+import java.io.*;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Exporta las entradas de un evento con un ResultSet de solo avance y fetch size fijo, escribiendo
+ * cada fila directamente en la respuesta. La memoria usada no depende de la cantidad de entradas.
+ * Con MySQL el fetch size solo se respeta si la URL de conexión incluye useCursorFetch=true.
+ */
+@Service
+@Slf4j
+public class TicketExportServiceImpl implements TicketExportService {
+
+    private static final String[] COLUMNS = {
+            "ticket_id", "identification_code", "status", "section", "seat_row", "seat_number",
+            "attendee_first_name", "attendee_last_name", "attendee_dni", "buyer_email",
+            "purchase_date", "use_date", "sale_price", "ticket_type", "is_gift", "promotion"
+    };
+
+    private static final String BASE_QUERY =
+            "SELECT t.id, t.identification_code, ts.name, vs.name, t.seat_row, t.seat_number, " +
+            "t.assigned_user_first_name, t.assigned_user_last_name, t.assigned_user_dni, u.email, " +
+            "t.purchase_date, t.use_date, t.sale_price, t.ticket_type, t.is_gift, p.name " +
+            "FROM tickets t " +
+            "JOIN ticket_statuses ts ON ts.id = t.status_id " +
+            "JOIN venue_sections vs ON vs.id = t.section_id " +
+            "JOIN users u ON u.id = t.user_id " +
+            "LEFT JOIN promotions p ON p.id = t.promotion_id " +
+            "WHERE t.event_id = ?";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final EventRepository eventRepository;
+    private final ObjectMapper objectMapper;
+    private final int fetchSize;
+
+    public TicketExportServiceImpl(JdbcTemplate jdbcTemplate,
+                                   EventRepository eventRepository,
+                                   ObjectMapper objectMapper,
+                                   @Value("${recitapp.tickets.export.fetch-size:500}") int fetchSize) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.eventRepository = eventRepository;
+        this.objectMapper = objectMapper;
+        this.fetchSize = fetchSize;
+    }
+
+    @Override
+    public String getExportFileName(Long eventId, Format format) {
+        if (!eventRepository.existsById(eventId)) {
+            throw new EntityNotFoundException("Event not found with ID: " + eventId);
+        }
+        return "entradas_evento_" + eventId + "." + format.getExtension();
+    }
+
+    @Override
+    public long writeEventTickets(Long eventId, Format format, List<String> statusNames, OutputStream out)
+            throws IOException {
+        List<String> statuses = statusNames != null ? statusNames : Collections.emptyList();
+        String sql = BASE_QUERY
+                + (statuses.isEmpty() ? "" : " AND ts.name IN (" + String.join(",", Collections.nCopies(statuses.size(), "?")) + ")")
+                + " ORDER BY t.id";
+
+        List<Object> parameters = new ArrayList<>();
+        parameters.add(eventId);
+        parameters.addAll(statuses);
+
+        Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8), 16 * 1024);
+        RowWriter rowWriter = format == Format.CSV ? new CsvRowWriter(writer) : new NdjsonRowWriter(writer);
+        rowWriter.start();
+
+        long[] rows = {0};
+        try {
+            jdbcTemplate.query(connection -> {
+                PreparedStatement statement = connection.prepareStatement(sql,
+                        ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+                statement.setFetchSize(fetchSize);
+                for (int i = 0; i < parameters.size(); i++) {
+                    statement.setObject(i + 1, parameters.get(i));
+                }
+                return statement;
+            }, resultSet -> {
+                try {
+                    rowWriter.write(resultSet);
+                    rows[0]++;
+                } catch (IOException e) {
+                    // El cliente cortó la descarga: se corta la lectura del ResultSet
+                    throw new UncheckedIOException(e);
+                }
+            });
+        } catch (UncheckedIOException e) {
+            log.info("Exportación del evento {} interrumpida tras {} entradas: {}", eventId, rows[0], e.getMessage());
+            throw e.getCause();
+        }
+
+        rowWriter.finish();
+        writer.flush();
+        log.info("Exportadas {} entradas del evento {} en formato {}", rows[0], eventId, format);
+        return rows[0];
+    }
+
+    private interface RowWriter {
+        void start() throws IOException;
+
+        void write(ResultSet resultSet) throws SQLException, IOException;
+
+        void finish() throws IOException;
+    }
+
+    private static final class CsvRowWriter implements RowWriter {
+
+        private final Writer writer;
+
+        private CsvRowWriter(Writer writer) {
+            this.writer = writer;
+        }
+
+        @Override
+        public void start() throws IOException {
+            // BOM para que Excel detecte UTF-8
+            writer.write('\uFEFF');
+            writer.write(String.join(",", COLUMNS));
+            writer.write("\r\n");
+        }
+
+        @Override
+        public void write(ResultSet resultSet) throws SQLException, IOException {
+            for (int column = 1; column <= COLUMNS.length; column++) {
+                if (column > 1) {
+                    writer.write(',');
+                }
+                writer.write(escape(format(resultSet.getObject(column))));
+            }
+            writer.write("\r\n");
+        }
+
+        @Override
+        public void finish() {
+        }
+
+        private static String format(Object value) {
+            if (value == null) {
+                return "";
+            }
+            if (value instanceof Timestamp timestamp) {
+                return timestamp.toLocalDateTime().toString();
+            }
+            if (value instanceof BigDecimal decimal) {
+                return decimal.toPlainString();
+            }
+            return value.toString();
+        }
+
+        /**
+         * Comillas según RFC 4180; los valores que empiezan como fórmula se anteponen con ' para que
+         * una planilla no los ejecute (nombres cargados por los usuarios)
+         */
+        private static String escape(String value) {
+            if (value.isEmpty()) {
+                return value;
+            }
+            char first = value.charAt(0);
+            if (first == '=' || first == '+' || first == '-' || first == '@' || first == '\t' || first == '\r') {
+                value = "'" + value;
+            }
+            if (value.indexOf(',') >= 0 || value.indexOf('"') >= 0 || value.indexOf('\n') >= 0 || value.indexOf('\r') >= 0) {
+                return '"' + value.replace("\"", "\"\"") + '"';
+            }
+            return value;
+        }
+    }
+
+    private final class NdjsonRowWriter implements RowWriter {
+
+        private final Writer writer;
+        private JsonGenerator generator;
+
+        private NdjsonRowWriter(Writer writer) {
+            this.writer = writer;
+        }
+
+        @Override
+        public void start() throws IOException {
+            generator = objectMapper.getFactory().createGenerator(writer);
+            generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+        }
+
+        @Override
+        public void write(ResultSet resultSet) throws SQLException, IOException {
+            generator.writeStartObject();
+            generator.writeNumberField(COLUMNS[0], resultSet.getLong(1));
+            generator.writeStringField(COLUMNS[1], resultSet.getString(2));
+            generator.writeStringField(COLUMNS[2], resultSet.getString(3));
+            generator.writeStringField(COLUMNS[3], resultSet.getString(4));
+            writeInteger(COLUMNS[4], resultSet, 5);
+            writeInteger(COLUMNS[5], resultSet, 6);
+            generator.writeStringField(COLUMNS[6], resultSet.getString(7));
+            generator.writeStringField(COLUMNS[7], resultSet.getString(8));
+            generator.writeStringField(COLUMNS[8], resultSet.getString(9));
+            generator.writeStringField(COLUMNS[9], resultSet.getString(10));
+            writeTimestamp(COLUMNS[10], resultSet.getTimestamp(11));
+            writeTimestamp(COLUMNS[11], resultSet.getTimestamp(12));
+            BigDecimal salePrice = resultSet.getBigDecimal(13);
+            if (salePrice != null) {
+                generator.writeNumberField(COLUMNS[12], salePrice);
+            } else {
+                generator.writeNullField(COLUMNS[12]);
+            }
+            generator.writeStringField(COLUMNS[13], resultSet.getString(14));
+            boolean isGift = resultSet.getBoolean(15);
+            if (resultSet.wasNull()) {
+                generator.writeNullField(COLUMNS[14]);
+            } else {
+                generator.writeBooleanField(COLUMNS[14], isGift);
+            }
+            generator.writeStringField(COLUMNS[15], resultSet.getString(16));
+            generator.writeEndObject();
+            generator.writeRaw('\n');
+        }
+
+        @Override
+        public void finish() throws IOException {
+            generator.flush();
+        }
+
+        private void writeInteger(String field, ResultSet resultSet, int column) throws SQLException, IOException {
+            int value = resultSet.getInt(column);
+            if (resultSet.wasNull()) {
+                generator.writeNullField(field);
+            } else {
+                generator.writeNumberField(field, value);
+            }
+        }
+
+        private void writeTimestamp(String field, Timestamp value) throws IOException {
+            if (value == null) {
+                generator.writeNullField(field);
+            } else {
+                generator.writeStringField(field, value.toLocalDateTime().toString());
+            }
+        }
+    }
+}
@@ -0,0 +1,81 @@
+package com.recitapp.recitapp_api.modules.ticket.service.impl;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Mapa de bits de IDs de ticket dividido en bloques de 65.536 IDs, creados a medida que se usan.
+ * Los tickets de un evento ocupan pocos bloques aunque sus IDs sean altos, así que el mapa pesa
+ * 8 KB por bloque y no depende del mayor ID. Los bits se marcan con compare-and-set, sin bloqueos.
+ */
+final class TicketIdBitmap {
+
+    static final int CHUNK_BITS = 16;
+    static final int CHUNK_SIZE = 1 << CHUNK_BITS;
+
+    private final Map<Long, AtomicLongArray> chunks = new ConcurrentHashMap<>();
+
+    static long chunk(long ticketId) {
+        return ticketId >>> CHUNK_BITS;
+    }
+
+    static int offset(long ticketId) {
+        return (int) (ticketId & (CHUNK_SIZE - 1));
+    }
+
+    boolean contains(long ticketId) {
+        AtomicLongArray words = chunks.get(chunk(ticketId));
+        int offset = offset(ticketId);
+        return words != null && (words.get(offset >>> 6) & (1L << (offset & 63))) != 0;
+    }
+
+    /**
+     * Marca el ID
+     *
+     * @return true si no estaba marcado
+     */
+    boolean add(long ticketId) {
+        AtomicLongArray words = chunks.computeIfAbsent(chunk(ticketId), key -> new AtomicLongArray(CHUNK_SIZE / 64));
+        int offset = offset(ticketId);
+        int word = offset >>> 6;
+        long mask = 1L << (offset & 63);
+        while (true) {
+            long current = words.get(word);
+            if ((current & mask) != 0) {
+                return false;
+            }
+            if (words.compareAndSet(word, current, current | mask)) {
+                return true;
+            }
+        }
+    }
+
+    void remove(long ticketId) {
+        AtomicLongArray words = chunks.get(chunk(ticketId));
+        if (words == null) {
+            return;
+        }
+        int offset = offset(ticketId);
+        int word = offset >>> 6;
+        long mask = 1L << (offset & 63);
+        long current;
+        do {
+            current = words.get(word);
+        } while ((current & mask) != 0 && !words.compareAndSet(word, current, current & ~mask));
+    }
+
+    long cardinality() {
+        long count = 0;
+        for (AtomicLongArray words : chunks.values()) {
+            for (int i = 0; i < words.length(); i++) {
+                count += Long.bitCount(words.get(i));
+            }
+        }
+        return count;
+    }
+
+    int chunkCount() {
+        return chunks.size();
+    }
+}
@@ -29,6 +29,8 @@ import com.itextpdf.kernel.font.PdfFontFactory;
 import com.itextpdf.io.font.constants.StandardFonts;
 import com.recitapp.recitapp_api.modules.ticket.dto.TicketDTO;
 import com.recitapp.recitapp_api.modules.ticket.service.TicketPdfService;
+import com.recitapp.recitapp_api.modules.ticket.service.TicketTokenService;
+import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
@@ -41,9 +43,12 @@ import java.nio.file.Paths;
 import java.time.format.DateTimeFormatter;
 
 @Service
+@RequiredArgsConstructor
 @Slf4j
 public class TicketPdfServiceImpl implements TicketPdfService {
 
+    private final TicketTokenService ticketTokenService;
+
     @Value("${app.ticket.pdf.storage.path:./tickets}")
     private String pdfStoragePath;
 
@@ -233,6 +238,15 @@ public class TicketPdfServiceImpl implements TicketPdfService {
         document.add(new Paragraph(" ").setMarginTop(18).setMarginBottom(15));
     }
 
+    private String signedToken(TicketDTO ticket) {
+        try {
+            return ticketTokenService.issueToken(ticket);
+        } catch (Exception e) {
+            log.warn("No se pudo firmar el QR del ticket {}: {}", ticket.getId(), e.getMessage());
+            return null;
+        }
+    }
+
     private void createOptimalQRSection(Document document, TicketDTO ticket, PdfFont boldFont, PdfFont regularFont) {
         if (ticket.getQrCode() != null) {
             try {
@@ -243,14 +257,16 @@ public class TicketPdfServiceImpl implements TicketPdfService {
                 // === COLUMNA IZQUIERDA: CÓDIGO QR ===
                 Cell qrCell = new Cell();
                 
-                // Preparar datos del QR
-                String qrData = ticket.getQrCode();
-                if (qrData.startsWith("data:image/png;base64,")) {
+                // Preparar datos del QR: token firmado, verificable en el acceso sin conexión
+                String qrData = signedToken(ticket);
+                if (qrData == null && ticket.getQrCode().startsWith("data:image/png;base64,")) {
                     qrData = "TICKET:" + (ticket.getId() != null ? ticket.getId() : "") + 
                             "|EVENT:" + (ticket.getEventId() != null ? ticket.getEventId() : "") +
                             "|CODE:" + (ticket.getQrCode().contains("TKT-") ? 
                                       ticket.getQrCode().substring(ticket.getQrCode().indexOf("TKT-")) : 
                                       ticket.getQrCode());
+                } else if (qrData == null) {
+                    qrData = ticket.getQrCode();
                 }
 
                 // Generar QR de tamaño balanceado
@@ -1,48 +1,65 @@
 package com.recitapp.recitapp_api.modules.ticket.service.impl;
 
+import com.recitapp.recitapp_api.common.lookup.LookupRegistry;
 import com.recitapp.recitapp_api.common.exception.EntityNotFoundException;
 import com.recitapp.recitapp_api.common.exception.RecitappException;
 import com.recitapp.recitapp_api.common.util.QRGenerator;
+import com.recitapp.recitapp_api.common.util.QrDigest;
 import com.recitapp.recitapp_api.modules.event.entity.Event;
 import com.recitapp.recitapp_api.modules.event.entity.Promotion;
+import com.recitapp.recitapp_api.modules.event.entity.TicketPrice;
 import com.recitapp.recitapp_api.modules.event.repository.EventRepository;
-import com.recitapp.recitapp_api.modules.event.repository.EventStatusRepository;
 import com.recitapp.recitapp_api.modules.event.repository.PromotionRepository;
+import com.recitapp.recitapp_api.modules.event.repository.TicketPriceRepository;
+import com.recitapp.recitapp_api.modules.event.service.WaitingRoomService;
 import com.recitapp.recitapp_api.modules.ticket.dto.TicketAssignmentDTO;
 import com.recitapp.recitapp_api.modules.ticket.dto.TicketDTO;
 import com.recitapp.recitapp_api.modules.ticket.dto.TicketPurchaseRequestDTO;
 import com.recitapp.recitapp_api.modules.ticket.dto.TicketPurchaseResponseDTO;
+import com.recitapp.recitapp_api.modules.ticket.dto.TicketWalletDTO;
 import com.recitapp.recitapp_api.modules.ticket.entity.Ticket;
+import com.recitapp.recitapp_api.modules.ticket.event.TicketsPurchasedEvent;
 import com.recitapp.recitapp_api.modules.ticket.entity.TicketStatus;
 import com.recitapp.recitapp_api.modules.ticket.repository.TicketRepository;
-import com.recitapp.recitapp_api.modules.ticket.repository.TicketStatusRepository;
+import com.recitapp.recitapp_api.modules.ticket.service.SectionInventoryService;
+import com.recitapp.recitapp_api.modules.ticket.service.SeatMapService;
+import com.recitapp.recitapp_api.modules.ticket.service.SectionLockManager;
+import com.recitapp.recitapp_api.modules.ticket.service.SoldOutRegistry;
+import com.recitapp.recitapp_api.modules.ticket.service.TicketCodeService;
 import com.recitapp.recitapp_api.modules.ticket.service.TicketService;
+import com.recitapp.recitapp_api.modules.ticket.service.TicketTransitionService;
 import com.recitapp.recitapp_api.modules.transaction.entity.PaymentMethod;
 import com.recitapp.recitapp_api.modules.transaction.entity.Transaction;
 import com.recitapp.recitapp_api.modules.transaction.entity.TransactionDetail;
 import com.recitapp.recitapp_api.modules.transaction.entity.TransactionStatus;
-import com.recitapp.recitapp_api.modules.transaction.repository.PaymentMethodRepository;
 import com.recitapp.recitapp_api.modules.transaction.repository.TransactionDetailRepository;
 import com.recitapp.recitapp_api.modules.transaction.repository.TransactionRepository;
-import com.recitapp.recitapp_api.modules.transaction.repository.TransactionStatusRepository;
 import com.recitapp.recitapp_api.modules.user.entity.User;
 import com.recitapp.recitapp_api.modules.user.repository.UserRepository;
 import com.recitapp.recitapp_api.modules.venue.entity.VenueSection;
 import com.recitapp.recitapp_api.modules.venue.repository.VenueSectionRepository;
-import com.recitapp.recitapp_api.modules.notification.service.NotificationService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
+import java.util.Base64;
+import java.util.Collection;
 import java.util.List;
-import java.util.Optional;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.TreeMap;
 import java.util.UUID;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 @Service
@@ -50,23 +67,42 @@ import java.util.stream.Collectors;
 @Slf4j
 public class TicketServiceImpl implements TicketService {
 
+    private static final int MAX_WALLET_PAGE_SIZE = 100;
+
+    // Statuses a ticket can be cancelled from (all of them hold a seat)
+    private static final List<String> CANCELLABLE_STATUSES = List.of("RESERVADA", "VENDIDA", "REGALO");
+
     private final TicketRepository ticketRepository;
-    private final TicketStatusRepository ticketStatusRepository;
+    private final LookupRegistry lookupRegistry;
     private final EventRepository eventRepository;
-    private final EventStatusRepository eventStatusRepository;
     private final VenueSectionRepository venueSectionRepository;
     private final UserRepository userRepository;
     private final TransactionRepository transactionRepository;
     private final TransactionDetailRepository transactionDetailRepository;
-    private final TransactionStatusRepository transactionStatusRepository;
-    private final PaymentMethodRepository paymentMethodRepository;
     private final PromotionRepository promotionRepository;
+    private final TicketPriceRepository ticketPriceRepository;
     private final QRGenerator qrGenerator;
-    private final NotificationService notificationService;
+    private final ApplicationEventPublisher eventPublisher;
+    private final SectionInventoryService sectionInventoryService;
+    private final SectionLockManager sectionLockManager;
+    private final TicketCodeService ticketCodeService;
+    private final SoldOutRegistry soldOutRegistry;
+    private final SeatMapService seatMapService;
+    private final TicketTransitionService ticketTransitionService;
+    private final WaitingRoomService waitingRoomService;
 
     @Override
     @Transactional
     public TicketPurchaseResponseDTO purchaseTickets(TicketPurchaseRequestDTO purchaseRequest) {
+        // Reject sold-out sections before querying anything
+        soldOutRegistry.assertPurchasable(purchaseRequest.getEventId(),
+                referencedIds(purchaseRequest.getTickets(), TicketPurchaseRequestDTO.TicketRequestDTO::getSectionId));
+
+        // Every purchase path needs a waiting room turn while the event has an open room. The turn is
+        // consumed in this transaction, so a purchase that fails gives it back.
+        waitingRoomService.validateAccess(purchaseRequest.getEventId(), purchaseRequest.getUserId(),
+                purchaseRequest.getWaitingRoomToken());
+
         // Validate event exists
         Event event = eventRepository.findById(purchaseRequest.getEventId())
                 .orElseThrow(() -> new EntityNotFoundException("Event not found with ID: " + purchaseRequest.getEventId()));
@@ -81,16 +117,16 @@ public class TicketServiceImpl implements TicketService {
                 .orElseThrow(() -> new EntityNotFoundException("User not found with ID: " + purchaseRequest.getUserId()));
 
         // Validate payment method exists
-        PaymentMethod paymentMethod = paymentMethodRepository.findById(purchaseRequest.getPaymentMethodId())
+        PaymentMethod paymentMethod = lookupRegistry.findPaymentMethod(purchaseRequest.getPaymentMethodId())
                 .orElseThrow(() -> new EntityNotFoundException("Payment method not found with ID: " +
                         purchaseRequest.getPaymentMethodId()));
 
         // Get "VENDIDA" status for tickets
-        TicketStatus soldStatus = ticketStatusRepository.findByName("VENDIDA")
+        TicketStatus soldStatus = lookupRegistry.findTicketStatus("VENDIDA")
                 .orElseThrow(() -> new EntityNotFoundException("Ticket status 'VENDIDA' not found"));
 
         // Get "COMPLETADA" status for transaction
-        TransactionStatus completedStatus = transactionStatusRepository.findByName("COMPLETADA")
+        TransactionStatus completedStatus = lookupRegistry.findTransactionStatus("COMPLETADA")
                 .orElseThrow(() -> new EntityNotFoundException("Transaction status 'COMPLETADA' not found"));
 
         // Calculate total amount (excluding null prices for gift tickets)
@@ -185,30 +221,54 @@ public class TicketServiceImpl implements TicketService {
         // Save transaction first to get the ID
         transaction = transactionRepository.save(transaction);
 
+        // Resolve every referenced section, price and promotion with one IN query each
+        List<TicketPurchaseRequestDTO.TicketRequestDTO> ticketRequests = purchaseRequest.getTickets();
+        Map<Long, VenueSection> sectionsById = loadByIds(venueSectionRepository::findAllById,
+                referencedIds(ticketRequests, TicketPurchaseRequestDTO.TicketRequestDTO::getSectionId),
+                VenueSection::getId, "Section");
+        Map<Long, Promotion> promotionsById = loadByIds(promotionRepository::findAllById,
+                referencedIds(ticketRequests, TicketPurchaseRequestDTO.TicketRequestDTO::getPromotionId),
+                Promotion::getId, "Promotion");
+        Map<Long, TicketPrice> pricesById = loadByIds(ticketPriceRepository::findAllById,
+                referencedIds(ticketRequests, TicketPurchaseRequestDTO.TicketRequestDTO::getTicketPriceId),
+                TicketPrice::getId, "Ticket price");
+
+        for (TicketPrice ticketPrice : pricesById.values()) {
+            if (!ticketPrice.getEvent().getId().equals(event.getId())) {
+                throw new RecitappException("El precio de entrada no corresponde al evento");
+            }
+        }
+
         List<Ticket> tickets = new ArrayList<>();
 
+        // Seats requested per section, ordered by section ID so concurrent buyers lock counters in the same order
+        Map<Long, List<Ticket>> ticketsBySection = new TreeMap<>();
+
         // Process each ticket
-        for (TicketPurchaseRequestDTO.TicketRequestDTO ticketRequest : purchaseRequest.getTickets()) {
-            // Validate section exists
-            VenueSection section = venueSectionRepository.findById(ticketRequest.getSectionId())
-                    .orElseThrow(() -> new EntityNotFoundException("Section not found with ID: " +
-                            ticketRequest.getSectionId()));
+        for (TicketPurchaseRequestDTO.TicketRequestDTO ticketRequest : ticketRequests) {
+            VenueSection section = sectionsById.get(ticketRequest.getSectionId());
+            if (section == null) {
+                throw new EntityNotFoundException("Section not found with ID: " + ticketRequest.getSectionId());
+            }
 
             // Check if section belongs to the event's venue
             if (!section.getVenue().getId().equals(event.getVenue().getId())) {
                 throw new RecitappException("La sección no pertenece al recinto del evento");
             }
 
-            // Check availability for the section
-            long availableTickets = countAvailableTicketsByEventAndSection(event.getId(), section.getId());
-            if (availableTickets <= 0) {
-                throw new RecitappException("No hay entradas disponibles para la sección: " + section.getName());
+            TicketPrice ticketPrice = ticketRequest.getTicketPriceId() != null
+                    ? pricesById.get(ticketRequest.getTicketPriceId()) : null;
+            if (ticketPrice != null && !ticketPrice.getSection().getId().equals(section.getId())) {
+                throw new RecitappException("El precio de entrada no corresponde a la sección seleccionada");
             }
 
             // Create ticket
             Ticket ticket = new Ticket();
             ticket.setEvent(event);
             ticket.setSection(section);
+            ticket.setTicketPrice(ticketPrice);
+            ticket.setSeatRow(ticketRequest.getSeatRow());
+            ticket.setSeatNumber(ticketRequest.getSeatNumber());
             ticket.setStatus(soldStatus);
             ticket.setSalePrice(ticketRequest.getPrice()); // Puede ser null para entradas de regalo
             ticket.setIdentificationCode(generateUniqueTicketCode());
@@ -223,28 +283,44 @@ public class TicketServiceImpl implements TicketService {
             ticket.setIsGift(isGiftTicket);
             
             // Establecer el tipo de ticket basándose en la información del request
-            String ticketType = determineTicketTypeFromRequest(ticketRequest, isGiftTicket);
+            Promotion promotion = ticketRequest.getPromotionId() != null
+                    ? promotionsById.get(ticketRequest.getPromotionId()) : null;
+            String ticketType = determineTicketTypeFromRequest(ticketRequest, promotion, isGiftTicket);
             ticket.setTicketType(ticketType);
             
             ticket.setRegistrationDate(LocalDateTime.now());
             ticket.setUpdatedAt(LocalDateTime.now());
 
             // Check if there's a promotion applied
-            if (ticketRequest.getPromotionId() != null) {
-                Promotion promotion = promotionRepository.findById(ticketRequest.getPromotionId())
-                        .orElseThrow(() -> new EntityNotFoundException("Promotion not found with ID: " +
-                                ticketRequest.getPromotionId()));
-                ticket.setPromotion(promotion);
-            }
+            ticket.setPromotion(promotion);
 
             // Generate QR code
             String qrCode = generateQRCode(ticket);
             ticket.setQrCode(qrCode);
 
             tickets.add(ticket);
+            ticketsBySection.computeIfAbsent(section.getId(), id -> new ArrayList<>()).add(ticket);
         }
 
-        // Save tickets
+        // Buyers of the same section are serialized until commit; other sections proceed in parallel
+        sectionLockManager.lockSections(event.getId(), ticketsBySection.keySet());
+
+        // Reserve seats with one conditional decrement per section, then pick seats in numbered sections
+        for (List<Ticket> sectionTickets : ticketsBySection.values()) {
+            VenueSection ticketSection = sectionTickets.get(0).getSection();
+            sectionInventoryService.reserveSeats(event.getId(), ticketSection, sectionTickets.size());
+            seatMapService.assignSeats(event.getId(), ticketSection, sectionTickets);
+        }
+
+        // Reserve price-tier stock for the selected ticket prices
+        Map<Long, Long> ticketsByPrice = purchaseRequest.getTickets().stream()
+                .filter(ticketRequest -> ticketRequest.getTicketPriceId() != null)
+                .collect(Collectors.groupingBy(TicketPurchaseRequestDTO.TicketRequestDTO::getTicketPriceId,
+                        TreeMap::new, Collectors.counting()));
+        ticketsByPrice.forEach((ticketPriceId, quantity) ->
+                sectionInventoryService.reservePriceTier(event.getId(), ticketPriceId, quantity.intValue()));
+
+        // Save tickets (IDs come from a pooled generator, so the inserts are sent as one JDBC batch)
         List<Ticket> savedTickets = ticketRepository.saveAll(tickets);
 
         // Create transaction details
@@ -268,8 +344,9 @@ public class TicketServiceImpl implements TicketService {
         }
         transactionDetailRepository.saveAll(details);
 
-        // Check if event should be marked as AGOTADO
-        checkAndUpdateEventStatus(event.getId());
+        // Event status and availability alerts are handled after commit (TicketPurchaseEventListener)
+        eventPublisher.publishEvent(new TicketsPurchasedEvent(
+                event.getId(), transaction.getId(), user.getId(), savedTickets.size()));
 
         // Map to response DTO
         String walletMessage = null;
@@ -308,9 +385,11 @@ public class TicketServiceImpl implements TicketService {
     }
 
     @Override
+    @Transactional(readOnly = true)
     public List<TicketDTO> getTicketsByUserId(Long userId) {
-        List<Ticket> tickets = ticketRepository.findByUserId(userId);
-        return tickets.stream().map(this::mapToTicketDTO).collect(Collectors.toList());
+        List<TicketDTO> tickets = ticketRepository.findWalletByUserId(userId, null, null, Pageable.unpaged());
+        tickets.forEach(this::applyTicketType);
+        return tickets;
     }
 
     @Override
@@ -325,39 +404,33 @@ public class TicketServiceImpl implements TicketService {
         Ticket ticket = ticketRepository.findById(ticketId)
                 .orElseThrow(() -> new EntityNotFoundException("Ticket not found with ID: " + ticketId));
 
-        TicketStatus canceledStatus = ticketStatusRepository.findByName("CANCELADA")
-                .orElseThrow(() -> new EntityNotFoundException("Ticket status 'CANCELADA' not found"));
+        // Only the call that wins the conditional update returns the seat; every cancellable status holds one
+        boolean canceled = ticketTransitionService.transition(ticketId, CANCELLABLE_STATUSES, "CANCELADA");
+        if (!canceled) {
+            if ("CANCELADA".equals(ticket.getStatus().getName())) {
+                return;
+            }
+            throw new RecitappException("No se puede cancelar un ticket en estado " + ticket.getStatus().getName());
+        }
 
-        ticket.setStatus(canceledStatus);
-        ticketRepository.save(ticket);
+        // Return the seat to the section inventory and the unit to its price tier
+        sectionInventoryService.releaseTickets(List.of(ticket));
     }
 
     @Override
     @Transactional
     public boolean validateTicket(Long ticketId, String qrCode) {
-        Ticket ticket = ticketRepository.findById(ticketId)
-                .orElseThrow(() -> new EntityNotFoundException("Ticket not found with ID: " + ticketId));
-
-        // Solo validar tickets en estado VENDIDA
-        String currentStatus = ticket.getStatus().getName();
-        boolean isValidStatus = currentStatus.equals("VENDIDA");
-        
-        // Validar QR Code
-        boolean isValidQR = ticket.getQrCode().equals(qrCode);
-        
-        // Si el ticket es válido y está en estado VENDIDA, cambiarlo a USADA
-        if (isValidStatus && isValidQR) {
-            TicketStatus usedStatus = ticketStatusRepository.findByName("USADA")
-                    .orElseThrow(() -> new EntityNotFoundException("Ticket status 'USADA' not found"));
-            
-            ticket.setStatus(usedStatus);
-            ticket.setUpdatedAt(LocalDateTime.now());
-            ticketRepository.save(ticket);
-            
+        // Solo tickets VENDIDA con QR coincidente pasan a USADA, en un único UPDATE condicional:
+        // si dos accesos escanean el mismo ticket a la vez, solo uno lo admite
+        if (ticketTransitionService.markUsedByQr(ticketId, qrCode, List.of("VENDIDA"))) {
             log.info("Ticket {} validated and status changed from VENDIDA to USADA", ticketId);
+            return true;
         }
-        
-        return isValidStatus && isValidQR;
+
+        if (!ticketRepository.existsById(ticketId)) {
+            throw new EntityNotFoundException("Ticket not found with ID: " + ticketId);
+        }
+        return false;
     }
 
     /**
@@ -365,29 +438,19 @@ public class TicketServiceImpl implements TicketService {
      */
     @Transactional
     public boolean validateTicketByCode(String identificationCode) {
-        Optional<Ticket> ticketOpt = ticketRepository.findByIdentificationCode(identificationCode);
-        
-        if (ticketOpt.isEmpty()) {
+        // Mistyped codes are rejected by their check digit without querying the database
+        identificationCode = ticketCodeService.normalize(identificationCode);
+        if (!ticketCodeService.hasValidCheckDigit(identificationCode)) {
+            log.info("Ticket code {} rejected: invalid check digit", identificationCode);
             return false;
         }
-        
-        Ticket ticket = ticketOpt.get();
-        String currentStatus = ticket.getStatus().getName();
-        boolean isValidStatus = currentStatus.equals("VENDIDA");
-        
-        // Si el ticket es válido y está en estado VENDIDA, cambiarlo a USADA
-        if (isValidStatus) {
-            TicketStatus usedStatus = ticketStatusRepository.findByName("USADA")
-                    .orElseThrow(() -> new EntityNotFoundException("Ticket status 'USADA' not found"));
-            
-            ticket.setStatus(usedStatus);
-            ticket.setUpdatedAt(LocalDateTime.now());
-            ticketRepository.save(ticket);
-            
-            log.info("Ticket {} validated by identification code and status changed to USADA", ticket.getId());
+
+        // Si el ticket existe y está en estado VENDIDA, pasa a USADA en un único UPDATE condicional
+        boolean admitted = ticketTransitionService.markUsedByIdentificationCode(identificationCode, List.of("VENDIDA"));
+        if (admitted) {
+            log.info("Ticket {} validated by identification code and status changed to USADA", identificationCode);
         }
-        
-        return isValidStatus;
+        return admitted;
     }
 
     @Override
@@ -402,9 +465,9 @@ public class TicketServiceImpl implements TicketService {
         User newUser = userRepository.findById(newUserId)
                 .orElseThrow(() -> new EntityNotFoundException("User not found with ID: " + newUserId));
 
-        // Validate ticket status
-        if (!ticket.getStatus().getName().equals("VENDIDA")) {
-            throw new RecitappException("Solo se pueden transferir entradas con estado VENDIDA");
+        // Validate ticket status: the same statuses the conditional update below accepts
+        if (!TicketTransitionService.TRANSFERABLE_STATUSES.contains(ticket.getStatus().getName())) {
+            throw new RecitappException("Solo se pueden transferir entradas vendidas o de regalo");
         }
 
         // Validate the event has not passed
@@ -412,20 +475,14 @@ public class TicketServiceImpl implements TicketService {
             throw new RecitappException("No se pueden transferir entradas para eventos ya realizados");
         }
 
-        // Update ticket information
-        ticket.setUser(newUser);
-        ticket.setAssignedUserFirstName(attendeeFirstName);
-        ticket.setAssignedUserLastName(attendeeLastName);
-        ticket.setAssignedUserDni(attendeeDni);
-        ticket.setUpdatedAt(LocalDateTime.now());
-
-        // Generate new QR code
+        // Update ticket information and generate a new QR code, only if the ticket is still transferable
         String newQrCode = generateQRCode(ticket);
-        ticket.setQrCode(newQrCode);
-
-        Ticket updatedTicket = ticketRepository.save(ticket);
+        if (!ticketTransitionService.transfer(ticketId, null, newUser,
+                attendeeFirstName, attendeeLastName, attendeeDni, newQrCode)) {
+            throw new RecitappException("Solo se pueden transferir entradas vendidas o de regalo");
+        }
 
-        return mapToTicketDTO(updatedTicket);
+        return getTicketById(ticketId);
     }
 
     @Override
@@ -438,15 +495,16 @@ public class TicketServiceImpl implements TicketService {
 
     @Override
     public Long countAvailableTicketsByEventAndSection(Long eventId, Long sectionId) {
+        if (soldOutRegistry.isSectionSoldOut(eventId, sectionId)) {
+            return 0L;
+        }
+
         // Get the venue section to check its capacity
         VenueSection section = venueSectionRepository.findById(sectionId)
                 .orElseThrow(() -> new EntityNotFoundException("Section not found with ID: " + sectionId));
 
-        // Count sold tickets for this event and section
-        long soldTickets = ticketRepository.countByEventIdAndSectionIdAndStatusName(eventId, sectionId, "VENDIDA");
-
-        // Calculate available tickets
-        return section.getCapacity() - soldTickets;
+        // Read the section counter instead of counting tickets
+        return sectionInventoryService.getAvailableQuantity(eventId, section);
     }
 
     @Transactional
@@ -494,18 +552,16 @@ public class TicketServiceImpl implements TicketService {
                                 ", y DNI: " + recipientDni));
 
         // Actualizar SOLO el propietario del ticket, manteniendo los datos originales del asistente
-        ticket.setUser(recipientUser);
-        // NO cambiar assigned_user_first_name, assigned_user_last_name, assigned_user_dni
-        // para mantener los datos del asistente original
-        ticket.setUpdatedAt(LocalDateTime.now());
-
-        // Generar nuevo código QR
+        // (assigned_user_first_name, assigned_user_last_name, assigned_user_dni) y generando un nuevo QR.
+        // El UPDATE es condicional: el ticket debe seguir siendo del usuario y estar en un estado transferible
         String newQrCode = generateQRCode(ticket);
-        ticket.setQrCode(newQrCode);
-
-        Ticket updatedTicket = ticketRepository.save(ticket);
+        if (!ticketTransitionService.transfer(ticketId, userId, recipientUser,
+                ticket.getAssignedUserFirstName(), ticket.getAssignedUserLastName(), ticket.getAssignedUserDni(),
+                newQrCode)) {
+            throw new RecitappException("Solo se pueden transferir entradas vendidas o de regalo");
+        }
 
-        return mapToTicketDTO(updatedTicket);
+        return getTicketById(ticketId);
     }
 
     /**
@@ -533,13 +589,16 @@ public class TicketServiceImpl implements TicketService {
 
     // Helper methods
     private String generateUniqueTicketCode() {
-        return "TKT-" + UUID.randomUUID().toString().substring(0, 8).toUpperCase();
+        return ticketCodeService.generateCode(TicketCodeService.DEFAULT_PREFIX);
     }
 
     private String generateQRCode(Ticket ticket) {
         // In a real implementation, we would use QRGenerator to generate a QR code image
-        // For now, we'll just return a base64 placeholder string
-        return "data:image/png;base64,QRCode-" + ticket.getIdentificationCode();
+        // For now, we'll just return a base64 placeholder string.
+        // The random suffix gives each issuance (and each transfer) a new QR, so signed tokens
+        // printed for a previous holder no longer admit the ticket
+        return "data:image/png;base64,QRCode-" + ticket.getIdentificationCode()
+                + "-" + UUID.randomUUID().toString().substring(0, 8);
     }
 
     private TicketDTO mapToTicketDTO(Ticket ticket) {
@@ -550,6 +609,8 @@ public class TicketServiceImpl implements TicketService {
                 .eventDate(ticket.getEvent().getStartDateTime())
                 .sectionId(ticket.getSection().getId())
                 .sectionName(ticket.getSection().getName())
+                .seatRow(ticket.getSeatRow())
+                .seatNumber(ticket.getSeatNumber())
                 .venueName(ticket.getEvent().getVenue().getName())
                 .price(ticket.getSalePrice())
                 .status(ticket.getStatus().getName())
@@ -576,21 +637,26 @@ public class TicketServiceImpl implements TicketService {
      * @return The ticket type string
      */
     private String determineTicketType(Ticket ticket) {
+        return determineTicketType(ticket.getTicketType(), ticket.getIsGift(),
+                ticket.getPromotion() != null ? ticket.getPromotion().getName() : null,
+                ticket.getPromotion() != null ? ticket.getPromotion().getDescription() : null);
+    }
+
+    private String determineTicketType(String ticketType, Boolean isGift,
+                                       String promotionName, String promotionDescription) {
         // First check if the ticket already has a stored ticketType
-        if (ticket.getTicketType() != null && !ticket.getTicketType().trim().isEmpty()) {
-            return ticket.getTicketType();
+        if (ticketType != null && !ticketType.trim().isEmpty()) {
+            return ticketType;
         }
         
         // Fallback to legacy logic for existing tickets without ticketType
         // Check if it's a gift ticket first
-        if (ticket.getIsGift() != null && ticket.getIsGift()) {
+        if (isGift != null && isGift) {
             return "GIFT";
         }
         
         // Check if it has a promotion
-        if (ticket.getPromotion() != null) {
-            String promotionName = ticket.getPromotion().getName();
-            String promotionDescription = ticket.getPromotion().getDescription();
+        if (promotionName != null || promotionDescription != null) {
             
             // Check for 2x1 promotion (case insensitive)
             boolean is2x1 = (promotionName != null && promotionName.toLowerCase().contains("2x1")) ||
@@ -608,7 +674,8 @@ public class TicketServiceImpl implements TicketService {
         return "GENERAL";
     }
 
-    private String determineTicketTypeFromRequest(TicketPurchaseRequestDTO.TicketRequestDTO ticketRequest, boolean isGiftTicket) {
+    private String determineTicketTypeFromRequest(TicketPurchaseRequestDTO.TicketRequestDTO ticketRequest,
+                                                  Promotion promotion, boolean isGiftTicket) {
         // Si el request ya incluye el ticketType, usarlo directamente
         if (ticketRequest.getTicketType() != null && !ticketRequest.getTicketType().trim().isEmpty()) {
             return ticketRequest.getTicketType();
@@ -620,78 +687,48 @@ public class TicketServiceImpl implements TicketService {
         }
         
         // Si hay una promoción, determinar el tipo basándose en ella
-        if (ticketRequest.getPromotionId() != null) {
-            try {
-                Promotion promotion = promotionRepository.findById(ticketRequest.getPromotionId()).orElse(null);
-                if (promotion != null) {
-                    String promotionName = promotion.getName();
-                    String promotionDescription = promotion.getDescription();
-                    
-                    // Check for 2x1 promotion (case insensitive)
-                    boolean is2x1 = (promotionName != null && promotionName.toLowerCase().contains("2x1")) ||
-                                   (promotionDescription != null && promotionDescription.toLowerCase().contains("2x1")) ||
-                                   (promotionName != null && promotionName.toLowerCase().contains("dos por uno")) ||
-                                   (promotionDescription != null && promotionDescription.toLowerCase().contains("dos por uno"));
-                    
-                    if (is2x1) {
-                        return "PROMOTIONAL_2X1";
-                    } else {
-                        return "PROMOTIONAL";
-                    }
-                }
-            } catch (Exception e) {
-                log.warn("Error al determinar tipo de ticket por promoción: {}", e.getMessage());
-            }
+        if (promotion != null) {
+            String promotionName = promotion.getName();
+            String promotionDescription = promotion.getDescription();
+
+            // Check for 2x1 promotion (case insensitive)
+            boolean is2x1 = (promotionName != null && promotionName.toLowerCase().contains("2x1")) ||
+                           (promotionDescription != null && promotionDescription.toLowerCase().contains("2x1")) ||
+                           (promotionName != null && promotionName.toLowerCase().contains("dos por uno")) ||
+                           (promotionDescription != null && promotionDescription.toLowerCase().contains("dos por uno"));
+
+            return is2x1 ? "PROMOTIONAL_2X1" : "PROMOTIONAL";
         }
         
         // Por defecto, devolver GENERAL
         return "GENERAL";
     }
 
-    private void checkAndUpdateEventStatus(Long eventId) {
-        Event event = eventRepository.findById(eventId)
-                .orElseThrow(() -> new EntityNotFoundException("Event not found with ID: " + eventId));
-
-        // Get the venue's total capacity
-        Integer totalCapacity = event.getVenue().getTotalCapacity();
-
-        // Count sold tickets for this event
-        Long soldTickets = ticketRepository.countSoldTicketsByEventId(eventId);
-        
-        // Calculate availability percentage
-        double availabilityPercentage = totalCapacity > 0 ? 
-            ((totalCapacity - soldTickets.doubleValue()) / totalCapacity.doubleValue()) * 100 : 0;
+    private Set<Long> referencedIds(List<TicketPurchaseRequestDTO.TicketRequestDTO> ticketRequests,
+                                    Function<TicketPurchaseRequestDTO.TicketRequestDTO, Long> idExtractor) {
+        return ticketRequests.stream()
+                .map(idExtractor)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toSet());
+    }
 
-        // 🚀 AUTOMÁTICO: Enviar notificaciones de baja disponibilidad
-        try {
-            // Notificar cuando queda menos del 20% de entradas
-            if (availabilityPercentage <= 20 && availabilityPercentage > 0) {
-                int remainingTickets = (int) (totalCapacity - soldTickets);
-                notificationService.sendLowAvailabilityAlert(eventId, remainingTickets);
-                log.info("Notificación de baja disponibilidad enviada para evento {}: {} entradas restantes", 
-                        eventId, remainingTickets);
-            }
-        } catch (Exception e) {
-            log.warn("Error enviando notificación de baja disponibilidad para evento {}: {}", 
-                    eventId, e.getMessage());
+    /**
+     * Carga las entidades referenciadas con una sola consulta IN y falla si falta alguna
+     */
+    private <T> Map<Long, T> loadByIds(Function<Collection<Long>, List<T>> finder, Set<Long> ids,
+                                       Function<T, Long> idGetter, String entityName) {
+        if (ids.isEmpty()) {
+            return Map.of();
         }
 
-        // If all tickets are sold, update event status to "AGOTADO"
-        if (soldTickets >= totalCapacity) {
-            // Fix: Use EventStatusRepository instead of EventRepository
-            eventStatusRepository.findByName("AGOTADO")
-                    .ifPresent(event::setStatus);
-            eventRepository.save(event);
-            
-            // 🚀 AUTOMÁTICO: Enviar notificaciones de evento agotado (con 0 entradas restantes)
-            try {
-                notificationService.sendLowAvailabilityAlert(eventId, 0);
-                log.info("Notificación de evento agotado enviada para evento {}", eventId);
-            } catch (Exception e) {
-                log.warn("Error enviando notificación de evento agotado para evento {}: {}", 
-                        eventId, e.getMessage());
+        Map<Long, T> entities = finder.apply(ids).stream()
+                .collect(Collectors.toMap(idGetter, Function.identity()));
+        for (Long id : ids) {
+            if (!entities.containsKey(id)) {
+                throw new EntityNotFoundException(entityName + " not found with ID: " + id);
             }
         }
+        return entities;
     }
 
     @Override
@@ -703,4 +740,61 @@ public class TicketServiceImpl implements TicketService {
         
         return ticketPage.map(this::mapToTicketDTO);
     }
+
+    @Override
+    @Transactional(readOnly = true)
+    public TicketWalletDTO getUserWallet(Long userId, String cursor, int size) {
+        int pageSize = Math.min(Math.max(size, 1), MAX_WALLET_PAGE_SIZE);
+
+        LocalDateTime cursorDate = null;
+        Long cursorId = null;
+        if (cursor != null && !cursor.isBlank()) {
+            String[] parts = decodeWalletCursor(cursor);
+            cursorDate = LocalDateTime.parse(parts[0]);
+            cursorId = Long.valueOf(parts[1]);
+        }
+
+        // Se pide una fila de más para saber si hay otra página
+        List<TicketDTO> rows = ticketRepository.findWalletByUserId(userId, cursorDate, cursorId,
+                PageRequest.of(0, pageSize + 1));
+        boolean hasMore = rows.size() > pageSize;
+        List<TicketDTO> tickets = hasMore ? new ArrayList<>(rows.subList(0, pageSize)) : rows;
+        tickets.forEach(this::applyTicketType);
+
+        String nextCursor = null;
+        if (hasMore) {
+            TicketDTO last = tickets.get(tickets.size() - 1);
+            nextCursor = encodeWalletCursor(last.getPurchaseDate(), last.getId());
+        }
+
+        return TicketWalletDTO.builder()
+                .tickets(tickets)
+                .nextCursor(nextCursor)
+                .hasMore(hasMore)
+                .build();
+    }
+
+    private void applyTicketType(TicketDTO ticket) {
+        ticket.setTicketType(determineTicketType(ticket.getTicketType(), ticket.getIsGift(),
+                ticket.getPromotionName(), ticket.getPromotionDescription()));
+    }
+
+    private static String encodeWalletCursor(LocalDateTime purchaseDate, Long ticketId) {
+        String value = purchaseDate + "|" + ticketId;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(value.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static String[] decodeWalletCursor(String cursor) {
+        try {
+            String[] parts = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8).split("\\|");
+            if (parts.length != 2) {
+                throw new IllegalArgumentException();
+            }
+            LocalDateTime.parse(parts[0]);
+            Long.parseLong(parts[1]);
+            return parts;
+        } catch (RuntimeException e) {
+            throw new RecitappException("Cursor de paginación inválido");
+        }
+    }
 }
\ No newline at end of file
@@ -0,0 +1,138 @@
+package com.recitapp.recitapp_api.modules.ticket.service.impl;
+
+import com.recitapp.recitapp_api.common.exception.EntityNotFoundException;
+import com.recitapp.recitapp_api.common.exception.RecitappException;
+import com.recitapp.recitapp_api.common.util.QrDigest;
+import com.recitapp.recitapp_api.common.util.TicketToken;
+import com.recitapp.recitapp_api.modules.event.repository.EventRepository;
+import com.recitapp.recitapp_api.modules.ticket.dto.TicketDTO;
+import com.recitapp.recitapp_api.modules.ticket.service.TicketTokenService;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.Base64;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class TicketTokenServiceImpl implements TicketTokenService {
+
+    private final EventRepository eventRepository;
+
+    // Clave maestra en Base64 (al menos 32 bytes). Sin valor por defecto: con una clave pública cualquiera
+    // podría firmar entradas válidas
+    @Value("${recitapp.tickets.qr-token.secret:}")
+    private String secret;
+
+    @Value("${recitapp.tickets.qr-token.key-version:1}")
+    private int keyVersion;
+
+    // Clave anterior (versión key-version - 1): los tokens ya impresos siguen valiendo durante la rotación
+    @Value("${recitapp.tickets.qr-token.previous-secret:}")
+    private String previousSecret;
+
+    @Value("${recitapp.tickets.qr-token.validity-hours:24}")
+    private int validityHours;
+
+    private final Map<Integer, byte[]> masterKeys = new HashMap<>();
+    private final Map<List<Long>, byte[]> eventKeys = new ConcurrentHashMap<>();
+
+    @PostConstruct
+    public void init() {
+        if (keyVersion < 1 || keyVersion > 255) {
+            throw new IllegalStateException("recitapp.tickets.qr-token.key-version must be between 1 and 255");
+        }
+        if (secret.isBlank()) {
+            throw new IllegalStateException("recitapp.tickets.qr-token.secret must be configured");
+        }
+        masterKeys.put(keyVersion, decodeMasterKey("recitapp.tickets.qr-token.secret", secret));
+        if (!previousSecret.isBlank() && keyVersion > 1) {
+            masterKeys.put(keyVersion - 1, decodeMasterKey("recitapp.tickets.qr-token.previous-secret", previousSecret));
+        }
+    }
+
+    @Override
+    public String issueToken(TicketDTO ticket) {
+        if (ticket.getId() == null || ticket.getEventId() == null || ticket.getEventDate() == null
+                || ticket.getQrCode() == null) {
+            throw new RecitappException("La entrada no tiene los datos necesarios para firmar su código QR");
+        }
+
+        // Desde el inicio del día del evento, igual que la verificación en línea
+        LocalDateTime eventDate = ticket.getEventDate();
+        long validFrom = toEpochSecond(eventDate.toLocalDate().atStartOfDay());
+        long validUntil = toEpochSecond(eventDate.plusHours(validityHours));
+
+        TicketToken.Claims claims = new TicketToken.Claims(keyVersion, ticket.getId(), ticket.getEventId(),
+                ticket.getSectionId() != null ? ticket.getSectionId() : 0L,
+                validFrom, validUntil, QrDigest.of(ticket.getQrCode()));
+        return TicketToken.sign(claims, eventKey(keyVersion, ticket.getEventId()));
+    }
+
+    @Override
+    public TicketToken.Claims authenticate(String token, Long eventId) {
+        return authenticate(token, eventId, LocalDateTime.now());
+    }
+
+    @Override
+    public TicketToken.Claims authenticate(String token, Long eventId, LocalDateTime scannedAt) {
+        int tokenKeyVersion = TicketToken.peek(token).keyVersion();
+        if (!masterKeys.containsKey(tokenKeyVersion)) {
+            throw new TicketToken.InvalidTokenException(TicketToken.INVALID_SIGNATURE,
+                    "La entrada fue firmada con una clave que ya no está vigente");
+        }
+        return TicketToken.verify(token, eventId, eventKey(tokenKeyVersion, eventId), toEpochSecond(scannedAt));
+    }
+
+    @Override
+    public Map<String, Object> getGateKeys(Long eventId) {
+        if (!eventRepository.existsById(eventId)) {
+            throw new EntityNotFoundException("Event not found with ID: " + eventId);
+        }
+
+        Map<String, String> keys = new LinkedHashMap<>();
+        for (Integer version : masterKeys.keySet()) {
+            keys.put(String.valueOf(version), Base64.getEncoder().encodeToString(eventKey(version, eventId)));
+        }
+
+        Map<String, Object> result = new HashMap<>();
+        result.put("eventId", eventId);
+        result.put("algorithm", "HmacSHA256");
+        result.put("currentKeyVersion", keyVersion);
+        result.put("keys", keys);
+        log.info("Claves de verificación del evento {} entregadas a un dispositivo de acceso", eventId);
+        return result;
+    }
+
+    private static byte[] decodeMasterKey(String property, String value) {
+        byte[] key;
+        try {
+            key = Base64.getDecoder().decode(value.trim());
+        } catch (IllegalArgumentException e) {
+            throw new IllegalStateException(property + " must be Base64 encoded", e);
+        }
+        if (key.length < 32) {
+            throw new IllegalStateException(property + " must decode to at least 32 bytes");
+        }
+        return key;
+    }
+
+    private byte[] eventKey(int version, long eventId) {
+        return eventKeys.computeIfAbsent(List.of((long) version, eventId),
+                key -> TicketToken.deriveEventKey(masterKeys.get(version), version, eventId));
+    }
+
+    private static long toEpochSecond(LocalDateTime dateTime) {
+        return dateTime.atZone(ZoneId.systemDefault()).toEpochSecond();
+    }
+}
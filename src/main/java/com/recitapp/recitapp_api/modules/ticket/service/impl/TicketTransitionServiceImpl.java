@@ -0,0 +1,129 @@
+package com.recitapp.recitapp_api.modules.ticket.service.impl;
+
+import com.recitapp.recitapp_api.common.exception.EntityNotFoundException;
+import com.recitapp.recitapp_api.common.lookup.LookupRegistry;
+import com.recitapp.recitapp_api.common.util.QrDigest;
+import com.recitapp.recitapp_api.modules.ticket.event.TicketHoldsChangedEvent;
+import com.recitapp.recitapp_api.modules.ticket.entity.TicketStatus;
+import com.recitapp.recitapp_api.modules.ticket.repository.TicketRepository;
+import com.recitapp.recitapp_api.modules.ticket.service.TicketTransitionService;
+import com.recitapp.recitapp_api.modules.user.entity.User;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class TicketTransitionServiceImpl implements TicketTransitionService {
+
+    private static final String USED = "USADA";
+    private static final String RESERVED = "RESERVADA";
+
+    private final TicketRepository ticketRepository;
+    private final LookupRegistry lookupRegistry;
+    private final ApplicationEventPublisher eventPublisher;
+
+    @Override
+    @Transactional
+    public boolean transition(Long ticketId, Collection<String> fromStatuses, String toStatus) {
+        return transitionAll(List.of(ticketId), fromStatuses, toStatus) == 1;
+    }
+
+    @Override
+    @Transactional
+    public int transitionAll(Collection<Long> ticketIds, Collection<String> fromStatuses, String toStatus) {
+        if (ticketIds.isEmpty()) {
+            return 0;
+        }
+        List<TicketStatus> from = resolveSources(fromStatuses, toStatus);
+        if (from.isEmpty()) {
+            return 0;
+        }
+
+        // Las reservas vencen por el motor de reservas: se programan al entrar en RESERVADA y se cancelan al salir
+        boolean holdsChange = RESERVED.equals(toStatus) || fromStatuses.contains(RESERVED);
+        if (!holdsChange) {
+            return ticketRepository.transitionStatus(ticketIds, from, resolve(toStatus), LocalDateTime.now());
+        }
+
+        // Se bloquean primero los que siguen en un estado de origen, para avisar solo de los que cambian
+        List<Long> movingIds = ticketRepository.lockIdsInStatuses(ticketIds,
+                from.stream().map(TicketStatus::getId).toList());
+        if (movingIds.isEmpty()) {
+            return 0;
+        }
+        int updated = ticketRepository.transitionStatus(movingIds, from, resolve(toStatus), LocalDateTime.now());
+        eventPublisher.publishEvent(new TicketHoldsChangedEvent(movingIds, RESERVED.equals(toStatus)));
+        return updated;
+    }
+
+    @Override
+    @Transactional
+    public boolean markUsed(Long ticketId, Collection<String> fromStatuses) {
+        List<TicketStatus> from = resolveSources(fromStatuses, USED);
+        return !from.isEmpty()
+                && ticketRepository.markUsed(ticketId, from, resolve(USED), LocalDateTime.now()) == 1;
+    }
+
+    @Override
+    @Transactional
+    public boolean markUsedByQr(Long ticketId, String qrCode, Collection<String> fromStatuses) {
+        return qrCode != null && markUsedByQrDigest(ticketId, QrDigest.of(qrCode), fromStatuses);
+    }
+
+    @Override
+    @Transactional
+    public boolean markUsedByQrDigest(Long ticketId, byte[] qrDigest, Collection<String> fromStatuses) {
+        List<TicketStatus> from = resolveSources(fromStatuses, USED);
+        return !from.isEmpty() && ticketRepository.markUsedByIdAndQrDigest(
+                ticketId, qrDigest, from, resolve(USED), LocalDateTime.now()) == 1;
+    }
+
+    @Override
+    @Transactional
+    public boolean markUsedByIdentificationCode(String identificationCode, Collection<String> fromStatuses) {
+        List<TicketStatus> from = resolveSources(fromStatuses, USED);
+        return !from.isEmpty() && ticketRepository.markUsedByIdentificationCode(
+                identificationCode, from, resolve(USED), LocalDateTime.now()) == 1;
+    }
+
+    @Override
+    @Transactional
+    public boolean transfer(Long ticketId, Long currentOwnerId, User newOwner,
+                            String firstName, String lastName, String dni, String qrCode) {
+        List<TicketStatus> from = new ArrayList<>();
+        for (String status : TRANSFERABLE_STATUSES) {
+            lookupRegistry.findTicketStatus(status).ifPresent(from::add);
+        }
+        return !from.isEmpty() && ticketRepository.transferOwnership(ticketId, currentOwnerId, from, newOwner,
+                firstName, lastName, dni, qrCode, QrDigest.of(qrCode), LocalDateTime.now()) == 1;
+    }
+
+    /**
+     * Resuelve los estados de origen, validando cada par contra la tabla de transiciones.
+     * Los estados que no existen en la base se omiten (ningún ticket puede estar en ellos).
+     */
+    private List<TicketStatus> resolveSources(Collection<String> fromStatuses, String toStatus) {
+        List<TicketStatus> statuses = new ArrayList<>(fromStatuses.size());
+        for (String fromStatus : fromStatuses) {
+            if (!TicketTransitionService.isAllowed(fromStatus, toStatus)) {
+                throw new IllegalArgumentException("Ticket transition not allowed: " + fromStatus + " -> " + toStatus);
+            }
+            lookupRegistry.findTicketStatus(fromStatus).ifPresent(statuses::add);
+        }
+        return statuses;
+    }
+
+    private TicketStatus resolve(String name) {
+        return lookupRegistry.findTicketStatus(name)
+                .orElseThrow(() -> new EntityNotFoundException("Ticket status '" + name + "' not found"));
+    }
+}
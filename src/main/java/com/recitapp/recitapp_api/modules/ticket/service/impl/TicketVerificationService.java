@@ -1,29 +1,34 @@
 package com.recitapp.recitapp_api.modules.ticket.service.impl;
 
 import com.recitapp.recitapp_api.common.exception.EntityNotFoundException;
-import com.recitapp.recitapp_api.common.exception.RecitappException;
+import com.recitapp.recitapp_api.common.util.QrDigest;
+import com.recitapp.recitapp_api.common.util.TicketToken;
 import com.recitapp.recitapp_api.modules.event.entity.AccessPoint;
 import com.recitapp.recitapp_api.modules.event.entity.Event;
 import com.recitapp.recitapp_api.modules.event.repository.AccessPointRepository;
 import com.recitapp.recitapp_api.modules.event.repository.EventRepository;
+import com.recitapp.recitapp_api.modules.ticket.dto.TicketTokenVerificationRequestDTO;
 import com.recitapp.recitapp_api.modules.ticket.dto.TicketVerificationRequestDTO;
 import com.recitapp.recitapp_api.modules.ticket.dto.TicketVerificationResponseDTO;
 import com.recitapp.recitapp_api.modules.ticket.entity.Ticket;
-import com.recitapp.recitapp_api.modules.ticket.entity.TicketStatus;
 import com.recitapp.recitapp_api.modules.ticket.entity.TicketVerification;
 import com.recitapp.recitapp_api.modules.ticket.repository.TicketRepository;
-import com.recitapp.recitapp_api.modules.ticket.repository.TicketStatusRepository;
 import com.recitapp.recitapp_api.modules.ticket.repository.TicketVerificationRepository;
+import com.recitapp.recitapp_api.modules.ticket.service.TicketTokenService;
+import com.recitapp.recitapp_api.modules.ticket.service.TicketTransitionService;
 import com.recitapp.recitapp_api.modules.user.entity.User;
 import com.recitapp.recitapp_api.modules.user.repository.UserRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
 import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
+import java.util.function.BooleanSupplier;
 
 /**
  * Service for verifying tickets at event access points
@@ -33,12 +38,18 @@ import java.util.Optional;
 @Slf4j
 public class TicketVerificationService {
 
+    // Statuses that allow entering the event
+    private static final List<String> VALID_ENTRY_STATUSES = List.of("VENDIDA", "REGALO");
+
     private final TicketRepository ticketRepository;
-    private final TicketStatusRepository ticketStatusRepository;
+    private final TicketTransitionService ticketTransitionService;
+    private final TicketTokenService ticketTokenService;
     private final TicketVerificationRepository verificationRepository;
     private final EventRepository eventRepository;
     private final AccessPointRepository accessPointRepository;
     private final UserRepository userRepository;
+    private final UsedTicketRegistry usedTicketRegistry;
+    private final VerificationAuditWriter verificationAuditWriter;
 
     /**
      * Verifies a ticket at an access point
@@ -55,9 +66,8 @@ public class TicketVerificationService {
                         .verifierUserId(requestDTO.getVerifierUserId());
 
         try {
-            // Validate ticket exists
-            Ticket ticket = ticketRepository.findById(requestDTO.getTicketId())
-                    .orElseThrow(() -> new EntityNotFoundException("Ticket not found with ID: " + requestDTO.getTicketId()));
+            // Validate ticket exists (scanners may send only the QR, resolved through its digest index)
+            Ticket ticket = findTicket(requestDTO);
 
             // Validate event exists
             Event event = eventRepository.findById(requestDTO.getEventId())
@@ -98,13 +108,13 @@ public class TicketVerificationService {
             }
 
             // Check if ticket QR code matches - with flexibility for testing
-            if (!isQrCodeValid(ticket.getQrCode(), requestDTO.getQrCode())) {
+            if (!isQrCodeValid(ticket, requestDTO.getQrCode())) {
                 return logFailedVerification(responseBuilder, ticket, event, accessPoint, verifier,
                         "INVALID_QR", "El código QR no coincide", requestDTO.getQrCode());
             }
 
-            // Check if the ticket has already been used
-            if (verificationRepository.existsByTicketIdAndSuccessfulTrue(ticket.getId())) {
+            // Check if the ticket has already been used (in memory while the event's gates are open)
+            if (usedTicketRegistry.isUsed(event.getId(), ticket.getId())) {
                 return logFailedVerification(responseBuilder, ticket, event, accessPoint, verifier,
                         "ALREADY_USED", "El ticket ya ha sido utilizado", requestDTO.getQrCode());
             }
@@ -115,19 +125,20 @@ public class TicketVerificationService {
                         "EVENT_NOT_ACTIVE", "El evento no está activo actualmente", requestDTO.getQrCode());
             }
 
-            // All checks passed - mark the ticket as used
-            markTicketAsUsed(ticket);
+            // All checks passed - admit the ticket. The used-ticket bitmap and the conditional update
+            // on its status both let only one of two simultaneous scans win
+            if (!usedTicketRegistry.markUsed(event.getId(), ticket.getId())
+                    || !markUsedOrClear(event.getId(), ticket.getId(),
+                            () -> ticketTransitionService.markUsed(ticket.getId(), VALID_ENTRY_STATUSES))) {
+                return logFailedVerification(responseBuilder, ticket, event, accessPoint, verifier,
+                        "ALREADY_USED", "El ticket ya ha sido utilizado", requestDTO.getQrCode());
+            }
 
-            // Create successful verification record
-            TicketVerification verification = new TicketVerification();
-            verification.setTicket(ticket);
-            verification.setEvent(event);
-            verification.setAccessPoint(accessPoint);
-            verification.setVerifier(verifier);
-            verification.setVerificationTime(LocalDateTime.now());
-            verification.setSuccessful(true);
-            verification.setQrCodeUsed(requestDTO.getQrCode());
-            verificationRepository.save(verification);
+            // Create successful verification record (written in batches after commit; the status
+            // change above is what makes the admission durable)
+            verificationAuditWriter.record(new VerificationAuditWriter.Entry(ticket.getId(), event.getId(),
+                    accessPoint.getId(), verifier.getId(), LocalDateTime.now(), true,
+                    null, null, requestDTO.getQrCode()));
 
             // Return successful response
             return responseBuilder
@@ -164,6 +175,179 @@ public class TicketVerificationService {
         }
     }
 
+    /**
+     * Authenticates a signed QR token without touching the database: signature, event and
+     * validity window are checked with the event key only. The ticket is not marked as used.
+     *
+     * @param requestDTO The token verification request
+     * @return The verification result
+     */
+    public TicketVerificationResponseDTO authenticateToken(TicketTokenVerificationRequestDTO requestDTO) {
+        TicketVerificationResponseDTO.TicketVerificationResponseDTOBuilder responseBuilder = tokenResponse(requestDTO);
+
+        TicketToken.Claims claims;
+        try {
+            claims = ticketTokenService.authenticate(requestDTO.getToken(), requestDTO.getEventId());
+        } catch (TicketToken.InvalidTokenException e) {
+            return rejectToken(responseBuilder, e);
+        }
+
+        return withClaims(responseBuilder, claims)
+                .valid(true)
+                .status("AUTHENTICATED")
+                .message("Entrada auténtica")
+                .build();
+    }
+
+    /**
+     * Verifies a signed QR token and admits the ticket. The token is authenticated without database
+     * reads; the only stateful step is the conditional update that marks the ticket as used, which
+     * also fails if the ticket's QR was replaced (for example by a transfer) after the token was issued.
+     *
+     * @param requestDTO The token verification request
+     * @return The verification result
+     */
+    public TicketVerificationResponseDTO verifyToken(TicketTokenVerificationRequestDTO requestDTO) {
+        TicketVerificationResponseDTO.TicketVerificationResponseDTOBuilder responseBuilder = tokenResponse(requestDTO);
+
+        TicketToken.Claims claims;
+        try {
+            claims = ticketTokenService.authenticate(requestDTO.getToken(), requestDTO.getEventId());
+        } catch (TicketToken.InvalidTokenException e) {
+            return rejectToken(responseBuilder, e);
+        }
+        withClaims(responseBuilder, claims);
+
+        try {
+            // Duplicates are rejected by the used-ticket bitmap without touching the database
+            if (!usedTicketRegistry.markUsed(requestDTO.getEventId(), claims.ticketId())) {
+                recordTokenVerification(requestDTO, claims, "ALREADY_USED", "El ticket ya ha sido utilizado");
+                return responseBuilder
+                        .valid(false)
+                        .status("ERROR")
+                        .message("Verificación fallida: El ticket ya ha sido utilizado")
+                        .errorCode("ALREADY_USED")
+                        .errorDetails("El ticket ya ha sido utilizado")
+                        .build();
+            }
+
+            if (markUsedOrClear(requestDTO.getEventId(), claims.ticketId(), () -> ticketTransitionService
+                    .markUsedByQrDigest(claims.ticketId(), claims.qrDigest(), VALID_ENTRY_STATUSES))) {
+                recordTokenVerification(requestDTO, claims, null, null);
+                return responseBuilder
+                        .valid(true)
+                        .status("SUCCESS")
+                        .message("Ticket verificado correctamente")
+                        .build();
+            }
+
+            // Rejected: read the current status only to explain why
+            String errorCode;
+            String errorMessage;
+            List<Object[]> statuses = ticketRepository.findStatusNamesByIds(List.of(claims.ticketId()));
+            String status = statuses.isEmpty() ? null : (String) statuses.get(0)[1];
+            if ("USADA".equals(status)) {
+                errorCode = "ALREADY_USED";
+                errorMessage = "El ticket ya ha sido utilizado";
+            } else if (VALID_ENTRY_STATUSES.contains(status)) {
+                usedTicketRegistry.clear(requestDTO.getEventId(), claims.ticketId());
+                errorCode = "TOKEN_REVOKED";
+                errorMessage = "El código QR fue reemplazado; la entrada fue transferida";
+            } else {
+                usedTicketRegistry.clear(requestDTO.getEventId(), claims.ticketId());
+                errorCode = "INVALID_TICKET_STATUS";
+                errorMessage = "Estado del ticket inválido: " + status;
+            }
+
+            recordTokenVerification(requestDTO, claims, errorCode, errorMessage);
+            return responseBuilder
+                    .valid(false)
+                    .status("ERROR")
+                    .message("Verificación fallida: " + errorMessage)
+                    .errorCode(errorCode)
+                    .errorDetails(errorMessage)
+                    .build();
+        } catch (Exception e) {
+            log.error("Error during ticket token verification", e);
+            return responseBuilder
+                    .valid(false)
+                    .status("ERROR")
+                    .message("Error durante la verificación del ticket")
+                    .errorCode("VERIFICATION_ERROR")
+                    .errorDetails(e.getMessage())
+                    .build();
+        }
+    }
+
+    /**
+     * Runs the database update of an admission already marked in the used-ticket bitmap,
+     * removing the mark if the update fails, or if the surrounding transaction does not commit,
+     * so the ticket can be scanned again
+     */
+    private boolean markUsedOrClear(Long eventId, Long ticketId, BooleanSupplier update) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    if (status != STATUS_COMMITTED) {
+                        usedTicketRegistry.clear(eventId, ticketId);
+                    }
+                }
+            });
+        }
+
+        try {
+            return update.getAsBoolean();
+        } catch (RuntimeException e) {
+            usedTicketRegistry.clear(eventId, ticketId);
+            throw e;
+        }
+    }
+
+    private TicketVerificationResponseDTO.TicketVerificationResponseDTOBuilder tokenResponse(
+            TicketTokenVerificationRequestDTO requestDTO) {
+        return TicketVerificationResponseDTO.builder()
+                .verificationTime(LocalDateTime.now())
+                .eventId(requestDTO.getEventId())
+                .accessPointId(requestDTO.getAccessPointId())
+                .verifierUserId(requestDTO.getVerifierUserId());
+    }
+
+    private TicketVerificationResponseDTO.TicketVerificationResponseDTOBuilder withClaims(
+            TicketVerificationResponseDTO.TicketVerificationResponseDTOBuilder responseBuilder,
+            TicketToken.Claims claims) {
+        return responseBuilder
+                .ticketId(claims.ticketId())
+                .sectionId(claims.sectionId() != 0 ? claims.sectionId() : null);
+    }
+
+    private TicketVerificationResponseDTO rejectToken(
+            TicketVerificationResponseDTO.TicketVerificationResponseDTOBuilder responseBuilder,
+            TicketToken.InvalidTokenException e) {
+        return responseBuilder
+                .valid(false)
+                .status("ERROR")
+                .message("Verificación fallida: " + e.getMessage())
+                .errorCode(e.getErrorCode())
+                .errorDetails(e.getMessage())
+                .build();
+    }
+
+    /**
+     * Logs a token verification using IDs only, so no entity is loaded
+     */
+    private void recordTokenVerification(TicketTokenVerificationRequestDTO requestDTO, TicketToken.Claims claims,
+                                         String errorCode, String errorMessage) {
+        try {
+            verificationAuditWriter.record(new VerificationAuditWriter.Entry(claims.ticketId(),
+                    requestDTO.getEventId(), requestDTO.getAccessPointId(), requestDTO.getVerifierUserId(),
+                    LocalDateTime.now(), errorCode == null, errorCode, errorMessage, requestDTO.getToken()));
+        } catch (Exception e) {
+            log.error("Error logging token verification of ticket {}", claims.ticketId(), e);
+            // The admission stands even if logging fails
+        }
+    }
+
     /**
      * Finds an existing access point or creates a default one
      *
@@ -196,18 +380,33 @@ public class TicketVerificationService {
         return accessPointRepository.save(newAccessPoint);
     }
 
+    /**
+     * Finds the ticket of a verification request by ID, or by QR digest when no ID is given
+     */
+    private Ticket findTicket(TicketVerificationRequestDTO requestDTO) {
+        if (requestDTO.getTicketId() != null) {
+            return ticketRepository.findById(requestDTO.getTicketId())
+                    .orElseThrow(() -> new EntityNotFoundException("Ticket not found with ID: " + requestDTO.getTicketId()));
+        }
+        return ticketRepository.findByQrCode(requestDTO.getQrCode())
+                .orElseThrow(() -> new EntityNotFoundException("Ticket not found for the given QR code"));
+    }
+
     /**
      * Validates if the QR code provided matches the ticket's QR code
      * Includes special handling for test/development environments
      */
-    private boolean isQrCodeValid(String ticketQrCode, String providedQrCode) {
+    private boolean isQrCodeValid(Ticket ticket, String providedQrCode) {
+        String ticketQrCode = ticket.getQrCode();
+
         // If either is null, they can't match
         if (ticketQrCode == null || providedQrCode == null) {
             return false;
         }
 
-        // Exact match - ideal case
-        if (ticketQrCode.equals(providedQrCode)) {
+        // Exact match - ideal case, compared through the fixed-width digest
+        byte[] ticketDigest = ticket.getQrDigest() != null ? ticket.getQrDigest() : QrDigest.of(ticketQrCode);
+        if (QrDigest.matches(ticketDigest, providedQrCode)) {
             return true;
         }
 
@@ -248,17 +447,9 @@ public class TicketVerificationService {
 
         try {
             // Log the failed verification
-            TicketVerification verification = new TicketVerification();
-            verification.setTicket(ticket);
-            verification.setEvent(event);
-            verification.setAccessPoint(accessPoint);
-            verification.setVerifier(verifier);
-            verification.setVerificationTime(LocalDateTime.now());
-            verification.setSuccessful(false);
-            verification.setErrorCode(errorCode);
-            verification.setErrorMessage(errorMessage);
-            verification.setQrCodeUsed(qrCode);
-            verificationRepository.save(verification);
+            verificationAuditWriter.record(new VerificationAuditWriter.Entry(ticket.getId(), event.getId(),
+                    accessPoint.getId(), verifier.getId(), LocalDateTime.now(), false,
+                    errorCode, errorMessage, qrCode));
         } catch (Exception e) {
             log.error("Error logging verification failure", e);
             // Continue even if logging fails
@@ -285,8 +476,7 @@ public class TicketVerificationService {
      * @return true if the ticket has a valid status
      */
     private boolean isValidTicketStatus(Ticket ticket) {
-        String status = ticket.getStatus().getName();
-        return "VENDIDA".equals(status) || "REGALO".equals(status);
+        return VALID_ENTRY_STATUSES.contains(ticket.getStatus().getName());
     }
 
     /**
@@ -310,24 +500,6 @@ public class TicketVerificationService {
                 !"FINALIZADO".equals(status);
     }
 
-    /**
-     * Marks a ticket as used by changing its status
-     *
-     * @param ticket The ticket to mark as used
-     */
-    private void markTicketAsUsed(Ticket ticket) {
-        // Get "USADA" status
-        TicketStatus usedStatus = ticketStatusRepository.findByName("USADA")
-                .orElseThrow(() -> new RecitappException("Ticket status 'USADA' not found"));
-
-        // Update ticket status
-        ticket.setStatus(usedStatus);
-        ticket.setUseDate(LocalDateTime.now());
-        ticket.setUpdatedAt(LocalDateTime.now());
-
-        ticketRepository.save(ticket);
-    }
-
     /**
      * Gets verification history for a ticket
      *
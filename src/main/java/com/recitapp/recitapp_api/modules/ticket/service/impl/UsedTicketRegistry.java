@@ -0,0 +1,240 @@
+package com.recitapp.recitapp_api.modules.ticket.service.impl;
+
+import com.recitapp.recitapp_api.common.exception.EntityNotFoundException;
+import com.recitapp.recitapp_api.common.exception.RecitappException;
+import com.recitapp.recitapp_api.modules.event.repository.EventRepository;
+import com.recitapp.recitapp_api.modules.ticket.repository.TicketRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.connection.StringRedisConnection;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Tickets ya admitidos de cada evento con el acceso abierto, en un mapa de bits por evento.
+ * Responde "¿ya se usó?" sin consultar la base de datos; la base sigue registrando cada ingreso.
+ * <p>
+ * Con {@code mode=local} el mapa vive en memoria y vale para una sola instancia. Con {@code mode=redis}
+ * los bits se comparten entre nodos en Redis (bloques de 65.536 IDs, SETBIT devuelve el bit anterior,
+ * así que solo un nodo gana cada ticket); la memoria local guarda los tickets admitidos por este nodo
+ * para rechazar sus reingresos sin ir a Redis.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class UsedTicketRegistry {
+
+    private static final String KEY_PREFIX = "recitapp:gate:used:";
+    private static final String USED = "USADA";
+
+    private final TicketRepository ticketRepository;
+    private final EventRepository eventRepository;
+    private final ObjectProvider<StringRedisTemplate> redisTemplateProvider;
+
+    @Value("${recitapp.gate.used-registry.mode:local}")
+    private String mode;
+
+    @Value("${recitapp.gate.used-registry.redis.ttl-hours:48}")
+    private long ttlHours;
+
+    // Cada cuánto un nodo vuelve a consultar en Redis si el acceso del evento sigue abierto
+    @Value("${recitapp.gate.used-registry.redis.recheck-ms:5000}")
+    private long recheckMs;
+
+    private final Map<Long, EventState> events = new ConcurrentHashMap<>();
+
+    /**
+     * Abre el acceso del evento cargando los tickets que ya figuran como usados
+     *
+     * @return Resumen del registro del evento
+     */
+    public Map<String, Object> open(Long eventId) {
+        if (!eventRepository.existsById(eventId)) {
+            throw new EntityNotFoundException("Event not found with ID: " + eventId);
+        }
+
+        List<Long> usedTicketIds = ticketRepository.findTicketIdsByEventAndStatus(eventId, USED);
+        EventState state = new EventState();
+        for (Long ticketId : usedTicketIds) {
+            state.bits.add(ticketId);
+        }
+
+        if (isRedisMode()) {
+            StringRedisTemplate redisTemplate = redisTemplate();
+            Duration ttl = Duration.ofHours(ttlHours);
+            redisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+                StringRedisConnection redis = (StringRedisConnection) connection;
+                for (Long ticketId : usedTicketIds) {
+                    String key = chunkKey(eventId, ticketId);
+                    redis.setBit(key, TicketIdBitmap.offset(ticketId), true);
+                    redis.expire(key, ttl.getSeconds());
+                }
+                redis.set(openKey(eventId), String.valueOf(System.currentTimeMillis()));
+                redis.expire(openKey(eventId), ttl.getSeconds());
+                return null;
+            });
+        }
+
+        state.open = true;
+        state.checkedAt = System.currentTimeMillis();
+        events.put(eventId, state);
+        log.info("Acceso del evento {} abierto con {} tickets ya usados", eventId, usedTicketIds.size());
+        return getSummary(eventId);
+    }
+
+    /**
+     * Cierra el acceso del evento y libera su mapa de bits
+     */
+    public Map<String, Object> close(Long eventId) {
+        Map<String, Object> summary = getSummary(eventId);
+        events.remove(eventId);
+        if (isRedisMode()) {
+            // Los bloques de bits vencen solos a las ttl-hours
+            redisTemplate().delete(openKey(eventId));
+        }
+        summary.put("open", false);
+        log.info("Acceso del evento {} cerrado", eventId);
+        return summary;
+    }
+
+    public boolean isOpen(Long eventId) {
+        EventState state = events.get(eventId);
+        if (!isRedisMode()) {
+            return state != null && state.open;
+        }
+
+        long now = System.currentTimeMillis();
+        if (state != null && now - state.checkedAt < recheckMs) {
+            return state.open;
+        }
+
+        // Otro nodo pudo abrir o cerrar el acceso
+        boolean open;
+        try {
+            open = Boolean.TRUE.equals(redisTemplate().hasKey(openKey(eventId)));
+        } catch (Exception e) {
+            log.warn("No se pudo consultar el acceso del evento {} en Redis: {}", eventId, e.getMessage());
+            return false;
+        }
+        EventState current = events.computeIfAbsent(eventId, id -> new EventState());
+        current.open = open;
+        current.checkedAt = now;
+        return open;
+    }
+
+    /**
+     * Indica si el ticket ya fue admitido. Sin el acceso abierto devuelve false.
+     */
+    public boolean isUsed(Long eventId, Long ticketId) {
+        if (!isOpen(eventId)) {
+            return false;
+        }
+        EventState state = events.get(eventId);
+        if (state != null && state.bits.contains(ticketId)) {
+            return true;
+        }
+        return isRedisMode() && Boolean.TRUE.equals(redisTemplate().opsForValue()
+                .getBit(chunkKey(eventId, ticketId), TicketIdBitmap.offset(ticketId)));
+    }
+
+    /**
+     * Marca el ticket como admitido. Solo una llamada por ticket devuelve true, aunque lleguen a la
+     * vez desde distintos accesos o nodos.
+     *
+     * @return true si el ticket no estaba admitido, o si el acceso del evento no está abierto
+     *         (la decisión queda en la actualización condicional de la base)
+     */
+    public boolean markUsed(Long eventId, Long ticketId) {
+        if (!isOpen(eventId)) {
+            return true;
+        }
+        EventState state = events.get(eventId);
+        if (state == null) {
+            return true;
+        }
+        if (state.bits.contains(ticketId)) {
+            return false;
+        }
+
+        if (!isRedisMode()) {
+            return state.bits.add(ticketId);
+        }
+
+        String key = chunkKey(eventId, ticketId);
+        List<Object> results = redisTemplate().executePipelined((RedisCallback<Object>) connection -> {
+            StringRedisConnection redis = (StringRedisConnection) connection;
+            redis.setBit(key, TicketIdBitmap.offset(ticketId), true);
+            redis.expire(key, Duration.ofHours(ttlHours).getSeconds());
+            return null;
+        });
+        boolean wasUsed = Boolean.TRUE.equals(results.get(0));
+        if (!wasUsed) {
+            state.bits.add(ticketId);
+        }
+        return !wasUsed;
+    }
+
+    /**
+     * Deshace la marca de un ticket cuya admisión rechazó la base de datos (por ejemplo, un QR
+     * reemplazado por una transferencia), para que el titular actual pueda ingresar
+     */
+    public void clear(Long eventId, Long ticketId) {
+        EventState state = events.get(eventId);
+        if (state != null) {
+            state.bits.remove(ticketId);
+        }
+        if (isRedisMode() && state != null && state.open) {
+            redisTemplate().opsForValue().setBit(chunkKey(eventId, ticketId), TicketIdBitmap.offset(ticketId), false);
+        }
+    }
+
+    public Map<String, Object> getSummary(Long eventId) {
+        EventState state = events.get(eventId);
+
+        Map<String, Object> summary = new HashMap<>();
+        summary.put("eventId", eventId);
+        summary.put("mode", mode);
+        summary.put("open", isOpen(eventId));
+        if (state != null) {
+            // En modo redis: tickets cargados al abrir o admitidos por este nodo
+            summary.put("usedTickets", state.bits.cardinality());
+            summary.put("bitmapChunks", state.bits.chunkCount());
+        }
+        return summary;
+    }
+
+    private boolean isRedisMode() {
+        return "redis".equalsIgnoreCase(mode);
+    }
+
+    private StringRedisTemplate redisTemplate() {
+        StringRedisTemplate redisTemplate = redisTemplateProvider.getIfAvailable();
+        if (redisTemplate == null) {
+            throw new RecitappException("recitapp.gate.used-registry.mode=redis requiere spring.data.redis.*");
+        }
+        return redisTemplate;
+    }
+
+    private static String openKey(Long eventId) {
+        return KEY_PREFIX + eventId + ":open";
+    }
+
+    private static String chunkKey(Long eventId, Long ticketId) {
+        return KEY_PREFIX + eventId + ":" + TicketIdBitmap.chunk(ticketId);
+    }
+
+    private static final class EventState {
+        private final TicketIdBitmap bits = new TicketIdBitmap();
+        private volatile boolean open;
+        private volatile long checkedAt;
+    }
+}
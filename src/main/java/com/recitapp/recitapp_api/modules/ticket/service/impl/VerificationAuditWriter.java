@@ -0,0 +1,243 @@
+package com.recitapp.recitapp_api.modules.ticket.service.impl;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Escribe en segundo plano el historial de verificaciones (ticket_verifications) con INSERT en batch.
+ * Las lecturas se encolan en memoria y se escriben cada {@code flush-interval-ms} o al juntar
+ * {@code flush-size}. Un ingreso ya queda registrado por el cambio de estado del ticket a USADA:
+ * el historial es solo auditoría y puede llegar a la base unos milisegundos después.
+ * <p>
+ * Con la cola llena se aplica {@code overflow-policy}: caller-runs (la solicitud escribe su registro),
+ * block (espera lugar hasta {@code offer-timeout-ms} y luego escribe) o drop (se descarta y se cuenta).
+ * Al detener la aplicación se escribe todo lo pendiente.
+ */
+@Component
+@Slf4j
+public class VerificationAuditWriter {
+
+    private static final String INSERT_SQL =
+            "INSERT INTO ticket_verifications (ticket_id, event_id, access_point_id, verifier_id, " +
+            "verification_time, successful, error_code, error_message, qr_code_used) " +
+            "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?)";
+    private static final int QR_CODE_LENGTH = 500;
+
+    enum OverflowPolicy {
+        CALLER_RUNS, BLOCK, DROP
+    }
+
+    /**
+     * Registro de una verificación, con IDs en lugar de entidades
+     */
+    public record Entry(Long ticketId, Long eventId, Long accessPointId, Long verifierId,
+                        LocalDateTime verificationTime, boolean successful,
+                        String errorCode, String errorMessage, String qrCodeUsed) {
+    }
+
+    private final JdbcTemplate jdbcTemplate;
+    private final int flushSize;
+    private final long flushIntervalMs;
+    private final long offerTimeoutMs;
+    private final OverflowPolicy overflowPolicy;
+    private final BlockingQueue<Entry> queue;
+    private final AtomicBoolean flushRequested = new AtomicBoolean();
+
+    private final Counter written;
+    private final Counter failed;
+    private final Counter dropped;
+    private final Counter callerRuns;
+
+    private ScheduledExecutorService executor;
+    private volatile boolean stopped;
+
+    public VerificationAuditWriter(JdbcTemplate jdbcTemplate,
+                                   MeterRegistry meterRegistry,
+                                   @Value("${recitapp.verification.audit.capacity:10000}") int capacity,
+                                   @Value("${recitapp.verification.audit.flush-size:500}") int flushSize,
+                                   @Value("${recitapp.verification.audit.flush-interval-ms:200}") long flushIntervalMs,
+                                   @Value("${recitapp.verification.audit.overflow-policy:caller-runs}") String overflowPolicy,
+                                   @Value("${recitapp.verification.audit.offer-timeout-ms:100}") long offerTimeoutMs) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.flushSize = flushSize;
+        this.flushIntervalMs = flushIntervalMs;
+        this.offerTimeoutMs = offerTimeoutMs;
+        this.overflowPolicy = OverflowPolicy.valueOf(overflowPolicy.trim().toUpperCase().replace('-', '_'));
+        this.queue = new ArrayBlockingQueue<>(capacity);
+
+        Gauge.builder("recitapp.verification.audit.queue", queue, BlockingQueue::size).register(meterRegistry);
+        this.written = meterRegistry.counter("recitapp.verification.audit.records", "outcome", "written");
+        this.failed = meterRegistry.counter("recitapp.verification.audit.records", "outcome", "failed");
+        this.dropped = meterRegistry.counter("recitapp.verification.audit.records", "outcome", "dropped");
+        this.callerRuns = meterRegistry.counter("recitapp.verification.audit.records", "outcome", "caller-runs");
+    }
+
+    @PostConstruct
+    public void start() {
+        executor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "verification-audit-writer");
+            thread.setDaemon(true);
+            return thread;
+        });
+        executor.scheduleWithFixedDelay(this::flushQuietly, flushIntervalMs, flushIntervalMs, TimeUnit.MILLISECONDS);
+        log.info("Historial de verificaciones con escritura diferida (lotes de {}, cada {} ms, cola llena: {})",
+                flushSize, flushIntervalMs, overflowPolicy);
+    }
+
+    @PreDestroy
+    public void stop() {
+        stopped = true;
+        executor.shutdown();
+        try {
+            executor.awaitTermination(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        flush();
+        log.info("Historial de verificaciones: pendientes escritos al detener la aplicación");
+    }
+
+    /**
+     * Encola el registro de una verificación. Dentro de una transacción se encola al confirmarse,
+     * para no escribir referencias (por ejemplo, un punto de acceso recién creado) que todavía no existen.
+     */
+    public void record(Entry entry) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            enqueue(entry);
+            return;
+        }
+
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                enqueue(entry);
+            }
+        });
+    }
+
+    /**
+     * Escribe los registros en el momento, con un único INSERT en batch (por ejemplo, dentro de la
+     * transacción de un lote de lecturas que ya está agrupado)
+     */
+    public void writeNow(List<Entry> entries) {
+        if (!entries.isEmpty()) {
+            jdbcTemplate.batchUpdate(INSERT_SQL, entries, entries.size(), VerificationAuditWriter::bind);
+            written.increment(entries.size());
+        }
+    }
+
+    /**
+     * Escribe todo lo encolado en lotes de {@code flush-size}
+     */
+    public synchronized void flush() {
+        flushRequested.set(false);
+        List<Entry> batch = new ArrayList<>(flushSize);
+        while (queue.drainTo(batch, flushSize) > 0) {
+            write(batch);
+            batch.clear();
+        }
+    }
+
+    private void enqueue(Entry entry) {
+        if (stopped) {
+            write(List.of(entry));
+            return;
+        }
+
+        if (!queue.offer(entry)) {
+            switch (overflowPolicy) {
+                case DROP -> {
+                    dropped.increment();
+                    log.debug("Cola del historial llena: se descarta la verificación del ticket {}", entry.ticketId());
+                    return;
+                }
+                case BLOCK -> {
+                    try {
+                        if (queue.offer(entry, offerTimeoutMs, TimeUnit.MILLISECONDS)) {
+                            break;
+                        }
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+                    callerRuns.increment();
+                    write(List.of(entry));
+                    return;
+                }
+                case CALLER_RUNS -> {
+                    callerRuns.increment();
+                    write(List.of(entry));
+                    return;
+                }
+            }
+        }
+
+        if (queue.size() >= flushSize && flushRequested.compareAndSet(false, true)) {
+            executor.execute(this::flushQuietly);
+        }
+    }
+
+    /**
+     * Escribe un lote; si falla se reintenta registro por registro para no perder los válidos
+     */
+    private void write(List<Entry> batch) {
+        try {
+            writeNow(batch);
+        } catch (DataAccessException e) {
+            log.warn("Error escribiendo {} verificaciones en lote, se reintentan de a una: {}", batch.size(), e.getMessage());
+            for (Entry entry : batch) {
+                try {
+                    jdbcTemplate.update(INSERT_SQL, statement -> bind(statement, entry));
+                    written.increment();
+                } catch (DataAccessException single) {
+                    failed.increment();
+                    log.error("No se pudo registrar la verificación del ticket {}: {}", entry.ticketId(), single.getMessage());
+                }
+            }
+        }
+    }
+
+    private void flushQuietly() {
+        try {
+            flush();
+        } catch (Exception e) {
+            log.error("Error en la escritura diferida del historial de verificaciones", e);
+        }
+    }
+
+    private static void bind(PreparedStatement statement, Entry entry) throws SQLException {
+        statement.setLong(1, entry.ticketId());
+        statement.setLong(2, entry.eventId());
+        statement.setLong(3, entry.accessPointId());
+        statement.setLong(4, entry.verifierId());
+        statement.setTimestamp(5, Timestamp.valueOf(entry.verificationTime()));
+        statement.setBoolean(6, entry.successful());
+        statement.setString(7, entry.errorCode());
+        statement.setString(8, entry.errorMessage());
+        String qrCodeUsed = entry.qrCodeUsed();
+        statement.setString(9, qrCodeUsed != null && qrCodeUsed.length() > QR_CODE_LENGTH
+                ? qrCodeUsed.substring(0, QR_CODE_LENGTH) : qrCodeUsed);
+    }
+}
@@ -4,7 +4,10 @@ import com.recitapp.recitapp_api.modules.ticket.entity.Ticket;
 import jakarta.persistence.*;
 import lombok.AllArgsConstructor;
 import lombok.Data;
+import lombok.EqualsAndHashCode;
 import lombok.NoArgsConstructor;
+import lombok.ToString;
+import org.springframework.data.domain.Persistable;
 
 import java.io.Serializable;
 import java.math.BigDecimal;
@@ -15,7 +18,7 @@ import java.util.Objects;
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
-public class TransactionDetail {
+public class TransactionDetail implements Persistable<TransactionDetail.TransactionDetailId> {
 
     @EmbeddedId
     private TransactionDetailId id;
@@ -33,6 +36,25 @@ public class TransactionDetail {
     @Column(name = "unit_price", nullable = false, precision = 10, scale = 2)
     private BigDecimal unitPrice;
 
+    /**
+     * El ID es asignado, así que sin este flag saveAll() haría un SELECT por detalle antes del INSERT
+     */
+    @Transient
+    @EqualsAndHashCode.Exclude
+    @ToString.Exclude
+    private boolean newEntity = true;
+
+    @Override
+    public boolean isNew() {
+        return newEntity;
+    }
+
+    @PostLoad
+    @PostPersist
+    protected void markNotNew() {
+        newEntity = false;
+    }
+
     @Embeddable
     @Data
     @NoArgsConstructor
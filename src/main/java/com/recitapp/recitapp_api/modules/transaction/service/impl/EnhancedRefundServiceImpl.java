@@ -1,5 +1,6 @@
 package com.recitapp.recitapp_api.modules.transaction.service.impl;
 
+import com.recitapp.recitapp_api.common.lookup.LookupRegistry;
 import com.recitapp.recitapp_api.common.exception.EntityNotFoundException;
 import com.recitapp.recitapp_api.common.exception.RecitappException;
 import com.recitapp.recitapp_api.modules.payment.dto.RefundResponseDTO;
@@ -7,7 +8,7 @@ import com.recitapp.recitapp_api.modules.payment.service.MercadoPagoRefundServic
 import com.recitapp.recitapp_api.modules.ticket.entity.Ticket;
 import com.recitapp.recitapp_api.modules.ticket.entity.TicketStatus;
 import com.recitapp.recitapp_api.modules.ticket.repository.TicketRepository;
-import com.recitapp.recitapp_api.modules.ticket.repository.TicketStatusRepository;
+import com.recitapp.recitapp_api.modules.ticket.service.SectionInventoryService;
 import com.recitapp.recitapp_api.modules.transaction.dto.EnhancedRefundRequestDTO;
 import com.recitapp.recitapp_api.modules.transaction.dto.EnhancedRefundResponseDTO;
 import com.recitapp.recitapp_api.modules.transaction.dto.WalletTransactionDTO;
@@ -16,7 +17,6 @@ import com.recitapp.recitapp_api.modules.transaction.entity.TransactionDetail;
 import com.recitapp.recitapp_api.modules.transaction.entity.TransactionStatus;
 import com.recitapp.recitapp_api.modules.transaction.repository.TransactionDetailRepository;
 import com.recitapp.recitapp_api.modules.transaction.repository.TransactionRepository;
-import com.recitapp.recitapp_api.modules.transaction.repository.TransactionStatusRepository;
 import com.recitapp.recitapp_api.modules.transaction.service.EnhancedRefundService;
 import com.recitapp.recitapp_api.modules.transaction.service.TransactionService;
 import com.recitapp.recitapp_api.modules.user.entity.User;
@@ -40,9 +40,9 @@ public class EnhancedRefundServiceImpl implements EnhancedRefundService {
 
     private final TransactionRepository transactionRepository;
     private final TransactionDetailRepository transactionDetailRepository;
-    private final TransactionStatusRepository transactionStatusRepository;
     private final TicketRepository ticketRepository;
-    private final TicketStatusRepository ticketStatusRepository;
+    private final LookupRegistry lookupRegistry;
+    private final SectionInventoryService sectionInventoryService;
     private final UserRepository userRepository;
     private final MercadoPagoRefundService mercadoPagoRefundService;
     private final TransactionService transactionService;
@@ -210,7 +210,7 @@ public class EnhancedRefundServiceImpl implements EnhancedRefundService {
     }
 
     private Transaction createRefundTransaction(Transaction originalTransaction, BigDecimal refundAmount, EnhancedRefundRequestDTO refundRequest) {
-        TransactionStatus refundedStatus = transactionStatusRepository.findByName("REEMBOLSADA")
+        TransactionStatus refundedStatus = lookupRegistry.findTransactionStatus("REEMBOLSADA")
                 .orElseThrow(() -> new EntityNotFoundException("Transaction status 'REEMBOLSADA' not found"));
 
         Transaction refundTransaction = new Transaction();
@@ -265,15 +265,22 @@ public class EnhancedRefundServiceImpl implements EnhancedRefundService {
     }
 
     private void updateTicketStatuses(List<TransactionDetail> detailsToRefund) {
-        TicketStatus canceledStatus = ticketStatusRepository.findByName("CANCELADA")
+        TicketStatus canceledStatus = lookupRegistry.findTicketStatus("CANCELADA")
                 .orElseThrow(() -> new EntityNotFoundException("Ticket status 'CANCELADA' not found"));
 
+        List<Ticket> releasedTickets = new ArrayList<>();
         for (TransactionDetail detail : detailsToRefund) {
             Ticket ticket = detail.getTicket();
+            if (SectionInventoryService.SEAT_HOLDING_STATUSES.contains(ticket.getStatus().getName())) {
+                releasedTickets.add(ticket);
+            }
             ticket.setStatus(canceledStatus);
             ticket.setUpdatedAt(LocalDateTime.now());
             ticketRepository.save(ticket);
         }
+
+        // Devolver los lugares reembolsados al inventario de la sección
+        sectionInventoryService.releaseTickets(releasedTickets);
     }
 
     private void createRefundDetails(Transaction refundTransaction, List<TransactionDetail> detailsToRefund) {
@@ -1,11 +1,12 @@
 package com.recitapp.recitapp_api.modules.transaction.service.impl;
 
+import com.recitapp.recitapp_api.common.lookup.LookupRegistry;
 import com.recitapp.recitapp_api.common.exception.EntityNotFoundException;
 import com.recitapp.recitapp_api.common.exception.RecitappException;
 import com.recitapp.recitapp_api.modules.ticket.entity.Ticket;
 import com.recitapp.recitapp_api.modules.ticket.entity.TicketStatus;
 import com.recitapp.recitapp_api.modules.ticket.repository.TicketRepository;
-import com.recitapp.recitapp_api.modules.ticket.repository.TicketStatusRepository;
+import com.recitapp.recitapp_api.modules.ticket.service.SectionInventoryService;
 import com.recitapp.recitapp_api.modules.transaction.dto.*;
 import com.recitapp.recitapp_api.modules.transaction.entity.PaymentMethod;
 import com.recitapp.recitapp_api.modules.transaction.entity.Transaction;
@@ -14,7 +15,6 @@ import com.recitapp.recitapp_api.modules.transaction.entity.TransactionStatus;
 import com.recitapp.recitapp_api.modules.transaction.repository.PaymentMethodRepository;
 import com.recitapp.recitapp_api.modules.transaction.repository.TransactionDetailRepository;
 import com.recitapp.recitapp_api.modules.transaction.repository.TransactionRepository;
-import com.recitapp.recitapp_api.modules.transaction.repository.TransactionStatusRepository;
 import com.recitapp.recitapp_api.modules.transaction.service.TransactionService;
 import com.recitapp.recitapp_api.modules.user.entity.User;
 import com.recitapp.recitapp_api.modules.user.repository.UserRepository;
@@ -38,11 +38,11 @@ public class TransactionServiceImpl implements TransactionService {
 
     private final TransactionRepository transactionRepository;
     private final TransactionDetailRepository transactionDetailRepository;
-    private final TransactionStatusRepository transactionStatusRepository;
     private final PaymentMethodRepository paymentMethodRepository;
     private final UserRepository userRepository;
     private final TicketRepository ticketRepository;
-    private final TicketStatusRepository ticketStatusRepository;
+    private final LookupRegistry lookupRegistry;
+    private final SectionInventoryService sectionInventoryService;
 
     @Override
     @Transactional
@@ -52,10 +52,10 @@ public class TransactionServiceImpl implements TransactionService {
         User user = userRepository.findById(transactionDTO.getUserId())
                 .orElseThrow(() -> new EntityNotFoundException("User not found with ID: " + transactionDTO.getUserId()));
 
-        PaymentMethod paymentMethod = paymentMethodRepository.findById(transactionDTO.getPaymentMethodId())
+        PaymentMethod paymentMethod = lookupRegistry.findPaymentMethod(transactionDTO.getPaymentMethodId())
                 .orElseThrow(() -> new EntityNotFoundException("Payment method not found with ID: " + transactionDTO.getPaymentMethodId()));
 
-        TransactionStatus status = transactionStatusRepository.findByName("INICIADA")
+        TransactionStatus status = lookupRegistry.findTransactionStatus("INICIADA")
                 .orElseThrow(() -> new EntityNotFoundException("Transaction status 'INICIADA' not found"));
 
         Transaction transaction = new Transaction();
@@ -105,7 +105,7 @@ public class TransactionServiceImpl implements TransactionService {
         Transaction transaction = transactionRepository.findById(transactionId)
                 .orElseThrow(() -> new EntityNotFoundException("Transaction not found with ID: " + transactionId));
 
-        TransactionStatus newStatus = transactionStatusRepository.findByName(statusUpdateDTO.getStatusName())
+        TransactionStatus newStatus = lookupRegistry.findTransactionStatus(statusUpdateDTO.getStatusName())
                 .orElseThrow(() -> new EntityNotFoundException("Transaction status not found: " + statusUpdateDTO.getStatusName()));
 
         transaction.setStatus(newStatus);
@@ -120,7 +120,7 @@ public class TransactionServiceImpl implements TransactionService {
         if ("COMPLETADA".equals(statusUpdateDTO.getStatusName())) {
             List<TransactionDetail> details = transactionDetailRepository.findByTransactionId(transactionId);
             if (!details.isEmpty()) {
-                TicketStatus soldStatus = ticketStatusRepository.findByName("VENDIDA")
+                TicketStatus soldStatus = lookupRegistry.findTicketStatus("VENDIDA")
                         .orElseThrow(() -> new EntityNotFoundException("Ticket status 'VENDIDA' not found"));
 
                 for (TransactionDetail detail : details) {
@@ -257,7 +257,7 @@ public class TransactionServiceImpl implements TransactionService {
                 .reduce(BigDecimal.ZERO, BigDecimal::add);
 
         // Create refund transaction
-        TransactionStatus refundedStatus = transactionStatusRepository.findByName("REEMBOLSADA")
+        TransactionStatus refundedStatus = lookupRegistry.findTransactionStatus("REEMBOLSADA")
                 .orElseThrow(() -> new EntityNotFoundException("Transaction status 'REEMBOLSADA' not found"));
 
         Transaction refundTransaction = new Transaction();
@@ -276,8 +276,9 @@ public class TransactionServiceImpl implements TransactionService {
 
         // Create refund transaction details and update ticket statuses
         List<TransactionDetail> refundDetails = new ArrayList<>();
-        TicketStatus canceledStatus = ticketStatusRepository.findByName("CANCELADA")
+        TicketStatus canceledStatus = lookupRegistry.findTicketStatus("CANCELADA")
                 .orElseThrow(() -> new EntityNotFoundException("Ticket status 'CANCELADA' not found"));
+        List<Ticket> releasedTickets = new ArrayList<>();
 
         for (TransactionDetail originalDetail : detailsToRefund) {
             // Create refund detail
@@ -295,6 +296,9 @@ public class TransactionServiceImpl implements TransactionService {
 
             // Update ticket status to CANCELADA
             Ticket ticket = originalDetail.getTicket();
+            if (SectionInventoryService.SEAT_HOLDING_STATUSES.contains(ticket.getStatus().getName())) {
+                releasedTickets.add(ticket);
+            }
             ticket.setStatus(canceledStatus);
             ticket.setUpdatedAt(LocalDateTime.now());
             ticketRepository.save(ticket);
@@ -302,6 +306,9 @@ public class TransactionServiceImpl implements TransactionService {
 
         transactionDetailRepository.saveAll(refundDetails);
 
+        // Return refunded seats to the section inventory
+        sectionInventoryService.releaseTickets(releasedTickets);
+
         // Update user's wallet balance with refund amount
         User user = originalTransaction.getUser();
         Double currentWalletBalance = user.getWalletBalance() != null ? user.getWalletBalance() : 0.0;
@@ -330,6 +337,7 @@ public class TransactionServiceImpl implements TransactionService {
         paymentMethod.setActive(paymentMethodDTO.getActive() != null ? paymentMethodDTO.getActive() : true);
 
         PaymentMethod savedPaymentMethod = paymentMethodRepository.save(paymentMethod);
+        lookupRegistry.reloadAfterCommit();
 
         return mapToPaymentMethodDTO(savedPaymentMethod);
     }
@@ -362,6 +370,7 @@ public class TransactionServiceImpl implements TransactionService {
         }
 
         PaymentMethod updatedPaymentMethod = paymentMethodRepository.save(paymentMethod);
+        lookupRegistry.reloadAfterCommit();
 
         return mapToPaymentMethodDTO(updatedPaymentMethod);
     }
@@ -386,6 +395,7 @@ public class TransactionServiceImpl implements TransactionService {
             paymentMethodRepository.delete(paymentMethod);
             log.info("Payment method ID {} deleted successfully", paymentMethodId);
         }
+        lookupRegistry.reloadAfterCommit();
     }
 
     @Override
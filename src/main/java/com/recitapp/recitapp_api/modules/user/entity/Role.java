@@ -1,12 +1,17 @@
 package com.recitapp.recitapp_api.modules.user.entity;
 
+import com.recitapp.recitapp_api.common.cache.CacheRegions;
 import jakarta.persistence.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 
 @Entity
 @Table(name = "roles")
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = CacheRegions.ROLE)
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
@@ -20,6 +20,10 @@ public class VenueSectionDTO {
     @Min(value = 1, message = "La capacidad debe ser mayor a cero")
     private Integer capacity;
     private String description;
+    @Min(value = 1, message = "La cantidad de filas debe ser mayor a cero")
+    private Integer seatRows; // Null para secciones sin asientos numerados
+    @Min(value = 1, message = "La cantidad de asientos por fila debe ser mayor a cero")
+    private Integer seatsPerRow;
     private Boolean active;
     private Long venueId;
 }
\ No newline at end of file
@@ -1,7 +1,10 @@
 package com.recitapp.recitapp_api.modules.venue.entity;
 
+import com.recitapp.recitapp_api.common.cache.CacheRegions;
 import com.recitapp.recitapp_api.modules.user.entity.User;
 import jakarta.persistence.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
@@ -12,6 +15,8 @@ import java.util.List;
 
 @Entity
 @Table(name = "venues")
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = CacheRegions.VENUE)
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
@@ -65,6 +70,7 @@ public class Venue {
     private LocalDateTime updatedAt;
 
     @OneToMany(mappedBy = "venue", cascade = CascadeType.ALL, orphanRemoval = true)
+    @Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = CacheRegions.VENUE_SECTIONS)
     private List<VenueSection> sections;
 
     @PrePersist
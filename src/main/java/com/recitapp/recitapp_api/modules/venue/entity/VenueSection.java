@@ -1,12 +1,17 @@
 package com.recitapp.recitapp_api.modules.venue.entity;
 
+import com.recitapp.recitapp_api.common.cache.CacheRegions;
 import jakarta.persistence.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 
 @Entity
 @Table(name = "venue_sections")
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = CacheRegions.VENUE_SECTION)
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
@@ -26,12 +31,26 @@ public class VenueSection {
     @Column(nullable = false)
     private Integer capacity;
 
+    // Solo para secciones con asientos numerados (filas x asientos por fila)
+    @Column(name = "seat_rows")
+    private Integer seatRows;
+
+    @Column(name = "seats_per_row")
+    private Integer seatsPerRow;
+
     @Column(columnDefinition = "TEXT")
     private String description;
 
     @Column(nullable = false)
     private Boolean active;
 
+    /**
+     * Indica si la sección vende asientos numerados
+     */
+    public boolean hasNumberedSeats() {
+        return seatRows != null && seatsPerRow != null;
+    }
+
     @PrePersist
     protected void onCreate() {
         if (active == null) {
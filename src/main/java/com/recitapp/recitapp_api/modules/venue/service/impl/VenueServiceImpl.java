@@ -12,11 +12,15 @@ import com.recitapp.recitapp_api.modules.venue.entity.VenueSection;
 import com.recitapp.recitapp_api.modules.venue.repository.VenueRepository;
 import com.recitapp.recitapp_api.modules.venue.repository.VenueSectionRepository;
 import com.recitapp.recitapp_api.modules.venue.service.VenueService;
+import jakarta.persistence.EntityManagerFactory;
 import lombok.RequiredArgsConstructor;
+import org.hibernate.Cache;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
@@ -31,6 +35,7 @@ public class VenueServiceImpl implements VenueService {
     private final VenueSectionRepository venueSectionRepository;
     private final EventRepository eventRepository;
     private final UserRepository userRepository;
+    private final EntityManagerFactory entityManagerFactory;
 
     @Override
     @Transactional
@@ -356,8 +361,10 @@ public class VenueServiceImpl implements VenueService {
         section.setCapacity(sectionDTO.getCapacity());
         section.setDescription(sectionDTO.getDescription());
         section.setActive(true);
+        applySeatLayout(section, sectionDTO);
 
         VenueSection savedSection = venueSectionRepository.save(section);
+        evictCachedSections(venueId);
 
         // Actualizar la capacidad total del recinto si no estaba especificada
         if (venue.getTotalCapacity() == null) {
@@ -380,8 +387,10 @@ public class VenueServiceImpl implements VenueService {
         section.setCapacity(sectionDTO.getCapacity());
         section.setDescription(sectionDTO.getDescription());
         section.setActive(true);
+        applySeatLayout(section, sectionDTO);
 
         VenueSection savedSection = venueSectionRepository.save(section);
+        evictCachedSections(venueId);
         return mapSectionToDTO(savedSection);
     }
 
@@ -428,8 +437,12 @@ public class VenueServiceImpl implements VenueService {
         if (sectionDTO.getActive() != null) {
             section.setActive(sectionDTO.getActive());
         }
+        if (sectionDTO.getSeatRows() != null || sectionDTO.getSeatsPerRow() != null) {
+            applySeatLayout(section, sectionDTO);
+        }
 
         VenueSection updatedSection = venueSectionRepository.save(section);
+        evictCachedSections(venueId);
 
         // Solo actualizar capacidad total si el venue no tiene capacidad especificada
         if (venue.getTotalCapacity() == null) {
@@ -457,6 +470,7 @@ public class VenueServiceImpl implements VenueService {
         }
 
         venueSectionRepository.deleteById(sectionId);
+        evictCachedSections(venueId);
 
         // Solo actualizar la capacidad total si el venue no tiene capacidad especificada
         if (venue.getTotalCapacity() == null) {
@@ -577,6 +591,27 @@ public class VenueServiceImpl implements VenueService {
         venueRepository.save(venue);
     }
 
+    /**
+     * Las secciones se guardan con su repositorio, sin pasar por la colección del recinto:
+     * al confirmar se descarta la colección en la caché de segundo nivel para que se vuelva a leer
+     */
+    private void evictCachedSections(Long venueId) {
+        Runnable evict = () -> entityManagerFactory.getCache().unwrap(Cache.class)
+                .evictCollectionData(Venue.class.getName() + ".sections", venueId);
+
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            evict.run();
+            return;
+        }
+
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                evict.run();
+            }
+        });
+    }
+
     private boolean eventHasSection(Long sectionId) {
         return venueSectionRepository.hasTicketPrices(sectionId);
     }
@@ -631,11 +666,33 @@ public class VenueServiceImpl implements VenueService {
                 .build();
     }
 
+    /**
+     * Configura los asientos numerados de la sección; la capacidad debe coincidir con filas x asientos
+     */
+    private void applySeatLayout(VenueSection section, VenueSectionDTO sectionDTO) {
+        if (sectionDTO.getSeatRows() == null && sectionDTO.getSeatsPerRow() == null) {
+            return;
+        }
+        if (sectionDTO.getSeatRows() == null || sectionDTO.getSeatsPerRow() == null) {
+            throw new RecitappException("Para asientos numerados se deben indicar las filas y los asientos por fila");
+        }
+        if (sectionDTO.getSeatRows() * sectionDTO.getSeatsPerRow() != section.getCapacity()) {
+            throw new RecitappException(String.format(
+                    "La capacidad de la sección (%d) debe ser igual a filas x asientos por fila (%d x %d)",
+                    section.getCapacity(), sectionDTO.getSeatRows(), sectionDTO.getSeatsPerRow()));
+        }
+
+        section.setSeatRows(sectionDTO.getSeatRows());
+        section.setSeatsPerRow(sectionDTO.getSeatsPerRow());
+    }
+
     private VenueSectionDTO mapSectionToDTO(VenueSection section) {
         return VenueSectionDTO.builder()
                 .id(section.getId())
                 .name(section.getName())
                 .capacity(section.getCapacity())
+                .seatRows(section.getSeatRows())
+                .seatsPerRow(section.getSeatsPerRow())
                 .description(section.getDescription())
                 .active(section.getActive())
                 .venueId(section.getVenue().getId())
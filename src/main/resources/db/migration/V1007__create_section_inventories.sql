@@ -0,0 +1,18 @@
+-- Contadores de inventario por evento y sección
+-- Las compras reservan lugares con un UPDATE condicional sobre esta tabla
+-- en lugar de contar la tabla tickets en cada compra
+
+CREATE TABLE IF NOT EXISTS section_inventories (
+    id BIGINT AUTO_INCREMENT PRIMARY KEY,
+    event_id BIGINT NOT NULL,
+    section_id BIGINT NOT NULL,
+    capacity INT NOT NULL,
+    available_quantity INT NOT NULL,
+    updated_at DATETIME(6),
+    CONSTRAINT uk_section_inventory_event_section UNIQUE (event_id, section_id),
+    CONSTRAINT fk_section_inventory_event FOREIGN KEY (event_id) REFERENCES events(id) ON DELETE CASCADE,
+    CONSTRAINT fk_section_inventory_section FOREIGN KEY (section_id) REFERENCES venue_sections(id) ON DELETE CASCADE
+);
+
+-- Los contadores se inicializan a partir de los tickets existentes en la primera compra
+-- o mediante POST /admin/tickets/inventory/reconcile/{eventId}
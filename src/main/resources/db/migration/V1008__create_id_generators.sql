@@ -0,0 +1,17 @@
+-- Tabla de generadores de ID (TableGenerator de Hibernate con optimizador pooled).
+-- Permite asignar IDs de tickets y transacciones en bloques de 50 sin ir a la base
+-- por cada INSERT, para que Hibernate pueda enviar las inserciones como un batch JDBC.
+CREATE TABLE IF NOT EXISTS id_generators (
+    sequence_name VARCHAR(64) NOT NULL PRIMARY KEY,
+    next_val BIGINT NOT NULL
+);
+
+-- Iniciar cada generador por encima del máximo ID existente más un bloque completo,
+-- así los IDs asignados nunca chocan con los generados por AUTO_INCREMENT
+INSERT INTO id_generators (sequence_name, next_val)
+SELECT 'tickets', COALESCE(MAX(id), 0) + 51 FROM tickets
+ON DUPLICATE KEY UPDATE next_val = GREATEST(next_val, VALUES(next_val));
+
+INSERT INTO id_generators (sequence_name, next_val)
+SELECT 'transactions', COALESCE(MAX(id), 0) + 51 FROM transactions
+ON DUPLICATE KEY UPDATE next_val = GREATEST(next_val, VALUES(next_val));
@@ -0,0 +1,4 @@
+-- Generador de bloques de IDs para los códigos de identificación de tickets.
+-- Cada nodo reserva bloques (recitapp.tickets.code.block-size) y genera los códigos
+-- TKT-XXXXXXX-C en memoria, sin consultar unicidad.
+INSERT IGNORE INTO id_generators (sequence_name, next_val) VALUES ('ticket_codes', 1);
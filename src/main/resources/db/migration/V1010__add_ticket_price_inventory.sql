@@ -0,0 +1,38 @@
+-- Inventario por tipo de entrada (ticket_prices)
+-- available_quantity sigue siendo el cupo configurado; sold_quantity cuenta las entradas que
+-- ocupan un lugar y se actualiza con UPDATE condicionales en cada compra, devolución o vencimiento
+
+ALTER TABLE ticket_prices
+    ADD COLUMN sold_quantity INT NOT NULL DEFAULT 0;
+
+-- Cada ticket recuerda el precio con el que se vendió para devolver la unidad a su cupo
+ALTER TABLE tickets
+    ADD COLUMN ticket_price_id BIGINT NULL,
+    ADD CONSTRAINT fk_ticket_ticket_price FOREIGN KEY (ticket_price_id) REFERENCES ticket_prices(id) ON DELETE SET NULL;
+
+CREATE INDEX idx_tickets_event_ticket_price ON tickets (event_id, ticket_price_id);
+
+-- Asociar los tickets existentes cuando la sección tiene un único precio con el mismo tipo de entrada
+UPDATE tickets t
+JOIN (
+    SELECT MIN(id) AS id, event_id, section_id, ticket_type
+    FROM ticket_prices
+    GROUP BY event_id, section_id, ticket_type
+    HAVING COUNT(*) = 1
+) tp ON tp.event_id = t.event_id
+    AND tp.section_id = t.section_id
+    AND tp.ticket_type = t.ticket_type
+SET t.ticket_price_id = tp.id
+WHERE t.ticket_price_id IS NULL;
+
+-- Inicializar los contadores a partir de los tickets que ocupan un lugar
+UPDATE ticket_prices tp
+SET tp.sold_quantity = (
+    SELECT COUNT(*) FROM tickets t
+    JOIN ticket_statuses ts ON ts.id = t.status_id
+    WHERE t.ticket_price_id = tp.id
+      AND ts.name IN ('VENDIDA', 'USADA', 'REGALO', 'RESERVADA', 'VENCIDA')
+);
+
+-- Los contadores se pueden verificar con GET /admin/tickets/inventory/audit/{eventId}
+-- y corregir con POST /admin/tickets/inventory/reconcile/{eventId}
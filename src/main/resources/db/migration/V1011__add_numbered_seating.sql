@@ -0,0 +1,31 @@
+-- Asientos numerados por sección
+-- Una sección con seat_rows y seats_per_row vende asientos numerados (seat_rows x seats_per_row = capacity);
+-- sin ellos sigue siendo una sección general
+
+ALTER TABLE venue_sections
+    ADD COLUMN seat_rows INT NULL,
+    ADD COLUMN seats_per_row INT NULL;
+
+-- Asiento asignado a cada ticket (fila y número desde 1). Los tickets cancelados conservan el
+-- asiento como historial, por eso el índice no es único
+ALTER TABLE tickets
+    ADD COLUMN seat_row INT NULL,
+    ADD COLUMN seat_number INT NULL;
+
+CREATE INDEX idx_tickets_event_section_seat ON tickets (event_id, section_id, seat_row, seat_number);
+
+-- Mapa de bits de asientos ocupados por evento y sección numerada.
+-- version se incrementa en cada escritura para que cada nodo detecte si su copia en memoria quedó vieja
+CREATE TABLE IF NOT EXISTS section_seat_maps (
+    id BIGINT AUTO_INCREMENT PRIMARY KEY,
+    event_id BIGINT NOT NULL,
+    section_id BIGINT NOT NULL,
+    seat_rows INT NOT NULL,
+    seats_per_row INT NOT NULL,
+    occupied MEDIUMBLOB NOT NULL,
+    version BIGINT NOT NULL DEFAULT 0,
+    updated_at DATETIME NULL,
+    CONSTRAINT uk_section_seat_map_event_section UNIQUE (event_id, section_id),
+    CONSTRAINT fk_section_seat_map_event FOREIGN KEY (event_id) REFERENCES events(id) ON DELETE CASCADE,
+    CONSTRAINT fk_section_seat_map_section FOREIGN KEY (section_id) REFERENCES venue_sections(id) ON DELETE CASCADE
+);
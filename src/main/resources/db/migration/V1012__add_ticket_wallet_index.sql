@@ -0,0 +1,8 @@
+-- Billetera de entradas: paginación por cursor sobre (purchase_date, id) de cada usuario
+
+-- Los tickets antiguos sin fecha de compra toman su fecha de registro para entrar en el orden del cursor
+UPDATE tickets
+SET purchase_date = COALESCE(registration_date, CURRENT_TIMESTAMP)
+WHERE purchase_date IS NULL;
+
+CREATE INDEX idx_tickets_user_purchase_date ON tickets (user_id, purchase_date, id);
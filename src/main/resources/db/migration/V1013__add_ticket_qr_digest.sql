@@ -0,0 +1,14 @@
+-- Resumen de ancho fijo del QR de cada ticket: los primeros 16 bytes de SHA-256(qr_code).
+-- Las búsquedas por QR usan este índice en lugar del índice único sobre el texto de 500 caracteres.
+
+ALTER TABLE tickets ADD COLUMN qr_digest BINARY(16) NULL AFTER qr_code;
+
+-- Mismo cálculo que QrDigest.of en la aplicación
+UPDATE tickets
+SET qr_digest = UNHEX(LEFT(SHA2(qr_code, 256), 32))
+WHERE qr_digest IS NULL;
+
+CREATE UNIQUE INDEX uk_tickets_qr_digest ON tickets (qr_digest);
+
+-- La unicidad del QR queda garantizada por el resumen; se elimina el índice sobre el texto completo
+ALTER TABLE tickets DROP INDEX IF EXISTS qr_code;
@@ -0,0 +1,48 @@
+-- Emisión masiva de entradas promocionales: trabajos y destinatarios.
+-- El avance queda en estas tablas para poder consultarlo y retomar un trabajo tras un reinicio.
+
+CREATE TABLE IF NOT EXISTS bulk_issuance_jobs (
+    id BIGINT AUTO_INCREMENT PRIMARY KEY,
+    event_id BIGINT NOT NULL,
+    admin_user_id BIGINT NOT NULL,
+    promotion_id BIGINT NULL,
+    status VARCHAR(20) NOT NULL,
+    total_recipients INT NOT NULL,
+    issued_count INT NOT NULL DEFAULT 0,
+    delivered_count INT NOT NULL DEFAULT 0,
+    failed_deliveries INT NOT NULL DEFAULT 0,
+    error_message VARCHAR(500) NULL,
+    claimed_by VARCHAR(100) NULL,
+    claimed_until DATETIME NULL,
+    created_at DATETIME NULL,
+    updated_at DATETIME NULL,
+    completed_at DATETIME NULL,
+    CONSTRAINT fk_bulk_issuance_job_event FOREIGN KEY (event_id) REFERENCES events(id) ON DELETE CASCADE,
+    CONSTRAINT fk_bulk_issuance_job_admin FOREIGN KEY (admin_user_id) REFERENCES users(id) ON DELETE CASCADE,
+    CONSTRAINT fk_bulk_issuance_job_promotion FOREIGN KEY (promotion_id) REFERENCES promotions(id) ON DELETE SET NULL
+);
+
+CREATE INDEX idx_bulk_issuance_jobs_status ON bulk_issuance_jobs (status, claimed_until);
+
+-- ticket_id queda en NULL hasta emitir la entrada del destinatario
+CREATE TABLE IF NOT EXISTS bulk_issuance_recipients (
+    id BIGINT NOT NULL PRIMARY KEY,
+    job_id BIGINT NOT NULL,
+    section_id BIGINT NOT NULL,
+    recipient_user_id BIGINT NOT NULL,
+    attendee_first_name VARCHAR(100) NOT NULL,
+    attendee_last_name VARCHAR(100) NOT NULL,
+    attendee_dni VARCHAR(20) NOT NULL,
+    is_gift BOOLEAN NOT NULL DEFAULT TRUE,
+    ticket_id BIGINT NULL,
+    delivery_status VARCHAR(20) NOT NULL,
+    delivery_attempts INT NOT NULL DEFAULT 0,
+    error_message VARCHAR(500) NULL,
+    CONSTRAINT fk_bulk_issuance_recipient_job FOREIGN KEY (job_id) REFERENCES bulk_issuance_jobs(id) ON DELETE CASCADE
+);
+
+CREATE INDEX idx_bulk_issuance_recipients_issue ON bulk_issuance_recipients (job_id, ticket_id, id);
+CREATE INDEX idx_bulk_issuance_recipients_delivery ON bulk_issuance_recipients (job_id, delivery_status, id);
+
+-- Los destinatarios usan IDs del generador por tabla para que Hibernate inserte en batch
+INSERT IGNORE INTO id_generators (sequence_name, next_val) VALUES ('bulk_issuance_recipients', 1);
@@ -0,0 +1,2 @@
+-- Manifiesto de acceso: los deltas leen los tickets de un evento modificados desde una versión
+CREATE INDEX idx_tickets_event_updated_at ON tickets (event_id, updated_at);
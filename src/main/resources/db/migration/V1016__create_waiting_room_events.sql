@@ -0,0 +1,11 @@
+-- Salas de espera abiertas: estado compartido entre nodos (la cola de cada nodo sigue en memoria)
+CREATE TABLE IF NOT EXISTS waiting_room_events (
+    event_id BIGINT NOT NULL PRIMARY KEY,
+    admissions_per_minute INT NOT NULL,
+    opened_at DATETIME NOT NULL,
+    CONSTRAINT fk_waiting_room_events_event FOREIGN KEY (event_id) REFERENCES events(id) ON DELETE CASCADE
+);
+
+-- ID de cada turno (jti del token): se consume en la compra y no puede volver a usarse
+ALTER TABLE waiting_room ADD COLUMN access_token_id VARCHAR(36) NULL;
+CREATE UNIQUE INDEX idx_waiting_room_access_token_id ON waiting_room (access_token_id);
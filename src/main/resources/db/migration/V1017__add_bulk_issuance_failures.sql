@@ -0,0 +1,3 @@
+-- Emisión masiva: destinatarios cuya entrada no se pudo emitir (se saltean) y su cantidad por trabajo
+ALTER TABLE bulk_issuance_recipients ADD COLUMN issuance_error VARCHAR(500) NULL;
+ALTER TABLE bulk_issuance_jobs ADD COLUMN failed_issuances INT NOT NULL DEFAULT 0;
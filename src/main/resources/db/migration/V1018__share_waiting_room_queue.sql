@@ -0,0 +1,9 @@
+-- Cola compartida de la sala de espera: números de orden y reloj de admisión por evento
+ALTER TABLE waiting_room_events
+    ADD COLUMN next_position INT NOT NULL DEFAULT 0,
+    ADD COLUMN admitted_position INT NOT NULL DEFAULT 0,
+    ADD COLUMN admission_clock BIGINT NULL;
+
+-- Los usuarios en espera tienen fila sin fecha de acceso hasta que se los admite
+CREATE INDEX idx_waiting_room_event_queue ON waiting_room (event_id, access_date, queue_position);
+CREATE INDEX idx_waiting_room_event_user ON waiting_room (event_id, user_id);
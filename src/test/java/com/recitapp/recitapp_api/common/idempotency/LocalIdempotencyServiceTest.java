@@ -0,0 +1,184 @@
+package com.recitapp.recitapp_api.common.idempotency;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.recitapp.recitapp_api.common.exception.RecitappException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class LocalIdempotencyServiceTest {
+
+    private static final String SCOPE = "tickets.purchase:15";
+
+    private SimpleMeterRegistry meterRegistry;
+    private LocalIdempotencyService service;
+    private AtomicInteger executions;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        service = new LocalIdempotencyService(new ObjectMapper(), meterRegistry, 60, 5000);
+        executions = new AtomicInteger();
+    }
+
+    @Test
+    void retryWithTheSameKeyReplaysTheFirstResponse() {
+        ResponseEntity<Receipt> first = service.execute(SCOPE, "key-1", Map.of("tickets", 2), Receipt.class,
+                () -> purchase(HttpStatus.CREATED));
+        ResponseEntity<Receipt> retry = service.execute(SCOPE, "key-1", Map.of("tickets", 2), Receipt.class,
+                () -> purchase(HttpStatus.CREATED));
+
+        assertThat(executions).hasValue(1);
+        assertThat(retry.getStatusCode()).isEqualTo(HttpStatus.CREATED);
+        assertThat(retry.getBody()).isEqualTo(first.getBody());
+        assertThat(retry.getHeaders().getFirst(IdempotencyService.REPLAYED_HEADER)).isEqualTo("true");
+        assertThat(first.getHeaders().containsKey(IdempotencyService.REPLAYED_HEADER)).isFalse();
+    }
+
+    @Test
+    void sameKeyWithADifferentRequestIsRejected() {
+        service.execute(SCOPE, "key-1", Map.of("tickets", 2), Receipt.class, () -> purchase(HttpStatus.CREATED));
+
+        assertThatThrownBy(() -> service.execute(SCOPE, "key-1", Map.of("tickets", 3), Receipt.class,
+                () -> purchase(HttpStatus.CREATED)))
+                .isInstanceOf(RecitappException.class);
+        assertThat(executions).hasValue(1);
+    }
+
+    @Test
+    void keysAreScopedPerOperationAndOwner() {
+        service.execute(SCOPE, "key-1", null, Receipt.class, () -> purchase(HttpStatus.CREATED));
+        service.execute("tickets.purchase:16", "key-1", null, Receipt.class, () -> purchase(HttpStatus.CREATED));
+
+        assertThat(executions).hasValue(2);
+    }
+
+    @Test
+    void requestsWithoutAKeyAlwaysExecute() {
+        service.execute(SCOPE, null, null, Receipt.class, () -> purchase(HttpStatus.CREATED));
+        service.execute(SCOPE, " ", null, Receipt.class, () -> purchase(HttpStatus.CREATED));
+
+        assertThat(executions).hasValue(2);
+    }
+
+    @Test
+    void errorResponsesAndExceptionsAreNotRecorded() {
+        service.execute(SCOPE, "key-1", null, Receipt.class, () -> purchase(HttpStatus.CONFLICT));
+        assertThatThrownBy(() -> service.execute(SCOPE, "key-1", null, Receipt.class, () -> {
+            executions.incrementAndGet();
+            throw new RecitappException("sin stock");
+        })).isInstanceOf(RecitappException.class);
+
+        ResponseEntity<Receipt> retry = service.execute(SCOPE, "key-1", null, Receipt.class,
+                () -> purchase(HttpStatus.CREATED));
+
+        assertThat(executions).hasValue(3);
+        assertThat(retry.getStatusCode()).isEqualTo(HttpStatus.CREATED);
+    }
+
+    @Test
+    void tooLongKeyIsRejected() {
+        assertThatThrownBy(() -> service.execute(SCOPE, "k".repeat(101), null, Receipt.class,
+                () -> purchase(HttpStatus.CREATED)))
+                .isInstanceOf(RecitappException.class);
+        assertThat(executions).hasValue(0);
+    }
+
+    @Test
+    void concurrentDuplicateWaitsForTheRequestInFlight() throws Exception {
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch finish = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            Future<ResponseEntity<Receipt>> original = executor.submit(() ->
+                    service.execute(SCOPE, "key-1", null, Receipt.class, () -> {
+                        started.countDown();
+                        await(finish);
+                        return purchase(HttpStatus.CREATED);
+                    }));
+            assertThat(started.await(5, TimeUnit.SECONDS)).isTrue();
+
+            Future<ResponseEntity<Receipt>> duplicate = executor.submit(() ->
+                    service.execute(SCOPE, "key-1", null, Receipt.class, () -> purchase(HttpStatus.CREATED)));
+
+            // Let the original finish only once the duplicate is waiting on it
+            long deadline = System.currentTimeMillis() + 5000;
+            while (outcome("coalesced") == 0 && System.currentTimeMillis() < deadline) {
+                Thread.sleep(5);
+            }
+            finish.countDown();
+
+            assertThat(original.get(5, TimeUnit.SECONDS).getBody())
+                    .isEqualTo(duplicate.get(5, TimeUnit.SECONDS).getBody());
+            assertThat(executions).hasValue(1);
+            assertThat(outcome("coalesced")).isEqualTo(1);
+        } finally {
+            finish.countDown();
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    void concurrentDuplicateSharesTheFailureOfTheRequestInFlight() throws Exception {
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch finish = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            executor.submit(() -> service.execute(SCOPE, "key-1", null, Receipt.class, () -> {
+                started.countDown();
+                await(finish);
+                throw new RecitappException("sin stock");
+            }));
+            assertThat(started.await(5, TimeUnit.SECONDS)).isTrue();
+
+            Future<ResponseEntity<Receipt>> duplicate = executor.submit(() ->
+                    service.execute(SCOPE, "key-1", null, Receipt.class, () -> purchase(HttpStatus.CREATED)));
+
+            long deadline = System.currentTimeMillis() + 5000;
+            while (outcome("coalesced") == 0 && System.currentTimeMillis() < deadline) {
+                Thread.sleep(5);
+            }
+            finish.countDown();
+
+            assertThatThrownBy(() -> duplicate.get(5, TimeUnit.SECONDS))
+                    .hasCauseInstanceOf(RecitappException.class);
+            assertThat(executions).hasValue(0);
+        } finally {
+            finish.countDown();
+            executor.shutdownNow();
+        }
+    }
+
+    private ResponseEntity<Receipt> purchase(HttpStatus status) {
+        int execution = executions.incrementAndGet();
+        return ResponseEntity.status(status).body(new Receipt((long) execution, status.name()));
+    }
+
+    private double outcome(String outcome) {
+        return meterRegistry.counter("recitapp.idempotency.requests", "store", "local", "outcome", outcome).count();
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    record Receipt(Long id, String status) {
+    }
+}
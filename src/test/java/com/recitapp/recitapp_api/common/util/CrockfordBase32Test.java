@@ -0,0 +1,85 @@
+package com.recitapp.recitapp_api.common.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class CrockfordBase32Test {
+
+    private static final String ALPHABET = "0123456789ABCDEFGHJKMNPQRSTVWXYZ";
+    private static final List<String> PAYLOADS = List.of("0000000", "7ZK3M9Q", "ABCDEFG", "ZZZZZZZ");
+
+    @Test
+    void encodePadsToTheRequestedLength() {
+        assertThat(CrockfordBase32.encode(0, 7)).isEqualTo("0000000");
+        assertThat(CrockfordBase32.encode(31, 7)).isEqualTo("000000Z");
+        assertThat(CrockfordBase32.encode(32, 7)).isEqualTo("0000010");
+        assertThat(CrockfordBase32.encode((1L << 35) - 1, 7)).isEqualTo("ZZZZZZZ");
+    }
+
+    @Test
+    void encodeRejectsValuesThatDoNotFit() {
+        assertThatThrownBy(() -> CrockfordBase32.encode(1L << 35, 7))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> CrockfordBase32.encode(-1, 7))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void encodeNeverUsesAmbiguousLetters() {
+        for (long value = 0; value < 32 * 32; value++) {
+            assertThat(CrockfordBase32.encode(value, 2)).doesNotContain("I", "L", "O", "U");
+        }
+    }
+
+    @Test
+    void checkCharacterDetectsEverySingleCharacterError() {
+        for (String payload : PAYLOADS) {
+            char check = CrockfordBase32.checkCharacter(payload);
+            for (int position = 0; position < payload.length(); position++) {
+                for (char replacement : ALPHABET.toCharArray()) {
+                    if (replacement == payload.charAt(position)) {
+                        continue;
+                    }
+                    String typo = payload.substring(0, position) + replacement + payload.substring(position + 1);
+                    assertThat(CrockfordBase32.checkCharacter(typo)).as(typo).isNotEqualTo(check);
+                }
+            }
+        }
+    }
+
+    @Test
+    void checkCharacterDetectsAdjacentTranspositionsExceptZeroAndZ() {
+        // Luhn mod 32 misses exactly one swap, "0Z" <-> "Z0", like "09" <-> "90" in mod 10
+        int missed = 0;
+        for (char a : ALPHABET.toCharArray()) {
+            for (char b : ALPHABET.toCharArray()) {
+                if (a == b) {
+                    continue;
+                }
+                String payload = "12" + a + b + "345";
+                String swapped = "12" + b + a + "345";
+                if (CrockfordBase32.checkCharacter(payload) == CrockfordBase32.checkCharacter(swapped)) {
+                    assertThat(a < b ? "" + a + b : "" + b + a).isEqualTo("0Z");
+                    missed++;
+                }
+            }
+        }
+        assertThat(missed).isEqualTo(2);
+    }
+
+    @Test
+    void normalizeMapsLookAlikeCharacters() {
+        assertThat(CrockfordBase32.normalize(" o1il-abc ")).isEqualTo("0111-ABC");
+    }
+
+    @Test
+    void isValidRejectsCharactersOutsideTheAlphabet() {
+        assertThat(CrockfordBase32.isValid("7ZK3M9Q")).isTrue();
+        assertThat(CrockfordBase32.isValid("7ZK3U9Q")).isFalse();
+        assertThat(CrockfordBase32.isValid("7zk3m9q")).isFalse();
+    }
+}
@@ -0,0 +1,111 @@
+package com.recitapp.recitapp_api.common.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class TicketTokenTest {
+
+    private static final byte[] MASTER_KEY = "0123456789abcdef0123456789abcdef".getBytes(StandardCharsets.US_ASCII);
+    private static final long EVENT_ID = 12L;
+    private static final long VALID_FROM = 1_800_000_000L;
+    private static final long VALID_UNTIL = VALID_FROM + 3600;
+
+    private final byte[] eventKey = TicketToken.deriveEventKey(MASTER_KEY, 1, EVENT_ID);
+
+    @Test
+    void signedTokenVerifiesAndReturnsItsClaims() {
+        String token = TicketToken.sign(claims(EVENT_ID), eventKey);
+
+        TicketToken.Claims verified = TicketToken.verify(token, EVENT_ID, eventKey, VALID_FROM + 10);
+
+        assertThat(token).startsWith(TicketToken.PREFIX);
+        assertThat(verified.keyVersion()).isEqualTo(1);
+        assertThat(verified.ticketId()).isEqualTo(345L);
+        assertThat(verified.eventId()).isEqualTo(EVENT_ID);
+        assertThat(verified.sectionId()).isEqualTo(6L);
+        assertThat(verified.validFrom()).isEqualTo(VALID_FROM);
+        assertThat(verified.validUntil()).isEqualTo(VALID_UNTIL);
+        assertThat(QrDigest.matches(verified.qrDigest(), "QR-345")).isTrue();
+    }
+
+    @Test
+    void peekReadsClaimsWithoutTheKey() {
+        String token = TicketToken.sign(claims(EVENT_ID), eventKey);
+
+        assertThat(TicketToken.peek(token).ticketId()).isEqualTo(345L);
+    }
+
+    @Test
+    void eventKeysDependOnEventAndVersion() {
+        assertThat(TicketToken.deriveEventKey(MASTER_KEY, 1, EVENT_ID)).isEqualTo(eventKey).hasSize(32);
+        assertThat(TicketToken.deriveEventKey(MASTER_KEY, 1, EVENT_ID + 1)).isNotEqualTo(eventKey);
+        assertThat(TicketToken.deriveEventKey(MASTER_KEY, 2, EVENT_ID)).isNotEqualTo(eventKey);
+    }
+
+    @Test
+    void tamperedPayloadIsRejected() {
+        String token = TicketToken.sign(claims(EVENT_ID), eventKey);
+        int position = TicketToken.PREFIX.length() + 3;
+        char replacement = token.charAt(position) == 'A' ? 'B' : 'A';
+        String tampered = token.substring(0, position) + replacement + token.substring(position + 1);
+
+        assertRejected(tampered, EVENT_ID, eventKey, VALID_FROM, TicketToken.INVALID_SIGNATURE);
+    }
+
+    @Test
+    void tokenSignedWithAnotherKeyIsRejected() {
+        String token = TicketToken.sign(claims(EVENT_ID), TicketToken.deriveEventKey(MASTER_KEY, 2, EVENT_ID));
+
+        assertRejected(token, EVENT_ID, eventKey, VALID_FROM, TicketToken.INVALID_SIGNATURE);
+    }
+
+    @Test
+    void tokenForAnotherEventIsRejected() {
+        // A reader holding both keys still refuses a ticket for a different event
+        String token = TicketToken.sign(claims(EVENT_ID + 1), eventKey);
+
+        assertRejected(token, EVENT_ID, eventKey, VALID_FROM, TicketToken.WRONG_EVENT);
+    }
+
+    @Test
+    void validityWindowIsEnforced() {
+        String token = TicketToken.sign(claims(EVENT_ID), eventKey);
+
+        assertRejected(token, EVENT_ID, eventKey, VALID_FROM - 1, TicketToken.NOT_YET_VALID);
+        assertRejected(token, EVENT_ID, eventKey, VALID_UNTIL + 1, TicketToken.EXPIRED);
+        assertThat(TicketToken.verify(token, EVENT_ID, eventKey, VALID_UNTIL).ticketId()).isEqualTo(345L);
+    }
+
+    @Test
+    void malformedTokensAreRejected() {
+        assertRejected(null, EVENT_ID, eventKey, VALID_FROM, TicketToken.INVALID_FORMAT);
+        assertRejected("TKT-1A2B3C4D", EVENT_ID, eventKey, VALID_FROM, TicketToken.INVALID_FORMAT);
+        assertRejected("RT1.no-signature", EVENT_ID, eventKey, VALID_FROM, TicketToken.INVALID_FORMAT);
+        assertRejected("RT1.AAAA.***", EVENT_ID, eventKey, VALID_FROM, TicketToken.INVALID_FORMAT);
+        assertThatThrownBy(() -> TicketToken.peek("RT1.AAAA.AAAA"))
+                .isInstanceOf(TicketToken.InvalidTokenException.class);
+    }
+
+    @Test
+    void signRequiresAFullQrDigest() {
+        TicketToken.Claims claims = new TicketToken.Claims(1, 345L, EVENT_ID, 6L, VALID_FROM, VALID_UNTIL, new byte[4]);
+
+        assertThatThrownBy(() -> TicketToken.sign(claims, eventKey))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    private static TicketToken.Claims claims(long eventId) {
+        return new TicketToken.Claims(1, 345L, eventId, 6L, VALID_FROM, VALID_UNTIL, QrDigest.of("QR-345"));
+    }
+
+    private static void assertRejected(String token, long eventId, byte[] key, long now, String errorCode) {
+        assertThatThrownBy(() -> TicketToken.verify(token, eventId, key, now))
+                .isInstanceOf(TicketToken.InvalidTokenException.class)
+                .extracting(e -> ((TicketToken.InvalidTokenException) e).getErrorCode())
+                .isEqualTo(errorCode);
+    }
+}
@@ -0,0 +1,223 @@
+package com.recitapp.recitapp_api.modules.event.service.impl;
+
+import com.recitapp.recitapp_api.common.exception.RecitappException;
+import com.recitapp.recitapp_api.modules.event.dto.WaitingRoomStatusDTO;
+import com.recitapp.recitapp_api.modules.event.entity.Event;
+import com.recitapp.recitapp_api.modules.event.entity.WaitingRoom;
+import com.recitapp.recitapp_api.modules.event.entity.WaitingRoomEvent;
+import com.recitapp.recitapp_api.modules.event.repository.EventRepository;
+import com.recitapp.recitapp_api.modules.event.repository.WaitingRoomEventRepository;
+import com.recitapp.recitapp_api.modules.event.repository.WaitingRoomRepository;
+import com.recitapp.recitapp_api.modules.user.entity.User;
+import com.recitapp.recitapp_api.modules.user.repository.UserRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.List;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class WaitingRoomServiceImplTest {
+
+    private static final Long EVENT_ID = 7L;
+    private static final String TOKEN_SECRET = base64("waiting-room-token-secret-for-tests-0123456789");
+    private static final String JWT_SECRET = base64("user-session-jwt-secret-for-tests-0123456789");
+
+    private WaitingRoomRepository waitingRoomRepository;
+    private WaitingRoomEventRepository waitingRoomEventRepository;
+    private PlatformTransactionManager transactionManager;
+    private WaitingRoomServiceImpl service;
+    private WaitingRoomEvent room;
+
+    @BeforeEach
+    void setUp() {
+        waitingRoomRepository = mock(WaitingRoomRepository.class);
+        waitingRoomEventRepository = mock(WaitingRoomEventRepository.class);
+        EventRepository eventRepository = mock(EventRepository.class);
+        UserRepository userRepository = mock(UserRepository.class);
+        transactionManager = mock(PlatformTransactionManager.class);
+
+        when(eventRepository.getReferenceById(EVENT_ID)).thenReturn(event());
+        when(userRepository.getReferenceById(anyLong())).thenAnswer(invocation -> user(invocation.getArgument(0)));
+        when(waitingRoomRepository.save(any(WaitingRoom.class))).thenAnswer(invocation -> invocation.getArgument(0));
+        when(waitingRoomRepository.findFirstByEventIdAndUserIdOrderByIdDesc(eq(EVENT_ID), anyLong()))
+                .thenReturn(Optional.empty());
+
+        // 60 admissions per minute: one per second, with up to five seconds of credit
+        room = new WaitingRoomEvent(EVENT_ID, 60, null, 0, 0, null);
+        when(waitingRoomEventRepository.findByIdForUpdate(EVENT_ID)).thenReturn(Optional.of(room));
+        when(waitingRoomEventRepository.findOpenEventIds()).thenReturn(List.of(EVENT_ID));
+        when(waitingRoomEventRepository.findOpenRoomRate(EVENT_ID)).thenReturn(Optional.of(60));
+
+        service = new WaitingRoomServiceImpl(waitingRoomRepository, waitingRoomEventRepository,
+                eventRepository, userRepository, transactionManager);
+        ReflectionTestUtils.setField(service, "tokenSecret", TOKEN_SECRET);
+        ReflectionTestUtils.setField(service, "jwtSecret", JWT_SECRET);
+        ReflectionTestUtils.setField(service, "accessMinutes", 10);
+        ReflectionTestUtils.setField(service, "admissionIntervalMs", 5000L);
+        ReflectionTestUtils.setField(service, "recheckMs", 60000L);
+        service.init();
+    }
+
+    @Test
+    void tokenSecretMustBeConfiguredAndDifferFromTheSessionSecret() {
+        ReflectionTestUtils.setField(service, "tokenSecret", "");
+        assertThatThrownBy(service::init).isInstanceOf(IllegalStateException.class);
+
+        ReflectionTestUtils.setField(service, "tokenSecret", JWT_SECRET);
+        assertThatThrownBy(service::init).isInstanceOf(IllegalStateException.class);
+    }
+
+    @Test
+    void usersJoiningGetConsecutivePositions() {
+        WaitingRoomStatusDTO first = service.join(EVENT_ID, 1L);
+        WaitingRoomStatusDTO second = service.join(EVENT_ID, 2L);
+
+        assertThat(first.getPosition()).isEqualTo(1L);
+        assertThat(second.getPosition()).isEqualTo(2L);
+        assertThat(second.getUsersAhead()).isEqualTo(1L);
+        assertThat(room.getNextPosition()).isEqualTo(2);
+    }
+
+    @Test
+    void rejoiningKeepsTheExistingPlace() {
+        WaitingRoom entry = waiting(1L, 4);
+        when(waitingRoomRepository.findFirstByEventIdAndUserIdOrderByIdDesc(EVENT_ID, 1L)).thenReturn(Optional.of(entry));
+        room.setNextPosition(9);
+
+        assertThat(service.join(EVENT_ID, 1L).getPosition()).isEqualTo(4L);
+        assertThat(room.getNextPosition()).isEqualTo(9);
+        verify(waitingRoomRepository, never()).save(any());
+    }
+
+    @Test
+    void idleRoomAdmitsAtMostOneIntervalOfUsers() {
+        List<WaitingRoom> queue = queue(20);
+        when(waitingRoomRepository.findNextWaiting(eq(EVENT_ID), any())).thenAnswer(invocation -> {
+            PageRequest page = invocation.getArgument(1);
+            return queue.subList(0, page.getPageSize());
+        });
+
+        // No admission clock yet: the credit is capped at five seconds, so five users and not twenty
+        assertThat(service.admitNextBatch()).isEqualTo(5);
+
+        assertThat(queue).filteredOn(entry -> entry.getAccessToken() != null).hasSize(5);
+        assertThat(room.getAdmittedPosition()).isEqualTo(5);
+        assertThat(room.getAdmissionClock()).isNotNull();
+    }
+
+    @Test
+    void admissionClockIsSharedThroughTheRoomRow() {
+        // Another node has just admitted the users that were due: no credit is left on the row
+        room.setAdmissionClock(System.currentTimeMillis());
+
+        assertThat(service.admitNextBatch()).isZero();
+        verify(waitingRoomRepository, never()).findNextWaiting(any(), any());
+    }
+
+    @Test
+    void failedAdmissionHandsOutNoTurn() {
+        when(waitingRoomRepository.findNextWaiting(eq(EVENT_ID), any())).thenThrow(new IllegalStateException("db down"));
+
+        assertThat(service.admitNextBatch()).isZero();
+        verify(transactionManager).rollback(any());
+    }
+
+    @Test
+    void eventsWithoutAWaitingRoomNeedNoTurn() {
+        when(waitingRoomEventRepository.findOpenRoomRate(EVENT_ID)).thenReturn(Optional.empty());
+
+        service.validateAccess(EVENT_ID, 1L, null);
+
+        verify(waitingRoomRepository, never()).claimAccess(any(), any(), any());
+    }
+
+    @Test
+    void purchaseWithoutATurnIsRejected() {
+        assertThatThrownBy(() -> service.validateAccess(EVENT_ID, 1L, null))
+                .isInstanceOf(RecitappException.class);
+        assertThatThrownBy(() -> service.validateAccess(EVENT_ID, 1L, "not-a-token"))
+                .isInstanceOf(RecitappException.class);
+    }
+
+    @Test
+    void turnIsClaimedOnce() {
+        WaitingRoom admitted = admit(1L);
+        when(waitingRoomRepository.claimAccess(admitted.getAccessTokenId(), EVENT_ID, 1L)).thenReturn(1, 0);
+
+        service.validateAccess(EVENT_ID, 1L, admitted.getAccessToken());
+
+        assertThatThrownBy(() -> service.validateAccess(EVENT_ID, 1L, admitted.getAccessToken()))
+                .isInstanceOf(RecitappException.class)
+                .hasMessageContaining("ya fue usado");
+    }
+
+    @Test
+    void turnOnlyValidForItsUserAndEvent() {
+        WaitingRoom admitted = admit(1L);
+        when(waitingRoomEventRepository.findOpenRoomRate(8L)).thenReturn(Optional.of(60));
+
+        assertThatThrownBy(() -> service.validateAccess(EVENT_ID, 2L, admitted.getAccessToken()))
+                .isInstanceOf(RecitappException.class);
+        assertThatThrownBy(() -> service.validateAccess(8L, 1L, admitted.getAccessToken()))
+                .isInstanceOf(RecitappException.class);
+        verify(waitingRoomRepository, never()).claimAccess(any(), any(), any());
+    }
+
+    private WaitingRoom admit(Long userId) {
+        WaitingRoom entry = waiting(userId, 1);
+        when(waitingRoomRepository.findNextWaiting(eq(EVENT_ID), any())).thenReturn(List.of(entry));
+        service.admitNextBatch();
+        assertThat(entry.getAccessToken()).isNotNull();
+        return entry;
+    }
+
+    private static List<WaitingRoom> queue(int size) {
+        List<WaitingRoom> entries = new ArrayList<>();
+        for (int position = 1; position <= size; position++) {
+            entries.add(waiting((long) position, position));
+        }
+        return entries;
+    }
+
+    private static WaitingRoom waiting(Long userId, int position) {
+        WaitingRoom entry = new WaitingRoom();
+        entry.setEvent(event());
+        entry.setUser(user(userId));
+        entry.setQueuePosition(position);
+        entry.setMaximumTimeMinutes(10);
+        entry.setCompleted(false);
+        return entry;
+    }
+
+    private static Event event() {
+        Event event = new Event();
+        event.setId(EVENT_ID);
+        return event;
+    }
+
+    private static User user(Long id) {
+        User user = new User();
+        user.setId(id);
+        return user;
+    }
+
+    private static String base64(String secret) {
+        return Base64.getEncoder().encodeToString(secret.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,91 @@
+package com.recitapp.recitapp_api.modules.ticket.scheduler;
+
+import com.recitapp.recitapp_api.modules.ticket.event.TicketHoldsChangedEvent;
+import com.recitapp.recitapp_api.modules.ticket.service.impl.ReservationService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class ReservationHoldEngineTest {
+
+    private ReservationService reservationService;
+    private ReservationHoldEngine engine;
+
+    @BeforeEach
+    void setUp() {
+        reservationService = mock(ReservationService.class);
+        engine = new ReservationHoldEngine(reservationService);
+        ReflectionTestUtils.setField(engine, "reservationExpiryMinutes", 10);
+        ReflectionTestUtils.setField(engine, "releaseBatchSize", 200);
+        engine.start();
+    }
+
+    @AfterEach
+    void tearDown() {
+        engine.stop();
+    }
+
+    @Test
+    void holdCreatedAtRuntimeIsReleasedByItsTimer() throws InterruptedException {
+        ReflectionTestUtils.setField(engine, "reservationExpiryMinutes", 0);
+
+        // A ticket reserved while the application is running (DISPONIBLE -> RESERVADA committed)
+        engine.onHoldsChanged(new TicketHoldsChangedEvent(List.of(42L), true));
+
+        Thread.sleep(400);
+        engine.releaseExpiredHolds();
+
+        verify(reservationService, timeout(1000)).releaseExpiredReservations(List.of(42L), 0);
+    }
+
+    @Test
+    void holdIsNotReleasedBeforeItsDeadline() throws InterruptedException {
+        engine.track(7L, LocalDateTime.now().minusMinutes(10).plusSeconds(5));
+
+        Thread.sleep(400);
+        engine.releaseExpiredHolds();
+
+        verify(reservationService, never()).releaseExpiredReservations(any(), anyInt());
+    }
+
+    @Test
+    void confirmedHoldIsNotReleased() throws InterruptedException {
+        engine.track(7L, LocalDateTime.now().minusMinutes(10).plusNanos(300_000_000L));
+
+        // The reservation leaves RESERVADA (confirmed or cancelled) before its deadline
+        engine.onHoldsChanged(new TicketHoldsChangedEvent(List.of(7L), false));
+
+        Thread.sleep(700);
+        engine.releaseExpiredHolds();
+
+        verify(reservationService, never()).releaseExpiredReservations(any(), anyInt());
+    }
+
+    @Test
+    void failedReleaseIsRetriedOnTheNextRun() throws InterruptedException {
+        ReflectionTestUtils.setField(engine, "reservationExpiryMinutes", 0);
+        when(reservationService.releaseExpiredReservations(List.of(9L), 0))
+                .thenThrow(new IllegalStateException("database unavailable"))
+                .thenReturn(1);
+
+        engine.track(9L, LocalDateTime.now());
+        Thread.sleep(400);
+        engine.releaseExpiredHolds();
+        engine.releaseExpiredHolds();
+
+        verify(reservationService, times(2)).releaseExpiredReservations(List.of(9L), 0);
+    }
+}
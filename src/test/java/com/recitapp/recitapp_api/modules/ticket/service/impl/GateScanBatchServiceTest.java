@@ -0,0 +1,281 @@
+package com.recitapp.recitapp_api.modules.ticket.service.impl;
+
+import com.recitapp.recitapp_api.common.exception.RecitappException;
+import com.recitapp.recitapp_api.common.lookup.LookupRegistry;
+import com.recitapp.recitapp_api.common.util.QrDigest;
+import com.recitapp.recitapp_api.modules.event.entity.AccessPoint;
+import com.recitapp.recitapp_api.modules.event.entity.Event;
+import com.recitapp.recitapp_api.modules.event.repository.AccessPointRepository;
+import com.recitapp.recitapp_api.modules.event.repository.EventRepository;
+import com.recitapp.recitapp_api.modules.ticket.dto.GateScanBatchRequestDTO;
+import com.recitapp.recitapp_api.modules.ticket.dto.GateScanBatchResponseDTO;
+import com.recitapp.recitapp_api.modules.ticket.entity.TicketStatus;
+import com.recitapp.recitapp_api.modules.ticket.service.TicketTokenService;
+import com.recitapp.recitapp_api.modules.user.repository.UserRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.ParameterizedPreparedStatementSetter;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.lang.reflect.Proxy;
+import java.nio.ByteBuffer;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyMap;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class GateScanBatchServiceTest {
+
+    private static final Long EVENT_ID = 3L;
+    private static final Long ACCESS_POINT_ID = 20L;
+    private static final Long VERIFIER_ID = 30L;
+    private static final LocalDateTime NINE_PM = LocalDateTime.of(2026, 10, 18, 21, 0);
+
+    private static final Map<String, Long> STATUS_IDS = Map.of(
+            "VENDIDA", 1L, "REGALO", 2L, "USADA", 3L, "CANCELADA", 4L);
+
+    /**
+     * In-memory tickets table: the conditional updates are applied to it as MySQL would
+     */
+    private final Map<ByteBuffer, TicketRow> tickets = new HashMap<>();
+
+    private UsedTicketRegistry usedTicketRegistry;
+    private GateScanBatchService service;
+
+    @BeforeEach
+    void setUp() {
+        JdbcTemplate jdbcTemplate = mock(JdbcTemplate.class);
+        NamedParameterJdbcTemplate namedParameterJdbcTemplate = mock(NamedParameterJdbcTemplate.class);
+        EventRepository eventRepository = mock(EventRepository.class);
+        AccessPointRepository accessPointRepository = mock(AccessPointRepository.class);
+        UserRepository userRepository = mock(UserRepository.class);
+        LookupRegistry lookupRegistry = mock(LookupRegistry.class);
+        usedTicketRegistry = mock(UsedTicketRegistry.class);
+
+        when(eventRepository.existsById(EVENT_ID)).thenReturn(true);
+        when(userRepository.existsById(VERIFIER_ID)).thenReturn(true);
+        Event event = new Event();
+        event.setId(EVENT_ID);
+        AccessPoint accessPoint = new AccessPoint();
+        accessPoint.setId(ACCESS_POINT_ID);
+        accessPoint.setEvent(event);
+        when(accessPointRepository.findById(ACCESS_POINT_ID)).thenReturn(Optional.of(accessPoint));
+        when(lookupRegistry.findTicketStatus(anyString())).thenAnswer(invocation -> {
+            String name = invocation.getArgument(0);
+            return Optional.ofNullable(STATUS_IDS.get(name)).map(id -> new TicketStatus(id, name, null));
+        });
+
+        doAnswer(invocation -> {
+            Map<String, List<byte[]>> params = invocation.getArgument(1);
+            RowCallbackHandler handler = invocation.getArgument(2);
+            for (byte[] digest : params.get("digests")) {
+                TicketRow row = tickets.get(ByteBuffer.wrap(digest));
+                if (row != null) {
+                    handler.processRow(resultSet(row, digest));
+                }
+            }
+            return null;
+        }).when(namedParameterJdbcTemplate).query(anyString(), anyMap(), any(RowCallbackHandler.class));
+
+        doAnswer(invocation -> batchUpdate(invocation.getArgument(0), invocation.getArgument(1), invocation.getArgument(3)))
+                .when(jdbcTemplate).batchUpdate(anyString(), any(Collection.class), anyInt(),
+                        any(ParameterizedPreparedStatementSetter.class));
+
+        service = new GateScanBatchService(jdbcTemplate, namedParameterJdbcTemplate, eventRepository,
+                accessPointRepository, userRepository, lookupRegistry, mock(TicketTokenService.class),
+                usedTicketRegistry, mock(VerificationAuditWriter.class));
+        ReflectionTestUtils.setField(service, "maxBatchSize", 100);
+    }
+
+    @Test
+    void earliestScanOfATicketWinsRegardlessOfBatchOrder() {
+        TicketRow ticket = ticket(1L, "QR-1", "VENDIDA", null);
+
+        GateScanBatchResponseDTO response = ingest(
+                scan("north", "QR-1", NINE_PM.plusMinutes(5)),
+                scan("south", "QR-1", NINE_PM));
+
+        assertThat(result(response, "south").getStatus()).isEqualTo("ADMITTED");
+        assertThat(result(response, "north").getErrorCode()).isEqualTo("DUPLICATE_SCAN");
+        assertThat(ticket.status).isEqualTo("USADA");
+        assertThat(ticket.useDate).isEqualTo(NINE_PM);
+        assertThat(response.getAdmitted()).isEqualTo(1);
+        verify(usedTicketRegistry).markUsed(EVENT_ID, 1L);
+    }
+
+    @Test
+    void scansWithTheSameTimestampKeepTheBatchOrder() {
+        ticket(1L, "QR-1", "REGALO", null);
+
+        GateScanBatchResponseDTO response = ingest(
+                scan("first", "QR-1", NINE_PM),
+                scan("second", "QR-1", NINE_PM));
+
+        assertThat(result(response, "first").getStatus()).isEqualTo("ADMITTED");
+        assertThat(result(response, "second").getErrorCode()).isEqualTo("DUPLICATE_SCAN");
+    }
+
+    @Test
+    void offlineScanEarlierThanTheRecordedEntryWinsAndMovesTheUseDate() {
+        // Admitted online at 21:10, but an offline gate had read it at 21:00
+        TicketRow ticket = ticket(1L, "QR-1", "USADA", NINE_PM.plusMinutes(10));
+
+        GateScanBatchResponseDTO response = ingest(scan("offline", "QR-1", NINE_PM));
+
+        assertThat(result(response, "offline").getStatus()).isEqualTo("ADMITTED");
+        assertThat(ticket.useDate).isEqualTo(NINE_PM);
+    }
+
+    @Test
+    void offlineScanLaterThanTheRecordedEntryIsAReentry() {
+        TicketRow ticket = ticket(1L, "QR-1", "USADA", NINE_PM);
+
+        GateScanBatchResponseDTO response = ingest(scan("offline", "QR-1", NINE_PM.plusMinutes(3)));
+
+        assertThat(result(response, "offline").getErrorCode()).isEqualTo("ALREADY_USED");
+        assertThat(ticket.useDate).isEqualTo(NINE_PM);
+        verify(usedTicketRegistry, never()).markUsed(anyLong(), anyLong());
+    }
+
+    @Test
+    void invalidScansAreRejectedWithoutStoppingTheBatch() {
+        ticket(1L, "QR-1", "VENDIDA", null);
+        ticket(2L, "QR-OTHER-EVENT", "VENDIDA", null).eventId = 99L;
+        ticket(3L, "QR-CANCELLED", "CANCELADA", null);
+
+        GateScanBatchResponseDTO response = ingest(
+                scan("ok", "QR-1", NINE_PM),
+                scan("unknown", "QR-UNKNOWN", NINE_PM),
+                scan("other-event", "QR-OTHER-EVENT", NINE_PM),
+                scan("cancelled", "QR-CANCELLED", NINE_PM),
+                new GateScanBatchRequestDTO.ScanDTO("empty", null, null, NINE_PM));
+
+        assertThat(result(response, "ok").getStatus()).isEqualTo("ADMITTED");
+        assertThat(result(response, "unknown").getErrorCode()).isEqualTo("TICKET_NOT_FOUND");
+        assertThat(result(response, "other-event").getErrorCode()).isEqualTo("EVENT_MISMATCH");
+        assertThat(result(response, "cancelled").getErrorCode()).isEqualTo("INVALID_STATUS");
+        assertThat(result(response, "empty").getErrorCode()).isEqualTo("INVALID_SCAN");
+        assertThat(response.getAdmitted()).isEqualTo(1);
+        assertThat(response.getRejected()).isEqualTo(4);
+    }
+
+    @Test
+    void oversizedBatchIsRejected() {
+        ReflectionTestUtils.setField(service, "maxBatchSize", 1);
+
+        assertThatThrownBy(() -> ingest(scan("a", "QR-1", NINE_PM), scan("b", "QR-2", NINE_PM)))
+                .isInstanceOf(RecitappException.class);
+    }
+
+    private GateScanBatchResponseDTO ingest(GateScanBatchRequestDTO.ScanDTO... scans) {
+        return service.ingest(new GateScanBatchRequestDTO(EVENT_ID, ACCESS_POINT_ID, VERIFIER_ID, List.of(scans)));
+    }
+
+    private static GateScanBatchRequestDTO.ScanDTO scan(String scanId, String qrCode, LocalDateTime scannedAt) {
+        return new GateScanBatchRequestDTO.ScanDTO(scanId, null, qrCode, scannedAt);
+    }
+
+    private static GateScanBatchResponseDTO.ScanResultDTO result(GateScanBatchResponseDTO response, String scanId) {
+        return response.getResults().stream()
+                .filter(result -> result.getScanId().equals(scanId))
+                .findFirst()
+                .orElseThrow();
+    }
+
+    private TicketRow ticket(Long id, String qrCode, String status, LocalDateTime useDate) {
+        TicketRow row = new TicketRow(id, EVENT_ID, status, useDate);
+        tickets.put(ByteBuffer.wrap(QrDigest.of(qrCode)), row);
+        return row;
+    }
+
+    private TicketRow ticketById(long id) {
+        return tickets.values().stream().filter(row -> row.id == id).findFirst().orElseThrow();
+    }
+
+    /**
+     * Applies the service's two batched statements to the in-memory table
+     */
+    private <T> int[][] batchUpdate(String sql, Collection<T> items, ParameterizedPreparedStatementSetter<T> setter)
+            throws Exception {
+        int[] counts = new int[items.size()];
+        int i = 0;
+        for (T item : items) {
+            Map<Integer, Object> params = new HashMap<>();
+            setter.setValues(recording(params), item);
+
+            if (sql.startsWith("UPDATE tickets SET status_id")) {
+                TicketRow row = ticketById((Long) params.get(4));
+                Long statusId = STATUS_IDS.get(row.status);
+                boolean matches = statusId.equals(params.get(5)) || statusId.equals(params.get(6));
+                if (matches) {
+                    row.status = "USADA";
+                    row.useDate = ((Timestamp) params.get(2)).toLocalDateTime();
+                }
+                counts[i++] = matches ? 1 : 0;
+            } else {
+                TicketRow row = ticketById((Long) params.get(3));
+                LocalDateTime scannedAt = ((Timestamp) params.get(5)).toLocalDateTime();
+                boolean matches = "USADA".equals(row.status) && row.useDate.isAfter(scannedAt);
+                if (matches) {
+                    row.useDate = scannedAt;
+                }
+                counts[i++] = matches ? 1 : 0;
+            }
+        }
+        return new int[][]{counts};
+    }
+
+    private static PreparedStatement recording(Map<Integer, Object> params) {
+        return (PreparedStatement) Proxy.newProxyInstance(GateScanBatchServiceTest.class.getClassLoader(),
+                new Class<?>[]{PreparedStatement.class}, (proxy, method, args) -> {
+                    if (method.getName().startsWith("set") && args != null && args.length == 2) {
+                        params.put((Integer) args[0], args[1]);
+                    }
+                    return null;
+                });
+    }
+
+    private static ResultSet resultSet(TicketRow row, byte[] digest) throws Exception {
+        ResultSet resultSet = mock(ResultSet.class);
+        when(resultSet.getLong(1)).thenReturn(row.id);
+        when(resultSet.getBytes(2)).thenReturn(digest);
+        when(resultSet.getLong(3)).thenReturn(row.eventId);
+        when(resultSet.getString(4)).thenReturn(row.status);
+        return resultSet;
+    }
+
+    private static final class TicketRow {
+        private final long id;
+        private long eventId;
+        private String status;
+        private LocalDateTime useDate;
+
+        private TicketRow(long id, long eventId, String status, LocalDateTime useDate) {
+            this.id = id;
+            this.eventId = eventId;
+            this.status = status;
+            this.useDate = useDate;
+        }
+    }
+}
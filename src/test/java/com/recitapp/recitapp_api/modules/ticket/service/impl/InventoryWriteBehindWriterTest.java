@@ -0,0 +1,101 @@
+package com.recitapp.recitapp_api.modules.ticket.service.impl;
+
+import com.recitapp.recitapp_api.modules.event.repository.TicketPriceRepository;
+import com.recitapp.recitapp_api.modules.ticket.repository.SectionInventoryRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.InOrder;
+import org.springframework.dao.QueryTimeoutException;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.ValueOperations;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class InventoryWriteBehindWriterTest {
+
+    private static final String PENDING_SECTION = "recitapp:inventory:pending:3:section:9";
+    private static final String PENDING_PRICE = "recitapp:inventory:pending:price:5";
+
+    private SectionInventoryRepository sectionInventoryRepository;
+    private TicketPriceRepository ticketPriceRepository;
+    private ValueOperations<String, String> valueOperations;
+    private InventoryWriteBehindWriter writer;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setUp() {
+        sectionInventoryRepository = mock(SectionInventoryRepository.class);
+        ticketPriceRepository = mock(TicketPriceRepository.class);
+        StringRedisTemplate redisTemplate = mock(StringRedisTemplate.class);
+        valueOperations = mock(ValueOperations.class);
+        when(redisTemplate.opsForValue()).thenReturn(valueOperations);
+
+        writer = new InventoryWriteBehindWriter(sectionInventoryRepository, ticketPriceRepository,
+                mock(PlatformTransactionManager.class), redisTemplate);
+        // Long interval: the test drives every flush
+        ReflectionTestUtils.setField(writer, "flushIntervalMs", 3_600_000L);
+        writer.start();
+    }
+
+    @AfterEach
+    void tearDown() {
+        writer.stop();
+    }
+
+    @Test
+    void pendingSalesAreSettledAfterTheyReachTheDatabase() {
+        writer.recordSale(3L, 9L, 2);
+        writer.recordSale(3L, 9L, 1);
+        writer.recordPriceSale(5L, 4);
+
+        writer.flush();
+
+        InOrder order = inOrder(sectionInventoryRepository, valueOperations);
+        order.verify(sectionInventoryRepository).applySale(3L, 9L, 3);
+        order.verify(valueOperations).decrement(PENDING_SECTION, 3);
+        verify(ticketPriceRepository).applySale(5L, 4);
+        verify(valueOperations).decrement(PENDING_PRICE, 4);
+    }
+
+    @Test
+    void failedDatabaseWriteKeepsTheSalePending() {
+        when(sectionInventoryRepository.applySale(3L, 9L, 2)).thenThrow(new QueryTimeoutException("timeout"));
+        writer.recordSale(3L, 9L, 2);
+
+        writer.flush();
+
+        verify(valueOperations, never()).decrement(anyString(), anyLong());
+    }
+
+    @Test
+    void settlementIsRetriedWhenRedisDoesNotAnswer() {
+        when(valueOperations.decrement(PENDING_SECTION, 2))
+                .thenThrow(new QueryTimeoutException("timeout"))
+                .thenReturn(0L);
+        writer.recordSale(3L, 9L, 2);
+
+        writer.flush();
+        writer.flush();
+
+        verify(sectionInventoryRepository, times(1)).applySale(anyLong(), anyLong(), anyInt());
+        verify(valueOperations, times(2)).decrement(PENDING_SECTION, 2);
+    }
+
+    @Test
+    void rolledBackReservationIsSettledRightAway() {
+        writer.settle(PENDING_SECTION, 5);
+
+        verify(valueOperations).decrement(PENDING_SECTION, 5);
+    }
+}
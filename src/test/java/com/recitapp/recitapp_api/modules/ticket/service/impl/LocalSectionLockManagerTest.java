@@ -0,0 +1,133 @@
+package com.recitapp.recitapp_api.modules.ticket.service.impl;
+
+import com.recitapp.recitapp_api.common.exception.RecitappException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class LocalSectionLockManagerTest {
+
+    private static final Long EVENT_ID = 7L;
+
+    private final LocalSectionLockManager lockManager = new LocalSectionLockManager(new SimpleMeterRegistry(), 4, 500);
+
+    @Test
+    void stripesAreTakenOncePerStripeInIndexOrder() {
+        long[] pair = sectionsWithStripesInReverseOrder();
+
+        List<ReentrantLock> locks = lockManager.orderedLocks(EVENT_ID, List.of(pair[0], pair[1]));
+
+        assertThat(locks).containsExactly(
+                lockManager.getLock(EVENT_ID, pair[1]), lockManager.getLock(EVENT_ID, pair[0]));
+    }
+
+    @Test
+    void sectionsSharingAStripeTakeItOnce() {
+        long first = 1L;
+        long second = first + 1;
+        while (lockManager.stripeIndex(EVENT_ID, second) != lockManager.stripeIndex(EVENT_ID, first)) {
+            second++;
+        }
+
+        assertThat(lockManager.orderedLocks(EVENT_ID, List.of(first, second))).hasSize(1);
+    }
+
+    @Test
+    void higherStripeIsNotHeldWhileWaitingForALowerOne() throws Exception {
+        // Section order A < B maps to stripes X > Y. Ordering by section ID would hold X while waiting
+        // for Y, and a purchase holding Y and waiting for X would deadlock with it.
+        long[] sections = sectionsWithStripesInReverseOrder();
+        ReentrantLock lowerStripe = lockManager.getLock(EVENT_ID, sections[1]);
+        ReentrantLock higherStripe = lockManager.getLock(EVENT_ID, sections[0]);
+
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        lowerStripe.lock();
+        try {
+            Future<?> purchase = executor.submit(() -> {
+                TransactionSynchronizationManager.initSynchronization();
+                try {
+                    lockManager.lockSections(EVENT_ID, List.of(sections[0], sections[1]));
+                } finally {
+                    complete();
+                }
+            });
+
+            long deadline = System.currentTimeMillis() + 2000;
+            while (!lowerStripe.hasQueuedThreads() && System.currentTimeMillis() < deadline) {
+                Thread.sleep(5);
+            }
+            assertThat(lowerStripe.hasQueuedThreads()).isTrue();
+            assertThat(higherStripe.isLocked()).isFalse();
+
+            lowerStripe.unlock();
+            purchase.get(5, TimeUnit.SECONDS);
+        } finally {
+            if (lowerStripe.isHeldByCurrentThread()) {
+                lowerStripe.unlock();
+            }
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    void lockingRequiresATransaction() {
+        assertThatThrownBy(() -> lockManager.lockSections(EVENT_ID, List.of(1L)))
+                .isInstanceOf(IllegalStateException.class);
+    }
+
+    @Test
+    void busyStripeTimesOut() throws Exception {
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            TransactionSynchronizationManager.initSynchronization();
+            lockManager.lockSections(EVENT_ID, List.of(1L));
+
+            Future<?> other = executor.submit(() -> {
+                TransactionSynchronizationManager.initSynchronization();
+                try {
+                    assertThatThrownBy(() -> lockManager.lockSections(EVENT_ID, List.of(1L)))
+                            .isInstanceOf(RecitappException.class);
+                } finally {
+                    TransactionSynchronizationManager.clearSynchronization();
+                }
+            });
+            other.get(5, TimeUnit.SECONDS);
+        } finally {
+            complete();
+            executor.shutdownNow();
+        }
+
+        assertThat(lockManager.getLock(EVENT_ID, 1L).isLocked()).isFalse();
+    }
+
+    /**
+     * Two sections whose stripe order is the reverse of their ID order
+     */
+    private long[] sectionsWithStripesInReverseOrder() {
+        for (long low = 1; ; low++) {
+            for (long high = low + 1; high < low + 64; high++) {
+                if (lockManager.stripeIndex(EVENT_ID, low) > lockManager.stripeIndex(EVENT_ID, high)) {
+                    return new long[]{low, high};
+                }
+            }
+        }
+    }
+
+    private static void complete() {
+        for (TransactionSynchronization synchronization : TransactionSynchronizationManager.getSynchronizations()) {
+            synchronization.afterCompletion(TransactionSynchronization.STATUS_COMMITTED);
+        }
+        TransactionSynchronizationManager.clearSynchronization();
+    }
+}
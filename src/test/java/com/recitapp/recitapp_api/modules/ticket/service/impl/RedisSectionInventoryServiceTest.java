@@ -0,0 +1,240 @@
+package com.recitapp.recitapp_api.modules.ticket.service.impl;
+
+import com.recitapp.recitapp_api.common.exception.RecitappException;
+import com.recitapp.recitapp_api.modules.event.repository.EventRepository;
+import com.recitapp.recitapp_api.modules.event.repository.TicketPriceRepository;
+import com.recitapp.recitapp_api.modules.ticket.repository.SectionInventoryRepository;
+import com.recitapp.recitapp_api.modules.ticket.service.SeatMapService;
+import com.recitapp.recitapp_api.modules.ticket.service.SoldOutRegistry;
+import com.recitapp.recitapp_api.modules.venue.entity.VenueSection;
+import com.recitapp.recitapp_api.modules.venue.repository.VenueSectionRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.connection.RedisStandaloneConfiguration;
+import org.springframework.data.redis.connection.lettuce.LettuceClientConfiguration;
+import org.springframework.data.redis.connection.lettuce.LettuceConnectionFactory;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.testcontainers.containers.GenericContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+import org.testcontainers.utility.DockerImageName;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Runs the Lua reserve/release scripts against a real Redis. Skipped when Docker is not available.
+ */
+@Testcontainers(disabledWithoutDocker = true)
+class RedisSectionInventoryServiceTest {
+
+    private static final Long EVENT_ID = 3L;
+    private static final String SECTION_KEY = "recitapp:inventory:3:section:9";
+    private static final String PENDING_KEY = "recitapp:inventory:pending:3:section:9";
+
+    @Container
+    private static final GenericContainer<?> REDIS = new GenericContainer<>(DockerImageName.parse("redis:7-alpine"))
+            .withExposedPorts(6379);
+
+    private LettuceConnectionFactory connectionFactory;
+    private StringRedisTemplate redisTemplate;
+    private SectionInventoryServiceImpl databaseInventory;
+    private InventoryWriteBehindWriter writeBehindWriter;
+    private SoldOutRegistry soldOutRegistry;
+    private VenueSection section;
+
+    @BeforeEach
+    void setUp() {
+        connectionFactory = connectionFactory(REDIS.getHost(), REDIS.getMappedPort(6379));
+        redisTemplate = new StringRedisTemplate(connectionFactory);
+        redisTemplate.afterPropertiesSet();
+        redisTemplate.delete(List.of(SECTION_KEY, PENDING_KEY));
+
+        databaseInventory = mock(SectionInventoryServiceImpl.class);
+        writeBehindWriter = mock(InventoryWriteBehindWriter.class);
+        soldOutRegistry = mock(SoldOutRegistry.class);
+
+        section = new VenueSection();
+        section.setId(9L);
+        section.setName("Campo");
+        when(databaseInventory.getAvailableQuantity(EVENT_ID, section)).thenReturn(10L);
+    }
+
+    @AfterEach
+    void tearDown() {
+        connectionFactory.destroy();
+    }
+
+    @Test
+    void concurrentReservationsNeverOversell() throws Exception {
+        RedisSectionInventoryService service = service(redisTemplate);
+        AtomicInteger sold = new AtomicInteger();
+        AtomicInteger rejected = new AtomicInteger();
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int i = 0; i < 25; i++) {
+                futures.add(executor.submit(() -> {
+                    start.await();
+                    try {
+                        service.reserveSeats(EVENT_ID, section, 1);
+                        sold.incrementAndGet();
+                    } catch (RecitappException e) {
+                        rejected.incrementAndGet();
+                    }
+                    return null;
+                }));
+            }
+            start.countDown();
+            for (Future<?> future : futures) {
+                future.get(10, TimeUnit.SECONDS);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        assertThat(sold).hasValue(10);
+        assertThat(rejected).hasValue(15);
+        assertThat(redisTemplate.opsForValue().get(SECTION_KEY)).isEqualTo("0");
+        verify(writeBehindWriter, times(10)).recordSale(EVENT_ID, 9L, 1);
+        verify(soldOutRegistry).markSectionSoldOut(EVENT_ID, 9L);
+    }
+
+    @Test
+    void reservationLargerThanStockLeavesStockUntouched() {
+        RedisSectionInventoryService service = service(redisTemplate);
+        service.reserveSeats(EVENT_ID, section, 7);
+
+        assertThatThrownBy(() -> service.reserveSeats(EVENT_ID, section, 4))
+                .isInstanceOf(RecitappException.class);
+
+        assertThat(redisTemplate.opsForValue().get(SECTION_KEY)).isEqualTo("3");
+    }
+
+    @Test
+    void releaseReturnsSeatsToRedisAndTheDatabase() {
+        RedisSectionInventoryService service = service(redisTemplate);
+        service.reserveSeats(EVENT_ID, section, 4);
+
+        service.releaseSeats(EVENT_ID, 9L, 4);
+
+        assertThat(redisTemplate.opsForValue().get(SECTION_KEY)).isEqualTo("10");
+        verify(databaseInventory).releaseSeats(EVENT_ID, 9L, 4);
+    }
+
+    @Test
+    void rolledBackReservationIsReturnedToRedis() {
+        RedisSectionInventoryService service = service(redisTemplate);
+
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            service.reserveSeats(EVENT_ID, section, 10);
+            assertThat(redisTemplate.opsForValue().get(SECTION_KEY)).isEqualTo("0");
+
+            complete(TransactionSynchronization.STATUS_ROLLED_BACK);
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+
+        assertThat(redisTemplate.opsForValue().get(SECTION_KEY)).isEqualTo("10");
+        verify(writeBehindWriter, never()).recordSale(anyLong(), anyLong(), anyInt());
+        verify(writeBehindWriter).settle(PENDING_KEY, 10);
+        verify(soldOutRegistry).clearSection(EVENT_ID, 9L);
+    }
+
+    @Test
+    void committedReservationIsWrittenBehind() {
+        RedisSectionInventoryService service = service(redisTemplate);
+
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            service.reserveSeats(EVENT_ID, section, 2);
+            complete(TransactionSynchronization.STATUS_COMMITTED);
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+
+        assertThat(redisTemplate.opsForValue().get(SECTION_KEY)).isEqualTo("8");
+        // Counted as pending until the write-behind writer applies it to the database
+        assertThat(redisTemplate.opsForValue().get(PENDING_KEY)).isEqualTo("2");
+        verify(writeBehindWriter).recordSale(EVENT_ID, 9L, 2);
+    }
+
+    @Test
+    void reloadedStockSubtractsSalesPendingOnAnyNode() {
+        // Another node admitted 3 sales that its write-behind queue has not written yet
+        redisTemplate.opsForValue().set(PENDING_KEY, "3");
+        RedisSectionInventoryService service = service(redisTemplate);
+
+        service.reserveSeats(EVENT_ID, section, 1);
+
+        assertThat(redisTemplate.opsForValue().get(SECTION_KEY)).isEqualTo("6");
+        assertThat(redisTemplate.opsForValue().get(PENDING_KEY)).isEqualTo("4");
+    }
+
+    @Test
+    void unreachableRedisFallsBackToTheDatabase() {
+        // Nothing listens on this port, so every Redis call fails with a connection error
+        LettuceConnectionFactory unreachable = connectionFactory(REDIS.getHost(), 1);
+        try {
+            StringRedisTemplate unreachableTemplate = new StringRedisTemplate(unreachable);
+            unreachableTemplate.afterPropertiesSet();
+            RedisSectionInventoryService service = service(unreachableTemplate);
+
+            service.reserveSeats(EVENT_ID, section, 2);
+            service.reserveSeats(EVENT_ID, section, 1);
+
+            verify(databaseInventory).reserveSeats(EVENT_ID, section, 2);
+            verify(databaseInventory).reserveSeats(EVENT_ID, section, 1);
+        } finally {
+            unreachable.destroy();
+        }
+    }
+
+    private RedisSectionInventoryService service(StringRedisTemplate template) {
+        RedisSectionInventoryService service = new RedisSectionInventoryService(databaseInventory, writeBehindWriter,
+                template, mock(SectionInventoryRepository.class), mock(TicketPriceRepository.class),
+                mock(EventRepository.class), mock(VenueSectionRepository.class), soldOutRegistry,
+                mock(SeatMapService.class), mock(PlatformTransactionManager.class));
+        ReflectionTestUtils.setField(service, "retryIntervalMs", 60_000L);
+        service.init();
+        return service;
+    }
+
+    private static LettuceConnectionFactory connectionFactory(String host, int port) {
+        LettuceConnectionFactory factory = new LettuceConnectionFactory(new RedisStandaloneConfiguration(host, port),
+                LettuceClientConfiguration.builder().commandTimeout(Duration.ofSeconds(2)).build());
+        factory.afterPropertiesSet();
+        factory.start();
+        return factory;
+    }
+
+    private static void complete(int status) {
+        for (TransactionSynchronization synchronization : TransactionSynchronizationManager.getSynchronizations()) {
+            synchronization.afterCompletion(status);
+        }
+    }
+}
@@ -0,0 +1,126 @@
+package com.recitapp.recitapp_api.modules.ticket.service.impl;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class SeatBitmapTest {
+
+    @Test
+    void indexMapsRowsAndSeatsAndRejectsUnknownSeats() {
+        SeatBitmap bitmap = new SeatBitmap(3, 10, null, 0);
+
+        assertThat(bitmap.index(1, 1)).isZero();
+        assertThat(bitmap.index(2, 3)).isEqualTo(12);
+        assertThat(bitmap.row(12)).isEqualTo(2);
+        assertThat(bitmap.seat(12)).isEqualTo(3);
+        assertThat(bitmap.index(0, 1)).isEqualTo(-1);
+        assertThat(bitmap.index(4, 1)).isEqualTo(-1);
+        assertThat(bitmap.index(1, 11)).isEqualTo(-1);
+        assertThat(bitmap.index(null, 1)).isEqualTo(-1);
+    }
+
+    @Test
+    void seatCanOnlyBeClaimedOnceUntilReleased() {
+        SeatBitmap bitmap = new SeatBitmap(2, 40, null, 0);
+        int seat = bitmap.index(2, 30);
+
+        assertThat(bitmap.claim(seat)).isTrue();
+        assertThat(bitmap.claim(seat)).isFalse();
+        assertThat(bitmap.isOccupied(seat)).isTrue();
+        assertThat(bitmap.countFree()).isEqualTo(79);
+
+        bitmap.release(seat);
+        bitmap.release(seat);
+
+        assertThat(bitmap.isOccupied(seat)).isFalse();
+        assertThat(bitmap.countFree()).isEqualTo(80);
+    }
+
+    @Test
+    void claimAllTakesEverySeatOrNone() {
+        SeatBitmap bitmap = new SeatBitmap(1, 100, null, 0);
+        bitmap.claim(70);
+
+        assertThat(bitmap.claimAll(new int[]{10, 63, 64, 70})).isFalse();
+        assertThat(bitmap.isOccupied(10)).isFalse();
+        assertThat(bitmap.isOccupied(63)).isFalse();
+        assertThat(bitmap.isOccupied(64)).isFalse();
+
+        assertThat(bitmap.claimAll(new int[]{10, 63, 64})).isTrue();
+        assertThat(bitmap.countFree()).isEqualTo(96);
+    }
+
+    @Test
+    void concurrentClaimsOfTheSameSeatHaveOneWinner() throws Exception {
+        SeatBitmap bitmap = new SeatBitmap(1, 64, null, 0);
+        AtomicInteger winners = new AtomicInteger();
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int i = 0; i < 64; i++) {
+                futures.add(executor.submit(() -> {
+                    if (bitmap.claim(5)) {
+                        winners.incrementAndGet();
+                    }
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get(5, TimeUnit.SECONDS);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        assertThat(winners).hasValue(1);
+        assertThat(bitmap.countFree()).isEqualTo(63);
+    }
+
+    @Test
+    void findAdjacentPrefersTheFrontRowAndTheCenter() {
+        SeatBitmap bitmap = new SeatBitmap(2, 10, null, 0);
+
+        assertThat(bitmap.findAdjacent(2)).containsExactly(4, 5);
+
+        // Row 1 is left with blocks of two seats at most, so a group of three goes to row 2
+        for (int seat : new int[]{2, 5, 8}) {
+            bitmap.claim(bitmap.index(1, seat));
+        }
+        assertThat(bitmap.findAdjacent(2)).containsExactly(bitmap.index(1, 6), bitmap.index(1, 7));
+        assertThat(bitmap.findAdjacent(3)).containsExactly(bitmap.index(2, 4), bitmap.index(2, 5), bitmap.index(2, 6));
+    }
+
+    @Test
+    void findAdjacentReturnsNullWhenNoRowHasRoom() {
+        SeatBitmap bitmap = new SeatBitmap(1, 4, null, 0);
+        bitmap.claim(1);
+
+        assertThat(bitmap.findAdjacent(3)).isNull();
+        assertThat(bitmap.findAdjacent(5)).isNull();
+        assertThat(bitmap.findAdjacent(0)).isNull();
+    }
+
+    @Test
+    void bytesRoundTripThroughTheConstructor() {
+        SeatBitmap bitmap = new SeatBitmap(3, 50, null, 7);
+        bitmap.claim(0);
+        bitmap.claim(64);
+        bitmap.claim(149);
+
+        SeatBitmap restored = new SeatBitmap(3, 50, bitmap.toBytes(), 8);
+
+        assertThat(restored.isOccupied(0)).isTrue();
+        assertThat(restored.isOccupied(64)).isTrue();
+        assertThat(restored.isOccupied(149)).isTrue();
+        assertThat(restored.countFree()).isEqualTo(147);
+        assertThat(restored.getVersion()).isEqualTo(8);
+    }
+}
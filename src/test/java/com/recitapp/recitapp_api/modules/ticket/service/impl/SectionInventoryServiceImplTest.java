@@ -0,0 +1,139 @@
+package com.recitapp.recitapp_api.modules.ticket.service.impl;
+
+import com.recitapp.recitapp_api.common.exception.RecitappException;
+import com.recitapp.recitapp_api.modules.event.entity.Event;
+import com.recitapp.recitapp_api.modules.event.entity.TicketPrice;
+import com.recitapp.recitapp_api.modules.event.repository.EventRepository;
+import com.recitapp.recitapp_api.modules.event.repository.TicketPriceRepository;
+import com.recitapp.recitapp_api.modules.ticket.entity.Ticket;
+import com.recitapp.recitapp_api.modules.ticket.repository.SectionInventoryRepository;
+import com.recitapp.recitapp_api.modules.ticket.repository.TicketRepository;
+import com.recitapp.recitapp_api.modules.ticket.service.SeatMapService;
+import com.recitapp.recitapp_api.modules.ticket.service.SectionInventoryService;
+import com.recitapp.recitapp_api.modules.ticket.service.SoldOutRegistry;
+import com.recitapp.recitapp_api.modules.venue.entity.VenueSection;
+import com.recitapp.recitapp_api.modules.venue.repository.VenueSectionRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+class SectionInventoryServiceImplTest {
+
+    private static final Long EVENT_ID = 1L;
+
+    private SectionInventoryRepository sectionInventoryRepository;
+    private TicketRepository ticketRepository;
+    private TicketPriceRepository ticketPriceRepository;
+    private SoldOutRegistry soldOutRegistry;
+    private SeatMapService seatMapService;
+    private SectionInventoryServiceImpl service;
+
+    @BeforeEach
+    void setUp() {
+        sectionInventoryRepository = mock(SectionInventoryRepository.class);
+        ticketRepository = mock(TicketRepository.class);
+        ticketPriceRepository = mock(TicketPriceRepository.class);
+        soldOutRegistry = mock(SoldOutRegistry.class);
+        seatMapService = mock(SeatMapService.class);
+        service = new SectionInventoryServiceImpl(sectionInventoryRepository, ticketRepository, ticketPriceRepository,
+                mock(EventRepository.class), mock(VenueSectionRepository.class), soldOutRegistry, seatMapService);
+    }
+
+    @Test
+    void priceTierIsReservedWithOneConditionalUpdate() {
+        when(ticketPriceRepository.reserve(EVENT_ID, 10L, 2)).thenReturn(1);
+
+        service.reservePriceTier(EVENT_ID, 10L, 2);
+
+        verify(ticketPriceRepository).reserve(EVENT_ID, 10L, 2);
+    }
+
+    @Test
+    void exhaustedPriceTierRejectsThePurchase() {
+        // The update only matches while sold + quantity <= available
+        when(ticketPriceRepository.reserve(EVENT_ID, 10L, 3)).thenReturn(0);
+
+        assertThatThrownBy(() -> service.reservePriceTier(EVENT_ID, 10L, 3))
+                .isInstanceOf(RecitappException.class);
+    }
+
+    @Test
+    void emptyQuantitiesDoNotTouchTheCounters() {
+        service.reservePriceTier(EVENT_ID, 10L, 0);
+        service.releasePriceTier(EVENT_ID, 10L, 0);
+
+        verifyNoInteractions(ticketPriceRepository);
+    }
+
+    @Test
+    void releasedTicketsReturnUnitsToTheirPriceTierAndSection() {
+        Ticket vip1 = ticket(5L, 10L);
+        Ticket vip2 = ticket(5L, 10L);
+        Ticket general = ticket(6L, 11L);
+        Ticket withoutPrice = ticket(6L, null);
+        when(sectionInventoryRepository.release(anyLong(), anyLong(), anyInt())).thenReturn(1);
+
+        service.releaseTickets(List.of(vip1, vip2, general, withoutPrice));
+
+        verify(ticketPriceRepository).release(10L, 2);
+        verify(ticketPriceRepository).release(11L, 1);
+        verify(sectionInventoryRepository).release(EVENT_ID, 5L, 2);
+        verify(sectionInventoryRepository).release(EVENT_ID, 6L, 2);
+        verify(soldOutRegistry).clearSection(EVENT_ID, 5L);
+        verify(soldOutRegistry).clearSection(EVENT_ID, 6L);
+        verify(seatMapService).releaseSeats(List.of(vip1, vip2, general, withoutPrice));
+    }
+
+    @Test
+    void auditReportsPriceTiersWhoseSoldCountDriftedFromTheTickets() {
+        TicketPrice inSync = price(10L, 100, 3);
+        TicketPrice drifted = price(11L, 50, 7);
+        when(ticketPriceRepository.findByEventId(EVENT_ID)).thenReturn(List.of(inSync, drifted));
+        when(ticketRepository.countByEventIdAndStatusNamesGroupByTicketPrice(
+                EVENT_ID, SectionInventoryService.SEAT_HOLDING_STATUSES))
+                .thenReturn(List.<Object[]>of(new Object[]{10L, 3L}, new Object[]{11L, 5L}));
+
+        Map<String, Object> audit = service.auditEvent(EVENT_ID);
+
+        assertThat(audit).containsEntry("consistent", false).containsEntry("drifts", 1);
+        assertThat((List<?>) audit.get("details")).singleElement().asString().contains("Precio 11");
+        verify(ticketPriceRepository, never()).overwriteSoldQuantity(anyLong(), anyInt());
+    }
+
+    private static Ticket ticket(Long sectionId, Long ticketPriceId) {
+        Event event = new Event();
+        event.setId(EVENT_ID);
+        VenueSection section = new VenueSection();
+        section.setId(sectionId);
+
+        Ticket ticket = new Ticket();
+        ticket.setEvent(event);
+        ticket.setSection(section);
+        if (ticketPriceId != null) {
+            TicketPrice ticketPrice = new TicketPrice();
+            ticketPrice.setId(ticketPriceId);
+            ticket.setTicketPrice(ticketPrice);
+        }
+        return ticket;
+    }
+
+    private static TicketPrice price(Long id, int available, int sold) {
+        TicketPrice ticketPrice = new TicketPrice();
+        ticketPrice.setId(id);
+        ticketPrice.setAvailableQuantity(available);
+        ticketPrice.setSoldQuantity(sold);
+        return ticketPrice;
+    }
+}
@@ -0,0 +1,105 @@
+package com.recitapp.recitapp_api.modules.ticket.service.impl;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.util.HashSet;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class TicketCodeServiceImplTest {
+
+    private static final int BLOCK_SIZE = 1000;
+
+    private JdbcTemplate jdbcTemplate;
+    private TicketCodeServiceImpl service;
+
+    @BeforeEach
+    void setUp() {
+        jdbcTemplate = mock(JdbcTemplate.class);
+        service = new TicketCodeServiceImpl(jdbcTemplate, mock(PlatformTransactionManager.class), BLOCK_SIZE);
+    }
+
+    @Test
+    void codesHaveThePrefixPayloadAndCheckCharacter() {
+        allocateFrom(1L);
+
+        String code = service.generateCode("TKT");
+
+        assertThat(code).matches("TKT-[0-9A-HJKMNP-TV-Z]{7}-[0-9A-HJKMNP-TV-Z]");
+        assertThat(service.hasValidCheckDigit(code)).isTrue();
+    }
+
+    @Test
+    void consecutiveIdsProduceDistinctNonSequentialCodes() {
+        allocateFrom(1L, 1L + BLOCK_SIZE, 1L + 2 * BLOCK_SIZE);
+
+        Set<String> codes = new HashSet<>();
+        String previous = null;
+        for (int i = 0; i < 3 * BLOCK_SIZE; i++) {
+            String code = service.generateCode("TKT");
+            assertThat(codes.add(code)).as(code).isTrue();
+            assertThat(service.hasValidCheckDigit(code)).as(code).isTrue();
+            if (previous != null) {
+                // Neighbouring IDs must not share the leading part of the payload
+                assertThat(code.substring(4, 8)).isNotEqualTo(previous.substring(4, 8));
+            }
+            previous = code;
+        }
+        verify(jdbcTemplate, times(3)).queryForObject(anyString(), eq(Long.class), eq("ticket_codes"));
+    }
+
+    @Test
+    void tamperedCodesFailTheCheckDigit() {
+        allocateFrom(1L);
+        String code = service.generateCode("TKT");
+
+        char last = code.charAt(code.length() - 1);
+        String wrongCheck = code.substring(0, code.length() - 1) + (last == '0' ? '1' : '0');
+        char first = code.charAt(4);
+        String wrongPayload = code.substring(0, 4) + (first == '0' ? '1' : '0') + code.substring(5);
+
+        assertThat(service.hasValidCheckDigit(wrongCheck)).isFalse();
+        assertThat(service.hasValidCheckDigit(wrongPayload)).isFalse();
+        assertThat(service.hasValidCheckDigit(null)).isFalse();
+    }
+
+    @Test
+    void legacyHexCodesSkipTheCheckDigit() {
+        assertThat(service.hasValidCheckDigit("TKT-1A2B3C4D")).isTrue();
+        assertThat(service.normalize(" tkt-1a2b3c4d ")).isEqualTo("TKT-1A2B3C4D");
+    }
+
+    @Test
+    void normalizeAppliesCrockfordEquivalencesOnlyAfterThePrefix() {
+        allocateFrom(1L);
+        String code = service.generateCode("OLI");
+
+        String typed = code.toLowerCase().replace('0', 'o').replace('1', 'l');
+
+        assertThat(service.normalize(typed)).isEqualTo(code);
+    }
+
+    @Test
+    void exhaustedCodeSpaceFails() {
+        allocateFrom((1L << 35) - BLOCK_SIZE + 1);
+
+        assertThatThrownBy(() -> service.generateCode("TKT"))
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessageContaining("exhausted");
+    }
+
+    private void allocateFrom(Long first, Long... next) {
+        when(jdbcTemplate.queryForObject(anyString(), eq(Long.class), eq("ticket_codes"))).thenReturn(first, next);
+    }
+}
@@ -0,0 +1,102 @@
+package com.recitapp.recitapp_api.modules.ticket.service.impl;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class TicketIdBitmapTest {
+
+    @Test
+    void idIsAddedOnlyOnceUntilRemoved() {
+        TicketIdBitmap bitmap = new TicketIdBitmap();
+
+        assertThat(bitmap.add(42L)).isTrue();
+        assertThat(bitmap.add(42L)).isFalse();
+        assertThat(bitmap.contains(42L)).isTrue();
+        assertThat(bitmap.contains(43L)).isFalse();
+
+        bitmap.remove(42L);
+        bitmap.remove(42L);
+
+        assertThat(bitmap.contains(42L)).isFalse();
+        assertThat(bitmap.add(42L)).isTrue();
+    }
+
+    @Test
+    void chunkAndOffsetSplitAtTheChunkBoundary() {
+        long last = TicketIdBitmap.CHUNK_SIZE - 1L;
+        long first = TicketIdBitmap.CHUNK_SIZE;
+
+        assertThat(TicketIdBitmap.chunk(last)).isZero();
+        assertThat(TicketIdBitmap.offset(last)).isEqualTo(65_535);
+        assertThat(TicketIdBitmap.chunk(first)).isEqualTo(1L);
+        assertThat(TicketIdBitmap.offset(first)).isZero();
+    }
+
+    @Test
+    void neighboursAcrossChunksDoNotInterfere() {
+        TicketIdBitmap bitmap = new TicketIdBitmap();
+        long boundary = 5L * TicketIdBitmap.CHUNK_SIZE;
+
+        bitmap.add(boundary - 1);
+        bitmap.add(boundary);
+
+        assertThat(bitmap.chunkCount()).isEqualTo(2);
+        bitmap.remove(boundary);
+        assertThat(bitmap.contains(boundary - 1)).isTrue();
+        assertThat(bitmap.contains(boundary)).isFalse();
+        assertThat(bitmap.contains(boundary + TicketIdBitmap.CHUNK_SIZE - 1)).isFalse();
+    }
+
+    @Test
+    void chunksAreOnlyCreatedForUsedRanges() {
+        TicketIdBitmap bitmap = new TicketIdBitmap();
+
+        // High IDs of one event fall into a single chunk
+        for (long id = 9_000_000_000L; id < 9_000_001_000L; id++) {
+            bitmap.add(id);
+        }
+        // Lookups and removals of other IDs do not allocate chunks
+        bitmap.remove(1L);
+        assertThat(bitmap.contains(1L)).isFalse();
+
+        assertThat(bitmap.cardinality()).isEqualTo(1000);
+        assertThat(bitmap.chunkCount()).isEqualTo(1);
+    }
+
+    @Test
+    void concurrentAddsOfTheSameIdHaveOneWinner() throws Exception {
+        TicketIdBitmap bitmap = new TicketIdBitmap();
+        AtomicInteger winners = new AtomicInteger();
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int i = 0; i < 64; i++) {
+                long neighbour = 1_000L + i;
+                futures.add(executor.submit(() -> {
+                    bitmap.add(neighbour);
+                    if (bitmap.add(777L)) {
+                        winners.incrementAndGet();
+                    }
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get(5, TimeUnit.SECONDS);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        assertThat(winners).hasValue(1);
+        assertThat(bitmap.cardinality()).isEqualTo(65);
+        assertThat(bitmap.chunkCount()).isEqualTo(1);
+    }
+}
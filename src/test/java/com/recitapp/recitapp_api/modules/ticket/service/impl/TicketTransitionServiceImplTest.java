@@ -0,0 +1,135 @@
+package com.recitapp.recitapp_api.modules.ticket.service.impl;
+
+import com.recitapp.recitapp_api.common.lookup.LookupRegistry;
+import com.recitapp.recitapp_api.modules.ticket.entity.TicketStatus;
+import com.recitapp.recitapp_api.modules.ticket.event.TicketHoldsChangedEvent;
+import com.recitapp.recitapp_api.modules.ticket.repository.TicketRepository;
+import com.recitapp.recitapp_api.modules.user.entity.User;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.context.ApplicationEventPublisher;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+class TicketTransitionServiceImplTest {
+
+    private static final Map<String, TicketStatus> STATUSES = Map.of(
+            "DISPONIBLE", new TicketStatus(1L, "DISPONIBLE", null),
+            "RESERVADA", new TicketStatus(2L, "RESERVADA", null),
+            "VENDIDA", new TicketStatus(3L, "VENDIDA", null),
+            "USADA", new TicketStatus(4L, "USADA", null),
+            "REGALO", new TicketStatus(5L, "REGALO", null),
+            "VENCIDA", new TicketStatus(6L, "VENCIDA", null));
+
+    private TicketRepository ticketRepository;
+    private ApplicationEventPublisher eventPublisher;
+    private TicketTransitionServiceImpl service;
+
+    @BeforeEach
+    void setUp() {
+        ticketRepository = mock(TicketRepository.class);
+        eventPublisher = mock(ApplicationEventPublisher.class);
+        LookupRegistry lookupRegistry = mock(LookupRegistry.class);
+        when(lookupRegistry.findTicketStatus(anyString()))
+                .thenAnswer(invocation -> Optional.ofNullable(STATUSES.get(invocation.<String>getArgument(0))));
+        service = new TicketTransitionServiceImpl(ticketRepository, lookupRegistry, eventPublisher);
+    }
+
+    @Test
+    void transitionOutsideTheTableIsRejectedWithoutTouchingTheDatabase() {
+        assertThatThrownBy(() -> service.transition(1L, List.of("USADA"), "VENDIDA"))
+                .isInstanceOf(IllegalArgumentException.class);
+
+        verifyNoInteractions(ticketRepository);
+    }
+
+    @Test
+    void onlyTheCallWhoseConditionalUpdateMatchesWinsTheScan() {
+        when(ticketRepository.markUsed(eq(7L), eq(List.of(STATUSES.get("VENDIDA"))), eq(STATUSES.get("USADA")), any()))
+                .thenReturn(1, 0);
+
+        // Two gates scanning the same ticket: the second update finds it already USADA
+        assertThat(service.markUsed(7L, List.of("VENDIDA"))).isTrue();
+        assertThat(service.markUsed(7L, List.of("VENDIDA"))).isFalse();
+    }
+
+    @Test
+    void batchWithoutHoldsIsASingleConditionalUpdate() {
+        when(ticketRepository.transitionStatus(eq(List.of(1L, 2L, 3L)), eq(List.of(STATUSES.get("VENDIDA"))),
+                eq(STATUSES.get("VENCIDA")), any())).thenReturn(2);
+
+        assertThat(service.transitionAll(List.of(1L, 2L, 3L), List.of("VENDIDA"), "VENCIDA")).isEqualTo(2);
+
+        verify(ticketRepository, never()).lockIdsInStatuses(anyCollection(), anyCollection());
+        verifyNoInteractions(eventPublisher);
+    }
+
+    @Test
+    void releasedHoldsPublishOnlyTheTicketsThatChanged() {
+        // Ticket 2 was confirmed meanwhile: only 1 and 3 are still RESERVADA
+        when(ticketRepository.lockIdsInStatuses(List.of(1L, 2L, 3L), List.of(2L))).thenReturn(List.of(1L, 3L));
+        when(ticketRepository.transitionStatus(eq(List.of(1L, 3L)), eq(List.of(STATUSES.get("RESERVADA"))),
+                eq(STATUSES.get("DISPONIBLE")), any())).thenReturn(2);
+
+        assertThat(service.transitionAll(List.of(1L, 2L, 3L), List.of("RESERVADA"), "DISPONIBLE")).isEqualTo(2);
+
+        ArgumentCaptor<TicketHoldsChangedEvent> event = ArgumentCaptor.forClass(TicketHoldsChangedEvent.class);
+        verify(eventPublisher).publishEvent(event.capture());
+        assertThat(event.getValue().ticketIds()).containsExactly(1L, 3L);
+        assertThat(event.getValue().held()).isFalse();
+    }
+
+    @Test
+    void newHoldsArePublishedAsHeld() {
+        when(ticketRepository.lockIdsInStatuses(List.of(4L, 5L), List.of(1L))).thenReturn(List.of(5L));
+        when(ticketRepository.transitionStatus(eq(List.of(5L)), anyCollection(), eq(STATUSES.get("RESERVADA")), any()))
+                .thenReturn(1);
+
+        assertThat(service.transitionAll(List.of(4L, 5L), List.of("DISPONIBLE"), "RESERVADA")).isEqualTo(1);
+
+        ArgumentCaptor<TicketHoldsChangedEvent> event = ArgumentCaptor.forClass(TicketHoldsChangedEvent.class);
+        verify(eventPublisher).publishEvent(event.capture());
+        assertThat(event.getValue().ticketIds()).containsExactly(5L);
+        assertThat(event.getValue().held()).isTrue();
+    }
+
+    @Test
+    void noEventWhenNoTicketIsStillInTheSourceStatus() {
+        when(ticketRepository.lockIdsInStatuses(List.of(1L), List.of(2L))).thenReturn(List.of());
+
+        assertThat(service.transitionAll(List.of(1L), List.of("RESERVADA"), "DISPONIBLE")).isZero();
+
+        verify(ticketRepository, never()).transitionStatus(anyCollection(), anyCollection(), any(), any());
+        verifyNoInteractions(eventPublisher);
+    }
+
+    @Test
+    void transferAcceptsSoldAndGiftTickets() {
+        User newOwner = new User();
+        when(ticketRepository.transferOwnership(eq(9L), eq(null), anyCollection(), eq(newOwner),
+                any(), any(), any(), any(), any(), any())).thenReturn(1);
+
+        assertThat(service.transfer(9L, null, newOwner, "Ana", "Paz", "123", "QR")).isTrue();
+
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<List<TicketStatus>> from = ArgumentCaptor.forClass(List.class);
+        verify(ticketRepository).transferOwnership(eq(9L), eq(null), from.capture(), eq(newOwner),
+                any(), any(), any(), any(), any(), any());
+        assertThat(from.getValue()).extracting(TicketStatus::getName).containsExactly("VENDIDA", "REGALO");
+    }
+}